@@ -591,28 +591,45 @@ public class Thaumcraft {
             LOGGER.info("Registered Thaumcraft model layers");
         }
         
+        @SubscribeEvent
+        public static void onModifyBakingResult(net.minecraftforge.client.event.ModelEvent.ModifyBakingResult event) {
+            // Jars bake their contents and label into chunk geometry
+            thaumcraft.client.models.block.JarBakedModel.wrap(event.getModels(),
+                    ModBlocks.JAR_NORMAL.get(), ModBlocks.JAR_VOID.get());
+        }
+        
+        @SubscribeEvent
+        public static void onRegisterShaders(net.minecraftforge.client.event.RegisterShadersEvent event) {
+            thaumcraft.client.lib.ModShaders.register(event);
+        }
+        
         @SubscribeEvent
         public static void onRegisterRenderers(net.minecraftforge.client.event.EntityRenderersEvent.RegisterRenderers event) {
             // Register block entity renderers
+            // (the ones profiled by /tcprofile are wrapped with RenderProfiler.profiled)
             
             // Jar renderers
             event.registerBlockEntityRenderer(
                 ModBlockEntities.JAR.get(),
-                thaumcraft.client.renderers.tile.JarRenderer::new
+                thaumcraft.client.lib.RenderProfiler.profiled(thaumcraft.client.lib.RenderProfiler.Section.JARS,
+                        thaumcraft.client.renderers.tile.JarRenderer::new)
             );
             event.registerBlockEntityRenderer(
                 ModBlockEntities.JAR_VOID.get(),
-                thaumcraft.client.renderers.tile.JarRenderer::new
+                thaumcraft.client.lib.RenderProfiler.profiled(thaumcraft.client.lib.RenderProfiler.Section.JARS,
+                        thaumcraft.client.renderers.tile.JarRenderer::new)
             );
             
             // Pedestal renderers
             event.registerBlockEntityRenderer(
                 ModBlockEntities.PEDESTAL.get(),
-                thaumcraft.client.renderers.tile.PedestalRenderer::new
+                thaumcraft.client.lib.RenderProfiler.profiled(thaumcraft.client.lib.RenderProfiler.Section.PEDESTALS,
+                        thaumcraft.client.renderers.tile.PedestalRenderer::new)
             );
             event.registerBlockEntityRenderer(
                 ModBlockEntities.RECHARGE_PEDESTAL.get(),
-                thaumcraft.client.renderers.tile.RechargePedestalRenderer::new
+                thaumcraft.client.lib.RenderProfiler.profiled(thaumcraft.client.lib.RenderProfiler.Section.PEDESTALS,
+                        thaumcraft.client.renderers.tile.RechargePedestalRenderer::new)
             );
             
             // Crafting device renderers
@@ -622,7 +639,8 @@ public class Thaumcraft {
             );
             event.registerBlockEntityRenderer(
                 ModBlockEntities.INFUSION_MATRIX.get(),
-                thaumcraft.client.renderers.tile.InfusionMatrixRenderer::new
+                thaumcraft.client.lib.RenderProfiler.profiled(thaumcraft.client.lib.RenderProfiler.Section.INFUSION,
+                        thaumcraft.client.renderers.tile.InfusionMatrixRenderer::new)
             );
             event.registerBlockEntityRenderer(
                 ModBlockEntities.RESEARCH_TABLE.get(),
@@ -652,15 +670,18 @@ public class Thaumcraft {
             // Essentia tube renderers
             event.registerBlockEntityRenderer(
                 ModBlockEntities.TUBE_VALVE.get(),
-                thaumcraft.client.renderers.tile.TubeValveRenderer::new
+                thaumcraft.client.lib.RenderProfiler.profiled(thaumcraft.client.lib.RenderProfiler.Section.TUBES,
+                        thaumcraft.client.renderers.tile.TubeValveRenderer::new)
             );
             event.registerBlockEntityRenderer(
                 ModBlockEntities.TUBE_BUFFER.get(),
-                thaumcraft.client.renderers.tile.TubeBufferRenderer::new
+                thaumcraft.client.lib.RenderProfiler.profiled(thaumcraft.client.lib.RenderProfiler.Section.TUBES,
+                        thaumcraft.client.renderers.tile.TubeBufferRenderer::new)
             );
             event.registerBlockEntityRenderer(
                 ModBlockEntities.TUBE_ONEWAY.get(),
-                thaumcraft.client.renderers.tile.TubeOnewayRenderer::new
+                thaumcraft.client.lib.RenderProfiler.profiled(thaumcraft.client.lib.RenderProfiler.Section.TUBES,
+                        thaumcraft.client.renderers.tile.TubeOnewayRenderer::new)
             );
             
             // Brain in a Jar renderer
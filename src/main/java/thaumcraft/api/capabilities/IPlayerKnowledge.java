@@ -46,6 +46,26 @@ public interface IPlayerKnowledge extends INBTSerializable<CompoundTag> {
      */
     boolean isResearchKnown(String research);
     
+    /**
+     * Fast path for callers that already hold a research id.
+     * @param id The research id, see ResearchCategories.getResearchId
+     * @return true if the research is known. Unassigned ids (-1) are never known
+     */
+    boolean isResearchKnown(int id);
+    
+    /**
+     * Fast path for callers that already hold a research id.
+     * @param id The research id, see ResearchCategories.getResearchId
+     * @return true if the research has its status set as COMPLETE
+     */
+    boolean isResearchComplete(int id);
+    
+    /**
+     * @param id The research id, see ResearchCategories.getResearchId
+     * @return The stage you have progressed to, as getResearchStage(String)
+     */
+    int getResearchStage(int id);
+    
     enum EnumResearchStatus {
         UNKNOWN, COMPLETE, IN_PROGRESS
     }
@@ -60,6 +80,12 @@ public interface IPlayerKnowledge extends INBTSerializable<CompoundTag> {
      */
     int getResearchStage(@Nonnull String research);
 
+    /**
+     * @return a counter that changes whenever research is added, removed or changes stage.
+     * Lets callers cache answers derived from the research list.
+     */
+    int getResearchRevision();
+    
     /**
      * In nearly ALL circumstances IInternalMethodHandler.progressResearch or
      * IInternalMethodHandler.completeResearch should be used instead of this method.
@@ -136,9 +162,44 @@ public interface IPlayerKnowledge extends INBTSerializable<CompoundTag> {
     int getKnowledgeRaw(@Nonnull EnumKnowledgeType type, String category);
     
     /**
+     * Sends the complete knowledge tree to the client. Used on login, respawn and
+     * dimension change. Clears the change journal.
      * @param player the player to sync
      */
     void sync(ServerPlayer player);
+    
+    /**
+     * Sends only the research and knowledge keys recorded in the change journal since
+     * the last sync. Does nothing if nothing changed.
+     * @param player the player to sync
+     */
+    void syncChanges(ServerPlayer player);
+    
+    /**
+     * @return true if research or knowledge was modified since the last sync
+     */
+    boolean hasChanges();
+    
+    /**
+     * Writes the current state of every journaled research and knowledge key.
+     * Research that was removed is listed under "removed".
+     * If the journal cannot describe the changes (e.g. after a clear) the tag is flagged as "full"
+     * and carries the whole tree instead.
+     * @return the delta tag
+     */
+    @Nonnull
+    CompoundTag serializeChanges();
+    
+    /**
+     * Applies a tag produced by serializeChanges.
+     * @param changes the delta tag
+     */
+    void deserializeChanges(@Nonnull CompoundTag changes);
+    
+    /**
+     * Empties the change journal. Called once the journaled state has been sent.
+     */
+    void clearChanges();
    
     enum EnumKnowledgeType {
         THEORY(32, true, "T"),
@@ -4,6 +4,7 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.common.capabilities.CapabilityManager;
 import net.minecraftforge.common.capabilities.CapabilityToken;
+import thaumcraft.api.research.ResearchQuery;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -50,22 +51,7 @@ public class ThaumcraftCapabilities {
         if (knowledge == null) return false;
         
         for (String r : research) {
-            if (r.contains("&&")) {
-                String[] rr = r.split("&&");
-                if (!knowsResearch(player, rr)) return false;
-            } else if (r.contains("||")) {
-                String[] rr = r.split("\\|\\|");
-                boolean anyTrue = false;
-                for (String str : rr) {
-                    if (knowsResearch(player, str)) {
-                        anyTrue = true;
-                        break;
-                    }
-                }
-                if (!anyTrue) return false;
-            } else {
-                if (!knowledge.isResearchKnown(r)) return false;
-            }
+            if (!ResearchQuery.of(r).isKnown(knowledge)) return false;
         }
         return true;
     }
@@ -84,24 +70,7 @@ public class ThaumcraftCapabilities {
         if (knowledge == null) return false;
         
         for (String r : research) {
-            if (r.contains("&&")) {
-                String[] rr = r.split("&&");
-                if (!knowsResearchStrict(player, rr)) return false;
-            } else if (r.contains("||")) {
-                String[] rr = r.split("\\|\\|");
-                boolean anyTrue = false;
-                for (String str : rr) {
-                    if (knowsResearchStrict(player, str)) {
-                        anyTrue = true;
-                        break;
-                    }
-                }
-                if (!anyTrue) return false;
-            } else if (r.contains("@")) {
-                if (!knowledge.isResearchKnown(r)) return false;
-            } else {
-                if (!knowledge.isResearchComplete(r)) return false;
-            }
+            if (!ResearchQuery.of(r).isComplete(knowledge)) return false;
         }
         return true;
     }
@@ -1,6 +1,10 @@
 package thaumcraft.api.research;
 
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+
+import javax.annotation.Nullable;
 
 /**
  * Interface for objects that can be scanned with the Thaumometer.
@@ -35,6 +39,40 @@ public interface IScanThing {
      */
     String getResearchKey(Player player, Object object);
 
+    /**
+     * Lets ScanningManager index this thing by item. If non-null, this thing may only
+     * match an ItemStack or ItemEntity of one of these items.
+     * Return null (the default) to be checked against every scanned object.
+     *
+     * @return the items this thing matches, or null
+     */
+    @Nullable
+    default Item[] getScanItems() {
+        return null;
+    }
+
+    /**
+     * Lets ScanningManager index this thing by block. If non-null, this thing may only
+     * match a BlockPos holding one of these blocks.
+     *
+     * @return the blocks this thing matches, or null
+     */
+    @Nullable
+    default Block[] getScanBlocks() {
+        return null;
+    }
+
+    /**
+     * Lets ScanningManager index this thing by entity class. If non-null, this thing may only
+     * match entities that are instances of this class.
+     *
+     * @return the entity class this thing matches, or null
+     */
+    @Nullable
+    default Class<?> getScanEntityClass() {
+        return null;
+    }
+
     /**
      * Called when the scan is successful.
      * Override this to perform additional actions on successful scan.
@@ -4,8 +4,10 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import thaumcraft.api.aspects.AspectList;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Registry for all research categories and entries.
@@ -16,6 +18,17 @@ public class ResearchCategories {
     /** All registered research categories, keyed by their unique key */
     public static LinkedHashMap<String, ResearchCategory> researchCategories = new LinkedHashMap<>();
 
+    /** Research key to dense id. Covers parsed entries and any other key a player can know */
+    private static final ConcurrentHashMap<String, Integer> researchIds = new ConcurrentHashMap<>();
+
+    /** Research key by id */
+    private static volatile String[] researchKeys = new String[64];
+
+    /** Research entry by id. Null for keys that have no entry (e.g. scan or flag research) */
+    private static volatile ResearchEntry[] researchById = new ResearchEntry[64];
+
+    private static int nextResearchId = 0;
+
     /**
      * Gets a research category by key.
      * @param key the category key
@@ -40,6 +53,13 @@ public class ResearchCategories {
      * @return the research entry, or null if not found
      */
     public static ResearchEntry getResearch(String key) {
+        Integer id = researchIds.get(key);
+        if (id != null) {
+            ResearchEntry entry = researchById[id];
+            if (entry != null) {
+                return entry;
+            }
+        }
         for (ResearchCategory category : researchCategories.values()) {
             for (ResearchEntry entry : category.research.values()) {
                 if (entry.getKey().equals(key)) {
@@ -50,6 +70,85 @@ public class ResearchCategories {
         return null;
     }
 
+    /**
+     * Gets a research entry by its dense id.
+     * @param id the research id
+     * @return the research entry, or null if the id has no entry
+     */
+    public static ResearchEntry getResearch(int id) {
+        ResearchEntry[] entries = researchById;
+        return id >= 0 && id < entries.length ? entries[id] : null;
+    }
+
+    /**
+     * Gets the dense id of a research key without assigning one.
+     * @param key the research key
+     * @return the id, or -1 if no id has been assigned to that key
+     */
+    public static int getResearchId(String key) {
+        Integer id = researchIds.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the research key for a dense id.
+     * @param id the research id
+     * @return the key, or null if the id is unassigned
+     */
+    public static String getResearchKey(int id) {
+        String[] keys = researchKeys;
+        return id >= 0 && id < keys.length ? keys[id] : null;
+    }
+
+    /**
+     * Gets the dense id of a research key, assigning the next free id if it has none.
+     * Keys are never unassigned, so ids stay valid for the lifetime of the game.
+     * @param key the research key
+     * @return the id
+     */
+    public static int internResearchKey(String key) {
+        Integer id = researchIds.get(key);
+        if (id != null) {
+            return id;
+        }
+        synchronized (researchIds) {
+            id = researchIds.get(key);
+            if (id != null) {
+                return id;
+            }
+            int next = nextResearchId++;
+            if (next >= researchKeys.length) {
+                int size = researchKeys.length * 2;
+                researchKeys = Arrays.copyOf(researchKeys, size);
+                researchById = Arrays.copyOf(researchById, size);
+            }
+            researchKeys[next] = key;
+            researchIds.put(key, next);
+            return next;
+        }
+    }
+
+    /**
+     * Assigns dense ids to every research entry in every category.
+     * Called once research has been parsed, so entries occupy the lowest ids.
+     * On a reload, entries from the previous load are unmapped first. Keys keep
+     * their ids, since player knowledge is indexed by them.
+     */
+    public static void assignResearchIds() {
+        synchronized (researchIds) {
+            Arrays.fill(researchById, null);
+        }
+        for (ResearchCategory category : researchCategories.values()) {
+            for (ResearchEntry entry : category.research.values()) {
+                int id = internResearchKey(entry.getKey());
+                entry.setId(id);
+                synchronized (researchIds) {
+                    researchById[id] = entry;
+                }
+            }
+        }
+    }
+
     /**
      * Registers a new research category.
      * This should only be done at the PostInit stage.
@@ -15,6 +15,9 @@ public class ResearchEntry {
     /** A short string used as a key for this research. Must be unique */
     private String key;
 
+    /** Dense integer id assigned by ResearchCategories when research is parsed. -1 until assigned */
+    private int id = -1;
+
     /** A short string used as a reference to the research category to which this must be added */
     private String category;
 
@@ -79,6 +82,17 @@ public class ResearchEntry {
         this.key = key;
     }
 
+    /**
+     * @return the dense id used to index player research state, or -1 if not yet assigned
+     */
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -0,0 +1,152 @@
+package thaumcraft.api.research;
+
+import thaumcraft.api.capabilities.IPlayerKnowledge;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A research requirement string resolved to research ids once.
+ * 
+ * Requirements are a research key, a key with a stage ("FOCUSFIRE@2"), or
+ * several of those joined with && and || (|| binding tighter). Each string is parsed and
+ * its keys resolved to ids the first time it is checked; later checks of the same
+ * string are one map lookup and a few bitset reads, with no splitting or
+ * substring work. Ids are never unassigned, so cached queries stay valid.
+ * 
+ * Keys are looked up, never interned, since requirement strings can come from
+ * clients. A query naming a key without an id is known by nobody and is not
+ * cached, so it resolves again once the key gets an id. At most MAX_CACHED
+ * queries are kept; past that, queries are parsed on every call.
+ */
+public final class ResearchQuery {
+
+    /** Far more than the requirement strings research and recipes use */
+    private static final int MAX_CACHED = 8192;
+
+    private static final ConcurrentHashMap<String, ResearchQuery> cache = new ConcurrentHashMap<>();
+
+    /** Research id of a single term, or -1 for a compound query */
+    private final int id;
+
+    /** Stage a single term asks for, or 0 for none */
+    private final int stage;
+
+    /** Whether a single term was written with @ */
+    private final boolean staged;
+
+    /** Whether a single term is the empty string, which every player knows */
+    private final boolean empty;
+
+    /** Terms of a compound query, or null for a single term */
+    private final ResearchQuery[] terms;
+
+    /** Whether a compound query needs any one term (||) rather than all of them (&&) */
+    private final boolean any;
+
+    /** Whether every key in the query has an id, so the query may be cached */
+    private final boolean resolved;
+
+    private ResearchQuery(int id, int stage, boolean staged, boolean empty) {
+        this.id = id;
+        this.stage = stage;
+        this.staged = staged;
+        this.empty = empty;
+        this.terms = null;
+        this.any = false;
+        this.resolved = empty || id >= 0;
+    }
+
+    private ResearchQuery(ResearchQuery[] terms, boolean any) {
+        this.id = -1;
+        this.stage = 0;
+        this.staged = false;
+        this.empty = false;
+        this.terms = terms;
+        this.any = any;
+        boolean all = true;
+        for (ResearchQuery term : terms) {
+            all &= term.resolved;
+        }
+        this.resolved = all;
+    }
+
+    /**
+     * @param query a research requirement string
+     * @return the resolved query, shared by every caller passing the same string
+     */
+    public static ResearchQuery of(String query) {
+        ResearchQuery resolved = cache.get(query);
+        if (resolved != null) {
+            return resolved;
+        }
+        // Parsed outside the map, since compound queries resolve their terms through it
+        resolved = parse(query);
+        if (!resolved.resolved || cache.size() >= MAX_CACHED) {
+            return resolved;
+        }
+        ResearchQuery raced = cache.putIfAbsent(query, resolved);
+        return raced != null ? raced : resolved;
+    }
+
+    private static ResearchQuery parse(String query) {
+        if (query.contains("&&")) {
+            return compound(query.split("&&"), false);
+        }
+        if (query.contains("||")) {
+            return compound(query.split("\\|\\|"), true);
+        }
+        int at = query.indexOf('@');
+        if (at < 0) {
+            return new ResearchQuery(ResearchCategories.getResearchId(query), 0, false, query.isEmpty());
+        }
+        int end = query.indexOf('@', at + 1);
+        String stage = end < 0 ? query.substring(at + 1) : query.substring(at + 1, end);
+        int id = ResearchCategories.getResearchId(query.substring(0, at));
+        return new ResearchQuery(id, parseStage(stage), true, false);
+    }
+
+    private static ResearchQuery compound(String[] parts, boolean any) {
+        ResearchQuery[] terms = new ResearchQuery[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            terms[i] = of(parts[i]);
+        }
+        return new ResearchQuery(terms, any);
+    }
+
+    private static int parseStage(String stage) {
+        try {
+            return stage.isEmpty() ? 0 : Integer.parseInt(stage);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Whether the player knows this research: every term is known (or any one,
+     * for ||), and terms with a stage are at least at that stage.
+     */
+    public boolean isKnown(IPlayerKnowledge knowledge) {
+        if (terms != null) {
+            for (ResearchQuery term : terms) {
+                if (term.isKnown(knowledge) == any) return any;
+            }
+            return !any;
+        }
+        if (empty) return true;
+        return knowledge.isResearchKnown(id) && (stage <= 0 || knowledge.getResearchStage(id) >= stage);
+    }
+
+    /**
+     * Strict version of isKnown: terms without a stage must be complete, terms
+     * with one only need to have reached it.
+     */
+    public boolean isComplete(IPlayerKnowledge knowledge) {
+        if (terms != null) {
+            for (ResearchQuery term : terms) {
+                if (term.isComplete(knowledge) == any) return any;
+            }
+            return !any;
+        }
+        return staged ? isKnown(knowledge) : knowledge.isResearchComplete(id);
+    }
+}
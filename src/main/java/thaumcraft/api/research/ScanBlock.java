@@ -52,6 +52,11 @@ public class ScanBlock implements IScanThing {
         return false;
     }
     
+    @Override
+    public Block[] getScanBlocks() {
+        return blocks;
+    }
+    
     @Override
     public String getResearchKey(Player player, Object object) {
         return research;
@@ -35,6 +35,11 @@ public class ScanEntity implements IScanThing {
         }
     }
     
+    @Override
+    public Class<?> getScanEntityClass() {
+        return entityClass;
+    }
+    
     @Override
     public String getResearchKey(Player player, Object object) {
         return research;
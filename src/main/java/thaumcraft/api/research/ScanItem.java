@@ -2,6 +2,7 @@ package thaumcraft.api.research;
 
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
 /**
@@ -40,6 +41,11 @@ public class ScanItem implements IScanThing {
         return ItemStack.isSameItem(target, stack);
     }
     
+    @Override
+    public Item[] getScanItems() {
+        return new Item[] { stack.getItem() };
+    }
+    
     @Override
     public String getResearchKey(Player player, Object object) {
         return research;
@@ -3,31 +3,56 @@ package thaumcraft.api.research;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.material.Fluids;
 import net.minecraft.world.phys.BlockHitResult;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.common.capabilities.ForgeCapabilities;
 import net.minecraftforge.items.IItemHandler;
+import thaumcraft.api.capabilities.IPlayerKnowledge;
 import thaumcraft.common.lib.capabilities.ThaumcraftCapabilities;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages the scanning system for the Thaumometer.
  * Register scannable things here and use scanTheThing to process scans.
+ * 
+ * Things that report the items, blocks or entity class they match are indexed,
+ * so a scan only checks the handful of candidates for the scanned object plus
+ * the predicate-based things that could match anything.
  */
 public class ScanningManager {
 
     private static final List<IScanThing> things = new ArrayList<>();
 
+    /** Dispatch index, rebuilt lazily after things are added or removed */
+    private static volatile ScanIndex index = null;
+
+    /**
+     * Last isThingStillScannable answer per player, one map per side so the
+     * integrated server and its client don't overwrite each other's answers
+     */
+    private static final Map<UUID, ScannableMemo> serverMemo = new ConcurrentHashMap<>();
+    private static final Map<UUID, ScannableMemo> clientMemo = new ConcurrentHashMap<>();
+
     /**
      * Add things to scan.
      * Example:
@@ -38,8 +63,9 @@ public class ScanningManager {
      *
      * @param obj the scannable thing to add
      */
-    public static void addScannableThing(IScanThing obj) {
+    public static synchronized void addScannableThing(IScanThing obj) {
         things.add(obj);
+        invalidateIndex();
     }
 
     /**
@@ -47,8 +73,32 @@ public class ScanningManager {
      * @param obj the scannable thing to remove
      * @return true if it was removed
      */
-    public static boolean removeScannableThing(IScanThing obj) {
-        return things.remove(obj);
+    public static synchronized boolean removeScannableThing(IScanThing obj) {
+        boolean removed = things.remove(obj);
+        if (removed) {
+            invalidateIndex();
+        }
+        return removed;
+    }
+
+    private static void invalidateIndex() {
+        index = null;
+        serverMemo.clear();
+        clientMemo.clear();
+    }
+
+    private static ScanIndex getIndex() {
+        ScanIndex idx = index;
+        if (idx == null) {
+            synchronized (ScanningManager.class) {
+                idx = index;
+                if (idx == null) {
+                    idx = new ScanIndex(things);
+                    index = idx;
+                }
+            }
+        }
+        return idx;
     }
 
     /**
@@ -61,7 +111,7 @@ public class ScanningManager {
         boolean found = false;
         boolean suppress = false;
 
-        for (IScanThing thing : things) {
+        for (IScanThing thing : getIndex().getCandidates(player, object)) {
             if (thing.checkThing(player, object)) {
                 String researchKey = thing.getResearchKey(player, object);
                 
@@ -126,18 +176,46 @@ public class ScanningManager {
      * @return true if the object can be scanned for new research
      */
     public static boolean isThingStillScannable(Player player, Object object) {
-        for (IScanThing thing : things) {
+        IPlayerKnowledge knowledge = ThaumcraftCapabilities.getKnowledge(player).orElse(null);
+        if (knowledge == null) {
+            return false;
+        }
+        
+        // The answer only changes when the target or the player's research does
+        Map<UUID, ScannableMemo> scannableMemo = player.level().isClientSide() ? clientMemo : serverMemo;
+        ScannableMemo memo = scannableMemo.get(player.getUUID());
+        int revision = knowledge.getResearchRevision();
+        BlockState state = object instanceof BlockPos pos ? player.level().getBlockState(pos) : null;
+        if (memo != null && memo.matches(object, state, revision)) {
+            return memo.result;
+        }
+        
+        boolean result = false;
+        for (IScanThing thing : getIndex().getCandidates(player, object)) {
             if (thing.checkThing(player, object)) {
                 try {
                     String key = thing.getResearchKey(player, object);
-                    if (!ThaumcraftCapabilities.isResearchKnown(player, key)) {
-                        return true;
+                    if (!knowledge.isResearchKnown(key)) {
+                        result = true;
+                        break;
                     }
                 } catch (Exception ignored) {
                 }
             }
         }
-        return false;
+        
+        // Sky scans depend on where the player looks, so only real targets are memoized
+        if (object != null) {
+            scannableMemo.put(player.getUUID(), new ScannableMemo(object, state, revision, result));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the memoized scannable answer for a player, e.g. when they log out.
+     */
+    public static void forgetPlayer(Player player) {
+        (player.level().isClientSide() ? clientMemo : serverMemo).remove(player.getUUID());
     }
 
     /**
@@ -226,4 +304,143 @@ public class ScanningManager {
     public static int getScannableCount() {
         return things.size();
     }
+
+    /**
+     * Scan things grouped by the kind of object they can match.
+     * Candidate lists always keep registration order, so onSuccess fires in the same order
+     * as a linear walk over every thing.
+     */
+    private static class ScanIndex {
+
+        private final Map<IScanThing, Integer> order = new IdentityHashMap<>();
+        private final Map<Item, List<IScanThing>> byItem = new HashMap<>();
+        private final Map<Block, List<IScanThing>> byBlock = new HashMap<>();
+        private final List<IScanThing> entityThings = new ArrayList<>();
+        private final List<IScanThing> fallback = new ArrayList<>();
+        private final Map<Class<?>, List<IScanThing>> byEntityClass = new ConcurrentHashMap<>();
+
+        ScanIndex(List<IScanThing> things) {
+            for (IScanThing thing : things) {
+                order.put(thing, order.size());
+                Item[] items = thing.getScanItems();
+                Block[] blocks = thing.getScanBlocks();
+                Class<?> entityClass = thing.getScanEntityClass();
+                if (items == null && blocks == null && entityClass == null) {
+                    fallback.add(thing);
+                    continue;
+                }
+                if (items != null) {
+                    for (Item item : items) {
+                        List<IScanThing> list = byItem.computeIfAbsent(item, k -> new ArrayList<>());
+                        if (!list.contains(thing)) {
+                            list.add(thing);
+                        }
+                    }
+                }
+                if (blocks != null) {
+                    for (Block block : blocks) {
+                        List<IScanThing> list = byBlock.computeIfAbsent(block, k -> new ArrayList<>());
+                        if (!list.contains(thing)) {
+                            list.add(thing);
+                        }
+                    }
+                }
+                if (entityClass != null) {
+                    entityThings.add(thing);
+                }
+            }
+        }
+
+        /**
+         * @return the things that could match this object, in registration order
+         */
+        List<IScanThing> getCandidates(Player player, Object object) {
+            if (object instanceof ItemStack stack) {
+                return merge(byItem.get(stack.getItem()));
+            }
+            if (object instanceof ItemEntity itemEntity) {
+                List<IScanThing> byEntity = getEntityThings(itemEntity.getClass());
+                List<IScanThing> itemThings = byItem.get(itemEntity.getItem().getItem());
+                if (itemThings == null || byEntity.isEmpty()) {
+                    return merge(itemThings == null ? byEntity : itemThings);
+                }
+                List<IScanThing> both = new ArrayList<>(itemThings);
+                both.addAll(byEntity);
+                return merge(both);
+            }
+            if (object instanceof BlockPos pos) {
+                return merge(byBlock.get(player.level().getBlockState(pos).getBlock()));
+            }
+            if (object instanceof Entity entity) {
+                return merge(getEntityThings(entity.getClass()));
+            }
+            return fallback;
+        }
+
+        private List<IScanThing> getEntityThings(Class<?> clazz) {
+            return byEntityClass.computeIfAbsent(clazz, c -> {
+                List<IScanThing> list = new ArrayList<>();
+                for (IScanThing thing : entityThings) {
+                    if (thing.getScanEntityClass().isAssignableFrom(c)) {
+                        list.add(thing);
+                    }
+                }
+                return list.isEmpty() ? Collections.emptyList() : list;
+            });
+        }
+
+        private List<IScanThing> merge(List<IScanThing> indexed) {
+            if (indexed == null || indexed.isEmpty()) {
+                return fallback;
+            }
+            List<IScanThing> out = new ArrayList<>(indexed.size() + fallback.size());
+            out.addAll(indexed);
+            out.addAll(fallback);
+            out.sort((a, b) -> Integer.compare(order.get(a), order.get(b)));
+            return out;
+        }
+    }
+
+    /**
+     * A memoized isThingStillScannable answer. Valid while the target and research revision match.
+     * Entities and other live targets are held weakly, so the memo never keeps them loaded.
+     */
+    private static class ScannableMemo {
+
+        /** A copied ItemStack or BlockPos, or null for a live target */
+        private final Object target;
+        private final WeakReference<Object> live;
+        private final BlockState state;
+        private final int revision;
+        private final boolean result;
+
+        ScannableMemo(Object target, BlockState state, int revision, boolean result) {
+            if (target instanceof ItemStack stack) {
+                this.target = stack.copy();
+                this.live = null;
+            } else if (target instanceof BlockPos pos) {
+                this.target = pos.immutable();
+                this.live = null;
+            } else {
+                this.target = null;
+                this.live = new WeakReference<>(target);
+            }
+            this.state = state;
+            this.revision = revision;
+            this.result = result;
+        }
+
+        boolean matches(Object object, BlockState blockState, int rev) {
+            if (rev != revision || blockState != state || object == null) {
+                return false;
+            }
+            if (object instanceof ItemStack stack) {
+                return target instanceof ItemStack memoStack && ItemStack.isSameItemSameTags(stack, memoStack);
+            }
+            if (object instanceof BlockPos) {
+                return object.equals(target);
+            }
+            return live != null && object == live.get();
+        }
+    }
 }
@@ -44,6 +44,7 @@ public class ClientRenderEvents {
         if (isHoldingSealDisplayer(player)) {
             SealRenderer.renderSeals(
                 event.getPoseStack(),
+                event.getFrustum(),
                 event.getPartialTick(),
                 player
             );
@@ -0,0 +1,549 @@
+package thaumcraft.client.fx;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.LevelRenderer;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.RenderLevelStageEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import thaumcraft.Thaumcraft;
+import thaumcraft.client.lib.RenderProfiler;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * FXBatch - Array-backed particle system for Thaumcraft's generic sprite particles.
+ * 
+ * FXGeneric particles each cost a Particle object plus a Quaternionf and four
+ * Vector3f per frame. Effects like bamfs, wisps, nitor flames and scan sparkles
+ * spawn thousands of them, so FXDispatcher routes those effects here instead.
+ * 
+ * Live particles are stored in parallel primitive arrays and simulated in one
+ * loop per client tick. Rendering builds the camera billboard axes once per frame
+ * and writes every quad of a layer into a single buffer, one draw per layer:
+ * - Layer 0: translucent, world lit
+ * - Layer 1: additive, full bright
+ * 
+ * Dead particles are removed by moving the last particle into their slot, so
+ * the arrays stay dense and draw order is not stable (it never was for
+ * translucent vanilla particles either).
+ */
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class FXBatch {
+    
+    public static final FXBatch INSTANCE = new FXBatch();
+    
+    private static final ResourceLocation TEXTURE = new ResourceLocation(Thaumcraft.MODID, "textures/misc/particles.png");
+    
+    public static final int LAYERS = 2;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_PARTICLES = 16384;
+    
+    // Flag bits
+    private static final byte FLAG_LOOP = 1;
+    private static final byte FLAG_COLLIDE = 2;
+    private static final byte FLAG_ON_GROUND = 4;
+    
+    private final Random rand = new Random();
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    
+    // Billboard axes, rebuilt once per frame
+    private final Vector3f axisX = new Vector3f();
+    private final Vector3f axisY = new Vector3f();
+    
+    private ClientLevel level;
+    private int count = 0;
+    private final int[] layerCount = new int[LAYERS];
+    
+    // Position (current and previous tick) and velocity
+    private double[] x, y, z;
+    private double[] prevX, prevY, prevZ;
+    private double[] motionX, motionY, motionZ;
+    
+    // Colour ramp, alpha and size
+    private float[] startR, startG, startB;
+    private float[] endR, endG, endB;
+    private float[] alpha;
+    private float[] scale;
+    
+    // Rotation
+    private float[] roll, prevRoll, rollSpeed;
+    
+    // Physics
+    private float[] gravity;
+    private float[] slowDown;
+    private float[] randomMotion;
+    
+    // Age is negative while a particle is still delayed
+    private int[] age;
+    private int[] lifetime;
+    
+    // Sprite animation on the particle sheet
+    private int[] spriteStart, spriteNum, spriteInc, grid;
+    
+    private int[] light;
+    private byte[] layer;
+    private byte[] flags;
+    
+    private FXBatch() {
+        allocate(INITIAL_CAPACITY);
+    }
+    
+    // ==================== Spawning ====================
+    
+    /**
+     * Add a particle described by a GenPart. The GenPart is read immediately
+     * and may be reused by the caller.
+     * 
+     * @return false if the batch is full and the particle was dropped
+     */
+    public boolean spawn(double px, double py, double pz, double mx, double my, double mz, FXDispatcher.GenPart part) {
+        checkLevel();
+        if (level == null || (count >= capacity() && !grow())) {
+            return false;
+        }
+        int i = count++;
+        
+        x[i] = prevX[i] = px;
+        y[i] = prevY[i] = py;
+        z[i] = prevZ[i] = pz;
+        motionX[i] = mx;
+        motionY[i] = my;
+        motionZ[i] = mz;
+        
+        startR[i] = part.redStart;
+        startG[i] = part.greenStart;
+        startB[i] = part.blueStart;
+        endR[i] = part.redEnd;
+        endG[i] = part.greenEnd;
+        endB[i] = part.blueEnd;
+        alpha[i] = part.alpha;
+        scale[i] = part.scale;
+        
+        roll[i] = prevRoll[i] = (float) (part.rotstart * Math.PI * 2.0);
+        rollSpeed[i] = part.rot * Mth.DEG_TO_RAD;
+        
+        gravity[i] = part.grav;
+        slowDown[i] = (float) part.slowDown;
+        randomMotion[i] = part.randomMotion;
+        
+        age[i] = -Math.max(0, part.delay);
+        lifetime[i] = Math.max(1, part.age);
+        
+        spriteStart[i] = part.partStart;
+        spriteNum[i] = Math.max(1, part.partNum);
+        spriteInc[i] = Math.max(1, part.partInc);
+        grid[i] = part.grid > 0 ? part.grid : 64;
+        
+        int l = Mth.clamp(part.layer, 0, LAYERS - 1);
+        layer[i] = (byte) l;
+        layerCount[l]++;
+        flags[i] = (byte) ((part.loop ? FLAG_LOOP : 0) | (part.collide ? FLAG_COLLIDE : 0));
+        light[i] = l == 1 ? LightTexture.FULL_BRIGHT : sampleLight(px, py, pz);
+        return true;
+    }
+    
+    public int getParticleCount() {
+        return count;
+    }
+    
+    public int getParticleCount(int layer) {
+        return layerCount[layer];
+    }
+    
+    public void clear() {
+        count = 0;
+        Arrays.fill(layerCount, 0);
+    }
+    
+    /**
+     * Drop every particle when the client level changes (dimension change or disconnect)
+     */
+    private void checkLevel() {
+        ClientLevel current = Minecraft.getInstance().level;
+        if (level != current) {
+            clear();
+            level = current;
+        }
+    }
+    
+    // ==================== Simulation ====================
+    
+    private void tick() {
+        for (int i = 0; i < count; ) {
+            int a = age[i]++;
+            if (a < 0) {
+                i++;
+                continue;
+            }
+            if (a >= lifetime[i]) {
+                remove(i);
+                continue;
+            }
+            
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            prevZ[i] = z[i];
+            prevRoll[i] = roll[i];
+            roll[i] += rollSpeed[i];
+            
+            motionY[i] -= 0.04 * gravity[i];
+            
+            if ((flags[i] & FLAG_COLLIDE) != 0) {
+                moveColliding(i);
+            } else {
+                x[i] += motionX[i];
+                y[i] += motionY[i];
+                z[i] += motionZ[i];
+            }
+            
+            double s = slowDown[i];
+            motionX[i] *= s;
+            motionY[i] *= s;
+            motionZ[i] *= s;
+            
+            float rm = randomMotion[i];
+            if (rm != 0.0f) {
+                motionX[i] += rand.nextGaussian() * rm;
+                motionY[i] += rand.nextGaussian() * rm;
+                motionZ[i] += rand.nextGaussian() * rm;
+            }
+            
+            if ((flags[i] & FLAG_ON_GROUND) != 0 && s != 1.0) {
+                motionX[i] *= 0.7;
+                motionZ[i] *= 0.7;
+            }
+            
+            if (layer[i] == 0) {
+                light[i] = sampleLight(x[i], y[i], z[i]);
+            }
+            i++;
+        }
+    }
+    
+    /**
+     * Cheap block collision: resolve the vertical move first, then the horizontal
+     * one, checking only the block the particle's centre would enter.
+     */
+    private void moveColliding(int i) {
+        double ny = y[i] + motionY[i];
+        if (blocked(x[i], ny, z[i])) {
+            if (motionY[i] < 0) {
+                flags[i] |= FLAG_ON_GROUND;
+            }
+            motionY[i] = 0;
+        } else {
+            y[i] = ny;
+            flags[i] &= ~FLAG_ON_GROUND;
+        }
+        
+        double nx = x[i] + motionX[i];
+        double nz = z[i] + motionZ[i];
+        if (blocked(nx, y[i], nz)) {
+            motionX[i] = 0;
+            motionZ[i] = 0;
+        } else {
+            x[i] = nx;
+            z[i] = nz;
+        }
+    }
+    
+    private boolean blocked(double px, double py, double pz) {
+        return level.getBlockState(pos.set(px, py, pz)).blocksMotion();
+    }
+    
+    private int sampleLight(double px, double py, double pz) {
+        return LevelRenderer.getLightColor(level, pos.set(px, py, pz));
+    }
+    
+    // ==================== Rendering ====================
+    
+    private void render(PoseStack poseStack, Camera camera, float partialTicks) {
+        if (count == 0) {
+            return;
+        }
+        
+        Quaternionf rotation = camera.rotation();
+        axisX.set(1.0f, 0.0f, 0.0f).rotate(rotation);
+        axisY.set(0.0f, 1.0f, 0.0f).rotate(rotation);
+        Vec3 cam = camera.getPosition();
+        
+        PoseStack modelView = RenderSystem.getModelViewStack();
+        modelView.pushPose();
+        modelView.mulPoseMatrix(poseStack.last().pose());
+        RenderSystem.applyModelViewMatrix();
+        
+        LightTexture lightTexture = Minecraft.getInstance().gameRenderer.lightTexture();
+        lightTexture.turnOnLightLayer();
+        RenderSystem.setShader(GameRenderer::getParticleShader);
+        RenderSystem.setShaderTexture(0, TEXTURE);
+        RenderSystem.enableDepthTest();
+        RenderSystem.depthMask(false);
+        RenderSystem.enableBlend();
+        
+        Tesselator tesselator = Tesselator.getInstance();
+        for (int l = 0; l < LAYERS; l++) {
+            if (layerCount[l] == 0) {
+                continue;
+            }
+            if (l == 1) {
+                RenderSystem.blendFunc(GlStateManager.SourceFactor.SRC_ALPHA, GlStateManager.DestFactor.ONE);
+            } else {
+                RenderSystem.defaultBlendFunc();
+            }
+            BufferBuilder buffer = tesselator.getBuilder();
+            buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.PARTICLE);
+            writeLayer(buffer, l, cam.x, cam.y, cam.z, partialTicks);
+            tesselator.end();
+        }
+        
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+        RenderSystem.depthMask(true);
+        lightTexture.turnOffLightLayer();
+        modelView.popPose();
+        RenderSystem.applyModelViewMatrix();
+    }
+    
+    private void writeLayer(BufferBuilder buffer, int l, double camX, double camY, double camZ, float pt) {
+        float ax = axisX.x(), ay = axisX.y(), az = axisX.z();
+        float bx = axisY.x(), by = axisY.y(), bz = axisY.z();
+        
+        for (int i = 0; i < count; i++) {
+            int a = age[i];
+            if (layer[i] != l || a < 0) {
+                continue;
+            }
+            
+            float px = (float) (prevX[i] + (x[i] - prevX[i]) * pt - camX);
+            float py = (float) (prevY[i] + (y[i] - prevY[i]) * pt - camY);
+            float pz = (float) (prevZ[i] + (z[i] - prevZ[i]) * pt - camZ);
+            
+            int life = lifetime[i];
+            float t = Mth.clamp((a + pt) / life, 0.0f, 1.0f);
+            float r = startR[i] + (endR[i] - startR[i]) * t;
+            float g = startG[i] + (endG[i] - startG[i]) * t;
+            float b = startB[i] + (endB[i] - startB[i]) * t;
+            float al = alpha[i];
+            float size = scale[i];
+            
+            // Rotate the billboard axes in the view plane
+            float x1 = ax, y1 = ay, z1 = az;
+            float x2 = bx, y2 = by, z2 = bz;
+            float rl = prevRoll[i] + (roll[i] - prevRoll[i]) * pt;
+            if (rl != 0.0f) {
+                float c = Mth.cos(rl);
+                float s = Mth.sin(rl);
+                x1 = ax * c + bx * s;
+                y1 = ay * c + by * s;
+                z1 = az * c + bz * s;
+                x2 = bx * c - ax * s;
+                y2 = by * c - ay * s;
+                z2 = bz * c - az * s;
+            }
+            x1 *= size;
+            y1 *= size;
+            z1 *= size;
+            x2 *= size;
+            y2 *= size;
+            z2 *= size;
+            
+            // Sprite frame on the particle sheet
+            int frame;
+            if ((flags[i] & FLAG_LOOP) != 0) {
+                frame = spriteStart[i] + (a / spriteInc[i]) % spriteNum[i];
+            } else {
+                frame = spriteStart[i] + Math.min((int) (spriteNum[i] * (a / (float) life)), spriteNum[i] - 1);
+            }
+            int gs = grid[i];
+            float cell = 1.0f / gs;
+            float u0 = (frame % gs) * cell;
+            float v0 = (frame / gs) * cell;
+            float u1 = u0 + cell;
+            float v1 = v0 + cell;
+            int lc = light[i];
+            
+            buffer.vertex(px - x1 - x2, py - y1 - y2, pz - z1 - z2)
+                    .uv(u1, v1).color(r, g, b, al).uv2(lc).endVertex();
+            buffer.vertex(px - x1 + x2, py - y1 + y2, pz - z1 + z2)
+                    .uv(u1, v0).color(r, g, b, al).uv2(lc).endVertex();
+            buffer.vertex(px + x1 + x2, py + y1 + y2, pz + z1 + z2)
+                    .uv(u0, v0).color(r, g, b, al).uv2(lc).endVertex();
+            buffer.vertex(px + x1 - x2, py + y1 - y2, pz + z1 - z2)
+                    .uv(u0, v1).color(r, g, b, al).uv2(lc).endVertex();
+        }
+    }
+    
+    // ==================== Storage ====================
+    
+    private int capacity() {
+        return age.length;
+    }
+    
+    private boolean grow() {
+        int cap = capacity();
+        if (cap >= MAX_PARTICLES) {
+            return false;
+        }
+        int newCap = Math.min(cap * 2, MAX_PARTICLES);
+        x = Arrays.copyOf(x, newCap);
+        y = Arrays.copyOf(y, newCap);
+        z = Arrays.copyOf(z, newCap);
+        prevX = Arrays.copyOf(prevX, newCap);
+        prevY = Arrays.copyOf(prevY, newCap);
+        prevZ = Arrays.copyOf(prevZ, newCap);
+        motionX = Arrays.copyOf(motionX, newCap);
+        motionY = Arrays.copyOf(motionY, newCap);
+        motionZ = Arrays.copyOf(motionZ, newCap);
+        startR = Arrays.copyOf(startR, newCap);
+        startG = Arrays.copyOf(startG, newCap);
+        startB = Arrays.copyOf(startB, newCap);
+        endR = Arrays.copyOf(endR, newCap);
+        endG = Arrays.copyOf(endG, newCap);
+        endB = Arrays.copyOf(endB, newCap);
+        alpha = Arrays.copyOf(alpha, newCap);
+        scale = Arrays.copyOf(scale, newCap);
+        roll = Arrays.copyOf(roll, newCap);
+        prevRoll = Arrays.copyOf(prevRoll, newCap);
+        rollSpeed = Arrays.copyOf(rollSpeed, newCap);
+        gravity = Arrays.copyOf(gravity, newCap);
+        slowDown = Arrays.copyOf(slowDown, newCap);
+        randomMotion = Arrays.copyOf(randomMotion, newCap);
+        age = Arrays.copyOf(age, newCap);
+        lifetime = Arrays.copyOf(lifetime, newCap);
+        spriteStart = Arrays.copyOf(spriteStart, newCap);
+        spriteNum = Arrays.copyOf(spriteNum, newCap);
+        spriteInc = Arrays.copyOf(spriteInc, newCap);
+        grid = Arrays.copyOf(grid, newCap);
+        light = Arrays.copyOf(light, newCap);
+        layer = Arrays.copyOf(layer, newCap);
+        flags = Arrays.copyOf(flags, newCap);
+        return true;
+    }
+    
+    private void allocate(int cap) {
+        x = new double[cap];
+        y = new double[cap];
+        z = new double[cap];
+        prevX = new double[cap];
+        prevY = new double[cap];
+        prevZ = new double[cap];
+        motionX = new double[cap];
+        motionY = new double[cap];
+        motionZ = new double[cap];
+        startR = new float[cap];
+        startG = new float[cap];
+        startB = new float[cap];
+        endR = new float[cap];
+        endG = new float[cap];
+        endB = new float[cap];
+        alpha = new float[cap];
+        scale = new float[cap];
+        roll = new float[cap];
+        prevRoll = new float[cap];
+        rollSpeed = new float[cap];
+        gravity = new float[cap];
+        slowDown = new float[cap];
+        randomMotion = new float[cap];
+        age = new int[cap];
+        lifetime = new int[cap];
+        spriteStart = new int[cap];
+        spriteNum = new int[cap];
+        spriteInc = new int[cap];
+        grid = new int[cap];
+        light = new int[cap];
+        layer = new byte[cap];
+        flags = new byte[cap];
+    }
+    
+    /**
+     * Remove a particle by moving the last live particle into its slot.
+     */
+    private void remove(int i) {
+        layerCount[layer[i]]--;
+        int last = --count;
+        if (i == last) {
+            return;
+        }
+        x[i] = x[last];
+        y[i] = y[last];
+        z[i] = z[last];
+        prevX[i] = prevX[last];
+        prevY[i] = prevY[last];
+        prevZ[i] = prevZ[last];
+        motionX[i] = motionX[last];
+        motionY[i] = motionY[last];
+        motionZ[i] = motionZ[last];
+        startR[i] = startR[last];
+        startG[i] = startG[last];
+        startB[i] = startB[last];
+        endR[i] = endR[last];
+        endG[i] = endG[last];
+        endB[i] = endB[last];
+        alpha[i] = alpha[last];
+        scale[i] = scale[last];
+        roll[i] = roll[last];
+        prevRoll[i] = prevRoll[last];
+        rollSpeed[i] = rollSpeed[last];
+        gravity[i] = gravity[last];
+        slowDown[i] = slowDown[last];
+        randomMotion[i] = randomMotion[last];
+        age[i] = age[last];
+        lifetime[i] = lifetime[last];
+        spriteStart[i] = spriteStart[last];
+        spriteNum[i] = spriteNum[last];
+        spriteInc[i] = spriteInc[last];
+        grid[i] = grid[last];
+        light[i] = light[last];
+        layer[i] = layer[last];
+        flags[i] = flags[last];
+    }
+    
+    // ==================== Events ====================
+    
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        INSTANCE.checkLevel();
+        if (INSTANCE.level == null || Minecraft.getInstance().isPaused()) {
+            return;
+        }
+        INSTANCE.tick();
+    }
+    
+    @SubscribeEvent
+    public static void onRenderLevelStage(RenderLevelStageEvent event) {
+        if (event.getStage() != RenderLevelStageEvent.Stage.AFTER_PARTICLES || INSTANCE.level == null) {
+            return;
+        }
+        long start = RenderProfiler.begin();
+        long drawStart = System.nanoTime();
+        INSTANCE.render(event.getPoseStack(), event.getCamera(), event.getPartialTick());
+        FXBudget.INSTANCE.addFxTime(System.nanoTime() - drawStart);
+        RenderProfiler.addVertices(RenderProfiler.Section.FX_BATCH, INSTANCE.count * 4);
+        RenderProfiler.end(RenderProfiler.Section.FX_BATCH, start);
+    }
+}
@@ -0,0 +1,332 @@
+package thaumcraft.client.fx;
+
+import net.minecraft.client.Camera;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.ParticleStatus;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.CustomizeGuiOverlayEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import thaumcraft.Thaumcraft;
+import thaumcraft.common.config.ModConfig;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * FXBudget - Client-side admission control for FXDispatcher effects.
+ * 
+ * Server FX packets (essentia sources, infusion sources, block mist...) arrive
+ * without any limit, so a room full of busy altars can request tens of thousands
+ * of particles. Every FXDispatcher effect asks the budget first:
+ * 
+ * - Distance LOD: effects beyond fxLodFarRadius are dropped; between the near
+ *   and far radius they are thinned (single particles) or reduced in count
+ *   (multi-particle effects).
+ * - Particle setting: vanilla's Decreased/Minimal particle option thins Thaumcraft
+ *   effects the same way.
+ * - Per-category quotas: each effect category may only spawn so many particles
+ *   per client tick.
+ * - Global cap: live batched particles plus spawns over the last second may not
+ *   exceed fxParticleBudget. The cap only shrinks when Thaumcraft's FX are to
+ *   blame for slow frames: frames run slower than fxTargetFrameTime, drawing the
+ *   FX batch takes more than FX_SHARE of that target, and the particle count is
+ *   near the cap. A game held back by a frame limiter, the GPU or other mods keeps
+ *   its particles. The cap recovers when frames are fast again or FX are cheap,
+ *   and never drops below MIN_SCALE of the budget.
+ * 
+ * Counters are shown on the F3 screen.
+ */
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class FXBudget {
+    
+    public static final FXBudget INSTANCE = new FXBudget();
+    
+    /**
+     * Effect categories and their per-tick spawn quotas
+     */
+    public enum Category {
+        GENERIC(400),
+        SPARKLE(200),
+        MIST(100),
+        ESSENTIA(200),
+        INFUSION(200),
+        BEAM(60),
+        TAINT(150);
+        
+        private final int quota;
+        
+        Category(int quota) {
+            this.quota = quota;
+        }
+        
+        public int getQuota() {
+            return Math.max(1, (int) (quota * ModConfig.fxQuotaMultiplier));
+        }
+    }
+    
+    private static final int CATEGORIES = Category.values().length;
+    private static final int HISTORY = 20;
+    private static final float MIN_SCALE = 0.25f;
+    
+    /** Share of the target frame time the FX batch may take before the cap shrinks */
+    private static final float FX_SHARE = 0.25f;
+    
+    /** Share of the cap the particle count must reach before the cap shrinks */
+    private static final float NEAR_CAP = 0.75f;
+    
+    private final Random rand = new Random();
+    
+    // Adaptive cap
+    private float budgetScale = 1.0f;
+    private float frameTimeMs = 0.0f;
+    private long lastFrameNanos = 0L;
+    
+    // Time spent drawing the FX batch, this frame and smoothed over frames
+    private long fxNanos = 0L;
+    private float fxTimeMs = 0.0f;
+    
+    // Spawns in the current tick and the last second
+    private final int[] spawnedThisTick = new int[CATEGORIES];
+    private final int[] recentSpawns = new int[HISTORY];
+    private int recentIndex = 0;
+    private int recentTotal = 0;
+    private int tickTotal = 0;
+    
+    // Cached camera position for distance checks, refreshed every tick
+    private double camX, camY, camZ;
+    
+    // Counters since the last reset
+    private final long[] spawned = new long[CATEGORIES];
+    private final long[] culledDistance = new long[CATEGORIES];
+    private final long[] culledSettings = new long[CATEGORIES];
+    private final long[] culledQuota = new long[CATEGORIES];
+    private final long[] culledBudget = new long[CATEGORIES];
+    
+    private FXBudget() {
+    }
+    
+    // ==================== Admission ====================
+    
+    /**
+     * Ask to spawn a single particle of an effect at a position.
+     */
+    public boolean allow(Category category, double x, double y, double z) {
+        int c = category.ordinal();
+        if (!keepForDistance(x, y, z)) {
+            culledDistance[c]++;
+            return false;
+        }
+        if (!keepForSettings()) {
+            culledSettings[c]++;
+            return false;
+        }
+        return admit(category, 1) == 1;
+    }
+    
+    /**
+     * Ask to spawn a multi-particle effect centred on a position.
+     * 
+     * @return how many of the requested particles may be spawned (possibly 0)
+     */
+    public int allowCount(Category category, int count, double x, double y, double z) {
+        if (count <= 0) {
+            return 0;
+        }
+        int c = category.ordinal();
+        double keep = distanceKeepFraction(x, y, z);
+        int n = (int) Math.ceil(count * keep);
+        if (keep <= 0.0) {
+            n = 0;
+        }
+        culledDistance[c] += count - n;
+        
+        int afterSettings = (int) Math.ceil(n * settingsKeepFraction());
+        culledSettings[c] += n - afterSettings;
+        
+        return afterSettings > 0 ? admit(category, afterSettings) : 0;
+    }
+    
+    /**
+     * Apply the category quota and the global cap to an already LOD-filtered request.
+     */
+    private int admit(Category category, int count) {
+        int c = category.ordinal();
+        
+        int quotaLeft = category.getQuota() - spawnedThisTick[c];
+        int n = Math.min(count, Math.max(0, quotaLeft));
+        culledQuota[c] += count - n;
+        
+        int live = Math.max(FXBatch.INSTANCE.getParticleCount(), recentTotal) + tickTotal;
+        int budgetLeft = getCurrentCap() - live;
+        int m = Math.min(n, Math.max(0, budgetLeft));
+        culledBudget[c] += n - m;
+        
+        spawnedThisTick[c] += m;
+        tickTotal += m;
+        spawned[c] += m;
+        return m;
+    }
+    
+    /**
+     * Fraction of particles to keep at a given distance from the camera:
+     * 1 inside the near radius, falling to 0.25 at the far radius, 0 beyond it.
+     */
+    private double distanceKeepFraction(double x, double y, double z) {
+        double dx = x - camX;
+        double dy = y - camY;
+        double dz = z - camZ;
+        double d2 = dx * dx + dy * dy + dz * dz;
+        double near = ModConfig.fxLodNearRadius;
+        double far = Math.max(near, ModConfig.fxLodFarRadius);
+        if (d2 <= near * near) {
+            return 1.0;
+        }
+        if (d2 > far * far) {
+            return 0.0;
+        }
+        double t = (Math.sqrt(d2) - near) / Math.max(1.0E-3, far - near);
+        return 1.0 - t * 0.75;
+    }
+    
+    private boolean keepForDistance(double x, double y, double z) {
+        double keep = distanceKeepFraction(x, y, z);
+        return keep >= 1.0 || (keep > 0.0 && rand.nextDouble() < keep);
+    }
+    
+    private double settingsKeepFraction() {
+        ParticleStatus status = Minecraft.getInstance().options.particles().get();
+        return switch (status) {
+            case ALL -> 1.0;
+            case DECREASED -> 0.5;
+            case MINIMAL -> 0.1;
+        };
+    }
+    
+    private boolean keepForSettings() {
+        double keep = settingsKeepFraction();
+        return keep >= 1.0 || rand.nextDouble() < keep;
+    }
+    
+    // ==================== Adaptive Cap ====================
+    
+    public int getCurrentCap() {
+        return Math.max(1, (int) (ModConfig.fxParticleBudget * budgetScale));
+    }
+    
+    public float getBudgetScale() {
+        return budgetScale;
+    }
+    
+    public float getFrameTimeMs() {
+        return frameTimeMs;
+    }
+    
+    public float getFxTimeMs() {
+        return fxTimeMs;
+    }
+    
+    /**
+     * Report time spent drawing Thaumcraft FX this frame.
+     */
+    public void addFxTime(long nanos) {
+        fxNanos += nanos;
+    }
+    
+    private void onFrame() {
+        long now = System.nanoTime();
+        if (lastFrameNanos != 0L) {
+            float ms = (now - lastFrameNanos) / 1.0E6f;
+            // Ignore hitches such as world loads and alt-tab so one stall does not zero the budget
+            if (ms < 250.0f) {
+                frameTimeMs = frameTimeMs == 0.0f ? ms : frameTimeMs * 0.9f + ms * 0.1f;
+                fxTimeMs = fxTimeMs * 0.9f + (fxNanos / 1.0E6f) * 0.1f;
+            }
+        }
+        lastFrameNanos = now;
+        fxNanos = 0L;
+    }
+    
+    private void onTick() {
+        float target = ModConfig.fxTargetFrameTime;
+        float fxLimit = target * FX_SHARE;
+        int live = Math.max(FXBatch.INSTANCE.getParticleCount(), recentTotal);
+        boolean nearCap = live >= getCurrentCap() * NEAR_CAP;
+        if (frameTimeMs > target * 1.1f && fxTimeMs > fxLimit && nearCap) {
+            budgetScale = Math.max(MIN_SCALE, budgetScale * 0.9f);
+        } else if (frameTimeMs < target * 0.9f || fxTimeMs < fxLimit * 0.5f) {
+            budgetScale = Math.min(1.0f, budgetScale * 1.05f + 0.01f);
+        }
+        
+        recentIndex = (recentIndex + 1) % HISTORY;
+        recentTotal += tickTotal - recentSpawns[recentIndex];
+        recentSpawns[recentIndex] = tickTotal;
+        tickTotal = 0;
+        Arrays.fill(spawnedThisTick, 0);
+        
+        Camera camera = Minecraft.getInstance().gameRenderer.getMainCamera();
+        Vec3 pos = camera.getPosition();
+        camX = pos.x;
+        camY = pos.y;
+        camZ = pos.z;
+    }
+    
+    // ==================== Counters ====================
+    
+    public long getSpawned(Category category) {
+        return spawned[category.ordinal()];
+    }
+    
+    public long getCulled(Category category) {
+        int c = category.ordinal();
+        return culledDistance[c] + culledSettings[c] + culledQuota[c] + culledBudget[c];
+    }
+    
+    public void resetCounters() {
+        Arrays.fill(spawned, 0L);
+        Arrays.fill(culledDistance, 0L);
+        Arrays.fill(culledSettings, 0L);
+        Arrays.fill(culledQuota, 0L);
+        Arrays.fill(culledBudget, 0L);
+    }
+    
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long v : values) {
+            total += v;
+        }
+        return total;
+    }
+    
+    // ==================== Events ====================
+    
+    @SubscribeEvent
+    public static void onRenderTick(TickEvent.RenderTickEvent event) {
+        if (event.phase == TickEvent.Phase.START) {
+            INSTANCE.onFrame();
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START && Minecraft.getInstance().level != null) {
+            INSTANCE.onTick();
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onDebugText(CustomizeGuiOverlayEvent.DebugText event) {
+        if (!Minecraft.getInstance().options.renderDebug) {
+            return;
+        }
+        FXBudget b = INSTANCE;
+        event.getLeft().add(String.format("TC FX: %d batched, cap %d (x%.2f, %.1f ms frame, %.2f ms FX)",
+                FXBatch.INSTANCE.getParticleCount(), b.getCurrentCap(), b.budgetScale, b.frameTimeMs, b.fxTimeMs));
+        event.getLeft().add(String.format("TC FX culled: dist %d, settings %d, quota %d, budget %d / spawned %d",
+                sum(b.culledDistance), sum(b.culledSettings), sum(b.culledQuota), sum(b.culledBudget), sum(b.spawned)));
+    }
+}
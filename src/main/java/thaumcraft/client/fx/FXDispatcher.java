@@ -17,6 +17,7 @@ import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
+import thaumcraft.client.fx.FXBudget.Category;
 import thaumcraft.client.fx.beams.FXArc;
 import thaumcraft.client.fx.beams.FXBeamBore;
 import thaumcraft.client.fx.beams.FXBeamWand;
@@ -28,7 +29,6 @@ import thaumcraft.client.fx.particles.FXCrucibleBubble;
 import thaumcraft.client.fx.particles.FXEssentiaTrail;
 import thaumcraft.client.fx.particles.FXFireMote;
 import thaumcraft.client.fx.particles.FXTaintParticle;
-import thaumcraft.client.fx.particles.FXGeneric;
 import thaumcraft.client.fx.particles.FXGenericP2E;
 import thaumcraft.client.fx.particles.FXGenericP2P;
 import thaumcraft.client.fx.particles.FXPlane;
@@ -51,6 +51,9 @@ import java.util.Random;
  * be incrementally added.
  * 
  * For now, most methods use vanilla particles as placeholders.
+ * 
+ * Every effect asks FXBudget before spawning anything, so distance LOD,
+ * per-category quotas and the adaptive particle cap apply to all of them.
  */
 @OnlyIn(Dist.CLIENT)
 public class FXDispatcher {
@@ -59,6 +62,9 @@ public class FXDispatcher {
     
     private final Random rand = new Random();
     
+    // Shared spawn descriptor for FXBatch; FX calls only happen on the client thread
+    private final GenPart batchPart = new GenPart();
+    
     public Level getWorld() {
         return Minecraft.getInstance().level;
     }
@@ -79,10 +85,41 @@ public class FXDispatcher {
         }
     }
     
+    /**
+     * Get the shared batch descriptor, reset to FXGeneric's defaults
+     */
+    private GenPart batchPart() {
+        GenPart part = batchPart.reset();
+        part.slowDown = 0.98;
+        return part;
+    }
+    
+    /**
+     * Ask the FX budget whether one particle of an effect may spawn here
+     */
+    private boolean budget(Category category, double x, double y, double z) {
+        return FXBudget.INSTANCE.allow(category, x, y, z);
+    }
+    
+    /**
+     * Ask the FX budget how many particles of a multi-particle effect may spawn here
+     */
+    private int budget(Category category, int count, double x, double y, double z) {
+        return FXBudget.INSTANCE.allowCount(category, count, x, y, z);
+    }
+    
+    /**
+     * Add a generic sprite particle to the array-backed FX batch
+     */
+    private void addBatched(double x, double y, double z, double mx, double my, double mz, GenPart part) {
+        FXBatch.INSTANCE.spawn(x, y, z, mx, my, mz, part);
+    }
+    
     // ==================== Fire/Alumentum Effects ====================
     
     public void drawFireMote(float x, float y, float z, float vx, float vy, float vz, 
             float r, float g, float b, float alpha, float scale) {
+        if (!budget(Category.GENERIC, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXFireMote particle = new FXFireMote(level, x, y, z, vx, vy, vz, r, g, b, scale);
@@ -93,6 +130,7 @@ public class FXDispatcher {
     
     public void drawAlumentum(float x, float y, float z, float vx, float vy, float vz, 
             float r, float g, float b, float alpha, float scale) {
+        if (!budget(Category.GENERIC, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             // Alumentum uses fire motes but with layer 1 (additive blending)
@@ -108,6 +146,7 @@ public class FXDispatcher {
      * Draw taint corruption particles.
      */
     public void drawTaintParticles(float x, float y, float z, float vx, float vy, float vz, float scale) {
+        if (!budget(Category.TAINT, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXTaintParticle particle = new FXTaintParticle(level, x, y, z, vx, vy, vz, scale);
@@ -118,6 +157,7 @@ public class FXDispatcher {
     // ==================== Lightning/Spark Effects ====================
     
     public void drawLightningFlash(double x, double y, double z, float r, float g, float b, float alpha, float scale) {
+        if (!budget(Category.SPARKLE, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.FLASH, x, y, z, 0, 0, 0);
@@ -125,6 +165,7 @@ public class FXDispatcher {
     }
     
     public void spark(double x, double y, double z, float size, float r, float g, float b, float a) {
+        if (!budget(Category.SPARKLE, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.ELECTRIC_SPARK, x, y, z, 0, 0, 0);
@@ -132,6 +173,7 @@ public class FXDispatcher {
     }
     
     public void sparkle(float x, float y, float z, float r, float g, float b) {
+        if (!budget(Category.SPARKLE, x, y, z)) return;
         Level level = getWorld();
         if (level != null && rand.nextInt(6) < 4) {
             level.addParticle(ParticleTypes.END_ROD, x, y, z, 0, 0.01, 0);
@@ -143,6 +185,7 @@ public class FXDispatcher {
      * Animated bubble that rises, inflates, and pops.
      */
     public void slimyBubbleFX(float x, float y, float z, float scale, float r, float g, float b) {
+        if (!budget(Category.TAINT, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXSlimyBubble bubble = new FXSlimyBubble(level, x, y, z, scale, r, g, b);
@@ -155,18 +198,20 @@ public class FXDispatcher {
     public void drawGenericParticles(double x, double y, double z, double mx, double my, double mz, 
             float r, float g, float b, float alpha, boolean loop, int start, int num, int inc, 
             int age, int delay, float scale, float rot, int layer) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
-            FXGeneric particle = new FXGeneric(level, x, y, z, mx, my, mz);
-            particle.setColor(r, g, b);
-            particle.setAlphaF(alpha);
-            particle.setLoop(loop);
-            particle.setParticles(start, num, inc);
-            particle.setMaxAge(age);
-            particle.setScale(scale);
-            particle.setRotationSpeed(rot);
-            particle.setLayer(layer);
-            addParticle(particle);
+        if (!budget(Category.GENERIC, x, y, z)) return;
+        if (getClientLevel() != null) {
+            GenPart part = batchPart().setColor(r, g, b);
+            part.alpha = alpha;
+            part.loop = loop;
+            part.partStart = start;
+            part.partNum = num;
+            part.partInc = inc;
+            part.age = age;
+            part.delay = delay;
+            part.scale = scale;
+            part.rot = rot;
+            part.layer = layer;
+            addBatched(x, y, z, mx, my, mz, part);
         }
     }
     
@@ -177,10 +222,9 @@ public class FXDispatcher {
     }
     
     public void drawGenericParticles(double x, double y, double z, double mx, double my, double mz, GenPart part) {
-        if (part != null) {
-            drawGenericParticles(x, y, z, mx, my, mz, part.redStart, part.greenStart, part.blueStart, 
-                    part.alpha, part.loop, part.partStart, part.partNum, part.partInc, 
-                    part.age, part.delay, part.scale, part.rot, part.layer);
+        if (!budget(Category.GENERIC, x, y, z)) return;
+        if (part != null && getClientLevel() != null) {
+            addBatched(x, y, z, mx, my, mz, part);
         }
     }
     
@@ -190,6 +234,7 @@ public class FXDispatcher {
      * Create a colored bubble in the crucible.
      */
     public void crucibleBubble(float x, float y, float z, float cr, float cg, float cb) {
+        if (!budget(Category.GENERIC, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXCrucibleBubble bubble = new FXCrucibleBubble(level, x, y, z, cr, cg, cb);
@@ -208,7 +253,8 @@ public class FXDispatcher {
             float g = ((aspectColor >> 8) & 0xFF) / 255.0f;
             float b = (aspectColor & 0xFF) / 255.0f;
             
-            for (int a = 0; a < 2; a++) {
+            int count = budget(Category.GENERIC, 2, pos.getX() + 0.5, pos.getY() + 0.65, pos.getZ() + 0.5);
+            for (int a = 0; a < count; a++) {
                 double x = pos.getX() + 0.2f + rand.nextFloat() * 0.6f;
                 double y = pos.getY() + 0.65f;
                 double z = pos.getZ() + 0.2f + rand.nextFloat() * 0.6f;
@@ -223,17 +269,15 @@ public class FXDispatcher {
      * Create frothy splash particles on crucible surface.
      */
     public void crucibleFroth(float x, float y, float z) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
+        if (!budget(Category.GENERIC, x, y, z)) return;
+        if (getClientLevel() != null) {
             // Small white splash particle
-            FXGeneric splash = new FXGeneric(level, x, y, z, 
-                    (rand.nextFloat() - 0.5f) * 0.02, 0.02, (rand.nextFloat() - 0.5f) * 0.02);
-            splash.setColor(0.9f, 0.9f, 1.0f);
-            splash.setAlphaF(0.6f);
-            splash.setMaxAge(6 + rand.nextInt(4));
-            splash.setScale(0.2f + rand.nextFloat() * 0.1f);
-            splash.setParticles(160, 1, 1);
-            addParticle(splash);
+            GenPart splash = batchPart().setColor(0.9f, 0.9f, 1.0f);
+            splash.alpha = 0.6f;
+            splash.age = 6 + rand.nextInt(4);
+            splash.scale = 0.2f + rand.nextFloat() * 0.1f;
+            splash.partStart = 160;
+            addBatched(x, y, z, (rand.nextFloat() - 0.5f) * 0.02, 0.02, (rand.nextFloat() - 0.5f) * 0.02, splash);
         }
     }
     
@@ -241,17 +285,16 @@ public class FXDispatcher {
      * Create dripping particles from crucible overflow.
      */
     public void crucibleFrothDown(float x, float y, float z) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
+        if (!budget(Category.GENERIC, x, y, z)) return;
+        if (getClientLevel() != null) {
             // Dripping particle that falls
-            FXGeneric drip = new FXGeneric(level, x, y, z, 0, -0.01, 0);
-            drip.setColor(0.6f, 0.7f, 0.9f);
-            drip.setAlphaF(0.5f);
-            drip.setMaxAge(15 + rand.nextInt(10));
-            drip.setScale(0.15f);
-            drip.setParticles(160, 1, 1);
-            drip.setGravity(0.05f);
-            addParticle(drip);
+            GenPart drip = batchPart().setColor(0.6f, 0.7f, 0.9f);
+            drip.alpha = 0.5f;
+            drip.age = 15 + rand.nextInt(10);
+            drip.scale = 0.15f;
+            drip.partStart = 160;
+            drip.grav = 0.05f;
+            addBatched(x, y, z, 0, -0.01, 0, drip);
         }
     }
     
@@ -293,7 +336,7 @@ public class FXDispatcher {
         }
         
         // Spawn colored smoke particles
-        int count = 8 + rand.nextInt(4);
+        int count = budget(Category.GENERIC, 8 + rand.nextInt(4), x, y, z);
         for (int a = 0; a < count; a++) {
             double vx = rand.nextGaussian() * 0.1;
             double vy = rand.nextGaussian() * 0.1;
@@ -305,29 +348,28 @@ public class FXDispatcher {
             }
             
             // Create colored poof particle
-            FXGeneric poof = new FXGeneric(level, x + vx * 0.5, y + vy * 0.5, z + vz * 0.5, vx, vy, vz);
-            poof.setColor(r, g, b);
-            poof.setAlphaF(0.7f);
-            poof.setMaxAge(12 + rand.nextInt(8));
-            poof.setScale(0.4f + rand.nextFloat() * 0.3f);
-            poof.setParticles(72, 4, 1);  // Wispy sprites
-            poof.setLoop(true);
-            poof.setGravity(-0.02f);  // Slight upward float
-            addParticle(poof);
+            GenPart poof = batchPart().setColor(r, g, b);
+            poof.alpha = 0.7f;
+            poof.age = 12 + rand.nextInt(8);
+            poof.scale = 0.4f + rand.nextFloat() * 0.3f;
+            poof.partStart = 72;  // Wispy sprites
+            poof.partNum = 4;
+            poof.loop = true;
+            poof.grav = -0.02f;  // Slight upward float
+            addBatched(x + vx * 0.5, y + vy * 0.5, z + vz * 0.5, vx, vy, vz, poof);
         }
         
         if (flair) {
             // Add sparkle flair
-            for (int a = 0; a < 5; a++) {
-                FXGeneric sparkle = new FXGeneric(level, x, y, z,
-                        rand.nextGaussian() * 0.08, rand.nextGaussian() * 0.08, rand.nextGaussian() * 0.08);
-                sparkle.setColor(1.0f, 1.0f, 1.0f);
-                sparkle.setAlphaF(0.9f);
-                sparkle.setMaxAge(8 + rand.nextInt(5));
-                sparkle.setScale(0.15f + rand.nextFloat() * 0.1f);
-                sparkle.setParticles(0, 4, 1);  // Bright sparkle
-                sparkle.setLayer(1);  // Additive blending
-                addParticle(sparkle);
+            int sparkles = budget(Category.SPARKLE, 5, x, y, z);
+            for (int a = 0; a < sparkles; a++) {
+                GenPart sparkle = batchPart().setColor(1.0f, 1.0f, 1.0f);
+                sparkle.alpha = 0.9f;
+                sparkle.age = 8 + rand.nextInt(5);
+                sparkle.scale = 0.15f + rand.nextFloat() * 0.1f;
+                sparkle.partNum = 4;  // Bright sparkle
+                sparkle.layer = 1;  // Additive blending
+                addBatched(x, y, z, rand.nextGaussian() * 0.08, rand.nextGaussian() * 0.08, rand.nextGaussian() * 0.08, sparkle);
             }
         }
     }
@@ -338,22 +380,22 @@ public class FXDispatcher {
      * Create wispy mote particles rising from a block.
      */
     public void drawWispyMotesOnBlock(BlockPos pp, int age, float grav) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
+        if (!budget(Category.GENERIC, pp.getX() + 0.5, pp.getY(), pp.getZ() + 0.5)) return;
+        if (getClientLevel() != null) {
             double x = pp.getX() + rand.nextFloat();
             double y = pp.getY();
             double z = pp.getZ() + rand.nextFloat();
             
-            FXGeneric mote = new FXGeneric(level, x, y, z, 0, 0.03 + rand.nextFloat() * 0.02, 0);
-            mote.setColor(0.8f, 0.6f, 1.0f);  // Light purple
-            mote.setAlphaF(0.6f);
-            mote.setMaxAge(age > 0 ? age : 15 + rand.nextInt(10));
-            mote.setScale(0.15f + rand.nextFloat() * 0.1f);
-            mote.setParticles(64, 4, 1);  // Wispy sprites
-            mote.setLoop(true);
-            mote.setGravity(grav);
-            mote.setLayer(1);
-            addParticle(mote);
+            GenPart mote = batchPart().setColor(0.8f, 0.6f, 1.0f);  // Light purple
+            mote.alpha = 0.6f;
+            mote.age = age > 0 ? age : 15 + rand.nextInt(10);
+            mote.scale = 0.15f + rand.nextFloat() * 0.1f;
+            mote.partStart = 64;  // Wispy sprites
+            mote.partNum = 4;
+            mote.loop = true;
+            mote.grav = grav;
+            mote.layer = 1;
+            addBatched(x, y, z, 0, 0.03 + rand.nextFloat() * 0.02, 0, mote);
         }
     }
     
@@ -369,18 +411,18 @@ public class FXDispatcher {
      */
     public void drawWispyMotes(double x, double y, double z, double vx, double vy, double vz, 
             int age, float r, float g, float b, float grav) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
-            FXGeneric mote = new FXGeneric(level, x, y, z, vx, vy, vz);
-            mote.setColor(r, g, b);
-            mote.setAlphaF(0.6f);
-            mote.setMaxAge(age > 0 ? age : 15 + rand.nextInt(10));
-            mote.setScale(0.15f + rand.nextFloat() * 0.1f);
-            mote.setParticles(64, 4, 1);
-            mote.setLoop(true);
-            mote.setGravity(grav);
-            mote.setLayer(1);
-            addParticle(mote);
+        if (!budget(Category.GENERIC, x, y, z)) return;
+        if (getClientLevel() != null) {
+            GenPart mote = batchPart().setColor(r, g, b);
+            mote.alpha = 0.6f;
+            mote.age = age > 0 ? age : 15 + rand.nextInt(10);
+            mote.scale = 0.15f + rand.nextFloat() * 0.1f;
+            mote.partStart = 64;
+            mote.partNum = 4;
+            mote.loop = true;
+            mote.grav = grav;
+            mote.layer = 1;
+            addBatched(x, y, z, vx, vy, vz, mote);
         }
     }
     
@@ -408,28 +450,26 @@ public class FXDispatcher {
      * Highlight a bounding box with scan sparkles.
      */
     public void scanHighlight(AABB bb) {
-        ClientLevel level = getClientLevel();
-        if (level == null) return;
+        if (getClientLevel() == null) return;
         
-        int num = Mth.ceil(bb.getSize() * 3);
         double cx = (bb.minX + bb.maxX) / 2;
         double cy = (bb.minY + bb.maxY) / 2;
         double cz = (bb.minZ + bb.maxZ) / 2;
+        int num = budget(Category.SPARKLE, Mth.ceil(bb.getSize() * 3), cx, cy, cz);
         
         for (int a = 0; a < num; a++) {
             double x = cx + rand.nextGaussian() * (bb.maxX - bb.minX) * 0.35;
             double y = cy + rand.nextGaussian() * (bb.maxY - bb.minY) * 0.35;
             double z = cz + rand.nextGaussian() * (bb.maxZ - bb.minZ) * 0.35;
             
-            FXGeneric sparkle = new FXGeneric(level, x, y, z, 0, 0.01, 0);
-            sparkle.setColor(0.9f, 0.95f, 1.0f);  // Bright white-blue
-            sparkle.setAlphaF(0.8f);
-            sparkle.setMaxAge(10 + rand.nextInt(8));
-            sparkle.setScale(0.1f + rand.nextFloat() * 0.08f);
-            sparkle.setParticles(0, 4, 1);  // Sparkle sprite
-            sparkle.setLayer(1);  // Additive
-            sparkle.setGravity(-0.01f);  // Slight upward float
-            addParticle(sparkle);
+            GenPart sparkle = batchPart().setColor(0.9f, 0.95f, 1.0f);  // Bright white-blue
+            sparkle.alpha = 0.8f;
+            sparkle.age = 10 + rand.nextInt(8);
+            sparkle.scale = 0.1f + rand.nextFloat() * 0.08f;
+            sparkle.partNum = 4;  // Sparkle sprite
+            sparkle.layer = 1;  // Additive
+            sparkle.grav = -0.01f;  // Slight upward float
+            addBatched(x, y, z, 0, 0.01, 0, sparkle);
         }
     }
     
@@ -437,11 +477,11 @@ public class FXDispatcher {
      * Create sparkles flowing from block toward a point.
      */
     public void drawBlockSparkles(BlockPos p, Vec3 start) {
-        ClientLevel level = getClientLevel();
-        if (level == null) return;
+        if (getClientLevel() == null) return;
         
         // Create sparkles that flow toward the start position
-        for (int i = 0; i < 3; i++) {
+        int count = budget(Category.SPARKLE, 3, p.getX() + 0.5, p.getY() + 0.5, p.getZ() + 0.5);
+        for (int i = 0; i < count; i++) {
             double x = p.getX() + rand.nextFloat();
             double y = p.getY() + rand.nextFloat();
             double z = p.getZ() + rand.nextFloat();
@@ -450,14 +490,13 @@ public class FXDispatcher {
             double vy = (start.y - y) * 0.05;
             double vz = (start.z - z) * 0.05;
             
-            FXGeneric sparkle = new FXGeneric(level, x, y, z, vx, vy, vz);
-            sparkle.setColor(0.9f, 0.95f, 1.0f);
-            sparkle.setAlphaF(0.7f);
-            sparkle.setMaxAge(12 + rand.nextInt(6));
-            sparkle.setScale(0.12f + rand.nextFloat() * 0.08f);
-            sparkle.setParticles(0, 4, 1);
-            sparkle.setLayer(1);
-            addParticle(sparkle);
+            GenPart sparkle = batchPart().setColor(0.9f, 0.95f, 1.0f);
+            sparkle.alpha = 0.7f;
+            sparkle.age = 12 + rand.nextInt(6);
+            sparkle.scale = 0.12f + rand.nextFloat() * 0.08f;
+            sparkle.partNum = 4;
+            sparkle.layer = 1;
+            addBatched(x, y, z, vx, vy, vz, sparkle);
         }
     }
     
@@ -466,17 +505,17 @@ public class FXDispatcher {
      */
     public void drawSimpleSparkle(Random rand, double x, double y, double z, double x2, double y2, double z2, 
             float scale, float r, float g, float b, int delay, float decay, float grav, int baseAge) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
-            FXGeneric sparkle = new FXGeneric(level, x, y, z, x2, y2, z2);
-            sparkle.setColor(r, g, b);
-            sparkle.setAlphaF(0.8f);
-            sparkle.setMaxAge(baseAge > 0 ? baseAge : 15);
-            sparkle.setScale(scale > 0 ? scale : 0.15f);
-            sparkle.setParticles(0, 4, 1);
-            sparkle.setLayer(1);
-            sparkle.setGravity(grav);
-            addParticle(sparkle);
+        if (!budget(Category.SPARKLE, x, y, z)) return;
+        if (getClientLevel() != null) {
+            GenPart sparkle = batchPart().setColor(r, g, b);
+            sparkle.alpha = 0.8f;
+            sparkle.age = baseAge > 0 ? baseAge : 15;
+            sparkle.scale = scale > 0 ? scale : 0.15f;
+            sparkle.partNum = 4;
+            sparkle.layer = 1;
+            sparkle.grav = grav;
+            sparkle.delay = delay;
+            addBatched(x, y, z, x2, y2, z2, sparkle);
         }
     }
     
@@ -491,6 +530,7 @@ public class FXDispatcher {
     // ==================== Block Mist/Fog ====================
     
     public void drawBlockMistParticles(BlockPos p, int c) {
+        if (!budget(Category.MIST, p.getX() + 0.5, p.getY() + 0.5, p.getZ() + 0.5)) return;
         Level level = getWorld();
         if (level == null) return;
         
@@ -503,6 +543,7 @@ public class FXDispatcher {
     }
     
     public void drawBlockMistParticlesFlat(BlockPos p, int c) {
+        if (!budget(Category.MIST, p.getX() + 0.5, p.getY() + 0.5, p.getZ() + 0.5)) return;
         Level level = getWorld();
         if (level == null) return;
         
@@ -515,6 +556,7 @@ public class FXDispatcher {
     }
     
     public void drawFocusCloudParticle(double x, double y, double z, double mx, double my, double mz, int c) {
+        if (!budget(Category.MIST, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.CLOUD, x, y, z, mx, my, mz);
@@ -524,6 +566,7 @@ public class FXDispatcher {
     // ==================== Vis/Aura Effects ====================
     
     public void visSparkle(int x, int y, int z, int x2, int y2, int z2, int color) {
+        if (!budget(Category.SPARKLE, x + 0.5, y + 0.5, z + 0.5)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             Color c = new Color(color);
@@ -536,6 +579,7 @@ public class FXDispatcher {
     }
     
     public void drawLevitatorParticles(double x, double y, double z, double x2, double y2, double z2) {
+        if (!budget(Category.GENERIC, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.ENCHANT, x, y, z, x2, y2, z2);
@@ -543,6 +587,7 @@ public class FXDispatcher {
     }
     
     public void drawStabilizerParticles(double x, double y, double z, double x2, double y2, double z2, int life) {
+        if (!budget(Category.INFUSION, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.PORTAL, x, y, z, x2, y2, z2);
@@ -550,6 +595,7 @@ public class FXDispatcher {
     }
     
     public void drawGolemFlyParticles(double x, double y, double z, double x2, double y2, double z2) {
+        if (!budget(Category.GENERIC, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.ENCHANT, x, y, z, x2, y2, z2);
@@ -557,6 +603,7 @@ public class FXDispatcher {
     }
     
     public void drawPollutionParticles(BlockPos p) {
+        if (!budget(Category.MIST, p.getX() + 0.5, p.getY() + 0.5, p.getZ() + 0.5)) return;
         Level level = getWorld();
         if (level == null) return;
         
@@ -577,7 +624,8 @@ public class FXDispatcher {
         if (level == null) return;
         
         // Spawn essentia trail particles
-        for (int i = 0; i < count; i++) {
+        int n = budget(Category.ESSENTIA, count, p1.getX() + 0.5, p1.getY() + 0.5, p1.getZ() + 0.5);
+        for (int i = 0; i < n; i++) {
             double startX = p1.getX() + 0.5 + rand.nextGaussian() * 0.05;
             double startY = p1.getY() + 0.5 + rand.nextGaussian() * 0.05;
             double startZ = p1.getZ() + 0.5 + rand.nextGaussian() * 0.05;
@@ -593,21 +641,21 @@ public class FXDispatcher {
      * Create a small essentia drip/drop particle.
      */
     public void essentiaDropFx(double x, double y, double z, float r, float g, float b, float alpha) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
+        if (!budget(Category.ESSENTIA, x, y, z)) return;
+        if (getClientLevel() != null) {
             // Create a small colored drip particle
-            FXGeneric drop = new FXGeneric(level, x, y, z, 0, -0.02, 0);
-            drop.setColor(r, g, b);
-            drop.setAlphaF(alpha);
-            drop.setMaxAge(8 + rand.nextInt(4));
-            drop.setScale(0.3f + rand.nextFloat() * 0.2f);
-            drop.setParticles(144, 1, 1);  // Essentia blob sprite
-            drop.setGravity(0.1f);
-            addParticle(drop);
+            GenPart drop = batchPart().setColor(r, g, b);
+            drop.alpha = alpha;
+            drop.age = 8 + rand.nextInt(4);
+            drop.scale = 0.3f + rand.nextFloat() * 0.2f;
+            drop.partStart = 144;  // Essentia blob sprite
+            drop.grav = 0.1f;
+            addBatched(x, y, z, 0, -0.02, 0, drop);
         }
     }
     
     public void drawVentParticles(double x, double y, double z, double x2, double y2, double z2, int color) {
+        if (!budget(Category.MIST, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXVent vent = new FXVent(level, x, y, z, x2, y2, z2, color);
@@ -616,6 +664,7 @@ public class FXDispatcher {
     }
     
     public void drawVentParticles(double x, double y, double z, double x2, double y2, double z2, int color, float scale) {
+        if (!budget(Category.MIST, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXVent vent = new FXVent(level, x, y, z, x2, y2, z2, color);
@@ -629,6 +678,7 @@ public class FXDispatcher {
     }
     
     public void jarSplashFx(double x, double y, double z) {
+        if (!budget(Category.ESSENTIA, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.SPLASH, x, y, z, 0, 0.1, 0);
@@ -642,6 +692,7 @@ public class FXDispatcher {
     // ==================== Infusion Effects ====================
     
     public void drawInfusionParticles1(double x, double y, double z, BlockPos pos, ItemStack stack) {
+        if (!budget(Category.INFUSION, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.ENCHANT, x, y, z, 
@@ -650,6 +701,7 @@ public class FXDispatcher {
     }
     
     public void drawInfusionParticles2(double x, double y, double z, BlockPos pos, BlockState state, int md) {
+        if (!budget(Category.INFUSION, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.ENCHANT, x, y, z, 
@@ -658,6 +710,7 @@ public class FXDispatcher {
     }
     
     public void drawInfusionParticles3(double x, double y, double z, int x2, int y2, int z2) {
+        if (!budget(Category.INFUSION, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.ENCHANTED_HIT, x, y, z, 0, 0, 0);
@@ -665,6 +718,7 @@ public class FXDispatcher {
     }
     
     public void drawInfusionParticles4(double x, double y, double z, int x2, int y2, int z2) {
+        if (!budget(Category.INFUSION, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.HAPPY_VILLAGER, x, y, z, 0, 0, 0);
@@ -674,6 +728,7 @@ public class FXDispatcher {
     // ==================== Arc/Lightning ====================
     
     public void arcLightning(double x, double y, double z, double tx, double ty, double tz, float r, float g, float b, float h) {
+        if (!budget(Category.BEAM, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXArc arc = new FXArc(level, x, y, z, tx, ty, tz, r, g, b, h);
@@ -682,6 +737,7 @@ public class FXDispatcher {
     }
     
     public void arcBolt(double x, double y, double z, double tx, double ty, double tz, float r, float g, float b, float width) {
+        if (!budget(Category.BEAM, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXBolt bolt = new FXBolt(level, x, y, z, tx, ty, tz, r, g, b, width);
@@ -721,6 +777,7 @@ public class FXDispatcher {
         
         // Create new beam if needed
         if (beam == null || !beam.isAlive()) {
+            if (!budget(Category.BEAM, p.getX(), p.getY(), p.getZ())) return null;
             beam = new FXBeamWand(level, p, tx, ty, tz, 
                     c.getRed() / 255.0f, c.getGreen() / 255.0f, c.getBlue() / 255.0f, 8);
             beam.setType(type);
@@ -769,6 +826,7 @@ public class FXDispatcher {
         
         // Create new beam if needed
         if (beam == null || !beam.isAlive()) {
+            if (!budget(Category.BEAM, px, py, pz)) return null;
             beam = new FXBeamBore(level, px, py, pz, tx, ty, tz, 
                     c.getRed() / 255.0f, c.getGreen() / 255.0f, c.getBlue() / 255.0f, 8);
             beam.setType(type);
@@ -791,7 +849,8 @@ public class FXDispatcher {
         Level level = getWorld();
         if (level == null) return;
         
-        for (int i = 0; i < 10; i++) {
+        int count = budget(Category.SPARKLE, 10, sx, sy, sz);
+        for (int i = 0; i < count; i++) {
             level.addParticle(ParticleTypes.POOF, sx, sy, sz, 
                     rand.nextGaussian() * 0.1, rand.nextGaussian() * 0.1, rand.nextGaussian() * 0.1);
         }
@@ -802,6 +861,7 @@ public class FXDispatcher {
     }
     
     public void blockRunes(double x, double y, double z, float r, float g, float b, int dur, float grav) {
+        if (!budget(Category.SPARKLE, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXBlockRunes runes = new FXBlockRunes(level, x, y, z, r, g, b, dur);
@@ -817,7 +877,8 @@ public class FXDispatcher {
     public void drawPedestalShield(BlockPos pos) {
         Level level = getWorld();
         if (level != null) {
-            for (int i = 0; i < 8; i++) {
+            int count = budget(Category.INFUSION, 8, pos.getX() + 0.5, pos.getY() + 1, pos.getZ() + 0.5);
+            for (int i = 0; i < count; i++) {
                 double angle = i * Math.PI / 4;
                 double x = pos.getX() + 0.5 + Math.cos(angle) * 0.5;
                 double z = pos.getZ() + 0.5 + Math.sin(angle) * 0.5;
@@ -827,6 +888,7 @@ public class FXDispatcher {
     }
     
     public void blockWard(double x, double y, double z, Direction side, float r, float g, float b) {
+        if (!budget(Category.SPARKLE, x + 0.5, y + 0.5, z + 0.5)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             // The r, g, b parameters here are actually hit coordinates on the block face (0-1)
@@ -836,6 +898,7 @@ public class FXDispatcher {
     }
     
     public void smokeSpiral(double x, double y, double z, float rad, int start, int miny, int color) {
+        if (!budget(Category.MIST, x, y, z)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             Color c = new Color(color);
@@ -847,6 +910,7 @@ public class FXDispatcher {
     
     public void drawCurlyWisp(double x, double y, double z, double vx, double vy, double vz, 
             float scale, float r, float g, float b, float a, Direction side, int seed, int layer, int delay) {
+        if (!budget(Category.MIST, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.WITCH, x, y, z, vx, vy, vz);
@@ -854,6 +918,7 @@ public class FXDispatcher {
     }
     
     public void voidStreak(double x, double y, double z, double x2, double y2, double z2, int seed, float scale) {
+        if (!budget(Category.BEAM, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.PORTAL, x, y, z, x2 - x, y2 - y, z2 - z);
@@ -861,6 +926,7 @@ public class FXDispatcher {
     }
     
     public void furnaceLavaFx(int x, int y, int z, int facingX, int facingZ) {
+        if (!budget(Category.GENERIC, x + 0.5, y + 0.5, z + 0.5)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.LAVA, 
@@ -872,7 +938,8 @@ public class FXDispatcher {
         Level level = getWorld();
         if (level == null) return;
         
-        for (int i = 0; i < 8; i++) {
+        int count = budget(Category.TAINT, 8, x, y, z);
+        for (int i = 0; i < count; i++) {
             level.addParticle(ParticleTypes.WITCH, x, y, z, 
                     rand.nextGaussian() * 0.15, rand.nextDouble() * 0.2, rand.nextGaussian() * 0.15);
         }
@@ -883,13 +950,15 @@ public class FXDispatcher {
     public void cultistSpawn(double x, double y, double z, double a, double b, double c) {
         Level level = getWorld();
         if (level != null) {
-            for (int i = 0; i < 5; i++) {
+            int count = budget(Category.GENERIC, 5, x, y, z);
+            for (int i = 0; i < count; i++) {
                 level.addParticle(ParticleTypes.FLAME, x, y, z, a, b, c);
             }
         }
     }
     
     public void pechsCurseTick(double posX, double posY, double posZ) {
+        if (!budget(Category.GENERIC, posX, posY, posZ)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.WITCH, posX, posY, posZ, 0, 0, 0);
@@ -897,6 +966,7 @@ public class FXDispatcher {
     }
     
     public void wispFXEG(double posX, double posY, double posZ, Entity target) {
+        if (!budget(Category.GENERIC, posX, posY, posZ)) return;
         ClientLevel level = getClientLevel();
         if (level != null) {
             FXWisp particle = new FXWisp(level, posX, posY, posZ, target);
@@ -905,6 +975,7 @@ public class FXDispatcher {
     }
     
     public void drawSlash(double x, double y, double z, double x2, double y2, double z2, int dur) {
+        if (!budget(Category.GENERIC, x, y, z)) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.SWEEP_ATTACK, (x + x2) / 2, (y + y2) / 2, (z + z2) / 2, 0, 0, 0);
@@ -919,7 +990,8 @@ public class FXDispatcher {
         if (level == null) return;
         
         float p = 50.0f;
-        for (int a = 0; a < p / delay; a++) {
+        int count = budget(Category.BEAM, Mth.ceil(p / Math.max(1, delay)), x + 0.5, y + 0.5, z + 0.5);
+        for (int a = 0; a < count; a++) {
             if (rand.nextInt(4) == 0) {
                 // Sparkle particle that homes to the entity
                 FXBoreSparkle sparkle = new FXBoreSparkle(level, 
@@ -939,7 +1011,8 @@ public class FXDispatcher {
         if (level == null) return;
         
         // Create expanding ring of particles
-        for (int i = 0; i < 16; i++) {
+        int count = budget(Category.GENERIC, 16, x, y, z);
+        for (int i = 0; i < count; i++) {
             double angle = i * Math.PI * 2 / 16;
             double px = x + Math.cos(angle) * 0.5;
             double pz = z + Math.sin(angle) * 0.5;
@@ -950,6 +1023,7 @@ public class FXDispatcher {
     }
     
     public void boreTrailFx(BlockPos p1, Entity e, int count, int color, float scale, int ext) {
+        if (!budget(Category.BEAM, p1.getX() + 0.5, p1.getY() + 0.5, p1.getZ() + 0.5)) return;
         Level level = getWorld();
         if (level == null) return;
         
@@ -961,6 +1035,7 @@ public class FXDispatcher {
     // ==================== Entity Effects ====================
     
     public void splooshFX(Entity e) {
+        if (!budget(Category.TAINT, e.getX(), e.getY(), e.getZ())) return;
         Level level = getWorld();
         if (level != null) {
             level.addParticle(ParticleTypes.WITCH, e.getX(), e.getY() + e.getBbHeight() / 2, e.getZ(), 
@@ -975,7 +1050,8 @@ public class FXDispatcher {
         ClientLevel level = getClientLevel();
         if (level == null) return;
         
-        for (int i = 0; i < 8; i++) {
+        int count = budget(Category.TAINT, 8, e.getX(), e.getY(), e.getZ());
+        for (int i = 0; i < count; i++) {
             double px = e.getX() + rand.nextGaussian() * 0.3;
             double py = e.getY() + rand.nextFloat() * e.getBbHeight();
             double pz = e.getZ() + rand.nextGaussian() * 0.3;
@@ -994,7 +1070,7 @@ public class FXDispatcher {
         ClientLevel level = getClientLevel();
         if (level == null) return;
         
-        int count = (int)(3 * e.getBbHeight());
+        int count = budget(Category.TAINT, (int)(3 * e.getBbHeight()), e.getX(), e.getY(), e.getZ());
         for (int i = 0; i < count; i++) {
             double px = e.getX() + rand.nextGaussian() * 0.3;
             double py = e.getY() + rand.nextFloat() * 0.3;
@@ -1014,7 +1090,7 @@ public class FXDispatcher {
         ClientLevel level = getClientLevel();
         if (level == null) return;
         
-        int count = 2 + size;
+        int count = budget(Category.TAINT, 2 + size, e.getX(), e.getY(), e.getZ());
         for (int i = 0; i < count; i++) {
             double px = e.getX() + rand.nextGaussian() * 0.2 * size;
             double py = e.getY() + e.getBbHeight() / 2;
@@ -1034,7 +1110,8 @@ public class FXDispatcher {
         ClientLevel level = getClientLevel();
         if (level == null) return;
         
-        for (int i = 0; i < 4; i++) {
+        int count = budget(Category.TAINT, 4, e.getX(), e.getY(), e.getZ());
+        for (int i = 0; i < count; i++) {
             double angle = rand.nextFloat() * Math.PI * 2;
             double speed = 0.05 + rand.nextFloat() * 0.05;
             
@@ -1054,6 +1131,7 @@ public class FXDispatcher {
      * @return The created particle
      */
     public Object swarmParticleFX(Entity targetedEntity, float speed, float turnSpeed, float pg) {
+        if (!budget(Category.TAINT, targetedEntity.getX(), targetedEntity.getY(), targetedEntity.getZ())) return null;
         ClientLevel level = getClientLevel();
         if (level != null) {
             // Spawn at random offset around target
@@ -1079,17 +1157,16 @@ public class FXDispatcher {
      * Draw the white core glow of a Nitor flame.
      */
     public void drawNitorCore(double x, double y, double z, double vx, double vy, double vz) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
-            FXGeneric particle = new FXGeneric(level, x, y, z, vx, vy, vz);
-            particle.setMaxAge(10);
-            particle.setColor(1.0f, 1.0f, 1.0f);
-            particle.setAlphaF(1.0f);
-            particle.setParticles(457, 1, 1);  // Bright glow particle
-            particle.setScale(1.0f + (float)rand.nextGaussian() * 0.1f);
-            particle.setLayer(1);
-            particle.setRandomMovementScale(0.0002f, 0.0002f, 0.0002f);
-            addParticle(particle);
+        if (!budget(Category.GENERIC, x, y, z)) return;
+        if (getClientLevel() != null) {
+            GenPart part = batchPart().setColor(1.0f, 1.0f, 1.0f);
+            part.age = 10;
+            part.alpha = 1.0f;
+            part.partStart = 457;  // Bright glow particle
+            part.scale = 1.0f + (float)rand.nextGaussian() * 0.1f;
+            part.layer = 1;
+            part.randomMotion = 0.0002f;
+            addBatched(x, y, z, vx, vy, vz, part);
         }
     }
     
@@ -1097,20 +1174,19 @@ public class FXDispatcher {
      * Draw the colored flame particles of a Nitor.
      */
     public void drawNitorFlames(double x, double y, double z, double vx, double vy, double vz, int color, int delay) {
-        ClientLevel level = getClientLevel();
-        if (level != null) {
-            Color c = new Color(color);
-            FXGeneric particle = new FXGeneric(level, x, y, z, vx, vy, vz);
-            particle.setMaxAge(10 + rand.nextInt(5));
-            particle.setColor(c.getRed() / 255f, c.getGreen() / 255f, c.getBlue() / 255f);
-            particle.setAlphaF(0.66f);
-            particle.setLoop(true);
-            particle.setGridSize(64);
-            particle.setParticles(264, 8, 1);  // Flame animation
-            particle.setScale(3.0f + rand.nextFloat());
-            particle.setRandomMovementScale(0.0025f, 0.0f, 0.0025f);
-            // Delay is not currently supported by FXGeneric - particle spawns immediately
-            addParticle(particle);
+        if (!budget(Category.GENERIC, x, y, z)) return;
+        if (getClientLevel() != null) {
+            GenPart part = batchPart().setColor(
+                    ((color >> 16) & 0xFF) / 255f, ((color >> 8) & 0xFF) / 255f, (color & 0xFF) / 255f);
+            part.age = 10 + rand.nextInt(5);
+            part.alpha = 0.66f;
+            part.loop = true;
+            part.partStart = 264;  // Flame animation
+            part.partNum = 8;
+            part.scale = 3.0f + rand.nextFloat();
+            part.randomMotion = 0.0025f;
+            part.delay = delay;
+            addBatched(x, y, z, vx, vy, vz, part);
         }
     }
     
@@ -1123,20 +1199,63 @@ public class FXDispatcher {
     
     /**
      * GenPart - Generic particle configuration class.
+     * Also used as the spawn descriptor for FXBatch.
      */
     public static class GenPart {
-        public int age = 20;
-        public float redStart = 1f, greenStart = 1f, blueStart = 1f;
-        public float redEnd = 1f, greenEnd = 1f, blueEnd = 1f;
-        public float alpha = 1f;
-        public boolean loop = false;
-        public int partStart = 0, partNum = 1, partInc = 1;
-        public float scale = 1f;
-        public int layer = 0;
-        public float rotstart = 0f, rot = 0f;
-        public double slowDown = 1.0;
-        public float grav = 0f;
-        public int grid = 8;
-        public int delay = 0;
+        public int age;
+        public float redStart, greenStart, blueStart;
+        public float redEnd, greenEnd, blueEnd;
+        public float alpha;
+        public boolean loop;
+        public int partStart, partNum, partInc;
+        public float scale;
+        public int layer;
+        public float rotstart, rot;
+        public double slowDown;
+        public float grav;
+        public int grid;
+        public int delay;
+        public float randomMotion;
+        public boolean collide;
+        
+        public GenPart() {
+            reset();
+        }
+        
+        /**
+         * Restore defaults so one instance can be reused between spawns
+         */
+        public GenPart reset() {
+            age = 20;
+            redStart = greenStart = blueStart = 1f;
+            redEnd = greenEnd = blueEnd = 1f;
+            alpha = 1f;
+            loop = false;
+            partStart = 0;
+            partNum = 1;
+            partInc = 1;
+            scale = 1f;
+            layer = 0;
+            rotstart = 0f;
+            rot = 0f;
+            slowDown = 1.0;
+            grav = 0f;
+            grid = 64;
+            delay = 0;
+            randomMotion = 0f;
+            collide = true;
+            return this;
+        }
+        
+        public GenPart setColor(float r, float g, float b) {
+            // Handle colors > 1 as 0-255 range, like FXGeneric
+            if (r > 1.0f) r /= 255.0f;
+            if (g > 1.0f) g /= 255.0f;
+            if (b > 1.0f) b /= 255.0f;
+            redStart = redEnd = r;
+            greenStart = greenEnd = g;
+            blueStart = blueEnd = b;
+            return this;
+        }
     }
 }
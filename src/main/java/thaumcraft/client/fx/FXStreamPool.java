@@ -0,0 +1,211 @@
+package thaumcraft.client.fx;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.core.BlockPos;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.ArrayDeque;
+
+/**
+ * FXStreamPool - Shared storage and scratch state for stream and beam effects.
+ * 
+ * FXEssentiaTrail, FXEssentiaStream and FXArc keep their path in a pooled Points
+ * ring buffer instead of a list of point objects: points are appended at the
+ * head and the oldest are dropped from the tail without shifting, and the backing
+ * array goes back to the pool when the effect dies so the next stream reuses it.
+ * 
+ * FXBeamBore, FXBeamWand, FXArc and the essentia streams build their quads from
+ * the shared beam matrix and camera billboard axes here rather than a new
+ * PoseStack, quaternions and corner arrays every frame. All of this is only
+ * touched on the render thread.
+ */
+@OnlyIn(Dist.CLIENT)
+public final class FXStreamPool {
+    
+    private static final int MAX_POOLED = 64;
+    private static final int INITIAL_CAPACITY = 32;
+    
+    private static final ArrayDeque<Points> pool = new ArrayDeque<>();
+    
+    // Beam transform, rebuilt per beam
+    private static final Matrix4f beamMatrix = new Matrix4f();
+    
+    // Billboard axes, rebuilt per render call
+    private static final Vector3f axisX = new Vector3f();
+    private static final Vector3f axisY = new Vector3f();
+    
+    private FXStreamPool() {
+    }
+    
+    // ==================== Points ====================
+    
+    /**
+     * Ring buffer of path points, each stored as x, y, z and scale. Index 0 is the
+     * oldest point.
+     */
+    public static final class Points {
+        
+        private static final int STRIDE = 4;
+        
+        private float[] data;
+        private int head = 0;
+        private int size = 0;
+        
+        private Points(int capacity) {
+            this.data = new float[capacity * STRIDE];
+        }
+        
+        public void add(double x, double y, double z, float scale) {
+            int capacity = data.length / STRIDE;
+            if (size == capacity) {
+                grow(capacity * 2);
+                capacity *= 2;
+            }
+            int o = ((head + size) % capacity) * STRIDE;
+            data[o] = (float) x;
+            data[o + 1] = (float) y;
+            data[o + 2] = (float) z;
+            data[o + 3] = scale;
+            size++;
+        }
+        
+        /**
+         * Drop the oldest points until at most max remain.
+         */
+        public void trim(int max) {
+            if (size <= max) return;
+            int capacity = data.length / STRIDE;
+            head = (head + size - Math.max(max, 0)) % capacity;
+            size = Math.max(max, 0);
+        }
+        
+        public void clear() {
+            head = 0;
+            size = 0;
+        }
+        
+        public int size() {
+            return size;
+        }
+        
+        public float x(int i) {
+            return data[offset(i)];
+        }
+        
+        public float y(int i) {
+            return data[offset(i) + 1];
+        }
+        
+        public float z(int i) {
+            return data[offset(i) + 2];
+        }
+        
+        public float scale(int i) {
+            return data[offset(i) + 3];
+        }
+        
+        private int offset(int i) {
+            return ((head + i) % (data.length / STRIDE)) * STRIDE;
+        }
+        
+        private void grow(int capacity) {
+            float[] grown = new float[capacity * STRIDE];
+            int old = data.length / STRIDE;
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(data, ((head + i) % old) * STRIDE, grown, i * STRIDE, STRIDE);
+            }
+            data = grown;
+            head = 0;
+        }
+    }
+    
+    /**
+     * Take an empty point buffer from the pool, or a new one if the pool is empty.
+     */
+    public static Points acquire() {
+        Points points = pool.poll();
+        return points != null ? points : new Points(INITIAL_CAPACITY);
+    }
+    
+    /**
+     * Return a point buffer to the pool. The caller must not use it afterwards.
+     */
+    public static void release(Points points) {
+        if (points == null) return;
+        points.clear();
+        if (pool.size() < MAX_POOLED) {
+            pool.push(points);
+        }
+    }
+    
+    // ==================== Keys ====================
+    
+    /**
+     * Pack a stream's endpoints and colour into one long key. Two block positions
+     * already take 128 bits, so the key is a 64-bit mix rather than a lossless
+     * packing; a collision only merges two streams' lengths for one effect.
+     */
+    public static long streamKey(BlockPos from, BlockPos to, int color) {
+        long key = HashCommon.mix(from.asLong());
+        key = HashCommon.mix(key ^ to.asLong());
+        return HashCommon.mix(key ^ (color & 0xFFFFFFL));
+    }
+    
+    // ==================== Geometry ====================
+    
+    /**
+     * The beam transform: translate to the source, then orient the local Y axis
+     * along yaw and pitch and spin it by rot degrees. The returned matrix is shared;
+     * callers may rotate it further but must not keep it.
+     */
+    public static Matrix4f beamMatrix(float x, float y, float z, float yaw, float pitch, float rot) {
+        return beamMatrix.identity()
+                .translate(x, y, z)
+                .rotateX((float) Math.toRadians(90.0f))
+                .rotateZ((float) Math.toRadians(-(180.0f + yaw)))
+                .rotateX((float) Math.toRadians(pitch))
+                .rotateY((float) Math.toRadians(rot));
+    }
+    
+    /**
+     * Rebuild the shared billboard axes from the camera rotation. Call once per
+     * render before billboard().
+     */
+    public static void setBillboard(Quaternionf rotation) {
+        axisX.set(1.0f, 0.0f, 0.0f).rotate(rotation);
+        axisY.set(0.0f, 1.0f, 0.0f).rotate(rotation);
+    }
+    
+    /**
+     * Write a camera facing POSITION_TEX_COLOR quad centred on (x, y, z).
+     */
+    public static void billboard(VertexConsumer builder, float x, float y, float z, float size,
+                                 float u0, float u1, float v0, float v1,
+                                 float r, float g, float b, float a) {
+        float ax = axisX.x() * size, ay = axisX.y() * size, az = axisX.z() * size;
+        float bx = axisY.x() * size, by = axisY.y() * size, bz = axisY.z() * size;
+        builder.vertex(x - ax - bx, y - ay - by, z - az - bz).uv(u1, v1).color(r, g, b, a).endVertex();
+        builder.vertex(x - ax + bx, y - ay + by, z - az + bz).uv(u1, v0).color(r, g, b, a).endVertex();
+        builder.vertex(x + ax + bx, y + ay + by, z + az + bz).uv(u0, v0).color(r, g, b, a).endVertex();
+        builder.vertex(x + ax - bx, y + ay - by, z + az - bz).uv(u0, v1).color(r, g, b, a).endVertex();
+    }
+    
+    /**
+     * Write a camera facing PARTICLE quad (position, uv, colour, light) centred on (x, y, z).
+     */
+    public static void billboard(VertexConsumer builder, float x, float y, float z, float size,
+                                 float u0, float u1, float v0, float v1,
+                                 float r, float g, float b, float a, int light) {
+        float ax = axisX.x() * size, ay = axisX.y() * size, az = axisX.z() * size;
+        float bx = axisY.x() * size, by = axisY.y() * size, bz = axisY.z() * size;
+        builder.vertex(x - ax - bx, y - ay - by, z - az - bz).uv(u1, v1).color(r, g, b, a).uv2(light).endVertex();
+        builder.vertex(x - ax + bx, y - ay + by, z - az + bz).uv(u1, v0).color(r, g, b, a).uv2(light).endVertex();
+        builder.vertex(x + ax + bx, y + ay + by, z + az + bz).uv(u0, v0).color(r, g, b, a).uv2(light).endVertex();
+        builder.vertex(x + ax - bx, y + ay - by, z + az - bz).uv(u0, v1).color(r, g, b, a).uv2(light).endVertex();
+    }
+}
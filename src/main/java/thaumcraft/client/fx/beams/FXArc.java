@@ -18,22 +18,22 @@ import net.minecraft.util.Mth;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
-import org.joml.Vector3f;
-
-import java.util.ArrayList;
-import java.util.List;
+import thaumcraft.client.fx.FXStreamPool;
 
 /**
  * FXArc - Lightning arc effect between two points.
  * Creates a jagged beam with spark particles along its path.
  * Used for shock focus, lightning effects, and electrical discharges.
+ * 
+ * The arc path is kept in a pooled FXStreamPool.Points buffer, relative to the
+ * arc origin, and handed back when the arc is removed.
  */
 @OnlyIn(Dist.CLIENT)
 public class FXArc extends TextureSheetParticle {
 
     protected static final ResourceLocation BEAM_TEXTURE = new ResourceLocation("thaumcraft", "textures/misc/beamh.png");
 
-    protected List<Vec3> points = new ArrayList<>();
+    protected FXStreamPool.Points points = FXStreamPool.acquire();
     protected double targetX;
     protected double targetY;
     protected double targetZ;
@@ -81,7 +81,7 @@ public class FXArc extends TextureSheetParticle {
         double stepLengthSq = velocity.lengthSqr();
 
         Vec3 current = start;
-        points.add(start);
+        points.add(start.x, start.y, start.z, 0.0f);
 
         // Generate points along the arc
         for (int i = 0; i < 50 && current.distanceToSqr(end) > stepLengthSq; i++) {
@@ -89,18 +89,18 @@ public class FXArc extends TextureSheetParticle {
             current = next;
 
             // Add noise for jagged appearance
-            Vec3 noisyPoint = next.add(
-                    (this.random.nextDouble() - this.random.nextDouble()) * noise,
-                    (this.random.nextDouble() - this.random.nextDouble()) * noise,
-                    (this.random.nextDouble() - this.random.nextDouble()) * noise
+            points.add(
+                    next.x + (this.random.nextDouble() - this.random.nextDouble()) * noise,
+                    next.y + (this.random.nextDouble() - this.random.nextDouble()) * noise,
+                    next.z + (this.random.nextDouble() - this.random.nextDouble()) * noise,
+                    0.0f
             );
-            points.add(noisyPoint);
 
             // Apply gravity to velocity
             velocity = velocity.subtract(0, gravity / 1.9, 0);
         }
 
-        points.add(end);
+        points.add(end.x, end.y, end.z, 0.0f);
     }
 
     /**
@@ -136,13 +136,20 @@ public class FXArc extends TextureSheetParticle {
         }
     }
 
+    @Override
+    public void remove() {
+        super.remove();
+        FXStreamPool.release(points);
+        points = null;
+    }
+
     @Override
     public void render(VertexConsumer buffer, Camera camera, float partialTicks) {
         // Arc uses custom rendering with its own texture
         // We need to render this separately from the standard particle batch
         // For now, we'll render using the standard particle system with electric spark approximation
 
-        if (points.size() < 2) return;
+        if (points == null || points.size() < 2) return;
 
         Vec3 cameraPos = camera.getPosition();
         double px = Mth.lerp(partialTicks, this.xo, this.x) - cameraPos.x();
@@ -155,63 +162,28 @@ public class FXArc extends TextureSheetParticle {
         int light = 0xF000F0; // Full brightness
 
         // Render line segments between points
+        FXStreamPool.setBillboard(camera.rotation());
         for (int i = 0; i < points.size() - 1; i++) {
-            Vec3 p1 = points.get(i);
-            Vec3 p2 = points.get(i + 1);
-
-            float x1 = (float) (px + p1.x);
-            float y1 = (float) (py + p1.y);
-            float z1 = (float) (pz + p1.z);
-
-            float x2 = (float) (px + p2.x);
-            float y2 = (float) (py + p2.y);
-            float z2 = (float) (pz + p2.z);
-
             // Midpoint for the quad
-            float mx = (x1 + x2) / 2;
-            float my = (y1 + y2) / 2;
-            float mz = (z1 + z2) / 2;
+            float mx = (float) (px + (points.x(i) + points.x(i + 1)) / 2);
+            float my = (float) (py + (points.y(i) + points.y(i + 1)) / 2);
+            float mz = (float) (pz + (points.z(i) + points.z(i + 1)) / 2);
 
             // Simple sprite at midpoint
             float u = (i % 16) / 64.0f;
-            renderSegmentQuad(buffer, camera, mx, my, mz, size, u, alpha, light);
+            renderSegmentQuad(buffer, mx, my, mz, size, u, alpha, light);
         }
     }
 
-    protected void renderSegmentQuad(VertexConsumer buffer, Camera camera, 
+    /**
+     * Write one segment sprite. FXStreamPool.setBillboard() must have been called
+     * for this frame.
+     */
+    protected void renderSegmentQuad(VertexConsumer buffer,
                                       float x, float y, float z, float size,
                                       float u, float alpha, int light) {
-        float u0 = u;
-        float u1 = u + 0.015625f;
-        float v0 = 0.0f;
-        float v1 = 0.015625f;
-
-        Vector3f[] vertices = new Vector3f[]{
-                new Vector3f(-1.0F, -1.0F, 0.0F),
-                new Vector3f(-1.0F, 1.0F, 0.0F),
-                new Vector3f(1.0F, 1.0F, 0.0F),
-                new Vector3f(1.0F, -1.0F, 0.0F)
-        };
-
-        for (int i = 0; i < 4; ++i) {
-            Vector3f vertex = vertices[i];
-            vertex.rotate(camera.rotation());
-            vertex.mul(size);
-            vertex.add(x, y, z);
-        }
-
-        buffer.vertex(vertices[0].x(), vertices[0].y(), vertices[0].z())
-                .uv(u1, v1).color(this.rCol, this.gCol, this.bCol, alpha)
-                .uv2(light).endVertex();
-        buffer.vertex(vertices[1].x(), vertices[1].y(), vertices[1].z())
-                .uv(u1, v0).color(this.rCol, this.gCol, this.bCol, alpha)
-                .uv2(light).endVertex();
-        buffer.vertex(vertices[2].x(), vertices[2].y(), vertices[2].z())
-                .uv(u0, v0).color(this.rCol, this.gCol, this.bCol, alpha)
-                .uv2(light).endVertex();
-        buffer.vertex(vertices[3].x(), vertices[3].y(), vertices[3].z())
-                .uv(u0, v1).color(this.rCol, this.gCol, this.bCol, alpha)
-                .uv2(light).endVertex();
+        FXStreamPool.billboard(buffer, x, y, z, size, u, u + 0.015625f, 0.0f, 0.015625f,
+                this.rCol, this.gCol, this.bCol, alpha, light);
     }
 
     @Override
@@ -232,7 +204,7 @@ public class FXArc extends TextureSheetParticle {
         this.bCol = b;
     }
 
-    public List<Vec3> getPoints() {
+    public FXStreamPool.Points getPoints() {
         return points;
     }
 
@@ -2,7 +2,6 @@ package thaumcraft.client.fx.beams;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
-import com.mojang.math.Axis;
 import net.minecraft.client.Camera;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
@@ -15,7 +14,7 @@ import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import org.joml.Matrix4f;
-import org.joml.Quaternionf;
+import thaumcraft.client.fx.FXStreamPool;
 
 /**
  * FXBeamBore - Point-to-point beam effect without entity attachment.
@@ -241,16 +240,8 @@ public class FXBeamBore extends TextureSheetParticle {
         // Rotation for beam cylinder effect
         float rot = (level.getGameTime() % (360 / rotationSpeed)) * rotationSpeed + rotationSpeed * partialTicks;
         
-        // Set up transformation
-        PoseStack poseStack = new PoseStack();
-        poseStack.pushPose();
-        poseStack.translate(sx, sy, sz);
-        poseStack.mulPose(Axis.XP.rotationDegrees(90.0f));
-        poseStack.mulPose(Axis.ZN.rotationDegrees(180.0f + yaw));
-        poseStack.mulPose(Axis.XP.rotationDegrees(pitch));
-        poseStack.mulPose(Axis.YP.rotationDegrees(rot));
-        
-        Matrix4f matrix = poseStack.last().pose();
+        // Set up transformation on the shared beam matrix
+        Matrix4f matrix = FXStreamPool.beamMatrix(sx, sy, sz, yaw, pitch, rot);
         
         // Beam dimensions
         float beamWidth = 0.15f * size;
@@ -277,14 +268,11 @@ public class FXBeamBore extends TextureSheetParticle {
                     .uv(u0, v1).color(rCol, gCol, bCol, opacity).endVertex();
             
             // Rotate for next quad
-            poseStack.mulPose(Axis.YP.rotationDegrees(60.0f));
-            matrix = poseStack.last().pose();
+            matrix.rotateY((float) Math.toRadians(60.0f));
         }
         
         tesselator.end();
         
-        poseStack.popPose();
-        
         // Render impact flash if active
         if (impact > 0) {
             renderImpact(camera, partialTicks);
@@ -332,43 +320,12 @@ public class FXBeamBore extends TextureSheetParticle {
         float glowSize = 0.33f;
         
         // Billboard the source sprite
-        Quaternionf rotation = camera.rotation();
+        FXStreamPool.setBillboard(camera.rotation());
         
         Tesselator tesselator = Tesselator.getInstance();
         BufferBuilder builder = tesselator.getBuilder();
         builder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR);
-        
-        // Create billboard quad
-        float[][] offsets = {
-            {-glowSize, -glowSize},
-            {-glowSize, glowSize},
-            {glowSize, glowSize},
-            {glowSize, -glowSize}
-        };
-        float[][] uvs = {
-            {u1, v1},
-            {u1, v0},
-            {u0, v0},
-            {u0, v1}
-        };
-        
-        for (int i = 0; i < 4; i++) {
-            float ox = offsets[i][0];
-            float oy = offsets[i][1];
-            
-            // Rotate offset by camera rotation
-            float rx = ox * (1 - 2 * rotation.y() * rotation.y() - 2 * rotation.z() * rotation.z())
-                     + oy * (2 * rotation.x() * rotation.y() - 2 * rotation.w() * rotation.z());
-            float ry = ox * (2 * rotation.x() * rotation.y() + 2 * rotation.w() * rotation.z())
-                     + oy * (1 - 2 * rotation.x() * rotation.x() - 2 * rotation.z() * rotation.z());
-            float rz = ox * (2 * rotation.x() * rotation.z() - 2 * rotation.w() * rotation.y())
-                     + oy * (2 * rotation.y() * rotation.z() + 2 * rotation.w() * rotation.x());
-            
-            builder.vertex(sx + rx, sy + ry, sz + rz)
-                    .uv(uvs[i][0], uvs[i][1])
-                    .color(rCol, gCol, bCol, opacity)
-                    .endVertex();
-        }
+        FXStreamPool.billboard(builder, sx, sy, sz, glowSize, u0, u1, v0, v1, rCol, gCol, bCol, opacity);
         
         tesselator.end();
         
@@ -401,43 +358,12 @@ public class FXBeamBore extends TextureSheetParticle {
         float v1 = v0 + 0.0625f;
         
         // Billboard the impact sprite
-        Quaternionf rotation = camera.rotation();
+        FXStreamPool.setBillboard(camera.rotation());
         
         Tesselator tesselator = Tesselator.getInstance();
         BufferBuilder builder = tesselator.getBuilder();
         builder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR);
-        
-        // Create billboard quad
-        float[][] offsets = {
-            {-impactSize, -impactSize},
-            {-impactSize, impactSize},
-            {impactSize, impactSize},
-            {impactSize, -impactSize}
-        };
-        float[][] uvs = {
-            {u1, v1},
-            {u1, v0},
-            {u0, v0},
-            {u0, v1}
-        };
-        
-        for (int i = 0; i < 4; i++) {
-            float ox = offsets[i][0];
-            float oy = offsets[i][1];
-            
-            // Rotate offset by camera rotation
-            float rx = ox * (1 - 2 * rotation.y() * rotation.y() - 2 * rotation.z() * rotation.z())
-                     + oy * (2 * rotation.x() * rotation.y() - 2 * rotation.w() * rotation.z());
-            float ry = ox * (2 * rotation.x() * rotation.y() + 2 * rotation.w() * rotation.z())
-                     + oy * (1 - 2 * rotation.x() * rotation.x() - 2 * rotation.z() * rotation.z());
-            float rz = ox * (2 * rotation.x() * rotation.z() - 2 * rotation.w() * rotation.y())
-                     + oy * (2 * rotation.y() * rotation.z() + 2 * rotation.w() * rotation.x());
-            
-            builder.vertex(tx + rx, ty + ry, tz + rz)
-                    .uv(uvs[i][0], uvs[i][1])
-                    .color(rCol, gCol, bCol, 0.66f)
-                    .endVertex();
-        }
+        FXStreamPool.billboard(builder, tx, ty, tz, impactSize, u0, u1, v0, v1, rCol, gCol, bCol, 0.66f);
         
         tesselator.end();
         
@@ -2,6 +2,8 @@ package thaumcraft.client.fx.other;
 
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.client.Camera;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.ParticleRenderType;
@@ -14,45 +16,33 @@ import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import thaumcraft.Thaumcraft;
 import thaumcraft.client.fx.FXDispatcher;
+import thaumcraft.client.fx.FXStreamPool;
 import thaumcraft.client.fx.particles.ThaumcraftParticle;
 
-import java.awt.Color;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 /**
  * Essentia stream particle effect - creates a flowing stream of essentia between two points.
  * Used for tube connections and essentia transport visualization.
+ * 
+ * Active streams are keyed by a packed long of their endpoints and colour, so a
+ * second stream along the same path extends the first instead of spawning. The
+ * stream path lives in a pooled FXStreamPool.Points ring buffer that is returned
+ * when the stream dies.
  */
 @OnlyIn(Dist.CLIENT)
 public class FXEssentiaStream extends ThaumcraftParticle {
     
     private static final ResourceLocation ESSENTIA_TEX = new ResourceLocation(Thaumcraft.MODID, "textures/misc/essentia.png");
-    private static final Map<String, FXEssentiaStream> activeStreams = new HashMap<>();
+    private static final Long2ObjectMap<FXEssentiaStream> activeStreams = new Long2ObjectOpenHashMap<>();
     
     private final double targetX, targetY, targetZ;
     private final double startX, startY, startZ;
     private final int count;
-    private final String key;
+    private final long key;
     public int length;
     
-    private final List<StreamPoint> points = new ArrayList<>();
+    private FXStreamPool.Points points;
     private int growing = -1;
     
-    private static class StreamPoint {
-        double x, y, z;
-        float scale;
-        
-        StreamPoint(double x, double y, double z, float scale) {
-            this.x = x;
-            this.y = y;
-            this.z = z;
-            this.scale = scale;
-        }
-    }
-    
     public FXEssentiaStream(ClientLevel level, double x, double y, double z,
                            double tx, double ty, double tz,
                            int count, int color, float scale, int extend, double my) {
@@ -76,12 +66,12 @@ public class FXEssentiaStream extends ThaumcraftParticle {
         // Set up key for duplicate detection
         BlockPos bp1 = BlockPos.containing(x, y, z);
         BlockPos bp2 = BlockPos.containing(tx, ty, tz);
-        this.key = bp1.asLong() + "" + bp2.asLong() + "" + color;
+        this.key = FXStreamPool.streamKey(bp1, bp2, color);
         
         // Check for existing stream
-        if (activeStreams.containsKey(key)) {
-            FXEssentiaStream existing = activeStreams.get(key);
-            if (existing.isAlive() && existing.points.size() < existing.length) {
+        FXEssentiaStream existing = activeStreams.get(key);
+        if (existing != null) {
+            if (existing.isAlive() && existing.points != null && existing.points.size() < existing.length) {
                 existing.length += Math.max(extend, 5);
                 existing.lifetime += Math.max(extend, 5);
                 this.lifetime = 0;
@@ -98,17 +88,17 @@ public class FXEssentiaStream extends ThaumcraftParticle {
         this.zd = Mth.sin(count / 2.0f) * 0.015;
         
         // Color from int
-        Color c = new Color(color);
-        this.rCol = c.getRed() / 255.0f;
-        this.gCol = c.getGreen() / 255.0f;
-        this.bCol = c.getBlue() / 255.0f;
+        this.rCol = ((color >> 16) & 0xFF) / 255.0f;
+        this.gCol = ((color >> 8) & 0xFF) / 255.0f;
+        this.bCol = (color & 0xFF) / 255.0f;
         
         this.gravity = 0.2f;
         this.quadSize = (float)(scale * (1.0 + this.random.nextGaussian() * 0.15));
         
         // Initialize points
-        this.points.add(new StreamPoint(0, 0, 0, 0.001f));
-        this.points.add(new StreamPoint(0, 0, 0, 0.001f));
+        this.points = FXStreamPool.acquire();
+        this.points.add(0, 0, 0, 0.001f);
+        this.points.add(0, 0, 0, 0.001f);
         
         this.startX = x;
         this.startY = y;
@@ -125,9 +115,6 @@ public class FXEssentiaStream extends ThaumcraftParticle {
         
         if (this.age++ >= this.lifetime || this.length < 1) {
             this.remove();
-            if (activeStreams.containsKey(key) && !activeStreams.get(key).isAlive()) {
-                activeStreams.remove(key);
-            }
             return;
         }
         
@@ -172,12 +159,7 @@ public class FXEssentiaStream extends ThaumcraftParticle {
         
         // Add point or start shrinking
         if (this.quadSize > 0.001f) {
-            this.points.add(new StreamPoint(
-                this.x - this.startX,
-                this.y - this.startY,
-                this.z - this.startZ,
-                scale
-            ));
+            this.points.add(this.x - this.startX, this.y - this.startY, this.z - this.startZ, scale);
         } else {
             if (this.growing < 0) {
                 this.growing = this.age;
@@ -194,9 +176,7 @@ public class FXEssentiaStream extends ThaumcraftParticle {
         }
         
         // Trim old points
-        while (this.points.size() > this.length) {
-            this.points.remove(0);
-        }
+        this.points.trim(this.length);
         
         // Spawn drops along stream
         if (this.points.size() > 2 && this.random.nextBoolean()) {
@@ -204,17 +184,26 @@ public class FXEssentiaStream extends ThaumcraftParticle {
             if (this.random.nextBoolean() && this.points.size() > 2) {
                 q = this.points.size() - 2;
             }
-            StreamPoint p = this.points.get(q);
             FXDispatcher.INSTANCE.essentiaDropFx(
-                p.x + this.startX, p.y + this.startY, p.z + this.startZ,
+                this.points.x(q) + this.startX, this.points.y(q) + this.startY, this.points.z(q) + this.startZ,
                 this.rCol, this.gCol, this.bCol, 0.5f
             );
         }
     }
     
+    @Override
+    public void remove() {
+        super.remove();
+        if (activeStreams.get(key) == this) {
+            activeStreams.remove(key);
+        }
+        FXStreamPool.release(this.points);
+        this.points = null;
+    }
+    
     @Override
     public void render(VertexConsumer buffer, Camera camera, float partialTicks) {
-        if (this.points.size() < 3) return;
+        if (this.points == null || this.points.size() < 3) return;
         
         // End the current batch
         Tesselator.getInstance().end();
@@ -234,20 +223,20 @@ public class FXEssentiaStream extends ThaumcraftParticle {
         double camZ = camera.getPosition().z;
         
         // Render each segment as a billboarded quad
+        FXStreamPool.setBillboard(camera.rotation());
         for (int i = 1; i < this.points.size() - 1; i++) {
-            StreamPoint p = this.points.get(i);
-            
+
             // Wave animation
             float variance = 1.0f + Mth.sin((i + this.age) / 3.0f) * 0.2f;
             float xx = Mth.sin((i + this.age) / 6.0f) * 0.03f;
             float yy = Mth.sin((i + this.age) / 7.0f) * 0.03f;
             float zz = Mth.sin((i + this.age) / 8.0f) * 0.03f;
             
-            float px = (float)(this.startX + p.x + xx - camX);
-            float py = (float)(this.startY + p.y + yy - camY);
-            float pz = (float)(this.startZ + p.z + zz - camZ);
+            float px = (float)(this.startX + this.points.x(i) + xx - camX);
+            float py = (float)(this.startY + this.points.y(i) + yy - camY);
+            float pz = (float)(this.startZ + this.points.z(i) + zz - camZ);
             
-            float size = p.scale * variance * 0.05f;
+            float size = this.points.scale(i) * variance * 0.05f;
             
             // Color variation
             float v = 1.0f - Mth.sin((i + this.age) / 2.0f) * 0.1f;
@@ -255,11 +244,8 @@ public class FXEssentiaStream extends ThaumcraftParticle {
             float g = this.gCol * v;
             float b = this.bCol * v;
             
-            // Simple billboard (always face camera)
-            builder.vertex(px - size, py - size, pz).uv(0, 1).color(r, g, b, 1.0f).endVertex();
-            builder.vertex(px - size, py + size, pz).uv(0, 0).color(r, g, b, 1.0f).endVertex();
-            builder.vertex(px + size, py + size, pz).uv(1, 0).color(r, g, b, 1.0f).endVertex();
-            builder.vertex(px + size, py - size, pz).uv(1, 1).color(r, g, b, 1.0f).endVertex();
+            // Billboard facing the camera
+            FXStreamPool.billboard(builder, px, py, pz, size, 1, 0, 0, 1, r, g, b, 1.0f);
         }
         
         Tesselator.getInstance().end();
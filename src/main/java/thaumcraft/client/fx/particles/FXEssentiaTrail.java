@@ -5,17 +5,12 @@ import net.minecraft.client.Camera;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.particle.ParticleRenderType;
 import net.minecraft.client.particle.TextureSheetParticle;
-import net.minecraft.core.BlockPos;
 import net.minecraft.util.Mth;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
-import org.joml.Quaternionf;
-import org.joml.Vector3f;
 import thaumcraft.client.fx.FXDispatcher;
-
-import java.util.ArrayList;
-import java.util.List;
+import thaumcraft.client.fx.FXStreamPool;
 
 /**
  * FXEssentiaTrail - Flowing essentia stream effect.
@@ -29,14 +24,17 @@ import java.util.List;
  * - Spawns drip particles along the path
  * - Color tinting based on aspect
  * 
+ * The trail lives in a pooled FXStreamPool.Points ring buffer that goes back to
+ * the pool when the trail dies, and its quads are built from the shared
+ * billboard axes, so a long infusion allocates nothing per tick or frame.
+ * 
  * Ported/reimplemented from 1.12.2
  */
 @OnlyIn(Dist.CLIENT)
 public class FXEssentiaTrail extends TextureSheetParticle {
     
-    // Trail segment storage
-    private final List<Vec3> trailPoints = new ArrayList<>();
-    private final List<Float> trailRadii = new ArrayList<>();
+    // Trail points relative to the start, with their radii
+    private FXStreamPool.Points trailPoints = FXStreamPool.acquire();
     
     // Target position
     private double targetX;
@@ -107,10 +105,8 @@ public class FXEssentiaTrail extends TextureSheetParticle {
         this.gravity = 0.2f;
         
         // Initialize trail with starting points
-        trailPoints.add(new Vec3(0, 0, 0));
-        trailPoints.add(new Vec3(0, 0, 0));
-        trailRadii.add(0.001f);
-        trailRadii.add(0.001f);
+        trailPoints.add(0, 0, 0, 0.001f);
+        trailPoints.add(0, 0, 0, 0.001f);
     }
     
     @Override
@@ -165,9 +161,7 @@ public class FXEssentiaTrail extends TextureSheetParticle {
         
         // Add new trail point if still growing
         if (quadSize > 0.001) {
-            Vec3 relPos = new Vec3(x - startX, y - startY, z - startZ);
-            trailPoints.add(relPos);
-            trailRadii.add(currentScale);
+            trailPoints.add(x - startX, y - startY, z - startZ, currentScale);
             growing = true;
         } else {
             // Start shrinking from the back
@@ -185,10 +179,7 @@ public class FXEssentiaTrail extends TextureSheetParticle {
         }
         
         // Trim trail to max length
-        while (trailPoints.size() > maxLength) {
-            trailPoints.remove(0);
-            trailRadii.remove(0);
-        }
+        trailPoints.trim(maxLength);
         
         // Occasionally spawn drip particles along trail
         if (trailPoints.size() > 2 && random.nextBoolean()) {
@@ -197,9 +188,8 @@ public class FXEssentiaTrail extends TextureSheetParticle {
                 idx = trailPoints.size() - 2;
             }
             if (idx < trailPoints.size()) {
-                Vec3 p = trailPoints.get(idx);
                 FXDispatcher.INSTANCE.essentiaDropFx(
-                        p.x + startX, p.y + startY, p.z + startZ,
+                        trailPoints.x(idx) + startX, trailPoints.y(idx) + startY, trailPoints.z(idx) + startZ,
                         rCol, gCol, bCol, 0.5f);
             }
         }
@@ -207,33 +197,45 @@ public class FXEssentiaTrail extends TextureSheetParticle {
         count++;
     }
     
+    @Override
+    public void remove() {
+        super.remove();
+        FXStreamPool.release(trailPoints);
+        trailPoints = null;
+    }
+    
     @Override
     public void render(VertexConsumer buffer, Camera camera, float partialTicks) {
-        if (trailPoints.size() < 3) return;
+        if (trailPoints == null || trailPoints.size() < 3) return;
         
         Vec3 camPos = camera.getPosition();
-        Quaternionf rotation = camera.rotation();
+        FXStreamPool.setBillboard(camera.rotation());
+        
+        // UV from particle sheet
+        float u0 = (PARTICLE_INDEX % 64) / 64.0f;
+        float u1 = u0 + 0.015625f;
+        float v0 = (PARTICLE_INDEX / 64) / 64.0f;
+        float v1 = v0 + 0.015625f;
+        int light = 0xF000F0;  // Full brightness
         
         // Render each trail segment as a billboarded quad
-        for (int i = 0; i < trailPoints.size(); i++) {
-            Vec3 point = trailPoints.get(i);
-            float radius = trailRadii.get(i);
-            
+        int points = trailPoints.size();
+        for (int i = 0; i < points; i++) {
             // Add wobble animation
             float variance = 1.0f + Mth.sin((i + age) / 3.0f) * 0.2f;
             float wobbleX = Mth.sin((i + age) / 6.0f) * 0.03f;
             float wobbleY = Mth.sin((i + age) / 7.0f) * 0.03f;
             float wobbleZ = Mth.sin((i + age) / 8.0f) * 0.03f;
             
-            float px = (float)(startX + point.x + wobbleX - camPos.x());
-            float py = (float)(startY + point.y + wobbleY - camPos.y());
-            float pz = (float)(startZ + point.z + wobbleZ - camPos.z());
+            float px = (float)(startX + trailPoints.x(i) + wobbleX - camPos.x());
+            float py = (float)(startY + trailPoints.y(i) + wobbleY - camPos.y());
+            float pz = (float)(startZ + trailPoints.z(i) + wobbleZ - camPos.z());
             
-            float size = radius * variance;
+            float size = trailPoints.scale(i) * variance;
             
             // Taper ends
-            if (i > trailPoints.size() - 10) {
-                size *= Mth.cos((float)((i - (trailPoints.size() - 12)) / 10.0f * Math.PI / 2.0));
+            if (i > points - 10) {
+                size *= Mth.cos((float)((i - (points - 12)) / 10.0f * Math.PI / 2.0));
             }
             if (i < 5) {
                 size *= i / 5.0f;
@@ -241,43 +243,11 @@ public class FXEssentiaTrail extends TextureSheetParticle {
             
             if (size < 0.001f) continue;
             
-            // Billboard quad
-            Vector3f[] vertices = new Vector3f[] {
-                new Vector3f(-1.0f, -1.0f, 0.0f),
-                new Vector3f(-1.0f, 1.0f, 0.0f),
-                new Vector3f(1.0f, 1.0f, 0.0f),
-                new Vector3f(1.0f, -1.0f, 0.0f)
-            };
-            
-            for (Vector3f vertex : vertices) {
-                vertex.rotate(rotation);
-                vertex.mul(size * 0.1f);
-                vertex.add(px, py, pz);
-            }
-            
-            // UV from particle sheet
-            float u0 = (PARTICLE_INDEX % 64) / 64.0f;
-            float u1 = u0 + 0.015625f;
-            float v0 = (PARTICLE_INDEX / 64) / 64.0f;
-            float v1 = v0 + 0.015625f;
-            
             // Color variation along stream
             float colorVar = 1.0f - Mth.sin((i + age) / 2.0f) * 0.1f;
             
-            int light = 0xF000F0;  // Full brightness
-            
-            buffer.vertex(vertices[0].x(), vertices[0].y(), vertices[0].z())
-                    .uv(u1, v1).color(rCol * colorVar, gCol * colorVar, bCol * colorVar, 1.0f)
-                    .uv2(light).endVertex();
-            buffer.vertex(vertices[1].x(), vertices[1].y(), vertices[1].z())
-                    .uv(u1, v0).color(rCol * colorVar, gCol * colorVar, bCol * colorVar, 1.0f)
-                    .uv2(light).endVertex();
-            buffer.vertex(vertices[2].x(), vertices[2].y(), vertices[2].z())
-                    .uv(u0, v0).color(rCol * colorVar, gCol * colorVar, bCol * colorVar, 1.0f)
-                    .uv2(light).endVertex();
-            buffer.vertex(vertices[3].x(), vertices[3].y(), vertices[3].z())
-                    .uv(u0, v1).color(rCol * colorVar, gCol * colorVar, bCol * colorVar, 1.0f)
-                    .uv2(light).endVertex();
+            FXStreamPool.billboard(buffer, px, py, pz, size * 0.1f, u0, u1, v0, v1,
+                    rCol * colorVar, gCol * colorVar, bCol * colorVar, 1.0f, light);
         }
     }
     
@@ -32,6 +32,12 @@ public class FXGeneric extends TextureSheetParticle {
     // Render layer (0 = translucent, 1 = lit/additive)
     protected int layer = 0;
 
+    // Scratch objects reused by render(); particles only render on the render thread
+    private static final Quaternionf SCRATCH_ROTATION = new Quaternionf();
+    private static final Vector3f[] SCRATCH_VERTICES = {
+            new Vector3f(), new Vector3f(), new Vector3f(), new Vector3f()
+    };
+    
     // Color interpolation
     protected float startR, startG, startB;
     protected float endR, endG, endB;
@@ -193,7 +199,7 @@ public class FXGeneric extends TextureSheetParticle {
         // Update color interpolation
         float progress = (float) this.age / (float) this.lifetime;
         this.rCol = Mth.lerp(progress, this.startR, this.endR);
-        this.gCol = Mth.lerp(progress, this.startG, this.endB);
+        this.gCol = Mth.lerp(progress, this.startG, this.endG);
         this.bCol = Mth.lerp(progress, this.startB, this.endB);
 
         // Update sprite animation
@@ -288,7 +294,7 @@ public class FXGeneric extends TextureSheetParticle {
             quaternion = camera.rotation();
         } else if (angled) {
             // Custom angle mode for directional particles
-            quaternion = new Quaternionf();
+            quaternion = SCRATCH_ROTATION.identity();
             quaternion.rotateY((float) Math.toRadians(-angleYaw + 90.0f));
             quaternion.rotateX((float) Math.toRadians(anglePitch + 90.0f));
             if (this.roll != 0.0f) {
@@ -296,17 +302,16 @@ public class FXGeneric extends TextureSheetParticle {
                 quaternion.rotateZ(rollAngle);
             }
         } else {
-            quaternion = new Quaternionf(camera.rotation());
+            quaternion = SCRATCH_ROTATION.set(camera.rotation());
             float rollAngle = Mth.lerp(partialTicks, this.oRoll, this.roll);
             quaternion.rotateZ(rollAngle);
         }
 
-        Vector3f[] vertices = new Vector3f[]{
-                new Vector3f(-1.0F, -1.0F, 0.0F),
-                new Vector3f(-1.0F, 1.0F, 0.0F),
-                new Vector3f(1.0F, 1.0F, 0.0F),
-                new Vector3f(1.0F, -1.0F, 0.0F)
-        };
+        Vector3f[] vertices = SCRATCH_VERTICES;
+        vertices[0].set(-1.0F, -1.0F, 0.0F);
+        vertices[1].set(-1.0F, 1.0F, 0.0F);
+        vertices[2].set(1.0F, 1.0F, 0.0F);
+        vertices[3].set(1.0F, -1.0F, 0.0F);
 
         for (int i = 0; i < 4; ++i) {
             Vector3f vertex = vertices[i];
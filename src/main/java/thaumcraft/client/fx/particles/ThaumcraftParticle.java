@@ -20,6 +20,12 @@ import org.joml.Vector3f;
 @OnlyIn(Dist.CLIENT)
 public class ThaumcraftParticle extends TextureSheetParticle {
 
+    // Scratch objects reused by render(); particles only render on the render thread
+    private static final Quaternionf SCRATCH_ROTATION = new Quaternionf();
+    private static final Vector3f[] SCRATCH_VERTICES = {
+            new Vector3f(), new Vector3f(), new Vector3f(), new Vector3f()
+    };
+    
     // Color interpolation
     protected float startR, startG, startB;
     protected float endR, endG, endB;
@@ -137,17 +143,16 @@ public class ThaumcraftParticle extends TextureSheetParticle {
         if (this.roll == 0.0F) {
             quaternion = camera.rotation();
         } else {
-            quaternion = new Quaternionf(camera.rotation());
+            quaternion = SCRATCH_ROTATION.set(camera.rotation());
             float rollAngle = Mth.lerp(partialTicks, this.oRoll, this.roll);
             quaternion.rotateZ(rollAngle);
         }
 
-        Vector3f[] vertices = new Vector3f[]{
-                new Vector3f(-1.0F, -1.0F, 0.0F),
-                new Vector3f(-1.0F, 1.0F, 0.0F),
-                new Vector3f(1.0F, 1.0F, 0.0F),
-                new Vector3f(1.0F, -1.0F, 0.0F)
-        };
+        Vector3f[] vertices = SCRATCH_VERTICES;
+        vertices[0].set(-1.0F, -1.0F, 0.0F);
+        vertices[1].set(-1.0F, 1.0F, 0.0F);
+        vertices[2].set(1.0F, 1.0F, 0.0F);
+        vertices[3].set(1.0F, -1.0F, 0.0F);
         float size = this.getQuadSize(partialTicks);
 
         for (int i = 0; i < 4; ++i) {
@@ -23,12 +23,12 @@ import thaumcraft.api.research.ResearchCategories;
 import thaumcraft.api.research.ResearchCategory;
 import thaumcraft.api.research.ResearchEntry;
 import thaumcraft.api.research.ResearchStage;
+import thaumcraft.client.lib.ResearchSearchIndex;
 import thaumcraft.common.config.ConfigResearch;
 import thaumcraft.common.lib.network.PacketHandler;
 import thaumcraft.common.lib.network.playerdata.PacketSyncProgressToServer;
 import thaumcraft.common.lib.network.playerdata.PacketSyncResearchFlagsToServer;
 
-import java.util.Arrays;
 import thaumcraft.common.lib.capabilities.ThaumcraftCapabilities;
 import thaumcraft.common.lib.research.ResearchManager;
 
@@ -97,9 +97,14 @@ public class ResearchBrowserScreen extends Screen {
     static int catScrollMax = 0;
     public int addonShift = 0;
     
-    // Visibility cache
-    private ArrayList<String> invisible = new ArrayList<>();
+    // Visibility cache, cleared whenever the layout is rebuilt
+    private final HashMap<String, Boolean> visibility = new HashMap<>();
+    
+    // Cached map layout of the selected category and the entries on screen this frame
+    private MapLayout layout;
+    private final ArrayList<MapNode> visibleNodes = new ArrayList<>();
     ArrayList<Pair<String, SearchResult>> searchResults = new ArrayList<>();
+    private int searchGeneration = -1;
     
     // Animation time
     long t = 0L;
@@ -127,6 +132,7 @@ public class ResearchBrowserScreen extends Screen {
     @Override
     protected void init() {
         super.init();
+        ResearchSearchIndex.INSTANCE.ensureBuilt();
         updateResearch();
     }
     
@@ -195,7 +201,7 @@ public class ResearchBrowserScreen extends Screen {
                     continue;
                 }
                 total++;
-                if (ThaumcraftCapabilities.isResearchKnown(player, res.getKey())) {
+                if (ThaumcraftCapabilities.isResearchKnown(player, res)) {
                     complete++;
                 }
             }
@@ -249,31 +255,8 @@ public class ResearchBrowserScreen extends Screen {
             research.addAll(currentCat.research.values());
         }
         
-        // Calculate map bounds
-        guiBoundsLeft = 99999;
-        guiBoundsTop = 99999;
-        guiBoundsRight = -99999;
-        guiBoundsBottom = -99999;
-        
-        for (ResearchEntry res : research) {
-            if (res != null && isVisible(res)) {
-                int col = res.getDisplayColumn() * 24;
-                int row = res.getDisplayRow() * 24;
-                
-                if (col - screenX + 48 < guiBoundsLeft) {
-                    guiBoundsLeft = col - screenX + 48;
-                }
-                if (col - 24 > guiBoundsRight) {
-                    guiBoundsRight = col - 24;
-                }
-                if (row - screenY + 48 < guiBoundsTop) {
-                    guiBoundsTop = row - screenY + 48;
-                }
-                if (row - 24 > guiBoundsBottom) {
-                    guiBoundsBottom = row - 24;
-                }
-            }
-        }
+        // Build the map layout and bounds
+        rebuildLayout();
         
         // Center view if out of bounds
         if (lastX == -9999.0 || guiMapX > guiBoundsRight || guiMapX < guiBoundsLeft) {
@@ -316,13 +299,21 @@ public class ResearchBrowserScreen extends Screen {
     
     /**
      * Checks if a research entry should be visible to the player.
+     * Answers are memoized until the next layout rebuild.
      */
     private boolean isVisible(ResearchEntry res) {
-        if (ThaumcraftCapabilities.isResearchKnown(player, res.getKey())) {
-            return true;
+        Boolean cached = visibility.get(res.getKey());
+        if (cached != null) {
+            return cached;
         }
-        if (invisible.contains(res.getKey())) {
-            return false;
+        boolean visible = computeVisible(res);
+        visibility.put(res.getKey(), visible);
+        return visible;
+    }
+    
+    private boolean computeVisible(ResearchEntry res) {
+        if (ThaumcraftCapabilities.isResearchKnown(player, res)) {
+            return true;
         }
         if (res.hasMeta(ResearchEntry.EnumResearchMeta.HIDDEN) && !canUnlockResearch(res)) {
             return false;
@@ -338,7 +329,6 @@ public class ResearchBrowserScreen extends Screen {
                 }
                 ResearchEntry ri = ResearchCategories.getResearch(cleanParent);
                 if (ri != null && !isVisible(ri)) {
-                    invisible.add(r);
                     return false;
                 }
             }
@@ -384,42 +374,26 @@ public class ResearchBrowserScreen extends Screen {
     
     private void updateSearch() {
         searchResults.clear();
-        invisible.clear();
-        String searchText = searchField.getValue().toLowerCase();
+        visibility.clear();
+        searchGeneration = ResearchSearchIndex.INSTANCE.getGeneration();
+        String searchText = searchField.getValue();
         
         if (searchText.isEmpty()) {
             return;
         }
         
-        // Search categories
-        for (String cat : categoriesTC) {
-            String catName = Component.translatable("tc.research_category." + cat).getString();
-            if (catName.toLowerCase().contains(searchText)) {
-                searchResults.add(Pair.of(catName, new SearchResult(cat, null, true)));
-            }
+        // Visible categories and known research only, best matches first
+        for (ResearchSearchIndex.Result r : ResearchSearchIndex.INSTANCE.search(searchText, this::isSearchable)) {
+            boolean cat = r.kind == ResearchSearchIndex.Kind.CATEGORY;
+            searchResults.add(Pair.of(r.display, new SearchResult(r.key, r.recipe, cat)));
         }
-        for (String cat : categoriesOther) {
-            String catName = Component.translatable("tc.research_category." + cat).getString();
-            if (catName.toLowerCase().contains(searchText)) {
-                searchResults.add(Pair.of(catName, new SearchResult(cat, null, true)));
-            }
+    }
+    
+    private boolean isSearchable(ResearchSearchIndex.Kind kind, String key) {
+        if (kind == ResearchSearchIndex.Kind.CATEGORY) {
+            return categoriesTC.contains(key) || categoriesOther.contains(key);
         }
-        
-        // Search known research
-        ThaumcraftCapabilities.getKnowledge(player).ifPresent(knowledge -> {
-            for (String resKey : knowledge.getResearchList()) {
-                ResearchEntry ri = ResearchCategories.getResearch(resKey);
-                if (ri != null) {
-                    String name = ri.getLocalizedName().getString();
-                    if (name.toLowerCase().contains(searchText)) {
-                        searchResults.add(Pair.of(name, new SearchResult(resKey, null, false)));
-                    }
-                }
-            }
-        });
-        
-        // Sort results
-        searchResults.sort(Comparator.comparing(Pair::getLeft));
+        return ThaumcraftCapabilities.isResearchKnown(player, key);
     }
     
     @Override
@@ -559,7 +533,7 @@ public class ResearchBrowserScreen extends Screen {
         
         if (!searching && currentHighlight != null) {
             // Handle research click
-            if (!ThaumcraftCapabilities.isResearchKnown(player, currentHighlight.getKey()) 
+            if (!ThaumcraftCapabilities.isResearchKnown(player, currentHighlight) 
                     && canUnlockResearch(currentHighlight)) {
                 // Start new research - send packet to server to sync progress
                 PacketHandler.sendToServer(new PacketSyncProgressToServer(currentHighlight.getKey(), true));
@@ -567,7 +541,7 @@ public class ResearchBrowserScreen extends Screen {
                 popuptime = System.currentTimeMillis() + 3000L;
                 popupmessage = Component.translatable("tc.research.popup", currentHighlight.getLocalizedName()).getString();
                 return true;
-            } else if (ThaumcraftCapabilities.isResearchKnown(player, currentHighlight.getKey())) {
+            } else if (ThaumcraftCapabilities.isResearchKnown(player, currentHighlight)) {
                 // View existing research - clear flags and sync to server
                 ThaumcraftCapabilities.getKnowledge(player).ifPresent(knowledge -> {
                     knowledge.clearResearchFlag(currentHighlight.getKey(), IPlayerKnowledge.EnumResearchFlag.RESEARCH);
@@ -625,6 +599,13 @@ public class ResearchBrowserScreen extends Screen {
         curMouseX = guiMapX;
         curMouseY = guiMapY;
         
+        // Rebuild the index if it was dropped while open (e.g. recipes updated), then pick up
+        // page text and recipe matches once it has finished building
+        ResearchSearchIndex.INSTANCE.ensureBuilt();
+        if (searching && searchGeneration != ResearchSearchIndex.INSTANCE.getGeneration()) {
+            updateSearch();
+        }
+        
         // Smooth scrolling
         double dx = tempMapX - guiMapX;
         double dy = tempMapY - guiMapY;
@@ -682,159 +663,141 @@ public class ResearchBrowserScreen extends Screen {
     }
     
     /**
-     * Renders the research entries and connections.
+     * Renders the research entries and connections from the cached layout.
      */
     private void renderResearchContent(GuiGraphics graphics, int mouseX, int mouseY, int locX, int locY) {
+        currentHighlight = null;
         if (research.isEmpty()) return;
         
-        RenderSystem.setShaderTexture(0, TEXTURE);
+        IPlayerKnowledge knowledge = ThaumcraftCapabilities.getKnowledge(player).orElse(null);
+        int revision = knowledge != null ? knowledge.getResearchRevision() : -1;
+        if (layout == null || layout.revision != revision || !layout.category.equals(selectedCategory)) {
+            rebuildLayout();
+        }
         
-        // Draw connection lines between research
-        for (ResearchEntry source : research) {
-            if (source.getParents() != null && source.getParents().length > 0) {
-                for (int a = 0; a < source.getParents().length; a++) {
-                    String parentKey = source.getParents()[a];
-                    if (parentKey == null) continue;
-                    
-                    String cleanParent = source.getParentsClean()[a];
-                    ResearchEntry parent = ResearchCategories.getResearch(cleanParent);
-                    if (parent == null || !parent.getCategory().equals(selectedCategory)) continue;
-                    
-                    // Skip if sibling connection
-                    if (parent.getSiblings() != null && Arrays.asList(parent.getSiblings()).contains(source.getKey())) {
-                        continue;
-                    }
-                    
-                    boolean knowsParent = ThaumcraftCapabilities.isResearchComplete(player, parentKey);
-                    boolean visible = isVisible(source) && !parentKey.startsWith("~");
-                    
-                    if (visible) {
-                        if (knowsParent) {
-                            drawLine(graphics, source.getDisplayColumn(), source.getDisplayRow(),
-                                    parent.getDisplayColumn(), parent.getDisplayRow(),
-                                    0.6f, 0.6f, 0.6f, locX, locY, true,
-                                    source.hasMeta(ResearchEntry.EnumResearchMeta.REVERSE));
-                        } else if (isVisible(parent)) {
-                            drawLine(graphics, source.getDisplayColumn(), source.getDisplayRow(),
-                                    parent.getDisplayColumn(), parent.getDisplayRow(),
-                                    0.2f, 0.2f, 0.2f, locX, locY, true,
-                                    source.hasMeta(ResearchEntry.EnumResearchMeta.REVERSE));
-                        }
-                    }
-                }
+        Matrix4f matrix = graphics.pose().last().pose();
+        int offX = startX - locX;
+        int offY = startY - locY;
+        float viewRight = (startX + screenX) * screenZoom;
+        float viewBottom = (startY + screenY) * screenZoom;
+        
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+        
+        // Draw connection lines - one buffer for every line that crosses the viewport
+        RenderSystem.setShader(GameRenderer::getPositionColorShader);
+        BufferBuilder buffer = Tesselator.getInstance().getBuilder();
+        boolean started = false;
+        int[] lines = layout.lines;
+        for (int i = 0; i < layout.lineCount * 5; i += 5) {
+            int x0 = lines[i] + offX;
+            int y0 = lines[i + 1] + offY;
+            int x1 = lines[i + 2] + offX;
+            int y1 = lines[i + 3] + offY;
+            if (x1 < 0 || y1 < 0 || x0 > viewRight || y0 > viewBottom) {
+                continue;
             }
-            
-            // Draw sibling connections
-            if (source.getSiblings() != null && source.getSiblings().length > 0) {
-                for (String siblingKey : source.getSiblings()) {
-                    if (siblingKey == null) continue;
-                    
-                    ResearchEntry sibling = ResearchCategories.getResearch(siblingKey);
-                    if (sibling == null || !sibling.getCategory().equals(selectedCategory)) continue;
-                    
-                    boolean knowsSibling = ThaumcraftCapabilities.isResearchComplete(player, siblingKey);
-                    if (isVisible(source) && !siblingKey.startsWith("~")) {
-                        if (knowsSibling) {
-                            drawLine(graphics, sibling.getDisplayColumn(), sibling.getDisplayRow(),
-                                    source.getDisplayColumn(), source.getDisplayRow(),
-                                    0.3f, 0.3f, 0.4f, locX, locY, false,
-                                    source.hasMeta(ResearchEntry.EnumResearchMeta.REVERSE));
-                        } else if (isVisible(sibling)) {
-                            drawLine(graphics, sibling.getDisplayColumn(), sibling.getDisplayRow(),
-                                    source.getDisplayColumn(), source.getDisplayRow(),
-                                    0.1875f, 0.1875f, 0.25f, locX, locY, false,
-                                    source.hasMeta(ResearchEntry.EnumResearchMeta.REVERSE));
-                        }
-                    }
-                }
+            if (!started) {
+                buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR);
+                started = true;
             }
+            int color = lines[i + 4];
+            int r = (color >> 16) & 0xFF;
+            int g = (color >> 8) & 0xFF;
+            int b = color & 0xFF;
+            buffer.vertex(matrix, x0, y0, 0).color(r, g, b, 255).endVertex();
+            buffer.vertex(matrix, x0, y1, 0).color(r, g, b, 255).endVertex();
+            buffer.vertex(matrix, x1, y1, 0).color(r, g, b, 255).endVertex();
+            buffer.vertex(matrix, x1, y0, 0).color(r, g, b, 255).endVertex();
+        }
+        if (started) {
+            BufferUploader.drawWithShader(buffer.end());
         }
         
-        // Draw research icons
-        currentHighlight = null;
-        
-        for (ResearchEntry iconResearch : research) {
-            int iconPosX = iconResearch.getDisplayColumn() * 24 - locX;
-            int iconPosY = iconResearch.getDisplayRow() * 24 - locY;
+        // Draw frames and research/page flags of on-screen entries in one buffer
+        float pulse = (float) Math.sin(System.currentTimeMillis() % 600L / 600.0 * Math.PI * 2.0) * 0.25f + 0.75f;
+        visibleNodes.clear();
+        started = false;
+        for (MapNode node : layout.nodes) {
+            int iconPosX = node.x - locX;
+            int iconPosY = node.y - locY;
             
             // Skip if off screen
             if (iconPosX < -24 || iconPosY < -24 || iconPosX > screenX * screenZoom || iconPosY > screenY * screenZoom) {
                 continue;
             }
+            visibleNodes.add(node);
+            
+            if (!started) {
+                RenderSystem.setShader(GameRenderer::getPositionTexColorShader);
+                RenderSystem.setShaderTexture(0, TEXTURE);
+                buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR);
+                started = true;
+            }
             
             int iconX = startX + iconPosX;
             int iconY = startY + iconPosY;
             
-            if (isVisible(iconResearch)) {
-                // Determine icon brightness based on research status
-                float brightness = 0.3f;
-                if (ThaumcraftCapabilities.isResearchComplete(player, iconResearch.getKey())) {
-                    brightness = 1.0f;
-                } else if (canUnlockResearch(iconResearch)) {
-                    brightness = (float) Math.sin(System.currentTimeMillis() % 600L / 600.0 * Math.PI * 2.0) * 0.25f + 0.75f;
-                }
-                
-                RenderSystem.setShaderColor(brightness, brightness, brightness, 1.0f);
-                
-                // Draw frame
-                RenderSystem.setShaderTexture(0, TEXTURE);
-                int frameU = 80;
-                int frameV = 48;
-                if (iconResearch.hasMeta(ResearchEntry.EnumResearchMeta.HIDDEN)) {
-                    frameV += 32;
-                }
-                if (iconResearch.hasMeta(ResearchEntry.EnumResearchMeta.ROUND)) {
-                    frameU = 144;
-                } else if (iconResearch.hasMeta(ResearchEntry.EnumResearchMeta.HEX)) {
-                    frameU = 112;
+            // Determine frame brightness based on research status
+            float brightness = node.complete ? 1.0f : (node.canUnlock ? pulse : 0.3f);
+            putQuad(buffer, matrix, iconX - 8, iconY - 8, 32, node.frameU, node.frameV, brightness);
+            if (node.spiky) {
+                putQuad(buffer, matrix, iconX - 8, iconY - 8, 32, 176, node.frameV, brightness);
+            }
+            
+            if (knowledge != null) {
+                if (knowledge.hasResearchFlag(node.entry.getKey(), IPlayerKnowledge.EnumResearchFlag.RESEARCH)) {
+                    putQuad(buffer, matrix, iconX - 9, iconY - 9, 16, 176, 16, 1.0f);
                 }
-                
-                graphics.blit(TEXTURE, iconX - 8, iconY - 8, frameU, frameV, 32, 32);
-                
-                // Draw spiky overlay if needed
-                if (iconResearch.hasMeta(ResearchEntry.EnumResearchMeta.SPIKY)) {
-                    graphics.blit(TEXTURE, iconX - 8, iconY - 8, 176, 
-                            48 + (iconResearch.hasMeta(ResearchEntry.EnumResearchMeta.HIDDEN) ? 32 : 0), 32, 32);
+                if (knowledge.hasResearchFlag(node.entry.getKey(), IPlayerKnowledge.EnumResearchFlag.PAGE)) {
+                    putQuad(buffer, matrix, iconX - 9, iconY + 9, 16, 208, 16, 1.0f);
                 }
-                
-                // Draw research/page flags
-                ThaumcraftCapabilities.getKnowledge(player).ifPresent(knowledge -> {
-                    RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
-                    if (knowledge.hasResearchFlag(iconResearch.getKey(), IPlayerKnowledge.EnumResearchFlag.RESEARCH)) {
-                        graphics.pose().pushPose();
-                        graphics.pose().translate(iconX - 9, iconY - 9, 0);
-                        graphics.pose().scale(0.5f, 0.5f, 1.0f);
-                        graphics.blit(TEXTURE, 0, 0, 176, 16, 32, 32);
-                        graphics.pose().popPose();
-                    }
-                    if (knowledge.hasResearchFlag(iconResearch.getKey(), IPlayerKnowledge.EnumResearchFlag.PAGE)) {
-                        graphics.pose().pushPose();
-                        graphics.pose().translate(iconX - 9, iconY + 9, 0);
-                        graphics.pose().scale(0.5f, 0.5f, 1.0f);
-                        graphics.blit(TEXTURE, 0, 0, 208, 16, 32, 32);
-                        graphics.pose().popPose();
-                    }
-                });
-                
-                // Draw icon
-                RenderSystem.setShaderColor(canUnlockResearch(iconResearch) ? 1.0f : 0.1f, 
-                        canUnlockResearch(iconResearch) ? 1.0f : 0.1f,
-                        canUnlockResearch(iconResearch) ? 1.0f : 0.1f, 1.0f);
-                drawResearchIcon(graphics, iconResearch, iconX, iconY);
-                
-                // Check for hover
-                int scaledMouseX = (int) (mouseX * screenZoom);
-                int scaledMouseY = (int) (mouseY * screenZoom);
-                if (scaledMouseX >= startX * screenZoom && scaledMouseY >= startY * screenZoom
-                        && scaledMouseX < (startX + screenX) * screenZoom && scaledMouseY < (startY + screenY) * screenZoom
-                        && scaledMouseX >= iconX - 2 && scaledMouseX <= iconX + 18
-                        && scaledMouseY >= iconY - 2 && scaledMouseY <= iconY + 18) {
-                    currentHighlight = iconResearch;
-                }
-                
-                RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
             }
         }
+        if (started) {
+            BufferUploader.drawWithShader(buffer.end());
+        }
+        
+        // Draw icons and check for hover
+        int scaledMouseX = (int) (mouseX * screenZoom);
+        int scaledMouseY = (int) (mouseY * screenZoom);
+        boolean mouseInMap = scaledMouseX >= startX * screenZoom && scaledMouseY >= startY * screenZoom
+                && scaledMouseX < viewRight && scaledMouseY < viewBottom;
+        
+        for (MapNode node : visibleNodes) {
+            int iconX = startX + node.x - locX;
+            int iconY = startY + node.y - locY;
+            
+            float iconBrightness = node.canUnlock ? 1.0f : 0.1f;
+            RenderSystem.setShaderColor(iconBrightness, iconBrightness, iconBrightness, 1.0f);
+            drawResearchIcon(graphics, node.entry, iconX, iconY);
+            
+            if (mouseInMap && scaledMouseX >= iconX - 2 && scaledMouseX <= iconX + 18
+                    && scaledMouseY >= iconY - 2 && scaledMouseY <= iconY + 18) {
+                currentHighlight = node.entry;
+            }
+        }
+        
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+        RenderSystem.disableBlend();
+    }
+    
+    /**
+     * Writes a square quad from the browser texture (256x256) into the buffer.
+     * The 32x32 texel region at u, v is drawn at the given size.
+     */
+    private static void putQuad(BufferBuilder buffer, Matrix4f matrix, float x, float y, float size,
+                                int u, int v, float brightness) {
+        float u0 = u / 256.0f;
+        float v0 = v / 256.0f;
+        float u1 = (u + 32) / 256.0f;
+        float v1 = (v + 32) / 256.0f;
+        float c = brightness;
+        buffer.vertex(matrix, x, y + size, 0).uv(u0, v1).color(c, c, c, 1.0f).endVertex();
+        buffer.vertex(matrix, x + size, y + size, 0).uv(u1, v1).color(c, c, c, 1.0f).endVertex();
+        buffer.vertex(matrix, x + size, y, 0).uv(u1, v0).color(c, c, c, 1.0f).endVertex();
+        buffer.vertex(matrix, x, y, 0).uv(u0, v0).color(c, c, c, 1.0f).endVertex();
     }
     
     /**
@@ -856,45 +819,111 @@ public class ResearchBrowserScreen extends Screen {
         }
     }
     
+    // ==================== Map Layout ====================
+    
     /**
-     * Draws a connection line between two research entries.
+     * Rebuilds the cached layout of the selected category: which entries are visible,
+     * their frame and completion state, and the connection lines between them.
+     * Also recalculates the map bounds.
      */
-    private void drawLine(GuiGraphics graphics, int x1, int y1, int x2, int y2, 
-                         float r, float g, float b, int locX, int locY, boolean arrow, boolean flipped) {
-        // Simplified line drawing - draw rectangles for connections
-        RenderSystem.setShaderColor(r, g, b, 1.0f);
-        
-        int startPosX, startPosY, endPosX, endPosY;
-        if (flipped) {
-            startPosX = x2 * 24 + 8 - locX + startX;
-            startPosY = y2 * 24 + 8 - locY + startY;
-            endPosX = x1 * 24 + 8 - locX + startX;
-            endPosY = y1 * 24 + 8 - locY + startY;
-        } else {
-            startPosX = x1 * 24 + 8 - locX + startX;
-            startPosY = y1 * 24 + 8 - locY + startY;
-            endPosX = x2 * 24 + 8 - locX + startX;
-            endPosY = y2 * 24 + 8 - locY + startY;
-        }
+    private void rebuildLayout() {
+        visibility.clear();
+        int revision = ThaumcraftCapabilities.getKnowledge(player).map(IPlayerKnowledge::getResearchRevision).orElse(-1);
+        layout = new MapLayout(selectedCategory == null ? "" : selectedCategory, revision);
         
-        // Draw simple line using fill (horizontal then vertical, or vice versa)
-        int color = ((int)(r * 255) << 16) | ((int)(g * 255) << 8) | (int)(b * 255) | 0xFF000000;
+        guiBoundsLeft = 99999;
+        guiBoundsTop = 99999;
+        guiBoundsRight = -99999;
+        guiBoundsBottom = -99999;
         
-        // Draw vertical segment
-        if (startPosY != endPosY) {
-            int minY = Math.min(startPosY, endPosY);
-            int maxY = Math.max(startPosY, endPosY);
-            graphics.fill(startPosX - 1, minY, startPosX + 1, maxY, color);
+        for (ResearchEntry source : research) {
+            if (source == null) continue;
+            boolean sourceVisible = isVisible(source);
+            boolean reverse = source.hasMeta(ResearchEntry.EnumResearchMeta.REVERSE);
+            
+            // Connections to parents
+            if (sourceVisible && source.getParents() != null) {
+                for (int a = 0; a < source.getParents().length; a++) {
+                    String parentKey = source.getParents()[a];
+                    if (parentKey == null || parentKey.startsWith("~")) continue;
+                    
+                    ResearchEntry parent = ResearchCategories.getResearch(source.getParentsClean()[a]);
+                    if (parent == null || !parent.getCategory().equals(selectedCategory)) continue;
+                    
+                    // Skip if sibling connection
+                    if (isSiblingOf(parent, source.getKey())) continue;
+                    
+                    if (ThaumcraftCapabilities.isResearchComplete(player, parentKey)) {
+                        addLine(source, parent, 0x999999, reverse);
+                    } else if (isVisible(parent)) {
+                        addLine(source, parent, 0x333333, reverse);
+                    }
+                }
+            }
+            
+            // Connections to siblings
+            if (sourceVisible && source.getSiblings() != null) {
+                for (String siblingKey : source.getSiblings()) {
+                    if (siblingKey == null || siblingKey.startsWith("~")) continue;
+                    
+                    ResearchEntry sibling = ResearchCategories.getResearch(siblingKey);
+                    if (sibling == null || !sibling.getCategory().equals(selectedCategory)) continue;
+                    
+                    if (ThaumcraftCapabilities.isResearchComplete(player, siblingKey)) {
+                        addLine(sibling, source, 0x4C4C66, reverse);
+                    } else if (isVisible(sibling)) {
+                        addLine(sibling, source, 0x303040, reverse);
+                    }
+                }
+            }
+            
+            if (!sourceVisible) continue;
+            
+            MapNode node = new MapNode(source, ThaumcraftCapabilities.isResearchComplete(player, source),
+                    canUnlockResearch(source));
+            layout.nodes.add(node);
+            
+            if (node.x - screenX + 48 < guiBoundsLeft) {
+                guiBoundsLeft = node.x - screenX + 48;
+            }
+            if (node.x - 24 > guiBoundsRight) {
+                guiBoundsRight = node.x - 24;
+            }
+            if (node.y - screenY + 48 < guiBoundsTop) {
+                guiBoundsTop = node.y - screenY + 48;
+            }
+            if (node.y - 24 > guiBoundsBottom) {
+                guiBoundsBottom = node.y - 24;
+            }
         }
+    }
+    
+    private static boolean isSiblingOf(ResearchEntry entry, String key) {
+        if (entry.getSiblings() == null) return false;
+        for (String sibling : entry.getSiblings()) {
+            if (key.equals(sibling)) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Adds the connection from one entry to another as a vertical segment at the start
+     * column followed by a horizontal segment at the end row, each 2 pixels wide.
+     */
+    private void addLine(ResearchEntry from, ResearchEntry to, int color, boolean flipped) {
+        ResearchEntry start = flipped ? to : from;
+        ResearchEntry end = flipped ? from : to;
+        int startPosX = start.getDisplayColumn() * 24 + 8;
+        int startPosY = start.getDisplayRow() * 24 + 8;
+        int endPosX = end.getDisplayColumn() * 24 + 8;
+        int endPosY = end.getDisplayRow() * 24 + 8;
         
-        // Draw horizontal segment
+        if (startPosY != endPosY) {
+            layout.addRect(startPosX - 1, Math.min(startPosY, endPosY), startPosX + 1, Math.max(startPosY, endPosY), color);
+        }
         if (startPosX != endPosX) {
-            int minX = Math.min(startPosX, endPosX);
-            int maxX = Math.max(startPosX, endPosX);
-            graphics.fill(minX, endPosY - 1, maxX, endPosY + 1, color);
+            layout.addRect(Math.min(startPosX, endPosX), endPosY - 1, Math.max(startPosX, endPosX), endPosY + 1, color);
         }
-        
-        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
     }
     
     /**
@@ -975,10 +1004,12 @@ public class ResearchBrowserScreen extends Screen {
         lines.add(Component.literal("§6" + currentHighlight.getLocalizedName().getString()));
         
         if (canUnlockResearch(currentHighlight)) {
-            if (!ThaumcraftCapabilities.isResearchComplete(player, currentHighlight.getKey()) 
+            if (!ThaumcraftCapabilities.isResearchComplete(player, currentHighlight) 
                     && currentHighlight.getStages() != null) {
                 ThaumcraftCapabilities.getKnowledge(player).ifPresent(knowledge -> {
-                    int stage = knowledge.getResearchStage(currentHighlight.getKey());
+                    int stage = currentHighlight.getId() >= 0
+                            ? knowledge.getResearchStage(currentHighlight.getId())
+                            : knowledge.getResearchStage(currentHighlight.getKey());
                     if (stage > 0) {
                         lines.add(Component.literal("§b" + Component.translatable("tc.research.stage").getString() 
                                 + " " + stage + "/" + currentHighlight.getStages().length));
@@ -1045,6 +1076,67 @@ public class ResearchBrowserScreen extends Screen {
         }
     }
     
+    /**
+     * Cached layout of one category: visible entries and connection lines in map space.
+     */
+    private static class MapLayout {
+        final String category;
+        final int revision;
+        final List<MapNode> nodes = new ArrayList<>();
+        // Line rectangles as minX, minY, maxX, maxY, colour
+        int[] lines = new int[80];
+        int lineCount = 0;
+        
+        MapLayout(String category, int revision) {
+            this.category = category;
+            this.revision = revision;
+        }
+        
+        void addRect(int minX, int minY, int maxX, int maxY, int color) {
+            int i = lineCount * 5;
+            if (i + 5 > lines.length) {
+                lines = Arrays.copyOf(lines, lines.length * 2);
+            }
+            lines[i] = minX;
+            lines[i + 1] = minY;
+            lines[i + 2] = maxX;
+            lines[i + 3] = maxY;
+            lines[i + 4] = color;
+            lineCount++;
+        }
+    }
+    
+    /**
+     * A visible research entry with its frame and state resolved.
+     */
+    private static class MapNode {
+        final ResearchEntry entry;
+        final int x;
+        final int y;
+        final int frameU;
+        final int frameV;
+        final boolean spiky;
+        final boolean complete;
+        final boolean canUnlock;
+        
+        MapNode(ResearchEntry entry, boolean complete, boolean canUnlock) {
+            this.entry = entry;
+            this.x = entry.getDisplayColumn() * 24;
+            this.y = entry.getDisplayRow() * 24;
+            this.complete = complete;
+            this.canUnlock = canUnlock;
+            this.spiky = entry.hasMeta(ResearchEntry.EnumResearchMeta.SPIKY);
+            this.frameV = entry.hasMeta(ResearchEntry.EnumResearchMeta.HIDDEN) ? 80 : 48;
+            if (entry.hasMeta(ResearchEntry.EnumResearchMeta.ROUND)) {
+                this.frameU = 144;
+            } else if (entry.hasMeta(ResearchEntry.EnumResearchMeta.HEX)) {
+                this.frameU = 112;
+            } else {
+                this.frameU = 80;
+            }
+        }
+    }
+    
     /**
      * Category tab button.
      */
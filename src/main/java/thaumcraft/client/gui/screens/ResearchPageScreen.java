@@ -47,6 +47,7 @@ public class ResearchPageScreen extends Screen {
     // Research data
     private final ResearchEntry research;
     private final ResourceLocation highlightRecipe;
+    private boolean highlightShown = false;
     private final double returnX;
     private final double returnY;
     
@@ -86,6 +87,17 @@ public class ResearchPageScreen extends Screen {
         ThaumcraftCapabilities.getKnowledge(player).ifPresent(k -> playerKnowledge = k);
         
         parsePages();
+        
+        // Open on the spread with the recipe a search result pointed at (once, not on every resize)
+        if (highlightRecipe != null && !highlightShown) {
+            highlightShown = true;
+            for (int i = 0; i < pages.size(); i++) {
+                if (highlightRecipe.equals(pages.get(i).recipeId)) {
+                    page = i - i % 2;
+                    break;
+                }
+            }
+        }
     }
     
     /**
@@ -0,0 +1,137 @@
+package thaumcraft.client.lib;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import thaumcraft.Thaumcraft;
+import thaumcraft.api.golems.seals.ISealEntity;
+import thaumcraft.api.golems.seals.SealPos;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ClientSealCache - Client-owned copy of the seals the server has synced.
+ * 
+ * SealRenderer used to walk SealHandler.sealEntities, which is a static map shared
+ * with the integrated server, every frame. This cache is filled from
+ * PacketSealToClient only and buckets seals by chunk section, so the renderer
+ * only looks at the few sections around the camera and can frustum-cull whole
+ * sections at once.
+ * 
+ * Only touched on the client main thread. Cleared when the client level changes.
+ */
+@OnlyIn(Dist.CLIENT)
+public class ClientSealCache {
+    
+    private static final ResourceLocation BLANK_ICON = new ResourceLocation(Thaumcraft.MODID, "item/seals/seal_blank");
+    
+    private static final Long2ObjectMap<List<Entry>> sections = new Long2ObjectOpenHashMap<>();
+    private static ClientLevel level;
+    private static int size = 0;
+    
+    /**
+     * Render data for one seal
+     */
+    public static final class Entry {
+        public final SealPos sealPos;
+        /** Sprite location in the block atlas */
+        public final ResourceLocation sprite;
+        public final boolean redstoneSensitive;
+        
+        Entry(SealPos sealPos, ResourceLocation sprite, boolean redstoneSensitive) {
+            this.sealPos = sealPos;
+            this.sprite = sprite;
+            this.redstoneSensitive = redstoneSensitive;
+        }
+    }
+    
+    /**
+     * Add or replace a seal synced from the server.
+     */
+    public static void put(ISealEntity seal) {
+        if (seal == null || seal.getSeal() == null || seal.getSealPos() == null) return;
+        checkLevel();
+        
+        SealPos sp = new SealPos(seal.getSealPos().pos.immutable(), seal.getSealPos().face);
+        Entry entry = new Entry(sp, toAtlasSprite(seal.getSeal().getSealIcon()), seal.isRedstoneSensitive());
+        
+        List<Entry> bucket = sections.computeIfAbsent(SectionPos.asLong(sp.pos), k -> new ArrayList<>(4));
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i).sealPos.equals(sp)) {
+                bucket.set(i, entry);
+                return;
+            }
+        }
+        bucket.add(entry);
+        size++;
+    }
+    
+    /**
+     * Remove a seal the server reported as gone.
+     */
+    public static void remove(SealPos sealPos) {
+        if (sealPos == null) return;
+        checkLevel();
+        
+        long key = SectionPos.asLong(sealPos.pos);
+        List<Entry> bucket = sections.get(key);
+        if (bucket == null) return;
+        if (bucket.removeIf(e -> e.sealPos.equals(sealPos))) {
+            size--;
+        }
+        if (bucket.isEmpty()) {
+            sections.remove(key);
+        }
+    }
+    
+    /**
+     * Seals in one chunk section, or null if there are none.
+     */
+    public static List<Entry> getSection(int sx, int sy, int sz) {
+        checkLevel();
+        return sections.get(SectionPos.asLong(sx, sy, sz));
+    }
+    
+    public static boolean isEmpty() {
+        checkLevel();
+        return size == 0;
+    }
+    
+    public static void clear() {
+        sections.clear();
+        size = 0;
+    }
+    
+    private static void checkLevel() {
+        ClientLevel current = Minecraft.getInstance().level;
+        if (level != current) {
+            clear();
+            level = current;
+        }
+    }
+    
+    /**
+     * Seal icons are given as "items/seals/seal_x"; the textures are stitched into the
+     * block atlas from the item models as "item/seals/seal_x".
+     */
+    private static ResourceLocation toAtlasSprite(ResourceLocation icon) {
+        if (icon == null) return BLANK_ICON;
+        String path = icon.getPath();
+        if (path.startsWith("textures/")) {
+            path = path.substring("textures/".length());
+        }
+        if (path.endsWith(".png")) {
+            path = path.substring(0, path.length() - 4);
+        }
+        if (path.startsWith("items/")) {
+            path = "item/" + path.substring("items/".length());
+        }
+        return new ResourceLocation(icon.getNamespace(), path);
+    }
+}
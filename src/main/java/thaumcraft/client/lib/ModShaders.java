@@ -0,0 +1,46 @@
+package thaumcraft.client.lib;
+
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import net.minecraft.client.renderer.ShaderInstance;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.RegisterShadersEvent;
+import thaumcraft.Thaumcraft;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+
+/**
+ * ModShaders - Core shaders loaded from assets/thaumcraft/shaders/core.
+ * 
+ * Registered from RegisterShadersEvent, so they are reloaded with resource packs.
+ * A shader that fails to compile stays null and its renderer falls back to a
+ * vanilla render type.
+ */
+@OnlyIn(Dist.CLIENT)
+public class ModShaders {
+    
+    /**
+     * Flux rift tube: end portal layers with the rift wobble applied in the vertex
+     * shader. Format POSITION_TEX_COLOR_NORMAL, see FluxRiftRenderer.
+     */
+    @Nullable
+    private static ShaderInstance fluxRift;
+    
+    public static void register(RegisterShadersEvent event) {
+        try {
+            event.registerShader(new ShaderInstance(event.getResourceProvider(),
+                    new ResourceLocation(Thaumcraft.MODID, "flux_rift"), DefaultVertexFormat.POSITION_TEX_COLOR_NORMAL),
+                    shader -> fluxRift = shader);
+        } catch (IOException e) {
+            Thaumcraft.LOGGER.error("Failed to load flux rift shader", e);
+            fluxRift = null;
+        }
+    }
+    
+    @Nullable
+    public static ShaderInstance getFluxRift() {
+        return fluxRift;
+    }
+}
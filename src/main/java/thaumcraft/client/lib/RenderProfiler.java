@@ -0,0 +1,456 @@
+package thaumcraft.client.lib;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.LightTexture;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.blockentity.BlockEntityRenderer;
+import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
+import net.minecraft.client.renderer.entity.EntityRenderer;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.RegisterClientCommandsEvent;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import thaumcraft.Thaumcraft;
+import thaumcraft.client.fx.FXBatch;
+import thaumcraft.client.fx.FXBudget;
+import thaumcraft.common.entities.EntityFluxRift;
+import thaumcraft.common.golems.EntityThaumcraftGolem;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RenderProfiler - Per-frame timing of Thaumcraft renderers, written to CSV.
+ * 
+ * Started with the client command "/tcprofile record [frames]". While recording,
+ * every frame becomes one CSV row with:
+ * - the whole frame time
+ * - CPU time, call count and vertex count per Section
+ * - live batched particles and FXDispatcher spawns per FXBudget category
+ * 
+ * Block entity renderers are wrapped with profiled() when they are registered.
+ * Entity renderers, seals, the FX batch and the HUD call begin()/end() around
+ * their own work. When not recording, begin() returns 0 and end() returns at once,
+ * so the hooks cost a field read.
+ * 
+ * Times are the CPU cost of submitting geometry. Block entities and entities
+ * write into the shared buffer source and are drawn later, so their GPU time shows
+ * up in the frame time only. Vertex counts are the ones the renderer writes
+ * itself (seals, batched FX, rift meshes); they are zero for renderers drawing
+ * through vanilla models.
+ * 
+ * "/tcprofile count [passes]" is a dry run that needs no frames at all: each
+ * pass hands every loaded Thaumcraft block entity, golem and rift to its
+ * renderer with a buffer that only counts vertices, and nothing is drawn. The
+ * CSV has the same columns, with one row per pass. Seals, the FX batch and the
+ * HUD are drawn from render events, so their columns stay zero there. Rifts
+ * skip their shader draw and report their mesh size.
+ * 
+ * Use /thaumcraft bench on the server side to build a reproducible scene to
+ * profile. Files go to <game dir>/thaumcraft/profiles.
+ */
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class RenderProfiler {
+    
+    /**
+     * Profiled renderer groups
+     */
+    public enum Section {
+        JARS,
+        TUBES,
+        INFUSION,
+        PEDESTALS,
+        GOLEMS,
+        RIFTS,
+        SEALS,
+        FX_BATCH,
+        HUD
+    }
+    
+    private static final int SECTIONS = Section.values().length;
+    private static final int DEFAULT_FRAMES = 600;
+    private static final int MAX_FRAMES = 36000;
+    private static final int DEFAULT_PASSES = 100;
+    
+    private static boolean recording = false;
+    private static boolean dryRun = false;
+    private static int framesLeft = 0;
+    private static int frameIndex = 0;
+    private static long frameStart = 0L;
+    private static StringBuilder csv;
+    
+    // Current frame
+    private static final long[] nanos = new long[SECTIONS];
+    private static final int[] calls = new int[SECTIONS];
+    private static final long[] vertices = new long[SECTIONS];
+    private static final long[] lastSpawned = new long[FXBudget.Category.values().length];
+    
+    // ==================== Hooks ====================
+    
+    public static boolean isRecording() {
+        return recording;
+    }
+    
+    /**
+     * Whether this is a dry run, in which renderers must not draw anything
+     * themselves, only write to the buffer they are given.
+     */
+    public static boolean isDryRun() {
+        return dryRun;
+    }
+    
+    /**
+     * Start timing a section. Pass the result to end().
+     */
+    public static long begin() {
+        return recording ? System.nanoTime() : 0L;
+    }
+    
+    public static void end(Section section, long start) {
+        if (start == 0L || !recording) return;
+        nanos[section.ordinal()] += System.nanoTime() - start;
+        calls[section.ordinal()]++;
+    }
+    
+    public static void addVertices(Section section, int count) {
+        if (recording) {
+            vertices[section.ordinal()] += count;
+        }
+    }
+    
+    /**
+     * Wrap a block entity renderer provider so every render call is timed under
+     * the given section.
+     */
+    public static <T extends BlockEntity> BlockEntityRendererProvider<T> profiled(Section section,
+                                                                              BlockEntityRendererProvider<T> provider) {
+        return context -> new Profiled<>(section, provider.create(context));
+    }
+    
+    private static final class Profiled<T extends BlockEntity> implements BlockEntityRenderer<T> {
+        private final Section section;
+        private final BlockEntityRenderer<T> renderer;
+        
+        Profiled(Section section, BlockEntityRenderer<T> renderer) {
+            this.section = section;
+            this.renderer = renderer;
+        }
+        
+        @Override
+        public void render(T tile, float partialTick, PoseStack poseStack, MultiBufferSource buffer,
+                           int packedLight, int packedOverlay) {
+            long start = begin();
+            renderer.render(tile, partialTick, poseStack, buffer, packedLight, packedOverlay);
+            end(section, start);
+        }
+        
+        @Override
+        public boolean shouldRenderOffScreen(T tile) {
+            return renderer.shouldRenderOffScreen(tile);
+        }
+        
+        @Override
+        public int getViewDistance() {
+            return renderer.getViewDistance();
+        }
+        
+        @Override
+        public boolean shouldRender(T tile, Vec3 cameraPos) {
+            return renderer.shouldRender(tile, cameraPos);
+        }
+        
+        @Override
+        public AABB getRenderBoundingBox(T tile) {
+            return renderer.getRenderBoundingBox(tile);
+        }
+    }
+    
+    // ==================== Recording ====================
+    
+    public static void start(int frames) {
+        if (recording) {
+            stop();
+        }
+        csv = new StringBuilder(frames * 160);
+        csv.append("frame,frame_ms");
+        for (Section s : Section.values()) {
+            String name = s.name().toLowerCase(Locale.ROOT);
+            csv.append(',').append(name).append("_ms,").append(name).append("_calls,").append(name).append("_verts");
+        }
+        csv.append(",fx_batched");
+        for (FXBudget.Category c : FXBudget.Category.values()) {
+            csv.append(",fx_").append(c.name().toLowerCase(Locale.ROOT)).append("_spawned");
+            lastSpawned[c.ordinal()] = FXBudget.INSTANCE.getSpawned(c);
+        }
+        csv.append('\n');
+        
+        framesLeft = Math.min(frames, MAX_FRAMES);
+        frameIndex = 0;
+        frameStart = 0L;
+        clearFrame();
+        recording = true;
+    }
+    
+    /**
+     * Stop recording and write what was recorded so far.
+     */
+    public static void stop() {
+        if (!recording) return;
+        recording = false;
+        dryRun = false;
+        
+        String data = csv.toString();
+        int frames = frameIndex;
+        csv = null;
+        
+        Path dir = Minecraft.getInstance().gameDirectory.toPath().resolve("thaumcraft").resolve("profiles");
+        Path file = dir.resolve("render-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv");
+        Util.ioPool().execute(() -> {
+            try {
+                Files.createDirectories(dir);
+                Files.writeString(file, data, StandardCharsets.UTF_8);
+                Minecraft.getInstance().execute(() -> message("Wrote " + frames + " frames to " + file));
+            } catch (IOException e) {
+                Thaumcraft.LOGGER.error("Failed to write render profile {}", file, e);
+            }
+        });
+    }
+    
+    private static void endFrame(long now) {
+        if (frameStart != 0L) {
+            csv.append(frameIndex).append(',').append(formatMs(now - frameStart));
+            for (int i = 0; i < SECTIONS; i++) {
+                csv.append(',').append(formatMs(nanos[i])).append(',').append(calls[i]).append(',').append(vertices[i]);
+            }
+            csv.append(',').append(FXBatch.INSTANCE.getParticleCount());
+            for (FXBudget.Category c : FXBudget.Category.values()) {
+                long spawned = FXBudget.INSTANCE.getSpawned(c);
+                csv.append(',').append(Math.max(0L, spawned - lastSpawned[c.ordinal()]));
+                lastSpawned[c.ordinal()] = spawned;
+            }
+            csv.append('\n');
+            frameIndex++;
+            
+            if (--framesLeft <= 0) {
+                stop();
+                return;
+            }
+        }
+        clearFrame();
+        frameStart = now;
+    }
+    
+    private static void clearFrame() {
+        for (int i = 0; i < SECTIONS; i++) {
+            nanos[i] = 0L;
+            calls[i] = 0;
+            vertices[i] = 0L;
+        }
+    }
+    
+    private static String formatMs(long nanos) {
+        return String.format(Locale.ROOT, "%.4f", nanos / 1_000_000.0);
+    }
+    
+    private static void message(String text) {
+        if (Minecraft.getInstance().player != null) {
+            Minecraft.getInstance().player.sendSystemMessage(Component.literal(text));
+        }
+    }
+    
+    // ==================== Dry Run ====================
+    
+    /**
+     * Run the given number of passes over everything loaded around the player
+     * and write them out, as record() would for frames.
+     */
+    private static void dryRun(int passes) {
+        Minecraft mc = Minecraft.getInstance();
+        ClientLevel level = mc.level;
+        if (level == null || mc.player == null) return;
+        
+        start(passes);
+        dryRun = true;
+        CountingBuffers buffers = new CountingBuffers();
+        PoseStack poseStack = new PoseStack();
+        Vec3 camera = mc.player.getEyePosition();
+        
+        List<BlockEntity> tiles = new ArrayList<>();
+        ChunkPos centre = mc.player.chunkPosition();
+        int range = mc.options.getEffectiveRenderDistance();
+        for (int cx = centre.x - range; cx <= centre.x + range; cx++) {
+            for (int cz = centre.z - range; cz <= centre.z + range; cz++) {
+                LevelChunk chunk = level.getChunkSource().getChunk(cx, cz, false);
+                if (chunk != null) {
+                    tiles.addAll(chunk.getBlockEntities().values());
+                }
+            }
+        }
+        
+        // The first call only starts the clock; each later one closes a pass
+        endFrame(System.nanoTime());
+        for (int pass = 0; pass < passes && recording; pass++) {
+            for (BlockEntity tile : tiles) {
+                renderTile(tile, camera, poseStack, buffers);
+            }
+            for (Entity entity : level.entitiesForRendering()) {
+                if (entity instanceof EntityThaumcraftGolem) {
+                    renderEntity(entity, Section.GOLEMS, camera, poseStack, buffers);
+                } else if (entity instanceof EntityFluxRift) {
+                    renderEntity(entity, Section.RIFTS, camera, poseStack, buffers);
+                }
+            }
+            endFrame(System.nanoTime());
+        }
+    }
+    
+    private static <T extends BlockEntity> void renderTile(T tile, Vec3 camera, PoseStack poseStack,
+                                                          CountingBuffers buffers) {
+        // Only Thaumcraft's renderers are wrapped, so that is the filter too
+        if (!(Minecraft.getInstance().getBlockEntityRenderDispatcher().getRenderer(tile) instanceof Profiled<T> renderer)) {
+            return;
+        }
+        if (!renderer.shouldRender(tile, camera)) {
+            return;
+        }
+        BlockPos pos = tile.getBlockPos();
+        buffers.section = renderer.section;
+        poseStack.pushPose();
+        poseStack.translate(pos.getX() - camera.x, pos.getY() - camera.y, pos.getZ() - camera.z);
+        renderer.render(tile, 0.0f, poseStack, buffers, LightTexture.FULL_BRIGHT, OverlayTexture.NO_OVERLAY);
+        poseStack.popPose();
+    }
+    
+    private static <T extends Entity> void renderEntity(T entity, Section section, Vec3 camera, PoseStack poseStack,
+                                                        CountingBuffers buffers) {
+        EntityRenderer<? super T> renderer = Minecraft.getInstance().getEntityRenderDispatcher().getRenderer(entity);
+        buffers.section = section;
+        poseStack.pushPose();
+        poseStack.translate(entity.getX() - camera.x, entity.getY() - camera.y, entity.getZ() - camera.z);
+        renderer.render(entity, entity.getYRot(), 0.0f, poseStack, buffers, LightTexture.FULL_BRIGHT);
+        poseStack.popPose();
+    }
+    
+    /**
+     * Buffer source whose buffers throw vertices away, counting them under the
+     * section being rendered.
+     */
+    private static final class CountingBuffers implements MultiBufferSource, VertexConsumer {
+        private Section section = Section.JARS;
+        
+        @Override
+        public VertexConsumer getBuffer(RenderType type) {
+            return this;
+        }
+        
+        @Override
+        public VertexConsumer vertex(double x, double y, double z) {
+            return this;
+        }
+        
+        @Override
+        public VertexConsumer color(int red, int green, int blue, int alpha) {
+            return this;
+        }
+        
+        @Override
+        public VertexConsumer uv(float u, float v) {
+            return this;
+        }
+        
+        @Override
+        public VertexConsumer overlayCoords(int u, int v) {
+            return this;
+        }
+        
+        @Override
+        public VertexConsumer uv2(int u, int v) {
+            return this;
+        }
+        
+        @Override
+        public VertexConsumer normal(float x, float y, float z) {
+            return this;
+        }
+        
+        @Override
+        public void endVertex() {
+            vertices[section.ordinal()]++;
+        }
+        
+        @Override
+        public void defaultColor(int red, int green, int blue, int alpha) {
+        }
+        
+        @Override
+        public void unsetDefaultColor() {
+        }
+    }
+    
+    // ==================== Events ====================
+    
+    @SubscribeEvent
+    public static void onRenderTick(TickEvent.RenderTickEvent event) {
+        // Frames are measured from the start of one render tick to the next
+        if (recording && event.phase == TickEvent.Phase.START) {
+            endFrame(System.nanoTime());
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onRegisterClientCommands(RegisterClientCommandsEvent event) {
+        event.getDispatcher().register(Commands.literal("tcprofile")
+                .then(Commands.literal("record")
+                        .executes(context -> record(context.getSource(), DEFAULT_FRAMES))
+                        .then(Commands.argument("frames", IntegerArgumentType.integer(1, MAX_FRAMES))
+                                .executes(context -> record(context.getSource(), IntegerArgumentType.getInteger(context, "frames")))))
+                .then(Commands.literal("count")
+                        .executes(context -> count(context.getSource(), DEFAULT_PASSES))
+                        .then(Commands.argument("passes", IntegerArgumentType.integer(1, MAX_FRAMES))
+                                .executes(context -> count(context.getSource(), IntegerArgumentType.getInteger(context, "passes")))))
+                .then(Commands.literal("stop")
+                        .executes(context -> {
+                            stop();
+                            return 1;
+                        })));
+    }
+    
+    private static int record(CommandSourceStack source, int frames) {
+        start(frames);
+        source.sendSuccess(() -> Component.literal("Recording " + frames + " frames of Thaumcraft render timings"), false);
+        return 1;
+    }
+    
+    private static int count(CommandSourceStack source, int passes) {
+        source.sendSuccess(() -> Component.literal("Counting " + passes + " dry run passes of Thaumcraft renderers"), false);
+        dryRun(passes);
+        return 1;
+    }
+}
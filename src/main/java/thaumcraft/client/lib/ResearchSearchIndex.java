@@ -0,0 +1,505 @@
+package thaumcraft.client.lib;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.Recipe;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.client.event.RecipesUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import thaumcraft.Thaumcraft;
+import thaumcraft.api.internal.CommonInternals;
+import thaumcraft.api.research.ResearchAddendum;
+import thaumcraft.api.research.ResearchCategories;
+import thaumcraft.api.research.ResearchCategory;
+import thaumcraft.api.research.ResearchEntry;
+import thaumcraft.api.research.ResearchStage;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiPredicate;
+
+/**
+ * ResearchSearchIndex - Inverted index behind the Thaumonomicon search field.
+ * 
+ * Indexes localized category names, research names, research page text and the
+ * output names of the recipes shown on research pages. Terms are kept sorted so a
+ * query term matches by prefix with a binary search; terms of four letters or more
+ * also match within one or two edits.
+ * 
+ * The index is built off the main thread whenever the language changes (or recipes
+ * are resynced). Names are published first and the full index follows, so searches
+ * return name matches straight away and pick up page text and recipe matches once
+ * they are ready - callers can watch getGeneration() to refresh.
+ */
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+public class ResearchSearchIndex {
+    
+    public static final ResearchSearchIndex INSTANCE = new ResearchSearchIndex();
+    
+    // Match scores; a name hit always outranks a page text hit
+    private static final int EXACT_NAME = 100;
+    private static final int PREFIX_NAME = 60;
+    private static final int FUZZY_NAME = 30;
+    private static final int EXACT_TEXT = 10;
+    private static final int PREFIX_TEXT = 6;
+    private static final int FUZZY_TEXT = 3;
+    
+    /**
+     * What a search result points at
+     */
+    public enum Kind {
+        CATEGORY,
+        RESEARCH,
+        RECIPE
+    }
+    
+    /**
+     * A search hit. For RECIPE results the key is the research that shows the recipe.
+     */
+    public static final class Result {
+        public final Kind kind;
+        public final String key;
+        public final ResourceLocation recipe;
+        public final String display;
+        public final int score;
+        
+        Result(Doc doc, int score) {
+            this.kind = doc.kind;
+            this.key = doc.key;
+            this.recipe = doc.recipe;
+            this.display = doc.display;
+            this.score = score;
+        }
+    }
+    
+    private volatile Snapshot snapshot;
+    private volatile int generation = 0;
+    private volatile int requested = 0;
+    private String builtLanguage;
+    
+    private ResearchSearchIndex() {
+    }
+    
+    // ==================== Building ====================
+    
+    /**
+     * Start a rebuild if the language changed since the last one. Call on the main thread.
+     */
+    public void ensureBuilt() {
+        Minecraft mc = Minecraft.getInstance();
+        String language = mc.getLanguageManager().getSelected();
+        if (language.equals(builtLanguage)) {
+            return;
+        }
+        builtLanguage = language;
+        
+        // Gather everything that touches game state here; translating and indexing happen off-thread
+        List<Source> sources = collectSources(mc);
+        int build;
+        synchronized (this) {
+            snapshot = null;
+            build = ++requested;
+        }
+        CompletableFuture.runAsync(() -> build(sources, build), Util.backgroundExecutor())
+                .exceptionally(e -> {
+                    Thaumcraft.LOGGER.error("Failed to build the Thaumonomicon search index", e);
+                    return null;
+                });
+    }
+    
+    /**
+     * Drop the index; the next ensureBuilt rebuilds it. Holds the same lock as
+     * publish, so a build finishing meanwhile can't put its snapshot back.
+     */
+    public synchronized void invalidate() {
+        builtLanguage = null;
+        snapshot = null;
+        requested++;
+        generation++;
+    }
+    
+    /**
+     * Changes every time a new (partial or complete) index is published.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+    
+    public boolean isComplete() {
+        Snapshot s = snapshot;
+        return s != null && s.complete;
+    }
+    
+    private List<Source> collectSources(Minecraft mc) {
+        List<Source> sources = new ArrayList<>();
+        for (ResearchCategory cat : ResearchCategories.researchCategories.values()) {
+            sources.add(new Source(Kind.CATEGORY, cat.key, null,
+                    Component.translatable("tc.research_category." + cat.key), Collections.emptyList()));
+            
+            for (ResearchEntry entry : cat.research.values()) {
+                List<Component> text = new ArrayList<>();
+                List<ResourceLocation> recipes = new ArrayList<>();
+                if (entry.getStages() != null) {
+                    for (ResearchStage stage : entry.getStages()) {
+                        if (stage.getText() != null) {
+                            text.add(stage.getTextLocalized());
+                        }
+                        if (stage.getRecipes() != null) {
+                            recipes.addAll(Arrays.asList(stage.getRecipes()));
+                        }
+                    }
+                }
+                if (entry.getAddenda() != null) {
+                    for (ResearchAddendum addendum : entry.getAddenda()) {
+                        if (addendum.getText() != null) {
+                            text.add(addendum.getTextLocalized());
+                        }
+                        if (addendum.getRecipes() != null) {
+                            recipes.addAll(Arrays.asList(addendum.getRecipes()));
+                        }
+                    }
+                }
+                sources.add(new Source(Kind.RESEARCH, entry.getKey(), null, entry.getLocalizedName(), text));
+                
+                for (ResourceLocation recipe : recipes) {
+                    ItemStack output = getRecipeOutput(mc, recipe);
+                    if (!output.isEmpty()) {
+                        sources.add(new Source(Kind.RECIPE, entry.getKey(), recipe, output.getHoverName(),
+                                Collections.emptyList()));
+                    }
+                }
+            }
+        }
+        return sources;
+    }
+    
+    /**
+     * Output of a recipe shown on a research page, looked up the same way RecipeRenderer does.
+     */
+    private static ItemStack getRecipeOutput(Minecraft mc, ResourceLocation id) {
+        if (mc.level == null || id == null) {
+            return ItemStack.EMPTY;
+        }
+        Object recipe = CommonInternals.getCatalogRecipe(id);
+        if (recipe == null) {
+            recipe = CommonInternals.getCatalogRecipeFake(id);
+        }
+        if (recipe == null) {
+            recipe = mc.level.getRecipeManager().byKey(id).orElse(null);
+        }
+        if (recipe instanceof List<?> list && !list.isEmpty()) {
+            recipe = list.get(0);
+        }
+        if (recipe instanceof Recipe<?> r) {
+            return r.getResultItem(mc.level.registryAccess());
+        }
+        if (recipe instanceof ItemStack stack) {
+            return stack;
+        }
+        return ItemStack.EMPTY;
+    }
+    
+    private void build(List<Source> sources, int build) {
+        // Names first so the search field works while page text is still being indexed
+        Builder names = new Builder();
+        for (Source source : sources) {
+            if (source.kind != Kind.RECIPE) {
+                names.add(source, false);
+            }
+        }
+        if (!publish(names.finish(false), build)) {
+            return;
+        }
+        
+        Builder full = new Builder();
+        for (Source source : sources) {
+            full.add(source, true);
+        }
+        publish(full.finish(true), build);
+    }
+    
+    private synchronized boolean publish(Snapshot s, int build) {
+        if (build != requested) {
+            // Superseded by a newer build or an invalidate
+            return false;
+        }
+        snapshot = s;
+        generation++;
+        return true;
+    }
+    
+    // ==================== Searching ====================
+    
+    /**
+     * Search the index. Every query term has to match the name or text of a result.
+     * 
+     * @param query  the raw search text
+     * @param accept filter on result kind and key, e.g. to hide unknown research
+     * @return matches, best first; empty until the first part of the index is ready
+     */
+    public List<Result> search(String query, BiPredicate<Kind, String> accept) {
+        Snapshot s = snapshot;
+        List<String> terms = tokenize(query, 1);
+        if (s == null || terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        Int2IntOpenHashMap total = null;
+        for (String term : terms) {
+            Int2IntOpenHashMap scores = new Int2IntOpenHashMap();
+            s.collect(term, scores);
+            if (total == null) {
+                total = scores;
+            } else {
+                Int2IntOpenHashMap both = new Int2IntOpenHashMap();
+                for (Int2IntMap.Entry e : total.int2IntEntrySet()) {
+                    int score = scores.get(e.getIntKey());
+                    if (score > 0) {
+                        both.put(e.getIntKey(), e.getIntValue() + score);
+                    }
+                }
+                total = both;
+            }
+            if (total.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        
+        List<Result> results = new ArrayList<>();
+        for (Int2IntMap.Entry e : total.int2IntEntrySet()) {
+            Doc doc = s.docs[e.getIntKey()];
+            if (accept.test(doc.kind, doc.key)) {
+                results.add(new Result(doc, e.getIntValue()));
+            }
+        }
+        results.sort(Comparator.comparingInt((Result r) -> -r.score).thenComparing(r -> r.display));
+        return results;
+    }
+    
+    // ==================== Text ====================
+    
+    /**
+     * Lower-case words of at least minLength letters or digits, with formatting codes removed.
+     */
+    static List<String> tokenize(String text, int minLength) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '§') {
+                // Skip the formatting code after the section sign
+                i++;
+                c = ' ';
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                if (word.length() >= minLength) {
+                    tokens.add(word.toString());
+                }
+                word.setLength(0);
+            }
+        }
+        if (word.length() >= minLength) {
+            tokens.add(word.toString());
+        }
+        return tokens;
+    }
+    
+    /**
+     * Levenshtein distance between a and b, or max + 1 once it is known to exceed max.
+     */
+    static int boundedDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = prev;
+            prev = cur;
+            cur = swap;
+        }
+        return prev[b.length()];
+    }
+    
+    // ==================== Events ====================
+    
+    @SubscribeEvent
+    public static void onRecipesUpdated(RecipesUpdatedEvent event) {
+        INSTANCE.invalidate();
+    }
+    
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        INSTANCE.invalidate();
+    }
+    
+    // ==================== Internals ====================
+    
+    /**
+     * Searchable input gathered on the main thread
+     */
+    private static final class Source {
+        final Kind kind;
+        final String key;
+        final ResourceLocation recipe;
+        final Component name;
+        final List<Component> text;
+        
+        Source(Kind kind, String key, ResourceLocation recipe, Component name, List<Component> text) {
+            this.kind = kind;
+            this.key = key;
+            this.recipe = recipe;
+            this.name = name;
+            this.text = text;
+        }
+    }
+    
+    /**
+     * An indexed document
+     */
+    private static final class Doc {
+        final Kind kind;
+        final String key;
+        final ResourceLocation recipe;
+        final String display;
+        
+        Doc(Kind kind, String key, ResourceLocation recipe, String display) {
+            this.kind = kind;
+            this.key = key;
+            this.recipe = recipe;
+            this.display = display;
+        }
+    }
+    
+    /**
+     * Collects postings for one snapshot. A posting is (doc << 1) | 1 for a name hit
+     * and doc << 1 for a text-only hit.
+     */
+    private static final class Builder {
+        final List<Doc> docs = new ArrayList<>();
+        final Map<String, IntArrayList> postings = new HashMap<>();
+        
+        void add(Source source, boolean withText) {
+            String display = source.name.getString();
+            int doc = docs.size();
+            docs.add(new Doc(source.kind, source.key, source.recipe, display));
+            
+            Set<String> nameTerms = new HashSet<>(tokenize(display, 2));
+            for (String term : nameTerms) {
+                postings.computeIfAbsent(term, k -> new IntArrayList()).add((doc << 1) | 1);
+            }
+            if (withText) {
+                Set<String> textTerms = new HashSet<>();
+                for (Component text : source.text) {
+                    textTerms.addAll(tokenize(text.getString(), 2));
+                }
+                textTerms.removeAll(nameTerms);
+                for (String term : textTerms) {
+                    postings.computeIfAbsent(term, k -> new IntArrayList()).add(doc << 1);
+                }
+            }
+        }
+        
+        Snapshot finish(boolean complete) {
+            String[] terms = postings.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            int[][] lists = new int[terms.length][];
+            for (int i = 0; i < terms.length; i++) {
+                lists[i] = postings.get(terms[i]).toIntArray();
+            }
+            return new Snapshot(docs.toArray(new Doc[0]), terms, lists, complete);
+        }
+    }
+    
+    /**
+     * Immutable published index
+     */
+    private static final class Snapshot {
+        final Doc[] docs;
+        final String[] terms;
+        final int[][] postings;
+        final boolean complete;
+        
+        Snapshot(Doc[] docs, String[] terms, int[][] postings, boolean complete) {
+            this.docs = docs;
+            this.terms = terms;
+            this.postings = postings;
+            this.complete = complete;
+        }
+        
+        /**
+         * Score every document containing the query term, by prefix or within a small edit distance.
+         */
+        void collect(String query, Int2IntOpenHashMap scores) {
+            for (int i = lowerBound(query); i < terms.length && terms[i].startsWith(query); i++) {
+                boolean exact = terms[i].length() == query.length();
+                score(scores, postings[i], exact ? EXACT_NAME : PREFIX_NAME, exact ? EXACT_TEXT : PREFIX_TEXT);
+            }
+            
+            int maxEdits = query.length() >= 7 ? 2 : (query.length() >= 4 ? 1 : 0);
+            if (maxEdits == 0) {
+                return;
+            }
+            // Typos in the first letter are rare; only look at terms sharing it
+            char first = query.charAt(0);
+            for (int i = lowerBound(String.valueOf(first)); i < terms.length && terms[i].charAt(0) == first; i++) {
+                String term = terms[i];
+                if (term.startsWith(query)) {
+                    continue;
+                }
+                // Compare whole words, and the query against the start of longer words
+                int d = boundedDistance(query, term, maxEdits);
+                if (d > maxEdits && term.length() > query.length()) {
+                    d = boundedDistance(query, term.substring(0, query.length()), maxEdits);
+                }
+                if (d <= maxEdits) {
+                    score(scores, postings[i], FUZZY_NAME, FUZZY_TEXT);
+                }
+            }
+        }
+        
+        private int lowerBound(String key) {
+            int i = Arrays.binarySearch(terms, key);
+            return i >= 0 ? i : -i - 1;
+        }
+        
+        private static void score(Int2IntOpenHashMap scores, int[] list, int nameScore, int textScore) {
+            for (int posting : list) {
+                int doc = posting >>> 1;
+                int score = (posting & 1) != 0 ? nameScore : textScore;
+                if (score > scores.get(doc)) {
+                    scores.put(doc, score);
+                }
+            }
+        }
+    }
+}
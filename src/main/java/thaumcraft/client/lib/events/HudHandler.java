@@ -1,31 +1,29 @@
 package thaumcraft.client.lib.events;
 
 import com.mojang.blaze3d.systems.RenderSystem;
-import com.mojang.blaze3d.vertex.*;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.client.gui.GuiGraphics;
-import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.CustomizeGuiOverlayEvent;
 import net.minecraftforge.client.event.RegisterGuiOverlaysEvent;
-import net.minecraftforge.client.gui.overlay.ForgeGui;
 import net.minecraftforge.client.gui.overlay.IGuiOverlay;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
-import org.joml.Matrix4f;
 import thaumcraft.Thaumcraft;
 import thaumcraft.api.aspects.Aspect;
 import thaumcraft.api.casters.ICaster;
+import thaumcraft.client.lib.RenderProfiler;
 import thaumcraft.common.items.casters.ItemFocus;
 import thaumcraft.common.items.tools.ItemThaumometer;
 import thaumcraft.common.world.aura.AuraChunk;
 
-import java.awt.Color;
 import java.text.DecimalFormat;
 
 /**
@@ -36,6 +34,16 @@ import java.text.DecimalFormat;
  * - Caster gauntlet vis gauge and focus info
  * - Sanity checker warp levels
  * 
+ * The overlay draws from cached models rather than reading item NBT each frame:
+ * - HandModel holds the focus stack and formatted vis cost of a held caster. It is
+ *   rebuilt when the held stack instance or its NBT hash changes (the hash is
+ *   checked once per client tick), and once a second for player-dependent discounts.
+ * - Aura values, gauge ratios and their text are computed in updateAura() when
+ *   PacketAuraToClient arrives, not when drawn.
+ * 
+ * The time spent drawing the overlay is sampled every frame and shown on the
+ * debug screen.
+ * 
  * Ported from 1.12.2 to use 1.20.1 GUI overlay system.
  */
 @OnlyIn(Dist.CLIENT)
@@ -47,12 +55,98 @@ public class HudHandler {
     
     private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#######.#");
     
-    // Current aura data (updated by packets from server)
-    public static AuraChunk currentAura = new AuraChunk(null, (short) 0, 0.0f, 0.0f);
-    
     // Max vis for gauge scaling
     private static final float MAX_VIS = 500.0f;
     
+    // Caster gauge fill colour
+    private static final int ENERGY_COLOR = (Aspect.ENERGY.getColor() & 0xFFFFFF) | 0xCC000000;
+    
+    // Ticks before a held model is rebuilt even if the stack has not changed
+    private static final int MODEL_REFRESH_TICKS = 20;
+    
+    // Overlay frame time samples, in nanoseconds
+    private static final int FRAME_SAMPLES = 120;
+    private static final long[] frameNanos = new long[FRAME_SAMPLES];
+    private static int frameIndex = 0;
+    private static int frameCount = 0;
+    
+    // Current aura data (updated by PacketAuraToClient)
+    private static float auraBase = 0.0f;
+    private static float auraVis = 0.0f;
+    private static float auraFlux = 0.0f;
+    private static float visNorm = 0.0f;
+    private static float fluxNorm = 0.0f;
+    private static float baseNorm = 0.0f;
+    private static float visRatio = 0.0f;
+    private static String visText = "0";
+    private static String fluxText = "0";
+    
+    // One cached model per hand
+    private static final HandModel[] hands = {new HandModel(), new HandModel()};
+    
+    /**
+     * HUD data derived from one held stack.
+     */
+    private static final class HandModel {
+        static final int NONE = 0;
+        static final int CASTER = 1;
+        static final int THAUMOMETER = 2;
+        
+        ItemStack stack = ItemStack.EMPTY;
+        int tagHash;
+        int checkedTick = Integer.MIN_VALUE;
+        int builtTick = Integer.MIN_VALUE;
+        
+        int kind = NONE;
+        ItemStack focus = ItemStack.EMPTY;
+        String costText;
+        
+        /**
+         * Rebuild if the held stack changed since the last frame.
+         */
+        void update(ItemStack held, Player player) {
+            int tick = player.tickCount;
+            if (held == stack && tick - builtTick < MODEL_REFRESH_TICKS) {
+                if (tick == checkedTick) return;
+                checkedTick = tick;
+                if (hashTag(held) == tagHash) return;
+            }
+            build(held, player);
+        }
+        
+        private void build(ItemStack held, Player player) {
+            stack = held;
+            tagHash = hashTag(held);
+            checkedTick = player.tickCount;
+            builtTick = player.tickCount;
+            focus = ItemStack.EMPTY;
+            costText = null;
+            
+            if (held.isEmpty()) {
+                kind = NONE;
+            } else if (held.getItem() instanceof ICaster caster) {
+                kind = CASTER;
+                ItemStack focusStack = caster.getFocusStack(held);
+                if (focusStack != null && !focusStack.isEmpty() && focusStack.getItem() instanceof ItemFocus itemFocus) {
+                    focus = focusStack;
+                    float visCost = itemFocus.getVisCost(focusStack);
+                    if (visCost > 0) {
+                        costText = DECIMAL_FORMAT.format(visCost * caster.getConsumptionModifier(held, player, false));
+                    }
+                }
+            } else if (held.getItem() instanceof ItemThaumometer) {
+                kind = THAUMOMETER;
+            } else {
+                kind = NONE;
+            }
+        }
+        
+        private static int hashTag(ItemStack stack) {
+            CompoundTag tag = stack.getTag();
+            return tag == null ? 0 : tag.hashCode();
+        }
+    }
+    
     @SubscribeEvent
     public static void registerOverlays(RegisterGuiOverlaysEvent event) {
         // Register the Thaumcraft HUD overlay
@@ -69,22 +163,27 @@ public class HudHandler {
         
         if (player == null || mc.options.hideGui) return;
         
+        long start = System.nanoTime();
         int yOffset = 0;
         
         // Check main hand and off hand for Thaumcraft items
         for (int hand = 0; hand < 2; hand++) {
-            ItemStack stack = hand == 0 ? player.getMainHandItem() : player.getOffhandItem();
+            HandModel model = hands[hand];
+            model.update(hand == 0 ? player.getMainHandItem() : player.getOffhandItem(), player);
             
-            if (stack.isEmpty()) continue;
-            
-            if (stack.getItem() instanceof ICaster) {
-                renderCasterHud(graphics, mc, player, stack, yOffset, partialTick);
+            if (model.kind == HandModel.CASTER) {
+                renderCasterHud(graphics, mc, player, model, yOffset);
                 yOffset += 36;
-            } else if (stack.getItem() instanceof ItemThaumometer) {
+            } else if (model.kind == HandModel.THAUMOMETER) {
                 renderThaumometerHud(graphics, mc, player, yOffset, partialTick);
                 yOffset += 80;
             }
         }
+        
+        if (yOffset > 0) {
+            recordFrame(System.nanoTime() - start);
+            RenderProfiler.end(RenderProfiler.Section.HUD, start);
+        }
     };
     
     /**
@@ -96,23 +195,6 @@ public class HudHandler {
         int x = 2;
         int y = yOffset + 2;
         
-        // Get aura values
-        float base = currentAura != null ? currentAura.getBase() : 100;
-        float vis = currentAura != null ? currentAura.getVis() : 50;
-        float flux = currentAura != null ? currentAura.getFlux() : 10;
-        
-        // Normalize to 0-1 range
-        float visNorm = Mth.clamp(vis / MAX_VIS, 0, 1);
-        float fluxNorm = Mth.clamp(flux / MAX_VIS, 0, 1);
-        float baseNorm = Mth.clamp(base / MAX_VIS, 0, 1);
-        
-        // Scale if total exceeds 1
-        if (visNorm + fluxNorm > 1) {
-            float scale = 1.0f / (visNorm + fluxNorm);
-            visNorm *= scale;
-            fluxNorm *= scale;
-        }
-        
         int gaugeHeight = 64;
         int gaugeWidth = 8;
         
@@ -157,8 +239,8 @@ public class HudHandler {
             int visTextY = (y + 20) * 2;
             int fluxTextY = (y + 40) * 2;
             
-            graphics.drawString(font, DECIMAL_FORMAT.format(vis), textX, visTextY, 0xEE99FF, false);
-            graphics.drawString(font, DECIMAL_FORMAT.format(flux), textX, fluxTextY, 0xAA33BB, false);
+            graphics.drawString(font, visText, textX, visTextY, 0xEE99FF, false);
+            graphics.drawString(font, fluxText, textX, fluxTextY, 0xAA33BB, false);
             
             graphics.pose().popPose();
         }
@@ -170,17 +252,11 @@ public class HudHandler {
      * Render the caster gauntlet HUD.
      */
     private static void renderCasterHud(GuiGraphics graphics, Minecraft mc, Player player,
-                                         ItemStack casterStack, int yOffset, float partialTicks) {
-        
-        ICaster caster = (ICaster) casterStack.getItem();
+                                         HandModel model, int yOffset) {
         
         int x = 2;
         int y = yOffset + 2;
         
-        // Get aura vis for the gauge
-        float maxVis = currentAura != null ? currentAura.getBase() : 100;
-        float currentVis = currentAura != null ? currentAura.getVis() : 50;
-        
         RenderSystem.setShaderTexture(0, HUD_TEXTURE);
         RenderSystem.enableBlend();
         RenderSystem.defaultBlendFunc();
@@ -191,11 +267,6 @@ public class HudHandler {
         graphics.blit(HUD_TEXTURE, x * 2, y * 2, 0, 0, 64, 64);
         graphics.pose().popPose();
         
-        // Draw vis gauge
-        int gaugeHeight = 30;
-        float visRatio = Mth.clamp(currentVis / Math.max(maxVis, 1), 0, 1);
-        int filledHeight = (int) (gaugeHeight * visRatio);
-        
         // Vis bar position (to the right of the dial)
         int barX = x + 34;
         int barY = y + 2;
@@ -207,31 +278,22 @@ public class HudHandler {
         graphics.pose().popPose();
         
         // Draw vis fill with aspect color
-        Color visColor = new Color(Aspect.ENERGY.getColor());
         int fillY = barY + 3 + (int)((1 - visRatio) * 15);
-        drawColoredRect(graphics, barX + 2, fillY, 4, (int)(15 * visRatio), 
-                (visColor.getRed() << 16) | (visColor.getGreen() << 8) | visColor.getBlue() | 0xCC000000);
+        drawColoredRect(graphics, barX + 2, fillY, 4, (int)(15 * visRatio), ENERGY_COLOR);
         
         // Draw focus if equipped
-        ItemStack focusStack = caster.getFocusStack(casterStack);
-        if (focusStack != null && !focusStack.isEmpty() && focusStack.getItem() instanceof ItemFocus focus) {
+        if (!model.focus.isEmpty()) {
             // Render focus item
-            graphics.renderItem(focusStack, x + 4, y + 4);
+            graphics.renderItem(model.focus, x + 4, y + 4);
             
             // Show vis cost if sneaking
-            if (player.isShiftKeyDown()) {
-                float visCost = focus.getVisCost(focusStack);
-                if (visCost > 0) {
-                    float mod = caster.getConsumptionModifier(casterStack, player, false);
-                    String costStr = DECIMAL_FORMAT.format(visCost * mod);
-                    
-                    graphics.pose().pushPose();
-                    graphics.pose().scale(0.5f, 0.5f, 1.0f);
-                    int textX = (x + 24) * 2;
-                    int textY = (y + 24) * 2;
-                    graphics.drawString(mc.font, costStr, textX, textY, 0xFFFFFF, false);
-                    graphics.pose().popPose();
-                }
+            if (player.isShiftKeyDown() && model.costText != null) {
+                graphics.pose().pushPose();
+                graphics.pose().scale(0.5f, 0.5f, 1.0f);
+                int textX = (x + 24) * 2;
+                int textY = (y + 24) * 2;
+                graphics.drawString(mc.font, model.costText, textX, textY, 0xFFFFFF, false);
+                graphics.pose().popPose();
             }
         }
         
@@ -239,8 +301,7 @@ public class HudHandler {
         if (player.isShiftKeyDown()) {
             graphics.pose().pushPose();
             graphics.pose().scale(0.5f, 0.5f, 1.0f);
-            String visStr = DECIMAL_FORMAT.format(currentVis);
-            graphics.drawString(mc.font, visStr, (barX - 8) * 2, (barY + 22) * 2, 0xFFFFFF, false);
+            graphics.drawString(mc.font, visText, (barX - 8) * 2, (barY + 22) * 2, 0xFFFFFF, false);
             graphics.pose().popPose();
         }
         
@@ -268,18 +329,81 @@ public class HudHandler {
      * Update the current aura data (called from packet handler).
      */
     public static void updateAura(AuraChunk aura) {
-        currentAura = aura;
+        if (aura != null) {
+            updateAura(aura.getBase(), aura.getVis(), aura.getFlux());
+        }
     }
     
     /**
-     * Update aura values directly.
+     * Update aura values directly. Gauge ratios and text are derived here so the
+     * overlay only has to draw them.
      */
     public static void updateAura(float base, float vis, float flux) {
-        if (currentAura == null) {
-            currentAura = new AuraChunk(null, (short) 0, vis, flux);
+        auraBase = base;
+        auraVis = vis;
+        auraFlux = flux;
+        
+        // Normalize to 0-1 range, scaling down if vis and flux together exceed 1
+        visNorm = Mth.clamp(vis / MAX_VIS, 0, 1);
+        fluxNorm = Mth.clamp(flux / MAX_VIS, 0, 1);
+        baseNorm = Mth.clamp(base / MAX_VIS, 0, 1);
+        if (visNorm + fluxNorm > 1) {
+            float scale = 1.0f / (visNorm + fluxNorm);
+            visNorm *= scale;
+            fluxNorm *= scale;
+        }
+        visRatio = Mth.clamp(vis / Math.max(base, 1), 0, 1);
+        
+        visText = DECIMAL_FORMAT.format(vis);
+        fluxText = DECIMAL_FORMAT.format(flux);
+    }
+    
+    // ==================== Frame Timing ====================
+    
+    private static void recordFrame(long nanos) {
+        frameNanos[frameIndex] = nanos;
+        frameIndex = (frameIndex + 1) % FRAME_SAMPLES;
+        if (frameCount < FRAME_SAMPLES) {
+            frameCount++;
+        }
+    }
+    
+    /**
+     * Average overlay draw time over the sampled frames, in milliseconds.
+     */
+    public static double getAverageFrameMs() {
+        if (frameCount == 0) return 0.0;
+        long total = 0;
+        for (int i = 0; i < frameCount; i++) {
+            total += frameNanos[i];
+        }
+        return total / (double) frameCount / 1_000_000.0;
+    }
+    
+    /**
+     * Slowest overlay draw time over the sampled frames, in milliseconds.
+     */
+    public static double getMaxFrameMs() {
+        long max = 0;
+        for (int i = 0; i < frameCount; i++) {
+            max = Math.max(max, frameNanos[i]);
+        }
+        return max / 1_000_000.0;
+    }
+    
+    /**
+     * Forge bus events for the HUD (the overlay itself is registered on the mod bus).
+     */
+    @Mod.EventBusSubscriber(modid = Thaumcraft.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE, value = Dist.CLIENT)
+    public static class ForgeEvents {
+        
+        @SubscribeEvent
+        public static void onDebugText(CustomizeGuiOverlayEvent.DebugText event) {
+            if (!Minecraft.getInstance().options.renderDebug || frameCount == 0) {
+                return;
+            }
+            event.getLeft().add(String.format("TC HUD: %.3f ms avg, %.3f ms max (%d frames), aura %.1f/%.1f/%.1f",
+                    getAverageFrameMs(), getMaxFrameMs(), frameCount, auraVis, auraFlux, auraBase));
         }
-        currentAura.setBase((short) base);
-        currentAura.setVis(vis);
-        currentAura.setFlux(flux);
     }
 }
@@ -0,0 +1,235 @@
+package thaumcraft.client.models.block;
+
+import com.mojang.math.Axis;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.block.BlockModelShaper;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.renderer.texture.MissingTextureAtlasSprite;
+import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.inventory.InventoryMenu;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.model.BakedModelWrapper;
+import net.minecraftforge.client.model.QuadTransformers;
+import net.minecraftforge.client.model.data.ModelData;
+import net.minecraftforge.client.model.pipeline.QuadBakingVertexConsumer;
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+import thaumcraft.Thaumcraft;
+import thaumcraft.api.aspects.Aspect;
+import thaumcraft.common.config.ModConfig;
+import thaumcraft.common.tiles.essentia.TileJar;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Baked model for warded jars.
+ * 
+ * Wraps the jar block model and adds the essentia liquid (quantized to
+ * TileJar.FILL_STEPS levels) and the aspect filter label from the jar's model data,
+ * so a jar becomes part of its chunk section instead of being drawn every frame by
+ * JarRenderer. The jar asks for a section rebuild only when its fill step, aspect,
+ * label or facing changes.
+ * 
+ * The extra quads are cached per TileJar.ModelState for the lifetime of the model.
+ */
+@OnlyIn(Dist.CLIENT)
+public class JarBakedModel extends BakedModelWrapper<BakedModel> {
+    
+    private static final ResourceLocation LIQUID_SPRITE = new ResourceLocation(Thaumcraft.MODID, "block/animatedglow");
+    private static final ResourceLocation LABEL_SPRITE = new ResourceLocation(Thaumcraft.MODID, "models/label");
+    
+    // Liquid bounds, matching what JarRenderer draws
+    private static final float LIQUID_MIN = 0.251f;
+    private static final float LIQUID_MAX = 0.749f;
+    private static final float LIQUID_BOTTOM = 0.0625f;
+    private static final float LIQUID_HEIGHT = 0.625f;
+    
+    // Quad corners as (right, up) signs, counter-clockwise seen from the front
+    private static final float[][] CORNERS = {{-1, -1}, {1, -1}, {1, 1}, {-1, 1}};
+    
+    private final Map<TileJar.ModelState, List<BakedQuad>> extraQuads = new ConcurrentHashMap<>();
+    
+    public JarBakedModel(BakedModel original) {
+        super(original);
+    }
+    
+    /**
+     * Wrap the models of every state of the given jar blocks. Called from ModelEvent.ModifyBakingResult.
+     */
+    public static void wrap(Map<ResourceLocation, BakedModel> models, Block... blocks) {
+        for (Block block : blocks) {
+            for (BlockState state : block.getStateDefinition().getPossibleStates()) {
+                ResourceLocation location = BlockModelShaper.stateToModelLocation(state);
+                BakedModel model = models.get(location);
+                if (model != null && !(model instanceof JarBakedModel)) {
+                    models.put(location, new JarBakedModel(model));
+                }
+            }
+        }
+    }
+    
+    @Override
+    public List<BakedQuad> getQuads(@Nullable BlockState state, @Nullable Direction side, RandomSource rand,
+                                    ModelData extraData, @Nullable RenderType renderType) {
+        List<BakedQuad> quads = super.getQuads(state, side, rand, extraData, renderType);
+        TileJar.ModelState jar = extraData.get(TileJar.MODEL_STATE);
+        if (side != null || jar == null || !ModConfig.bakedJarModels
+                || (renderType != null && renderType != RenderType.translucent())) {
+            return quads;
+        }
+        
+        List<BakedQuad> extra = extraQuads.computeIfAbsent(jar, JarBakedModel::bakeContents);
+        if (extra.isEmpty()) {
+            return quads;
+        }
+        List<BakedQuad> all = new ArrayList<>(quads.size() + extra.size());
+        all.addAll(quads);
+        all.addAll(extra);
+        return all;
+    }
+    
+    // ==================== Baking ====================
+    
+    private static List<BakedQuad> bakeContents(TileJar.ModelState jar) {
+        TextureAtlas atlas = Minecraft.getInstance().getModelManager().getAtlas(InventoryMenu.BLOCK_ATLAS);
+        List<BakedQuad> quads = new ArrayList<>();
+        
+        if (jar.aspect != null && jar.fill > 0) {
+            bakeLiquid(quads, atlas.getSprite(LIQUID_SPRITE), jar.aspect, jar.fill);
+        }
+        if (jar.filter != null) {
+            bakeLabel(quads, atlas, jar.filter, jar.facing);
+        }
+        return quads;
+    }
+    
+    /**
+     * The liquid cuboid: tinted by the aspect colour, slightly transparent and full bright.
+     */
+    private static void bakeLiquid(List<BakedQuad> quads, TextureAtlasSprite sprite, Aspect aspect, int fill) {
+        float top = LIQUID_BOTTOM + LIQUID_HEIGHT * fill / TileJar.FILL_STEPS;
+        float[] center = {0.5f, (LIQUID_BOTTOM + top) / 2.0f, 0.5f};
+        float[] half = {(LIQUID_MAX - LIQUID_MIN) / 2.0f, (top - LIQUID_BOTTOM) / 2.0f, (LIQUID_MAX - LIQUID_MIN) / 2.0f};
+        int color = aspect.getColor();
+        
+        for (Direction face : Direction.values()) {
+            Vector3f n = face.step();
+            Vector3f r = rightOf(face);
+            Vector3f u = n.cross(r, new Vector3f());
+            Vector3f[] corners = new Vector3f[4];
+            for (int i = 0; i < 4; i++) {
+                float s = CORNERS[i][0];
+                float t = CORNERS[i][1];
+                corners[i] = new Vector3f(
+                        center[0] + (n.x() + s * r.x() + t * u.x()) * half[0],
+                        center[1] + (n.y() + s * r.y() + t * u.y()) * half[1],
+                        center[2] + (n.z() + s * r.z() + t * u.z()) * half[2]);
+            }
+            quads.add(bakeQuad(sprite, corners, n, color, 0.8f, true));
+        }
+    }
+    
+    /**
+     * Right axis of a face as seen from outside the box; up is normal x right.
+     */
+    private static Vector3f rightOf(Direction face) {
+        return switch (face) {
+            case UP, DOWN, SOUTH -> new Vector3f(1, 0, 0);
+            case NORTH -> new Vector3f(-1, 0, 0);
+            case WEST -> new Vector3f(0, 0, 1);
+            case EAST -> new Vector3f(0, 0, -1);
+        };
+    }
+    
+    /**
+     * The label and aspect icon on the jar front, placed the same way JarRenderer does.
+     */
+    private static void bakeLabel(List<BakedQuad> quads, TextureAtlas atlas, Aspect filter, int facing) {
+        float rotation = switch (facing) {
+            case 3 -> 180.0f;
+            case 4 -> 90.0f;
+            case 5 -> 270.0f;
+            default -> 0.0f;
+        };
+        Matrix4f label = new Matrix4f()
+                .translate(0.5f, 0.5f, 0.5f)
+                .rotate(Axis.YP.rotationDegrees(rotation))
+                .translate(0.0f, -0.1f, 0.315f)
+                .scale(0.5f);
+        Vector3f normal = label.transformDirection(new Vector3f(0, 0, 1)).normalize();
+        
+        quads.add(bakeQuad(atlas.getSprite(LABEL_SPRITE), square(label, 0.5f), normal, 0xFFFFFF, 1.0f, false));
+        
+        TextureAtlasSprite icon = atlas.getSprite(toAtlasSprite(filter.getImage()));
+        if (icon.contents().name().equals(MissingTextureAtlasSprite.getLocation())) {
+            return;
+        }
+        Matrix4f iconMatrix = new Matrix4f(label).translate(0.0f, 0.0f, 0.01f).scale(0.03f);
+        quads.add(bakeQuad(icon, square(iconMatrix, 8.0f), normal, filter.getColor(), 1.0f, true));
+    }
+    
+    private static Vector3f[] square(Matrix4f matrix, float size) {
+        Vector3f[] corners = new Vector3f[4];
+        for (int i = 0; i < 4; i++) {
+            corners[i] = matrix.transformPosition(new Vector3f(CORNERS[i][0] * size, CORNERS[i][1] * size, 0.0f));
+        }
+        return corners;
+    }
+    
+    /**
+     * Aspect images are given as "textures/aspects/x.png"; the block atlas stitches them
+     * as "aspects/x" (see assets/minecraft/atlases/blocks.json).
+     */
+    private static ResourceLocation toAtlasSprite(ResourceLocation image) {
+        String path = image.getPath();
+        if (path.startsWith("textures/")) {
+            path = path.substring("textures/".length());
+        }
+        if (path.endsWith(".png")) {
+            path = path.substring(0, path.length() - 4);
+        }
+        return new ResourceLocation(image.getNamespace(), path);
+    }
+    
+    /**
+     * Bake one quad from corners given counter-clockwise from bottom left. Texture
+     * coordinates cover the whole sprite.
+     */
+    private static BakedQuad bakeQuad(TextureAtlasSprite sprite, Vector3f[] corners, Vector3f normal,
+                                      int rgb, float alpha, boolean fullBright) {
+        float r = ((rgb >> 16) & 0xFF) / 255.0f;
+        float g = ((rgb >> 8) & 0xFF) / 255.0f;
+        float b = (rgb & 0xFF) / 255.0f;
+        
+        QuadBakingVertexConsumer.Buffered baker = new QuadBakingVertexConsumer.Buffered();
+        baker.setSprite(sprite);
+        baker.setDirection(Direction.getNearest(normal.x(), normal.y(), normal.z()));
+        baker.setTintIndex(-1);
+        baker.setShade(!fullBright);
+        for (int i = 0; i < 4; i++) {
+            Vector3f c = corners[i];
+            float u = (CORNERS[i][0] + 1.0f) * 8.0f;
+            float v = (1.0f - CORNERS[i][1]) * 8.0f;
+            baker.vertex(c.x(), c.y(), c.z())
+                    .color(r, g, b, alpha)
+                    .uv(sprite.getU(u), sprite.getV(v))
+                    .normal(normal.x(), normal.y(), normal.z())
+                    .endVertex();
+        }
+        BakedQuad quad = baker.getQuad();
+        return fullBright ? QuadTransformers.settingMaxEmissivity().process(quad) : quad;
+    }
+}
@@ -6,25 +6,29 @@ import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.Tesselator;
 import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.math.Axis;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.GameRenderer;
-import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.culling.Frustum;
+import net.minecraft.client.renderer.texture.TextureAtlas;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
-import net.minecraft.resources.ResourceLocation;
+import net.minecraft.core.SectionPos;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.InventoryMenu;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import org.joml.Matrix4f;
-import thaumcraft.Thaumcraft;
-import thaumcraft.api.golems.seals.ISealEntity;
-import thaumcraft.api.golems.seals.SealPos;
-import thaumcraft.common.golems.seals.SealEntity;
-import thaumcraft.common.golems.seals.SealHandler;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import thaumcraft.client.lib.ClientSealCache;
+import thaumcraft.client.lib.RenderProfiler;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
 /**
  * SealRenderer - Renders seals in the world when player holds ISealDisplayer items.
@@ -34,40 +38,125 @@ import java.util.concurrent.ConcurrentHashMap;
  * - Seal working area (for seals with ISealConfigArea)
  * - Inactive state indicator (when stopped by redstone)
  * 
+ * Seals come from ClientSealCache, bucketed by chunk section. Only the sections
+ * within render distance of the camera are visited, each is frustum-culled as a
+ * whole, and every visible seal goes into a single buffer drawn against the
+ * block atlas (where the seal item textures are stitched).
+ * 
  * Ported from 1.12.2 to 1.20.1 modern rendering.
  * Uses PoseStack and modern vertex buffer API instead of GL11 immediate mode.
  */
 @OnlyIn(Dist.CLIENT)
 public class SealRenderer {
     
-    // Default seal texture for seals without custom icons
-    private static final ResourceLocation DEFAULT_SEAL_TEXTURE = 
-            new ResourceLocation(Thaumcraft.MODID, "textures/items/seals/seal_blank.png");
+    // Maximum render distance (16 blocks)
+    private static final double MAX_RENDER_DIST = 16.0;
+    private static final double MAX_RENDER_DIST_SQ = MAX_RENDER_DIST * MAX_RENDER_DIST;
+    
+    // Half the size of the seal icon quad, and its offset from the block centre
+    private static final float HALF_SIZE = 0.25f;
+    private static final float FACE_OFFSET = 0.51f;
     
-    // Maximum render distance squared (16 blocks)
-    private static final double MAX_RENDER_DIST_SQ = 256.0;
+    // Per face: quad right axis, up axis and normal (x, y, z each)
+    private static final float[][] FACE_AXES = new float[6][9];
+    static {
+        for (Direction face : Direction.values()) {
+            Quaternionf rotation = switch (face) {
+                case UP -> Axis.XP.rotationDegrees(-90);
+                case DOWN -> Axis.XP.rotationDegrees(90);
+                case NORTH -> Axis.YP.rotationDegrees(180);
+                case SOUTH -> new Quaternionf();
+                case WEST -> Axis.YP.rotationDegrees(-90);
+                case EAST -> Axis.YP.rotationDegrees(90);
+            };
+            Vector3f right = new Vector3f(1, 0, 0).rotate(rotation);
+            Vector3f up = new Vector3f(0, 1, 0).rotate(rotation);
+            Vector3f normal = new Vector3f(0, 0, 1).rotate(rotation);
+            FACE_AXES[face.ordinal()] = new float[] {
+                right.x(), right.y(), right.z(),
+                up.x(), up.y(), up.z(),
+                normal.x(), normal.y(), normal.z()
+            };
+        }
+    }
     
     /**
      * Render all seals visible to the player.
      * Called from RenderLevelStageEvent.
      * 
      * @param poseStack The pose stack for transformations
+     * @param frustum The camera frustum for section culling
      * @param partialTick Partial tick for smooth interpolation
      * @param player The local player
      */
-    public static void renderSeals(PoseStack poseStack, float partialTick, Player player) {
+    public static void renderSeals(PoseStack poseStack, Frustum frustum, float partialTick, Player player) {
         if (player == null || player.level() == null) return;
+        if (ClientSealCache.isEmpty()) return;
+        
+        long start = RenderProfiler.begin();
+        int drawn = 0;
+        Minecraft mc = Minecraft.getInstance();
+        Level level = player.level();
+        Vec3 cameraPos = mc.gameRenderer.getMainCamera().getPosition();
+        TextureAtlas atlas = mc.getModelManager().getAtlas(InventoryMenu.BLOCK_ATLAS);
+        Matrix4f matrix = poseStack.last().pose();
         
-        // Get seals in player's dimension
-        String dimKey = player.level().dimension().location().toString();
-        ConcurrentHashMap<SealPos, SealEntity> seals = SealHandler.sealEntities.get(dimKey);
-        
-        if (seals == null || seals.isEmpty()) return;
+        Tesselator tesselator = Tesselator.getInstance();
+        BufferBuilder buffer = tesselator.getBuilder();
+        boolean started = false;
+        
+        int minX = SectionPos.posToSectionCoord(cameraPos.x - MAX_RENDER_DIST);
+        int minY = SectionPos.posToSectionCoord(cameraPos.y - MAX_RENDER_DIST);
+        int minZ = SectionPos.posToSectionCoord(cameraPos.z - MAX_RENDER_DIST);
+        int maxX = SectionPos.posToSectionCoord(cameraPos.x + MAX_RENDER_DIST);
+        int maxY = SectionPos.posToSectionCoord(cameraPos.y + MAX_RENDER_DIST);
+        int maxZ = SectionPos.posToSectionCoord(cameraPos.z + MAX_RENDER_DIST);
+        
+        for (int sx = minX; sx <= maxX; sx++) {
+            for (int sy = minY; sy <= maxY; sy++) {
+                for (int sz = minZ; sz <= maxZ; sz++) {
+                    List<ClientSealCache.Entry> section = ClientSealCache.getSection(sx, sy, sz);
+                    if (section == null || section.isEmpty()) continue;
+                    
+                    // Seals sit just outside their block, so pad the section box by one
+                    double bx = SectionPos.sectionToBlockCoord(sx);
+                    double by = SectionPos.sectionToBlockCoord(sy);
+                    double bz = SectionPos.sectionToBlockCoord(sz);
+                    if (frustum != null && !frustum.isVisible(new AABB(bx - 1, by - 1, bz - 1, bx + 17, by + 17, bz + 17))) {
+                        continue;
+                    }
+                    
+                    for (ClientSealCache.Entry seal : section) {
+                        BlockPos pos = seal.sealPos.pos;
+                        double distSq = cameraPos.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
+                        if (distSq > MAX_RENDER_DIST_SQ) continue;
+                        
+                        if (!started) {
+                            buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR);
+                            started = true;
+                        }
+                        
+                        float alpha = 1.0f - (float)(distSq / MAX_RENDER_DIST_SQ);
+                        boolean inactive = seal.redstoneSensitive && (level.hasNeighborSignal(pos)
+                                || level.hasNeighborSignal(pos.relative(seal.sealPos.face)));
+                        float brightness = inactive ? 0.5f : 1.0f;
+                        
+                        writeSealQuad(buffer, matrix, seal, atlas.getSprite(seal.sprite), cameraPos,
+                                brightness, alpha);
+                        drawn++;
+                    }
+                }
+            }
+        }
         
-        // Get camera position for distance calculations
-        Vec3 cameraPos = Minecraft.getInstance().gameRenderer.getMainCamera().getPosition();
+        if (!started) {
+            RenderProfiler.end(RenderProfiler.Section.SEALS, start);
+            return;
+        }
         
         // Setup render state
+        RenderSystem.setShader(GameRenderer::getPositionTexColorShader);
+        RenderSystem.setShaderTexture(0, InventoryMenu.BLOCK_ATLAS);
         RenderSystem.enableBlend();
         RenderSystem.defaultBlendFunc();
         RenderSystem.disableCull();
@@ -78,24 +167,7 @@ public class SealRenderer {
             RenderSystem.disableDepthTest();
         }
         
-        poseStack.pushPose();
-        
-        // Render each seal
-        for (ISealEntity seal : seals.values()) {
-            if (seal.getSeal() == null || seal.getSealPos() == null) continue;
-            
-            BlockPos pos = seal.getSealPos().pos;
-            double distSq = cameraPos.distanceToSqr(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
-            
-            if (distSq <= MAX_RENDER_DIST_SQ) {
-                float alpha = 1.0f - (float)(distSq / MAX_RENDER_DIST_SQ);
-                boolean inactive = seal.isStoppedByRedstone(player.level());
-                
-                renderSeal(poseStack, seal, cameraPos, alpha, inactive);
-            }
-        }
-        
-        poseStack.popPose();
+        tesselator.end();
         
         // Restore render state
         if (sneaking) {
@@ -103,95 +175,36 @@ public class SealRenderer {
         }
         RenderSystem.enableCull();
         RenderSystem.disableBlend();
-    }
-    
-    /**
-     * Render a single seal.
-     */
-    private static void renderSeal(PoseStack poseStack, ISealEntity seal, Vec3 cameraPos, 
-                                   float alpha, boolean inactive) {
-        SealPos sealPos = seal.getSealPos();
-        BlockPos pos = sealPos.pos;
-        Direction face = sealPos.face;
-        
-        poseStack.pushPose();
-        
-        // Translate to seal position (relative to camera)
-        poseStack.translate(
-            pos.getX() + 0.5 - cameraPos.x,
-            pos.getY() + 0.5 - cameraPos.y,
-            pos.getZ() + 0.5 - cameraPos.z
-        );
-        
-        // Rotate based on face direction
-        applyFaceRotation(poseStack, face);
         
-        // Move slightly off the surface to prevent z-fighting
-        poseStack.translate(0, 0, 0.51);
-        
-        // Scale down
-        poseStack.scale(0.5f, 0.5f, 0.5f);
-        
-        // Render the seal quad
-        float brightness = inactive ? 0.5f : 1.0f;
-        renderSealQuad(poseStack, seal.getSeal().getSealIcon(), brightness, brightness, brightness, alpha);
-        
-        poseStack.popPose();
-    }
-    
-    /**
-     * Apply rotation to face the correct direction.
-     */
-    private static void applyFaceRotation(PoseStack poseStack, Direction face) {
-        switch (face) {
-            case UP -> poseStack.mulPose(com.mojang.math.Axis.XP.rotationDegrees(-90));
-            case DOWN -> poseStack.mulPose(com.mojang.math.Axis.XP.rotationDegrees(90));
-            case NORTH -> { } // Default facing
-            case SOUTH -> poseStack.mulPose(com.mojang.math.Axis.YP.rotationDegrees(180));
-            case WEST -> poseStack.mulPose(com.mojang.math.Axis.YP.rotationDegrees(-90));
-            case EAST -> poseStack.mulPose(com.mojang.math.Axis.YP.rotationDegrees(90));
-        }
+        RenderProfiler.addVertices(RenderProfiler.Section.SEALS, drawn * 4);
+        RenderProfiler.end(RenderProfiler.Section.SEALS, start);
     }
     
     /**
-     * Render a textured quad for the seal icon.
+     * Write the icon quad of a single seal into the shared buffer.
      */
-    private static void renderSealQuad(PoseStack poseStack, ResourceLocation texture, 
-                                       float r, float g, float b, float a) {
-        ResourceLocation actualTexture;
-        if (texture == null) {
-            actualTexture = DEFAULT_SEAL_TEXTURE;
-        } else {
-            // Convert from "items/seals/seal_xxx" format to full texture path
-            String path = texture.getPath();
-            if (!path.startsWith("textures/")) {
-                path = "textures/" + path;
-            }
-            if (!path.endsWith(".png")) {
-                path = path + ".png";
-            }
-            actualTexture = new ResourceLocation(texture.getNamespace(), path);
-        }
-        
-        RenderSystem.setShader(GameRenderer::getPositionTexColorShader);
-        RenderSystem.setShaderTexture(0, actualTexture);
-        
-        Matrix4f matrix = poseStack.last().pose();
-        
-        Tesselator tesselator = Tesselator.getInstance();
-        BufferBuilder buffer = tesselator.getBuilder();
-        
-        buffer.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR);
-        
-        // Render a centered quad
-        float size = 0.5f;
-        int color = ((int)(a * 255) << 24) | ((int)(r * 255) << 16) | ((int)(g * 255) << 8) | (int)(b * 255);
-        
-        buffer.vertex(matrix, -size, -size, 0).uv(0, 1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, size, -size, 0).uv(1, 1).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, size, size, 0).uv(1, 0).color(r, g, b, a).endVertex();
-        buffer.vertex(matrix, -size, size, 0).uv(0, 0).color(r, g, b, a).endVertex();
-        
-        tesselator.end();
+    private static void writeSealQuad(BufferBuilder buffer, Matrix4f matrix, ClientSealCache.Entry seal,
+                                      TextureAtlasSprite sprite, Vec3 cameraPos, float brightness, float a) {
+        BlockPos pos = seal.sealPos.pos;
+        float[] axes = FACE_AXES[seal.sealPos.face.ordinal()];
+        
+        // Centre of the icon, moved slightly off the surface to prevent z-fighting
+        float cx = (float)(pos.getX() + 0.5 - cameraPos.x) + axes[6] * FACE_OFFSET;
+        float cy = (float)(pos.getY() + 0.5 - cameraPos.y) + axes[7] * FACE_OFFSET;
+        float cz = (float)(pos.getZ() + 0.5 - cameraPos.z) + axes[8] * FACE_OFFSET;
+        
+        float rx = axes[0] * HALF_SIZE, ry = axes[1] * HALF_SIZE, rz = axes[2] * HALF_SIZE;
+        float ux = axes[3] * HALF_SIZE, uy = axes[4] * HALF_SIZE, uz = axes[5] * HALF_SIZE;
+        
+        float u0 = sprite.getU0();
+        float u1 = sprite.getU1();
+        float v0 = sprite.getV0();
+        float v1 = sprite.getV1();
+        float c = brightness;
+        
+        buffer.vertex(matrix, cx - rx - ux, cy - ry - uy, cz - rz - uz).uv(u0, v1).color(c, c, c, a).endVertex();
+        buffer.vertex(matrix, cx + rx - ux, cy + ry - uy, cz + rz - uz).uv(u1, v1).color(c, c, c, a).endVertex();
+        buffer.vertex(matrix, cx + rx + ux, cy + ry + uy, cz + rz + uz).uv(u1, v0).color(c, c, c, a).endVertex();
+        buffer.vertex(matrix, cx - rx + ux, cy - ry + uy, cz - rz + uz).uv(u0, v0).color(c, c, c, a).endVertex();
     }
 }
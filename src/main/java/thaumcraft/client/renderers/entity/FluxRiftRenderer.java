@@ -1,23 +1,31 @@
 package thaumcraft.client.renderers.entity;
 
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexBuffer;
 import com.mojang.blaze3d.vertex.VertexConsumer;
-import com.mojang.math.Axis;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.Util;
+import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.ShaderInstance;
+import net.minecraft.client.renderer.blockentity.TheEndPortalRenderer;
 import net.minecraft.client.renderer.entity.EntityRenderer;
 import net.minecraft.client.renderer.entity.EntityRendererProvider;
-import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
-import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
-import org.joml.Matrix3f;
 import org.joml.Matrix4f;
+import thaumcraft.client.lib.ModShaders;
+import thaumcraft.client.lib.RenderProfiler;
 import thaumcraft.common.entities.EntityFluxRift;
-
-import java.util.List;
+import thaumcraft.common.entities.FluxRiftShape;
 
 /**
  * Renderer for Flux Rifts - tears in the magical fabric of reality.
@@ -31,6 +39,14 @@ import java.util.List;
  * - Purple/void color scheme
  * - Stability-based wobble animation
  * - Emissive rendering for glow effect
+ * 
+ * The tube is tessellated once per rift shape (EntityFluxRift.getShapeRevision())
+ * into a RiftMesh and uploaded to a static VertexBuffer. Each vertex carries its
+ * unwobbled spine point, corner direction, base width and wobble phase, and the
+ * flux_rift core shader applies the wobble from the RiftTime and RiftWobble
+ * uniforms, so nothing is re-tessellated per frame. If the shader is unavailable
+ * the cached mesh is written into the vanilla end portal render type instead,
+ * without wobble.
  */
 @OnlyIn(Dist.CLIENT)
 public class FluxRiftRenderer extends EntityRenderer<EntityFluxRift> {
@@ -38,6 +54,41 @@ public class FluxRiftRenderer extends EntityRenderer<EntityFluxRift> {
     private static final ResourceLocation RIFT_TEXTURE = 
             new ResourceLocation("textures/entity/end_portal.png");
     
+    // Meshes not drawn for this long are freed
+    private static final long MESH_EXPIRY_MS = 5000L;
+    
+    // Floats per vertex in RiftMesh.vertices: spine x, y, z, corner dx, dy, dz, phase, width
+    private static final int STRIDE = 8;
+    
+    private final Int2ObjectMap<RiftMesh> meshes = new Int2ObjectOpenHashMap<>();
+    private final Matrix4f modelView = new Matrix4f();
+    private ClientLevel meshLevel;
+    private long lastSweep;
+    
+    /**
+     * Tube geometry for one rift shape.
+     */
+    private static final class RiftMesh {
+        final int revision;
+        final float[] vertices;
+        final int vertexCount;
+        VertexBuffer buffer;
+        long lastUsed;
+        
+        RiftMesh(int revision, float[] vertices, int vertexCount) {
+            this.revision = revision;
+            this.vertices = vertices;
+            this.vertexCount = vertexCount;
+        }
+        
+        void close() {
+            if (buffer != null) {
+                buffer.close();
+                buffer = null;
+            }
+        }
+    }
+    
     public FluxRiftRenderer(EntityRendererProvider.Context context) {
         super(context);
         this.shadowRadius = 0.0F;
@@ -52,131 +103,223 @@ public class FluxRiftRenderer extends EntityRenderer<EntityFluxRift> {
     @Override
     public void render(EntityFluxRift entity, float entityYaw, float partialTicks, 
                        PoseStack poseStack, MultiBufferSource buffer, int packedLight) {
-        List<Vec3> points = entity.getPoints();
-        List<Float> widths = entity.getPointWidths();
+        long start = RenderProfiler.begin();
+        RiftMesh mesh = getMesh(entity);
         
-        if (points == null || points.size() < 2 || widths == null || widths.size() < 2) {
-            return;
+        if (mesh != null && mesh.vertexCount > 0) {
+            RenderProfiler.addVertices(RenderProfiler.Section.RIFTS, mesh.vertexCount);
         }
         
-        poseStack.pushPose();
-        
-        // Calculate wobble based on stability
-        float stability = entity.getRiftStability();
-        float stab = Mth.clamp(1.0F - stability / 50.0F, 0.0F, 1.5F);
-        float time = entity.tickCount + partialTicks;
-        
-        // Get render type - use end portal effect
-        VertexConsumer vertexConsumer = buffer.getBuffer(RenderType.endPortal());
-        
-        // Render the rift as connected segments
-        for (int i = 0; i < points.size() - 1; i++) {
-            Vec3 start = points.get(i);
-            Vec3 end = points.get(i + 1);
-            
-            // Add wobble animation
-            float varStart = time + (i > points.size() / 2 ? -i * 10 : i * 10);
-            float varEnd = time + ((i + 1) > points.size() / 2 ? -(i + 1) * 10 : (i + 1) * 10);
-            
-            double wobbleX1 = Math.sin(varStart / 50.0) * 0.1 * stab;
-            double wobbleY1 = Math.sin(varStart / 60.0) * 0.1 * stab;
-            double wobbleZ1 = Math.sin(varStart / 70.0) * 0.1 * stab;
+        // A dry run only counts, and the shader path draws on its own
+        if (mesh != null && mesh.vertexCount > 0 && !RenderProfiler.isDryRun()) {
+            // Calculate wobble based on stability
+            float stability = entity.getRiftStability();
+            float stab = Mth.clamp(1.0F - stability / 50.0F, 0.0F, 1.5F);
+            float time = entity.tickCount + partialTicks;
             
-            double wobbleX2 = Math.sin(varEnd / 50.0) * 0.1 * stab;
-            double wobbleY2 = Math.sin(varEnd / 60.0) * 0.1 * stab;
-            double wobbleZ2 = Math.sin(varEnd / 70.0) * 0.1 * stab;
-            
-            float w1 = widths.get(i) * (float)(1.0 - Math.sin(varStart / 8.0) * 0.1 * stab);
-            float w2 = widths.get(i + 1) * (float)(1.0 - Math.sin(varEnd / 8.0) * 0.1 * stab);
-            
-            // Render segment
-            renderSegment(poseStack, vertexConsumer,
-                    (float)(start.x + wobbleX1), (float)(start.y + wobbleY1), (float)(start.z + wobbleZ1), w1,
-                    (float)(end.x + wobbleX2), (float)(end.y + wobbleY2), (float)(end.z + wobbleZ2), w2);
+            ShaderInstance shader = ModShaders.getFluxRift();
+            if (shader != null) {
+                drawWithShader(mesh, shader, poseStack, time, stab);
+            } else {
+                drawFallback(mesh, poseStack, buffer.getBuffer(RenderType.endPortal()));
+            }
         }
-        
-        poseStack.popPose();
+        RenderProfiler.end(RenderProfiler.Section.RIFTS, start);
         
         super.render(entity, entityYaw, partialTicks, poseStack, buffer, packedLight);
     }
     
+    // ==================== Mesh Cache ====================
+    
     /**
-     * Renders a single segment of the rift as a rectangular tube.
+     * The cached mesh for a rift, rebuilt if its shape changed.
      */
-    private void renderSegment(PoseStack poseStack, VertexConsumer vertexConsumer,
-                              float x1, float y1, float z1, float w1,
-                              float x2, float y2, float z2, float w2) {
-        PoseStack.Pose pose = poseStack.last();
-        Matrix4f matrix = pose.pose();
-        Matrix3f normal = pose.normal();
-        
-        // Calculate direction and perpendicular vectors
-        float dx = x2 - x1;
-        float dy = y2 - y1;
-        float dz = z2 - z1;
-        float length = Mth.sqrt(dx * dx + dy * dy + dz * dz);
-        
-        if (length < 0.001F) return;
-        
-        // Normalize direction
-        dx /= length;
-        dy /= length;
-        dz /= length;
+    private RiftMesh getMesh(EntityFluxRift entity) {
+        long now = Util.getMillis();
+        ClientLevel level = (ClientLevel) entity.level();
+        if (level != meshLevel || now - lastSweep > MESH_EXPIRY_MS) {
+            sweep(level != meshLevel, now);
+            meshLevel = level;
+            lastSweep = now;
+        }
         
-        // Get perpendicular vectors (cross with up, or fallback)
-        float px, py, pz;
-        if (Math.abs(dy) < 0.99F) {
-            px = -dz;
-            py = 0;
-            pz = dx;
-        } else {
-            px = 1;
-            py = 0;
-            pz = 0;
+        RiftMesh mesh = meshes.get(entity.getId());
+        if (mesh == null || mesh.revision != entity.getShapeRevision()) {
+            if (mesh != null) {
+                mesh.close();
+            }
+            mesh = buildMesh(entity);
+            meshes.put(entity.getId(), mesh);
         }
+        mesh.lastUsed = now;
+        return mesh;
+    }
+    
+    private void sweep(boolean all, long now) {
+        var it = meshes.values().iterator();
+        while (it.hasNext()) {
+            RiftMesh mesh = it.next();
+            if (all || now - mesh.lastUsed > MESH_EXPIRY_MS) {
+                mesh.close();
+                it.remove();
+            }
+        }
+    }
+    
+    /**
+     * Tessellate the rift as a rectangular tube, four faces per segment. The tube
+     * frame comes from the unwobbled segment direction; the shader moves the spine
+     * and scales the width.
+     */
+    private static RiftMesh buildMesh(EntityFluxRift entity) {
+        FluxRiftShape shape = entity.getShape();
+        int revision = entity.getShapeRevision();
         
-        float plen = Mth.sqrt(px * px + py * py + pz * pz);
-        px /= plen;
-        py /= plen;
-        pz /= plen;
+        if (shape.pointCount() < 2) {
+            return new RiftMesh(revision, new float[0], 0);
+        }
         
-        // Second perpendicular (cross product of direction and first perp)
-        float qx = dy * pz - dz * py;
-        float qy = dz * px - dx * pz;
-        float qz = dx * py - dy * px;
+        int n = shape.pointCount();
+        float[] vertices = new float[(n - 1) * 16 * STRIDE];
+        int count = 0;
         
-        // Render 4 faces of a rectangular tube
-        for (int face = 0; face < 4; face++) {
-            float angle1 = face * Mth.HALF_PI;
-            float angle2 = (face + 1) * Mth.HALF_PI;
+        for (int i = 0; i < n - 1; i++) {
+            float sx = (float) shape.x(i);
+            float sy = (float) shape.y(i);
+            float sz = (float) shape.z(i);
+            float ex = (float) shape.x(i + 1);
+            float ey = (float) shape.y(i + 1);
+            float ez = (float) shape.z(i + 1);
             
-            float cos1 = Mth.cos(angle1);
-            float sin1 = Mth.sin(angle1);
-            float cos2 = Mth.cos(angle2);
-            float sin2 = Mth.sin(angle2);
+            // Calculate direction and perpendicular vectors
+            float dx = ex - sx;
+            float dy = ey - sy;
+            float dz = ez - sz;
+            float length = Mth.sqrt(dx * dx + dy * dy + dz * dz);
             
-            // Calculate corner offsets
-            float ox1a = (px * cos1 + qx * sin1) * w1;
-            float oy1a = (py * cos1 + qy * sin1) * w1;
-            float oz1a = (pz * cos1 + qz * sin1) * w1;
+            if (length < 0.001F) continue;
             
-            float ox1b = (px * cos2 + qx * sin2) * w1;
-            float oy1b = (py * cos2 + qy * sin2) * w1;
-            float oz1b = (pz * cos2 + qz * sin2) * w1;
+            // Normalize direction
+            dx /= length;
+            dy /= length;
+            dz /= length;
             
-            float ox2a = (px * cos1 + qx * sin1) * w2;
-            float oy2a = (py * cos1 + qy * sin1) * w2;
-            float oz2a = (pz * cos1 + qz * sin1) * w2;
+            // Get perpendicular vectors (cross with up, or fallback)
+            float px, py, pz;
+            if (Math.abs(dy) < 0.99F) {
+                px = -dz;
+                py = 0;
+                pz = dx;
+            } else {
+                px = 1;
+                py = 0;
+                pz = 0;
+            }
             
-            float ox2b = (px * cos2 + qx * sin2) * w2;
-            float oy2b = (py * cos2 + qy * sin2) * w2;
-            float oz2b = (pz * cos2 + qz * sin2) * w2;
+            float plen = Mth.sqrt(px * px + py * py + pz * pz);
+            px /= plen;
+            py /= plen;
+            pz /= plen;
             
-            // Render quad (end portal doesn't use normal UV mapping)
-            vertexConsumer.vertex(matrix, x1 + ox1a, y1 + oy1a, z1 + oz1a).endVertex();
-            vertexConsumer.vertex(matrix, x1 + ox1b, y1 + oy1b, z1 + oz1b).endVertex();
-            vertexConsumer.vertex(matrix, x2 + ox2b, y2 + oy2b, z2 + oz2b).endVertex();
-            vertexConsumer.vertex(matrix, x2 + ox2a, y2 + oy2a, z2 + oz2a).endVertex();
+            // Second perpendicular (cross product of direction and first perp)
+            float qx = dy * pz - dz * py;
+            float qy = dz * px - dx * pz;
+            float qz = dx * py - dy * px;
+            
+            // Wobble phase of each point, as in the original per-frame animation
+            float phase1 = i > n / 2 ? -i * 10 : i * 10;
+            float phase2 = (i + 1) > n / 2 ? -(i + 1) * 10 : (i + 1) * 10;
+            float w1 = shape.width(i);
+            float w2 = shape.width(i + 1);
+            
+            // Render 4 faces of a rectangular tube
+            for (int face = 0; face < 4; face++) {
+                float angle1 = face * Mth.HALF_PI;
+                float angle2 = (face + 1) * Mth.HALF_PI;
+                
+                float ax = px * Mth.cos(angle1) + qx * Mth.sin(angle1);
+                float ay = py * Mth.cos(angle1) + qy * Mth.sin(angle1);
+                float az = pz * Mth.cos(angle1) + qz * Mth.sin(angle1);
+                
+                float bx = px * Mth.cos(angle2) + qx * Mth.sin(angle2);
+                float by = py * Mth.cos(angle2) + qy * Mth.sin(angle2);
+                float bz = pz * Mth.cos(angle2) + qz * Mth.sin(angle2);
+                
+                count = put(vertices, count, sx, sy, sz, ax, ay, az, phase1, w1);
+                count = put(vertices, count, sx, sy, sz, bx, by, bz, phase1, w1);
+                count = put(vertices, count, ex, ey, ez, bx, by, bz, phase2, w2);
+                count = put(vertices, count, ex, ey, ez, ax, ay, az, phase2, w2);
+            }
+        }
+        
+        return new RiftMesh(revision, vertices, count);
+    }
+    
+    private static int put(float[] vertices, int count, float x, float y, float z, float cx, float cy, float cz,
+                           float phase, float width) {
+        int o = count * STRIDE;
+        vertices[o] = x;
+        vertices[o + 1] = y;
+        vertices[o + 2] = z;
+        vertices[o + 3] = cx;
+        vertices[o + 4] = cy;
+        vertices[o + 5] = cz;
+        vertices[o + 6] = phase;
+        vertices[o + 7] = width;
+        return count + 1;
+    }
+    
+    // ==================== Drawing ====================
+    
+    /**
+     * Draw the mesh from its vertex buffer, uploading it on first use.
+     */
+    private void drawWithShader(RiftMesh mesh, ShaderInstance shader, PoseStack poseStack, float time, float stab) {
+        if (mesh.buffer == null) {
+            BufferBuilder builder = new BufferBuilder(mesh.vertexCount * DefaultVertexFormat.POSITION_TEX_COLOR_NORMAL.getVertexSize());
+            builder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX_COLOR_NORMAL);
+            float[] v = mesh.vertices;
+            for (int i = 0; i < mesh.vertexCount; i++) {
+                int o = i * STRIDE;
+                builder.vertex(v[o], v[o + 1], v[o + 2])
+                        .uv(v[o + 6], v[o + 7])
+                        .color(255, 255, 255, 255)
+                        .normal(v[o + 3], v[o + 4], v[o + 5])
+                        .endVertex();
+            }
+            mesh.buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+            mesh.buffer.bind();
+            mesh.buffer.upload(builder.end());
+            VertexBuffer.unbind();
+        }
+        
+        shader.safeGetUniform("RiftTime").set(time);
+        shader.safeGetUniform("RiftWobble").set(stab);
+        RenderSystem.setShaderTexture(0, TheEndPortalRenderer.END_SKY_LOCATION);
+        RenderSystem.setShaderTexture(1, TheEndPortalRenderer.END_PORTAL_LOCATION);
+        RenderSystem.enableDepthTest();
+        RenderSystem.disableCull();
+        
+        modelView.set(RenderSystem.getModelViewMatrix()).mul(poseStack.last().pose());
+        mesh.buffer.bind();
+        mesh.buffer.drawWithShader(modelView, RenderSystem.getProjectionMatrix(), shader);
+        VertexBuffer.unbind();
+        
+        RenderSystem.enableCull();
+    }
+    
+    /**
+     * Without the shader, write the cached (unwobbled) tube into the end portal
+     * render type. Still no per-frame tessellation, just a copy.
+     */
+    private static void drawFallback(RiftMesh mesh, PoseStack poseStack, VertexConsumer vertexConsumer) {
+        Matrix4f matrix = poseStack.last().pose();
+        float[] v = mesh.vertices;
+        for (int i = 0; i < mesh.vertexCount; i++) {
+            int o = i * STRIDE;
+            float w = v[o + 7];
+            vertexConsumer.vertex(matrix, v[o] + v[o + 3] * w, v[o + 1] + v[o + 4] * w, v[o + 2] + v[o + 5] * w)
+                    .endVertex();
         }
     }
 }
@@ -10,6 +10,7 @@ import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import thaumcraft.Thaumcraft;
 import thaumcraft.api.golems.parts.GolemMaterial;
+import thaumcraft.client.lib.RenderProfiler;
 import thaumcraft.client.models.entity.GolemModel;
 import thaumcraft.common.golems.EntityThaumcraftGolem;
 
@@ -63,12 +64,14 @@ public class GolemRenderer extends MobRenderer<EntityThaumcraftGolem, GolemModel
             // For now, use base scale
         }
         
+        long start = RenderProfiler.begin();
         poseStack.pushPose();
         poseStack.scale(scale, scale, scale);
         
         super.render(entity, entityYaw, partialTicks, poseStack, buffer, packedLight);
         
         poseStack.popPose();
+        RenderProfiler.end(RenderProfiler.Section.GOLEMS, start);
     }
     
     @Override
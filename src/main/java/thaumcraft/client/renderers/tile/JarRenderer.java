@@ -9,12 +9,14 @@ import net.minecraft.client.renderer.blockentity.BlockEntityRenderer;
 import net.minecraft.client.renderer.blockentity.BlockEntityRendererProvider;
 import net.minecraft.client.renderer.texture.OverlayTexture;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.phys.Vec3;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import org.joml.Matrix4f;
 import thaumcraft.Thaumcraft;
 import thaumcraft.api.aspects.Aspect;
 import thaumcraft.client.lib.AspectRenderer;
+import thaumcraft.common.config.ModConfig;
 import thaumcraft.common.tiles.essentia.TileJar;
 
 import java.awt.Color;
@@ -22,6 +24,10 @@ import java.awt.Color;
 /**
  * Block entity renderer for Warded Jars.
  * Renders the essentia liquid level and aspect filter label.
+ * 
+ * Only used when ModConfig.bakedJarModels is off; otherwise the same parts are
+ * baked into chunk geometry by JarBakedModel, and shouldRender turns the jar
+ * down before the dispatcher (or the profiler wrapping it) does any work.
  */
 @OnlyIn(Dist.CLIENT)
 public class JarRenderer implements BlockEntityRenderer<TileJar> {
@@ -34,6 +40,11 @@ public class JarRenderer implements BlockEntityRenderer<TileJar> {
     public JarRenderer(BlockEntityRendererProvider.Context context) {
     }
 
+    @Override
+    public boolean shouldRender(TileJar tile, Vec3 cameraPos) {
+        return !ModConfig.bakedJarModels && BlockEntityRenderer.super.shouldRender(tile, cameraPos);
+    }
+
     @Override
     public void render(TileJar tile, float partialTicks, PoseStack poseStack, 
                        MultiBufferSource buffer, int packedLight, int packedOverlay) {
@@ -98,7 +98,7 @@ public class BlockTaint extends Block implements ITaintBlock {
         switch (type) {
             case ROCK -> {
                 // Taint rock spreads fibres
-                TaintHelper.spreadFibres(level, pos);
+                TaintSpreadEngine.onRandomTick(level, pos, random);
             }
             case CRUST -> {
                 // Taint crust can fall
@@ -125,7 +125,7 @@ public class BlockTaintFeature extends DirectionalBlock implements ITaintBlock {
         }
 
         // Spread fibres
-        TaintHelper.spreadFibres(level, pos);
+        TaintSpreadEngine.onRandomTick(level, pos, random);
 
         // Chance to become a taint geyser if on top of vertical taint log
         if (random.nextInt(100) == 0) {
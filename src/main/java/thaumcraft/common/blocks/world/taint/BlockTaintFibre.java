@@ -193,14 +193,13 @@ public class BlockTaintFibre extends Block implements ITaintBlock {
             return;
         }
         
-        // TODO: Check if near taint seed when TaintHelper is implemented
-        // if (!TaintHelper.isNearTaintSeed(level, pos)) {
-        //     die(level, pos, state);
-        //     return;
-        // }
+        // Die if not near a taint seed
+        if (!TaintHelper.isNearTaintSeed(level, pos) && random.nextInt(10) == 0) {
+            die(level, pos, state);
+            return;
+        }
         
-        // TODO: Spread taint fibers when TaintHelper is implemented
-        // TaintHelper.spreadFibres(level, pos);
+        TaintSpreadEngine.onRandomTick(level, pos, random);
     }
     
     /**
@@ -70,7 +70,7 @@ public class BlockTaintLog extends RotatedPillarBlock implements ITaintBlock {
         if (!TaintHelper.isNearTaintSeed(level, pos)) {
             die(level, pos, state);
         } else {
-            TaintHelper.spreadFibres(level, pos);
+            TaintSpreadEngine.onRandomTick(level, pos, random);
         }
     }
 
@@ -3,6 +3,7 @@ package thaumcraft.common.blocks.world.taint;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
@@ -18,39 +19,35 @@ import thaumcraft.common.lib.utils.EntityUtils;
 import thaumcraft.common.world.aura.AuraHandler;
 import thaumcraft.init.ModBlocks;
 
-import java.util.ArrayList;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * TaintHelper - Manages taint spread and purification mechanics.
  * 
  * Taint spreads from taint seeds (EntityTaintSeed) and converts blocks
- * into tainted variants. Flux saturation increases spread rate.
+ * into tainted variants. Flux saturation increases spread rate. Once placed,
+ * taint keeps spreading from its frontier, see TaintSpreadEngine.
  */
 public class TaintHelper {
     
-    // Track taint seeds per dimension
-    private static final ConcurrentHashMap<ResourceKey<Level>, ArrayList<BlockPos>> taintSeeds = new ConcurrentHashMap<>();
+    // Taint seed influence per dimension
+    private static final ConcurrentHashMap<ResourceKey<Level>, TaintSeedGrid> taintSeeds = new ConcurrentHashMap<>();
     
     /**
-     * Register a taint seed location.
+     * Register a taint seed, or move it to a new block. Seeds are keyed by entity id.
      */
-    public static void addTaintSeed(Level level, BlockPos pos) {
-        ResourceKey<Level> dim = level.dimension();
-        ArrayList<BlockPos> locs = taintSeeds.computeIfAbsent(dim, k -> new ArrayList<>());
-        if (!locs.contains(pos)) {
-            locs.add(pos);
-        }
+    public static void addTaintSeed(Level level, int id, BlockPos pos) {
+        TaintSeedGrid grid = taintSeeds.computeIfAbsent(level.dimension(), k -> new TaintSeedGrid(ModConfig.taintSpreadArea));
+        grid.put(id, pos);
     }
     
     /**
-     * Remove a taint seed location.
+     * Remove a taint seed.
      */
-    public static void removeTaintSeed(Level level, BlockPos pos) {
-        ResourceKey<Level> dim = level.dimension();
-        ArrayList<BlockPos> locs = taintSeeds.get(dim);
-        if (locs != null && !locs.isEmpty()) {
-            locs.remove(pos);
+    public static void removeTaintSeed(Level level, int id) {
+        TaintSeedGrid grid = taintSeeds.get(level.dimension());
+        if (grid != null) {
+            grid.remove(id);
         }
     }
     
@@ -58,45 +55,30 @@ public class TaintHelper {
      * Check if a position is within range of a taint seed.
      */
     public static boolean isNearTaintSeed(Level level, BlockPos pos) {
-        double area = ModConfig.taintSpreadArea * ModConfig.taintSpreadArea;
-        ResourceKey<Level> dim = level.dimension();
-        ArrayList<BlockPos> locs = taintSeeds.get(dim);
-        
-        if (locs != null && !locs.isEmpty()) {
-            for (BlockPos p : new ArrayList<>(locs)) { // Copy to avoid CME
-                if (p.distSqr(pos) <= area) {
-                    // Verify the seed entity still exists
-                    // TODO: Check for EntityTaintSeed when ported
-                    // For now, just return true if within range
-                    return true;
-                }
-            }
-        }
-        return false;
+        TaintSeedGrid grid = getGrid(level);
+        return grid != null && grid.isNear(pos);
     }
     
     /**
      * Check if a position is at the edge of a taint seed's influence.
      */
     public static boolean isAtTaintSeedEdge(Level level, BlockPos pos) {
-        double area = ModConfig.taintSpreadArea * ModConfig.taintSpreadArea;
-        double fringe = ModConfig.taintSpreadArea * 0.8 * (ModConfig.taintSpreadArea * 0.8);
-        ResourceKey<Level> dim = level.dimension();
-        ArrayList<BlockPos> locs = taintSeeds.get(dim);
-        
-        if (locs != null && !locs.isEmpty()) {
-            for (BlockPos p : new ArrayList<>(locs)) {
-                double d = p.distSqr(pos);
-                if (d < area && d > fringe) {
-                    return true;
-                }
-            }
+        TaintSeedGrid grid = getGrid(level);
+        return grid != null && grid.isAtEdge(pos);
+    }
+    
+    private static TaintSeedGrid getGrid(Level level) {
+        TaintSeedGrid grid = taintSeeds.get(level.dimension());
+        if (grid == null || grid.isEmpty()) {
+            return null;
         }
-        return false;
+        grid.setRadius(ModConfig.taintSpreadArea);
+        return grid;
     }
     
     /**
-     * Spread taint fibres from a position.
+     * Spread taint fibres from a position, rolling the flux scaled spread rate.
+     * Taint blocks themselves spread through TaintSpreadEngine instead.
      */
     public static void spreadFibres(Level level, BlockPos pos) {
         spreadFibres(level, pos, false);
@@ -134,13 +116,29 @@ public class TaintHelper {
             return;
         }
         
+        if (spreadInto(level, target, level.random)) {
+            TaintSpreadEngine.track(level, target);
+        }
+        
+        // Spawn new taint seeds at the edge of influence when flux is high
+        // TODO: Implement when EntityTaintSeed is ported
+    }
+    
+    /**
+     * Try to taint the block at target: fibres into open space, features or fibres
+     * into leaves, and tainted variants of logs, plants, soil and stone that are
+     * hemmed in by taint.
+     * 
+     * @return true if the block was converted
+     */
+    public static boolean spreadInto(Level level, BlockPos target, RandomSource random) {
         BlockState bs = level.getBlockState(target);
         Block block = bs.getBlock();
         float hardness = bs.getDestroySpeed(level, target);
         
         // Don't convert unbreakable or very hard blocks
         if (hardness < 0.0f || hardness > 10.0f) {
-            return;
+            return false;
         }
         
         MapColor material = bs.getMapColor(level, target);
@@ -161,7 +159,7 @@ public class TaintHelper {
                 level.blockEvent(target, ModBlocks.TAINT_FIBRE.get(), 1, 0);
                 AuraHelper.drainFlux(level, target, 0.01f, false);
             }
-            return;
+            return true;
         }
         
         // Convert leaves - check if adjacent to taint log or fibre
@@ -170,7 +168,7 @@ public class TaintHelper {
             if (face == null && ModBlocks.TAINT_LOG != null) {
                 face = BlockUtils.getFaceBlockTouching(level, target, ModBlocks.TAINT_LOG.get());
             }
-            if (level.random.nextFloat() < 0.6 && face != null && ModBlocks.TAINT_FEATURE != null) {
+            if (random.nextFloat() < 0.6 && face != null && ModBlocks.TAINT_FEATURE != null) {
                 // Convert to taint feature with facing
                 level.setBlockAndUpdate(target, ModBlocks.TAINT_FEATURE.get().defaultBlockState()
                         .setValue(BlockTaintFeature.FACING, face));
@@ -180,7 +178,7 @@ public class TaintHelper {
                 level.blockEvent(target, ModBlocks.TAINT_FIBRE.get(), 1, 0);
                 AuraHelper.drainFlux(level, target, 0.01f, false);
             }
-            return;
+            return true;
         }
         
         // Convert blocks that are surrounded by taint
@@ -198,7 +196,7 @@ public class TaintHelper {
                     level.blockEvent(target, ModBlocks.TAINT_LOG.get(), 1, 0);
                     AuraHelper.drainFlux(level, target, 0.01f, false);
                 }
-                return;
+                return true;
             }
             
             // Convert mushroom blocks, gourds, cacti, coral, sponge, wood to taint crust
@@ -211,7 +209,7 @@ public class TaintHelper {
                     level.blockEvent(target, ModBlocks.TAINT_CRUST.get(), 1, 0);
                     AuraHelper.drainFlux(level, target, 0.01f, false);
                 }
-                return;
+                return true;
             }
             
             // Convert sand, dirt, grass, clay to taint soil
@@ -222,7 +220,7 @@ public class TaintHelper {
                     level.blockEvent(target, ModBlocks.TAINT_SOIL.get(), 1, 0);
                     AuraHelper.drainFlux(level, target, 0.01f, false);
                 }
-                return;
+                return true;
             }
             
             // Convert stone to taint rock
@@ -232,12 +230,11 @@ public class TaintHelper {
                     level.blockEvent(target, ModBlocks.TAINT_ROCK.get(), 1, 0);
                     AuraHelper.drainFlux(level, target, 0.01f, false);
                 }
-                return;
+                return true;
             }
         }
         
-        // Spawn new taint seeds at the edge of influence when flux is high
-        // TODO: Implement when EntityTaintSeed is ported
+        return false;
     }
     
     /**
@@ -0,0 +1,200 @@
+package thaumcraft.common.blocks.world.taint;
+
+import it.unimi.dsi.fastutil.ints.Int2LongMap;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+
+/**
+ * TaintSeedGrid - Taint seed influence for one dimension, indexed by chunk section.
+ * 
+ * Every section that a seed's influence sphere touches holds that seed's position.
+ * A proximity query is one hash lookup for the section of the queried block, then
+ * a distance check against the few seeds touching that section. Sections lying
+ * completely inside a sphere are counted as covered and answer isNear without any
+ * distance check.
+ * 
+ * Seeds are keyed by entity id and re-indexed only when their block changes.
+ * Only touched from the server thread of the level it belongs to.
+ */
+public class TaintSeedGrid {
+    
+    private final Int2LongOpenHashMap seeds = new Int2LongOpenHashMap();
+    private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+    private int radius;
+    
+    public TaintSeedGrid(int radius) {
+        this.radius = radius;
+    }
+    
+    /**
+     * Seeds whose influence reaches one section
+     */
+    private static final class Cell {
+        private long[] seeds = new long[2];
+        private int size = 0;
+        /** How many of the seeds cover the whole section */
+        private int covering = 0;
+        
+        void add(long pos, boolean covers) {
+            if (size == seeds.length) {
+                long[] grown = new long[size * 2];
+                System.arraycopy(seeds, 0, grown, 0, size);
+                seeds = grown;
+            }
+            seeds[size++] = pos;
+            if (covers) covering++;
+        }
+        
+        void remove(long pos, boolean covers) {
+            for (int i = 0; i < size; i++) {
+                if (seeds[i] == pos) {
+                    seeds[i] = seeds[--size];
+                    if (covers) covering--;
+                    return;
+                }
+            }
+        }
+    }
+    
+    // ==================== Seeds ====================
+    
+    /**
+     * Add a seed, or move it if it is already known.
+     */
+    public void put(int id, BlockPos pos) {
+        long packed = pos.asLong();
+        if (seeds.containsKey(id)) {
+            long old = seeds.get(id);
+            if (old == packed) return;
+            index(old, false);
+        }
+        seeds.put(id, packed);
+        index(packed, true);
+    }
+    
+    public void remove(int id) {
+        if (seeds.containsKey(id)) {
+            index(seeds.remove(id), false);
+        }
+    }
+    
+    public boolean isEmpty() {
+        return seeds.isEmpty();
+    }
+    
+    public int size() {
+        return seeds.size();
+    }
+    
+    /**
+     * Rebuild the index if the influence radius changed.
+     */
+    public void setRadius(int radius) {
+        if (radius == this.radius) return;
+        this.radius = radius;
+        cells.clear();
+        for (Int2LongMap.Entry entry : seeds.int2LongEntrySet()) {
+            index(entry.getLongValue(), true);
+        }
+    }
+    
+    // ==================== Queries ====================
+    
+    /**
+     * Whether pos is within the influence radius of any seed.
+     */
+    public boolean isNear(BlockPos pos) {
+        Cell cell = cells.get(SectionPos.asLong(pos));
+        if (cell == null) return false;
+        if (cell.covering > 0) return true;
+        
+        long area = (long) radius * radius;
+        for (int i = 0; i < cell.size; i++) {
+            if (distSqr(cell.seeds[i], pos) <= area) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Whether pos lies in the outer fifth of any seed's influence.
+     */
+    public boolean isAtEdge(BlockPos pos) {
+        Cell cell = cells.get(SectionPos.asLong(pos));
+        if (cell == null) return false;
+        
+        double area = (double) radius * radius;
+        double fringe = radius * 0.8 * (radius * 0.8);
+        for (int i = 0; i < cell.size; i++) {
+            long d = distSqr(cell.seeds[i], pos);
+            if (d < area && d > fringe) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // ==================== Index ====================
+    
+    /**
+     * Add the seed at packed to, or remove it from, every section its sphere touches.
+     */
+    private void index(long packed, boolean add) {
+        int x = BlockPos.getX(packed);
+        int y = BlockPos.getY(packed);
+        int z = BlockPos.getZ(packed);
+        long area = (long) radius * radius;
+        
+        for (int sx = SectionPos.blockToSectionCoord(x - radius); sx <= SectionPos.blockToSectionCoord(x + radius); sx++) {
+            for (int sy = SectionPos.blockToSectionCoord(y - radius); sy <= SectionPos.blockToSectionCoord(y + radius); sy++) {
+                for (int sz = SectionPos.blockToSectionCoord(z - radius); sz <= SectionPos.blockToSectionCoord(z + radius); sz++) {
+                    long near = sq(nearest(x, sx)) + sq(nearest(y, sy)) + sq(nearest(z, sz));
+                    if (near > area) continue;
+                    boolean covers = sq(farthest(x, sx)) + sq(farthest(y, sy)) + sq(farthest(z, sz)) <= area;
+                    
+                    long key = SectionPos.asLong(sx, sy, sz);
+                    if (add) {
+                        Cell cell = cells.get(key);
+                        if (cell == null) {
+                            cell = new Cell();
+                            cells.put(key, cell);
+                        }
+                        cell.add(packed, covers);
+                    } else {
+                        Cell cell = cells.get(key);
+                        if (cell != null) {
+                            cell.remove(packed, covers);
+                            if (cell.size == 0) cells.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /** Distance along one axis from c to the closest block of section s */
+    private static int nearest(int c, int s) {
+        int min = SectionPos.sectionToBlockCoord(s);
+        int max = min + 15;
+        return c < min ? min - c : (c > max ? c - max : 0);
+    }
+    
+    /** Distance along one axis from c to the farthest block of section s */
+    private static int farthest(int c, int s) {
+        int min = SectionPos.sectionToBlockCoord(s);
+        return Math.max(Math.abs(c - min), Math.abs(c - (min + 15)));
+    }
+    
+    private static long sq(int v) {
+        return (long) v * v;
+    }
+    
+    private static long distSqr(long packed, BlockPos pos) {
+        return sq(BlockPos.getX(packed) - pos.getX())
+                + sq(BlockPos.getY(packed) - pos.getY())
+                + sq(BlockPos.getZ(packed) - pos.getZ());
+    }
+}
@@ -0,0 +1,356 @@
+package thaumcraft.common.blocks.world.taint;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.MapColor;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.ChunkEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import thaumcraft.Thaumcraft;
+import thaumcraft.common.config.ModConfig;
+import thaumcraft.common.world.aura.AuraHandler;
+import thaumcraft.init.ModBlocks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TaintSpreadEngine - Spreads taint from its frontier on a per-tick budget.
+ * 
+ * Only taint blocks that can still spread (rock, fibres, logs and features) with
+ * at least one open neighbour are tracked, grouped by chunk. Interior blocks fully
+ * enclosed by taint or unconvertible blocks are dropped and cost nothing per tick.
+ * 
+ * Each tick every chunk with frontier blocks earns spread credit at the rate the
+ * random tick driven spread had: frontier blocks x random tick chance x spread
+ * rate x (0.001 + flux saturation x 2). Every whole point of credit is one spread
+ * attempt from a random frontier block of that chunk, up to
+ * ModConfig.taintSpreadBudget attempts per dimension per tick. Over budget,
+ * chunks are served round robin from where the last tick stopped, so no chunk
+ * starves. Cost follows how much taint can spread rather than how much taint
+ * exists.
+ * 
+ * Blocks join the frontier when taint converts them, and are rediscovered by
+ * random ticks after a chunk reload. Blocks outside any seed's influence leave
+ * it, as do enclosed ones. The frontier is not saved.
+ * Random choices use a per dimension source seeded from the world seed.
+ */
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID)
+public class TaintSpreadEngine {
+    
+    // Random tick blocks per section per tick = randomTickSpeed, out of 4096 blocks
+    private static final float RANDOM_TICK_CHANCE = 1.0f / 4096.0f;
+    
+    // Unspent credit is capped so a chunk can't bank a burst while over budget
+    private static final float MAX_CREDIT = 4.0f;
+    
+    // 1 in N random ticks of an untracked block check whether it belongs on the frontier:
+    // often in chunks without a frontier (just loaded), rarely where one is tracked
+    private static final int REDISCOVER_CHANCE = 4;
+    private static final int RECHECK_CHANCE = 64;
+    
+    private static final Map<ResourceKey<Level>, Frontier> frontiers = new ConcurrentHashMap<>();
+    
+    /**
+     * Frontier blocks of one chunk
+     */
+    private static final class ChunkFront {
+        private final LongArrayList blocks = new LongArrayList();
+        private final Long2IntOpenHashMap index = new Long2IntOpenHashMap();
+        private float credit = 0.0f;
+        
+        ChunkFront() {
+            index.defaultReturnValue(-1);
+        }
+        
+        boolean add(long pos) {
+            if (index.containsKey(pos)) return false;
+            index.put(pos, blocks.size());
+            blocks.add(pos);
+            return true;
+        }
+        
+        void remove(long pos) {
+            int i = index.remove(pos);
+            if (i < 0) return;
+            long last = blocks.removeLong(blocks.size() - 1);
+            if (i < blocks.size()) {
+                blocks.set(i, last);
+                index.put(last, i);
+            }
+        }
+        
+        long random(RandomSource random) {
+            return blocks.getLong(random.nextInt(blocks.size()));
+        }
+    }
+    
+    /**
+     * Frontier of one dimension
+     */
+    private static final class Frontier {
+        private final Long2ObjectOpenHashMap<ChunkFront> chunks = new Long2ObjectOpenHashMap<>();
+        /** Chunks with credit to spend this tick */
+        private final ObjectArrayList<ChunkFront> ready = new ObjectArrayList<>();
+        /** Where in ready the last tick stopped spending */
+        private int cursor = 0;
+        private RandomSource random;
+        
+        Frontier(long seed) {
+            this.random = RandomSource.create(seed);
+        }
+    }
+    
+    // ==================== Tracking ====================
+    
+    /**
+     * Add a taint block to the frontier if it can spread and has an open neighbour.
+     */
+    public static void track(Level level, BlockPos pos) {
+        if (!(level instanceof ServerLevel server) || !canSpread(level.getBlockState(pos))) return;
+        if (isExposed(level, pos)) {
+            add(getFrontier(server), pos.asLong());
+        }
+    }
+    
+    /**
+     * Random tick hook for spreading taint blocks. Replaces the old per random tick
+     * spread roll: it only makes sure an exposed block is on the frontier. Tracked
+     * blocks return after one hash lookup, and interior blocks only rarely look at
+     * their neighbours.
+     */
+    public static void onRandomTick(ServerLevel level, BlockPos pos, RandomSource random) {
+        Frontier frontier = getFrontier(level);
+        long packed = pos.asLong();
+        ChunkFront front = frontier.chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (front != null && front.index.containsKey(packed)) return;
+        int chance = front == null ? REDISCOVER_CHANCE : RECHECK_CHANCE;
+        if (random.nextInt(chance) == 0 && isExposed(level, pos)) {
+            add(frontier, packed);
+        }
+    }
+    
+    /**
+     * Number of frontier blocks in a dimension.
+     */
+    public static int getFrontierSize(Level level) {
+        Frontier frontier = frontiers.get(level.dimension());
+        if (frontier == null) return 0;
+        int size = 0;
+        for (ChunkFront front : frontier.chunks.values()) {
+            size += front.blocks.size();
+        }
+        return size;
+    }
+    
+    /**
+     * Whether pos is on the frontier.
+     */
+    static boolean isTracked(Level level, BlockPos pos) {
+        Frontier frontier = frontiers.get(level.dimension());
+        if (frontier == null) return false;
+        ChunkFront front = frontier.chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        return front != null && front.index.containsKey(pos.asLong());
+    }
+    
+    /**
+     * Restart the dimension's spread choices from a fixed seed, for tests.
+     */
+    static void reseed(ServerLevel level, long seed) {
+        getFrontier(level).random = RandomSource.create(seed);
+    }
+    
+    private static Frontier getFrontier(ServerLevel level) {
+        return frontiers.computeIfAbsent(level.dimension(),
+                dim -> new Frontier(level.getSeed() ^ dim.location().hashCode()));
+    }
+    
+    private static void add(Frontier frontier, long pos) {
+        long chunk = ChunkPos.asLong(BlockPos.getX(pos) >> 4, BlockPos.getZ(pos) >> 4);
+        ChunkFront front = frontier.chunks.get(chunk);
+        if (front == null) {
+            front = new ChunkFront();
+            frontier.chunks.put(chunk, front);
+        }
+        front.add(pos);
+    }
+    
+    /**
+     * Taint blocks that spread: rock, fibres, logs and features.
+     */
+    public static boolean canSpread(BlockState state) {
+        return state.is(ModBlocks.TAINT_FIBRE.get()) || state.is(ModBlocks.TAINT_LOG.get())
+                || state.is(ModBlocks.TAINT_FEATURE.get()) || state.is(ModBlocks.TAINT_ROCK.get());
+    }
+    
+    /**
+     * Whether any of the 26 blocks around pos could still be tainted: not taint
+     * already, not water, and soft enough for TaintHelper.spreadInto.
+     */
+    public static boolean isExposed(Level level, BlockPos pos) {
+        BlockPos.MutableBlockPos n = new BlockPos.MutableBlockPos();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    if (dx == 0 && dy == 0 && dz == 0) continue;
+                    n.setWithOffset(pos, dx, dy, dz);
+                    if (!level.isLoaded(n)) continue;
+                    BlockState state = level.getBlockState(n);
+                    if (state.getBlock() instanceof ITaintBlock) continue;
+                    float hardness = state.getDestroySpeed(level, n);
+                    if (hardness < 0.0f || hardness > 10.0f) continue;
+                    if (state.getMapColor(level, n) == MapColor.WATER) continue;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    // ==================== Spreading ====================
+    
+    /**
+     * Expected spread attempts per tick from frontier blocks in one chunk. This is
+     * the chance the random tick driven spread had per block and tick, summed over
+     * the frontier.
+     */
+    public static float spreadRate(int frontierBlocks, float fluxSaturation, int randomTickSpeed) {
+        float mod = 0.001f + fluxSaturation * 2.0f;
+        return frontierBlocks * randomTickSpeed * RANDOM_TICK_CHANCE * ModConfig.taintSpreadRate / 100.0f * mod;
+    }
+    
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.side.isClient() || event.phase == TickEvent.Phase.START) return;
+        if (!(event.level instanceof ServerLevel level) || ModConfig.wussMode) return;
+        
+        Frontier frontier = frontiers.get(level.dimension());
+        if (frontier == null || frontier.chunks.isEmpty()) return;
+        
+        tick(level, frontier);
+    }
+    
+    private static void tick(ServerLevel level, Frontier frontier) {
+        int tickSpeed = level.getGameRules().getInt(GameRules.RULE_RANDOMTICKING);
+        BlockPos.MutableBlockPos source = new BlockPos.MutableBlockPos();
+        
+        frontier.ready.clear();
+        ObjectIterator<Long2ObjectMap.Entry<ChunkFront>> it = frontier.chunks.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Long2ObjectMap.Entry<ChunkFront> entry = it.next();
+            ChunkFront front = entry.getValue();
+            if (front.blocks.isEmpty()) {
+                it.remove();
+                continue;
+            }
+            
+            long chunk = entry.getLongKey();
+            source.set(ChunkPos.getX(chunk) << 4, 0, ChunkPos.getZ(chunk) << 4);
+            float saturation = AuraHandler.getFluxSaturation(level, source);
+            front.credit = accrue(front.credit, front.blocks.size(), saturation, tickSpeed);
+            if (front.credit >= 1.0f) {
+                frontier.ready.add(front);
+            }
+        }
+        if (frontier.ready.isEmpty()) return;
+        
+        // One attempt per chunk per round, starting where the last tick ran out of budget
+        int size = frontier.ready.size();
+        int start = frontier.cursor % size;
+        int budget = ModConfig.taintSpreadBudget;
+        int i = 0;
+        int idle = 0;
+        while (budget > 0 && idle < size) {
+            ChunkFront front = frontier.ready.get((start + i++) % size);
+            if (front.credit < 1.0f || front.blocks.isEmpty()) {
+                idle++;
+                continue;
+            }
+            idle = 0;
+            front.credit -= 1.0f;
+            budget--;
+            spreadFrom(level, frontier, front, source.set(front.random(frontier.random)));
+        }
+        frontier.cursor = (start + i) % size;
+        frontier.ready.clear();
+    }
+    
+    /**
+     * A chunk's spread credit after one more tick, capped at MAX_CREDIT.
+     */
+    static float accrue(float credit, int frontierBlocks, float fluxSaturation, int randomTickSpeed) {
+        return Math.min(MAX_CREDIT, credit + spreadRate(frontierBlocks, fluxSaturation, randomTickSpeed));
+    }
+    
+    /**
+     * One spread attempt from pos, if it is on the frontier, without spending
+     * credit or budget.
+     */
+    static void spreadFrom(ServerLevel level, BlockPos pos) {
+        Frontier frontier = getFrontier(level);
+        ChunkFront front = frontier.chunks.get(ChunkPos.asLong(pos.getX() >> 4, pos.getZ() >> 4));
+        if (front != null && front.index.containsKey(pos.asLong())) {
+            spreadFrom(level, frontier, front, pos);
+        }
+    }
+    
+    /**
+     * One spread attempt from a frontier block towards a random neighbour, the same
+     * way TaintHelper.spreadFibres picks its target.
+     */
+    private static void spreadFrom(ServerLevel level, Frontier frontier, ChunkFront front, BlockPos pos) {
+        if (!canSpread(level.getBlockState(pos))) {
+            front.remove(pos.asLong());
+            return;
+        }
+        // Outside seed influence: drop it, it withers on its own random ticks
+        if (!TaintHelper.isNearTaintSeed(level, pos)) {
+            front.remove(pos.asLong());
+            return;
+        }
+        
+        RandomSource random = frontier.random;
+        BlockPos target = pos.offset(random.nextInt(3) - 1, random.nextInt(3) - 1, random.nextInt(3) - 1);
+        if (!target.equals(pos) && level.isLoaded(target) && TaintHelper.spreadInto(level, target, random)) {
+            if (canSpread(level.getBlockState(target)) && isExposed(level, target)) {
+                add(frontier, target.asLong());
+            }
+        } else if (!isExposed(level, pos)) {
+            // Enclosed: drop it until a random tick finds it exposed again
+            front.remove(pos.asLong());
+        }
+    }
+    
+    // ==================== Cleanup ====================
+    
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            Frontier frontier = frontiers.get(level.dimension());
+            if (frontier != null) {
+                frontier.chunks.remove(event.getChunk().getPos().toLong());
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            frontiers.remove(level.dimension());
+        }
+    }
+}
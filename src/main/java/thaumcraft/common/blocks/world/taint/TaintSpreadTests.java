@@ -0,0 +1,173 @@
+package thaumcraft.common.blocks.world.taint;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+import thaumcraft.Thaumcraft;
+import thaumcraft.init.ModBlocks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TaintSpreadTests - GameTests for the taint frontier and its spread rate.
+ * 
+ * Run with the gameTestServer run config. Spread choices are made from a fixed
+ * seed, so every run converts the same blocks.
+ */
+@GameTestHolder(Thaumcraft.MODID)
+@PrefixGameTestTemplate(false)
+public class TaintSpreadTests {
+    
+    private static final String TEMPLATE = "gametest/empty";
+    
+    private static final long SEED = 0x7A1A7L;
+    
+    /** Fake entity id for the test seed; real entities have positive ids */
+    private static final int SEED_ID = -0x7A1A7;
+    
+    // ==================== Rate ====================
+    
+    @GameTest(template = TEMPLATE)
+    public static void spreadRateFollowsFlux(GameTestHelper helper) {
+        float calm = TaintSpreadEngine.spreadRate(100, 0.0f, 3);
+        float stormy = TaintSpreadEngine.spreadRate(100, 0.5f, 3);
+        
+        // (0.001 + 0.5 x 2) / 0.001
+        assertClose(helper, stormy / calm, 1001.0f, "flux 0.5 against none");
+        assertClose(helper, TaintSpreadEngine.spreadRate(200, 0.5f, 3), stormy * 2.0f, "twice the frontier");
+        assertClose(helper, TaintSpreadEngine.spreadRate(100, 0.5f, 6), stormy * 2.0f, "twice the tick speed");
+        helper.succeed();
+    }
+    
+    @GameTest(template = TEMPLATE)
+    public static void creditAccruesAtSpreadRate(GameTestHelper helper) {
+        int blocks = 64;
+        float flux = 0.5f;
+        int ticks = 20000;
+        
+        float credit = 0.0f;
+        int attempts = 0;
+        for (int t = 0; t < ticks; t++) {
+            credit = TaintSpreadEngine.accrue(credit, blocks, flux, 3);
+            while (credit >= 1.0f) {
+                credit -= 1.0f;
+                attempts++;
+            }
+        }
+        float expected = TaintSpreadEngine.spreadRate(blocks, flux, 3) * ticks;
+        helper.assertTrue(Math.abs(attempts - expected) <= 1.0f,
+                "Expected about " + expected + " attempts at flux " + flux + ", got " + attempts);
+        
+        // A huge frontier can't bank more than a few attempts
+        credit = TaintSpreadEngine.accrue(0.0f, 1 << 24, 1.0f, 3);
+        helper.assertTrue(credit <= 4.0f, "Credit not capped: " + credit);
+        helper.succeed();
+    }
+    
+    // ==================== Frontier ====================
+    
+    @GameTest(template = TEMPLATE)
+    public static void exposedTaintJoinsFrontier(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        floor(helper, 2, 2);
+        helper.setBlock(new BlockPos(2, 2, 2), ModBlocks.TAINT_ROCK.get());
+        BlockPos open = helper.absolutePos(new BlockPos(2, 2, 2));
+        
+        // A taint rock buried in taint rock has nowhere to go
+        for (BlockPos pos : BlockPos.betweenClosed(5, 1, 5, 7, 3, 7)) {
+            helper.setBlock(pos, ModBlocks.TAINT_ROCK.get());
+        }
+        BlockPos buried = helper.absolutePos(new BlockPos(6, 2, 6));
+        
+        TaintSpreadEngine.track(level, open);
+        TaintSpreadEngine.track(level, buried);
+        helper.assertTrue(TaintSpreadEngine.isTracked(level, open), "Exposed taint not on the frontier");
+        helper.assertFalse(TaintSpreadEngine.isTracked(level, buried), "Enclosed taint on the frontier");
+        helper.succeed();
+    }
+    
+    @GameTest(template = TEMPLATE)
+    public static void unseededTaintLeavesFrontier(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        floor(helper, 2, 2);
+        helper.setBlock(new BlockPos(2, 2, 2), ModBlocks.TAINT_ROCK.get());
+        BlockPos pos = helper.absolutePos(new BlockPos(2, 2, 2));
+        if (TaintHelper.isNearTaintSeed(level, pos)) {
+            helper.fail("A taint seed is near the test area");
+        }
+        
+        TaintSpreadEngine.track(level, pos);
+        helper.assertTrue(TaintSpreadEngine.isTracked(level, pos), "Exposed taint not on the frontier");
+        TaintSpreadEngine.spreadFrom(level, pos);
+        helper.assertFalse(TaintSpreadEngine.isTracked(level, pos), "Taint outside seed influence kept on the frontier");
+        helper.succeed();
+    }
+    
+    // ==================== Spread ====================
+    
+    /**
+     * Two identical sites spread from the same seed convert the same neighbours.
+     * Runs alone, since the test seed's influence reaches neighbouring tests.
+     */
+    @GameTest(template = TEMPLATE, batch = "taint_seeded")
+    public static void seededSpreadIsDeterministic(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        TaintHelper.addTaintSeed(level, SEED_ID, helper.absolutePos(new BlockPos(5, 2, 5)));
+        try {
+            List<BlockPos> first = spreadSite(helper, 2, 2);
+            List<BlockPos> second = spreadSite(helper, 8, 8);
+            helper.assertFalse(first.isEmpty(), "Nothing spread");
+            helper.assertTrue(first.equals(second), "Same seed spread differently: " + first + " and " + second);
+        } finally {
+            TaintHelper.removeTaintSeed(level, SEED_ID);
+        }
+        helper.succeed();
+    }
+    
+    /**
+     * Place a taint rock on a stone floor at (x, 2, z), spread from it a fixed
+     * number of times from SEED, and list the neighbours turned to fibres.
+     */
+    private static List<BlockPos> spreadSite(GameTestHelper helper, int x, int z) {
+        ServerLevel level = helper.getLevel();
+        floor(helper, x, z);
+        BlockPos centre = new BlockPos(x, 2, z);
+        helper.setBlock(centre, ModBlocks.TAINT_ROCK.get());
+        BlockPos pos = helper.absolutePos(centre);
+        
+        TaintSpreadEngine.reseed(level, SEED);
+        TaintSpreadEngine.track(level, pos);
+        for (int i = 0; i < 12; i++) {
+            TaintSpreadEngine.spreadFrom(level, pos);
+        }
+        
+        List<BlockPos> spread = new ArrayList<>();
+        for (BlockPos offset : BlockPos.betweenClosed(-1, -1, -1, 1, 1, 1)) {
+            if (level.getBlockState(pos.offset(offset)).is(ModBlocks.TAINT_FIBRE.get())) {
+                spread.add(offset.immutable());
+            }
+        }
+        return spread;
+    }
+    
+    // ==================== Helpers ====================
+    
+    /**
+     * A 3x3 stone floor at y 1 around (x, z).
+     */
+    private static void floor(GameTestHelper helper, int x, int z) {
+        for (BlockPos pos : BlockPos.betweenClosed(x - 1, 1, z - 1, x + 1, 1, z + 1)) {
+            helper.setBlock(pos, Blocks.STONE);
+        }
+    }
+    
+    private static void assertClose(GameTestHelper helper, float actual, float expected, String what) {
+        helper.assertTrue(Math.abs(actual - expected) <= Math.abs(expected) * 1.0E-3f,
+                what + ": expected " + expected + ", got " + actual);
+    }
+}
@@ -32,6 +32,7 @@ import thaumcraft.common.entities.monster.*;
 import thaumcraft.common.entities.monster.boss.EntityThaumcraftBoss;
 import thaumcraft.common.entities.monster.cult.EntityCultist;
 import thaumcraft.common.entities.monster.tainted.*;
+import thaumcraft.common.lib.events.PlayerEvents;
 import thaumcraft.common.lib.research.ResearchManager;
 import thaumcraft.common.lib.research.ScanGeneric;
 import thaumcraft.common.lib.research.ScanSky;
@@ -319,7 +320,7 @@ public class ConfigResearch {
         // Nether discovery
         if (!knowledge.isResearchKnown("m_hellandback") && dimKey.getPath().contains("nether")) {
             knowledge.addResearch("m_hellandback");
-            knowledge.sync(serverPlayer);
+            PlayerEvents.markForSync(player);
             player.displayClientMessage(
                     net.minecraft.network.chat.Component.literal("\u00A75" + 
                             net.minecraft.network.chat.Component.translatable("got.hellandback").getString()), 
@@ -329,7 +330,7 @@ public class ConfigResearch {
         // End discovery
         if (!knowledge.isResearchKnown("m_endoftheworld") && dimKey.getPath().contains("end")) {
             knowledge.addResearch("m_endoftheworld");
-            knowledge.sync(serverPlayer);
+            PlayerEvents.markForSync(player);
             player.displayClientMessage(
                     net.minecraft.network.chat.Component.literal("\u00A75" + 
                             net.minecraft.network.chat.Component.translatable("got.endoftheworld").getString()), 
@@ -341,7 +342,7 @@ public class ConfigResearch {
             // Deep underground
             if (player.getY() < 10 && !knowledge.isResearchKnown("m_deepdown")) {
                 knowledge.addResearch("m_deepdown");
-                knowledge.sync(serverPlayer);
+                PlayerEvents.markForSync(player);
                 player.displayClientMessage(
                         net.minecraft.network.chat.Component.literal("\u00A75" + 
                                 net.minecraft.network.chat.Component.translatable("got.deepdown").getString()), 
@@ -352,7 +353,7 @@ public class ConfigResearch {
             int worldHeight = player.level().getMaxBuildHeight();
             if (player.getY() > worldHeight * 0.4 && !knowledge.isResearchKnown("m_uphigh")) {
                 knowledge.addResearch("m_uphigh");
-                knowledge.sync(serverPlayer);
+                PlayerEvents.markForSync(player);
                 player.displayClientMessage(
                         net.minecraft.network.chat.Component.literal("\u00A75" + 
                                 net.minecraft.network.chat.Component.translatable("got.uphigh").getString()), 
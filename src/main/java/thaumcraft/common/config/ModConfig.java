@@ -72,6 +72,35 @@ public class ModConfig {
     /** Maximum entities affected by area effects */
     public static int maxAreaEffectEntities = 32;
     
+    /** Maximum taint spread attempts per tick per dimension */
+    public static int taintSpreadBudget = 64;
+    
+    /** Maximum new turret line of sight raycasts per tick per dimension */
+    public static int turretRaycastBudget = 48;
+    
+    /** Thaumcraft monsters within this many blocks of a player run their AI at full rate */
+    public static float aiLodNearRadius = 32.0f;
+    
+    // ==================== Client FX ====================
+    
+    /** Maximum Thaumcraft particles alive at once (roughly; also counts spawns over the last second) */
+    public static int fxParticleBudget = 6000;
+    
+    /** Frame time in ms the FX budget aims for; the particle cap shrinks while frames are slower and Thaumcraft FX are a large part of them */
+    public static float fxTargetFrameTime = 1000.0f / 45.0f;
+    
+    /** Effects further than this from the camera are thinned out */
+    public static float fxLodNearRadius = 24.0f;
+    
+    /** Effects further than this from the camera are not spawned */
+    public static float fxLodFarRadius = 64.0f;
+    
+    /** Multiplier for the per-tick spawn quota of each FX category */
+    public static float fxQuotaMultiplier = 1.0f;
+    
+    /** Bake jar contents and labels into chunk geometry instead of drawing them every frame (applies after a chunk reload) */
+    public static boolean bakedJarModels = true;
+    
     // ==================== Dimension Settings ====================
     
     /** Dimensions where Thaumcraft features are disabled */
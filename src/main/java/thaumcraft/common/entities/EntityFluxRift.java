@@ -22,10 +22,8 @@ import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.BlockHitResult;
-import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
-import net.minecraft.world.level.ClipContext;
+import net.minecraft.world.phys.shapes.VoxelShape;
 import thaumcraft.api.ThaumcraftApi;
 import thaumcraft.api.aura.AuraHelper;
 import thaumcraft.api.capabilities.IPlayerWarp;
@@ -34,7 +32,6 @@ import thaumcraft.init.ModEntities;
 import thaumcraft.init.ModItems;
 import thaumcraft.init.ModSounds;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
@@ -54,25 +51,35 @@ public class EntityFluxRift extends Entity {
     private static final EntityDataAccessor<Boolean> DATA_COLLAPSE = 
             SynchedEntityData.defineId(EntityFluxRift.class, EntityDataSerializers.BOOLEAN);
     
+    /** How far from the spine entities are hurt */
+    private static final double DAMAGE_REACH = 0.5;
+    
     private int maxSize = 0;
     private int lastSize = -1;
+    private int shapeRevision = 0;
+    
+    /** Next segment the block sweep looks at */
+    private int sweepCursor = 0;
+    
+    /** A pinned rift keeps its size and stability and leaves the world alone */
+    private boolean pinned = false;
     
     // Rift shape points for rendering and collision
-    public ArrayList<Vec3> points = new ArrayList<>();
-    public ArrayList<Float> pointsWidth = new ArrayList<>();
+    private final FluxRiftShape shape = new FluxRiftShape();
     
     /**
-     * Get the list of points defining the rift shape.
+     * Get the points and widths defining the rift shape.
      */
-    public List<Vec3> getPoints() {
-        return points;
+    public FluxRiftShape getShape() {
+        return shape;
     }
     
     /**
-     * Get the list of widths at each point.
+     * Incremented every time the points are recalculated, so renderers can cache
+     * geometry built from them.
      */
-    public List<Float> getPointWidths() {
-        return pointsWidth;
+    public int getShapeRevision() {
+        return shapeRevision;
     }
     
     public EntityFluxRift(EntityType<?> type, Level level) {
@@ -119,6 +126,18 @@ public class EntityFluxRift extends Entity {
         this.entityData.set(DATA_STABILITY, Mth.clamp(stability, -100.0f, 100.0f));
     }
     
+    public boolean isPinned() {
+        return pinned;
+    }
+    
+    /**
+     * Freeze the rift as it is, for benchmark scenes: it still renders, but no
+     * longer decays, grows, collapses, breaks blocks or hurts entities.
+     */
+    public void setPinned(boolean pinned) {
+        this.pinned = pinned;
+    }
+    
     public boolean isCollapsing() {
         return this.entityData.get(DATA_COLLAPSE);
     }
@@ -145,86 +164,21 @@ public class EntityFluxRift extends Entity {
     // ==================== Shape Calculation ====================
     
     private void recalculateShape() {
-        calcSteps(points, pointsWidth, new Random(getRiftSeed()));
+        shape.build(new Random(getRiftSeed()), getRiftSize());
         lastSize = getRiftSize();
+        shapeRevision++;
         
         // Calculate bounding box from points
-        if (points.isEmpty()) {
-            setBoundingBox(new AABB(getX() - 1, getY() - 1, getZ() - 1, 
-                    getX() + 1, getY() + 1, getZ() + 1));
-            return;
-        }
-        
-        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, minZ = Double.MAX_VALUE;
-        double maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE, maxZ = -Double.MAX_VALUE;
-        
-        for (Vec3 v : points) {
-            minX = Math.min(minX, v.x);
-            maxX = Math.max(maxX, v.x);
-            minY = Math.min(minY, v.y);
-            maxY = Math.max(maxY, v.y);
-            minZ = Math.min(minZ, v.z);
-            maxZ = Math.max(maxZ, v.z);
-        }
-        
-        setBoundingBox(new AABB(
-                getX() + minX, getY() + minY, getZ() + minZ,
-                getX() + maxX, getY() + maxY, getZ() + maxZ));
+        setBoundingBox(shape.getBounds(getX(), getY(), getZ()));
     }
     
-    private void calcSteps(ArrayList<Vec3> pp, ArrayList<Float> ww, Random rr) {
-        pp.clear();
-        ww.clear();
-        
-        Vec3 right = new Vec3(rr.nextGaussian(), rr.nextGaussian(), rr.nextGaussian()).normalize();
-        Vec3 left = right.scale(-1.0);
-        Vec3 lr = Vec3.ZERO;
-        Vec3 ll = Vec3.ZERO;
-        
-        int steps = Mth.ceil(getRiftSize() / 3.0f);
-        float girth = getRiftSize() / 300.0f;
-        double angle = 0.33;
-        float dec = girth / steps;
-        
-        for (int a = 0; a < steps; ++a) {
-            girth -= dec;
-            
-            // Rotate right branch
-            right = rotateVec(right, (float)(rr.nextGaussian() * angle), (float)(rr.nextGaussian() * angle));
-            lr = lr.add(right.scale(0.2));
-            pp.add(new Vec3(lr.x, lr.y, lr.z));
-            ww.add(girth);
-            
-            // Rotate left branch
-            left = rotateVec(left, (float)(rr.nextGaussian() * angle), (float)(rr.nextGaussian() * angle));
-            ll = ll.add(left.scale(0.2));
-            pp.add(0, new Vec3(ll.x, ll.y, ll.z));
-            ww.add(0, girth);
+    @Override
+    public void onSyncedDataUpdated(EntityDataAccessor<?> key) {
+        super.onSyncedDataUpdated(key);
+        // The shape is derived from the seed, which reaches the client after the first tick
+        if (DATA_SEED.equals(key) && level().isClientSide) {
+            recalculateShape();
         }
-        
-        // Add endpoints
-        lr = lr.add(right.scale(0.1));
-        pp.add(new Vec3(lr.x, lr.y, lr.z));
-        ww.add(0.0f);
-        
-        ll = ll.add(left.scale(0.1));
-        pp.add(0, new Vec3(ll.x, ll.y, ll.z));
-        ww.add(0, 0.0f);
-    }
-    
-    private Vec3 rotateVec(Vec3 vec, float pitch, float yaw) {
-        // Simple rotation approximation
-        double cosPitch = Math.cos(pitch);
-        double sinPitch = Math.sin(pitch);
-        double cosYaw = Math.cos(yaw);
-        double sinYaw = Math.sin(yaw);
-        
-        double x = vec.x * cosYaw - vec.z * sinYaw;
-        double z = vec.x * sinYaw + vec.z * cosYaw;
-        double y = vec.y * cosPitch - z * sinPitch;
-        z = vec.y * sinPitch + z * cosPitch;
-        
-        return new Vec3(x, y, z);
     }
     
     // ==================== Update Logic ====================
@@ -249,43 +203,17 @@ public class EntityFluxRift extends Entity {
         if (getRiftSeed() == 0) {
             setRiftSeed(random.nextInt());
         }
+        if (pinned) return;
         
         // Damage blocks and entities along rift lines
-        if (!points.isEmpty() && points.size() > 1) {
-            int pi = random.nextInt(points.size() - 1);
-            Vec3 v1 = points.get(pi).add(getX(), getY(), getZ());
-            Vec3 v2 = points.get(pi + 1).add(getX(), getY(), getZ());
-            
-            // Destroy blocks
-            BlockHitResult hit = level().clip(new ClipContext(v1, v2, 
-                    ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE, this));
-            if (hit.getType() == HitResult.Type.BLOCK) {
-                BlockPos pos = hit.getBlockPos();
-                BlockState state = level().getBlockState(pos);
-                if (!state.isAir() && state.getDestroySpeed(level(), pos) >= 0.0f) {
-                    level().destroyBlock(pos, false);
-                }
-            }
-            
-            // Damage nearby entities
-            List<Entity> entities = level().getEntities(this, 
-                    new AABB(v1.x - 0.5, v1.y - 0.5, v1.z - 0.5, 
-                            v1.x + 0.5, v1.y + 0.5, v1.z + 0.5));
-            for (Entity e : entities) {
-                if (e.isAlive()) {
-                    if (e instanceof Player player && player.isCreative()) {
-                        continue;
-                    }
-                    e.hurt(damageSources().fellOutOfWorld(), 2.0f);
-                    if (e instanceof ItemEntity) {
-                        e.discard();
-                    }
-                }
-            }
+        int segments = shape.segmentCount();
+        if (segments > 0) {
+            sweepBlocks(segments);
+            damageEntities(segments);
         }
         
         // Force collapse if too small
-        if (points.size() < 3 && !isCollapsing()) {
+        if (shape.pointCount() < 3 && !isCollapsing()) {
             setCollapsing(true);
         }
         
@@ -342,21 +270,104 @@ public class EntityFluxRift extends Entity {
         }
     }
     
+    /**
+     * Destroy the first solid block on the segment under the sweep cursor, then
+     * move the cursor on. The cursor visits every segment in turn, where the old
+     * sweep clipped a random one each tick. Segments are a fifth of a block long,
+     * so testing the blocks at both ends covers what a clip along one would hit.
+     */
+    private void sweepBlocks(int segments) {
+        if (sweepCursor >= segments) {
+            sweepCursor = 0;
+        }
+        int i = sweepCursor++;
+        BlockPos start = blockAt(i);
+        if (!sweepPoint(i, start)) {
+            BlockPos end = blockAt(i + 1);
+            if (!end.equals(start)) {
+                sweepPoint(i + 1, end);
+            }
+        }
+    }
+    
+    private BlockPos blockAt(int point) {
+        return BlockPos.containing(getX() + shape.x(point), getY() + shape.y(point), getZ() + shape.z(point));
+    }
+    
+    /**
+     * Test the block around one point of the spine, destroying it if it can be.
+     * 
+     * @return whether the point lies in a block's collision shape, which stops the sweep
+     */
+    private boolean sweepPoint(int point, BlockPos pos) {
+        if (!level().isLoaded(pos)) return false;
+        
+        BlockState state = level().getBlockState(pos);
+        if (state.isAir()) return false;
+        
+        // Like the old collider clip, partial blocks are only hit inside their shape
+        VoxelShape collision = state.getCollisionShape(level(), pos);
+        if (collision.isEmpty()) return false;
+        if (!state.isCollisionShapeFullBlock(level(), pos)) {
+            double lx = getX() + shape.x(point) - pos.getX();
+            double ly = getY() + shape.y(point) - pos.getY();
+            double lz = getZ() + shape.z(point) - pos.getZ();
+            boolean inside = false;
+            for (AABB box : collision.toAabbs()) {
+                if (box.contains(lx, ly, lz)) {
+                    inside = true;
+                    break;
+                }
+            }
+            if (!inside) return false;
+        }
+        
+        if (state.getDestroySpeed(level(), pos) >= 0.0f) {
+            level().destroyBlock(pos, false);
+        }
+        return true;
+    }
+    
+    /**
+     * Hurt entities touching the rift, with one entity query over its bounds.
+     * The old sweep hurt what was within half a block of one random segment a
+     * tick, so an entity is hurt with the share of segments it touches, which the
+     * segment tree counts.
+     */
+    private void damageEntities(int segments) {
+        AABB area = shape.getBounds(getX(), getY(), getZ()).inflate(DAMAGE_REACH);
+        List<Entity> entities = level().getEntities(this, area);
+        for (Entity e : entities) {
+            if (!e.isAlive()) continue;
+            if (e instanceof Player player && player.isCreative()) {
+                continue;
+            }
+            int touching = shape.countSegmentsNear(e.getBoundingBox(), getX(), getY(), getZ(), DAMAGE_REACH);
+            if (touching > 0 && random.nextInt(segments) < touching) {
+                e.hurt(damageSources().fellOutOfWorld(), 2.0f);
+                if (e instanceof ItemEntity) {
+                    e.discard();
+                }
+            }
+        }
+    }
+    
     private void clientTick() {
         // Spawn particles when unstable
-        if (!points.isEmpty() && points.size() > 2) {
+        if (shape.pointCount() > 2) {
             if (!isCollapsing() && getRiftStability() < 0.0f && random.nextInt(150) < Math.abs(getRiftStability())) {
-                int pi = 1 + random.nextInt(points.size() - 2);
-                Vec3 v = points.get(pi).add(getX(), getY(), getZ());
-                level().addParticle(ParticleTypes.PORTAL, v.x, v.y, v.z, 
+                int pi = 1 + random.nextInt(shape.pointCount() - 2);
+                level().addParticle(ParticleTypes.PORTAL,
+                        getX() + shape.x(pi), getY() + shape.y(pi), getZ() + shape.z(pi),
                         random.nextGaussian() * 0.1, random.nextGaussian() * 0.1, random.nextGaussian() * 0.1);
             }
             
             // More particles when collapsing
             if (isCollapsing()) {
-                int pi = 1 + random.nextInt(points.size() - 2);
-                Vec3 v = points.get(pi).add(getX(), getY(), getZ());
-                level().addParticle(ParticleTypes.SMOKE, v.x, v.y, v.z, 
+                int pi = 1 + random.nextInt(shape.pointCount() - 2);
+                level().addParticle(ParticleTypes.SMOKE,
+                        getX() + shape.x(pi), getY() + shape.y(pi), getZ() + shape.z(pi),
+
                         random.nextGaussian() * 0.1, random.nextGaussian() * 0.1, random.nextGaussian() * 0.1);
             }
         }
@@ -530,6 +541,7 @@ public class EntityFluxRift extends Entity {
         setRiftSeed(tag.getInt("RiftSeed"));
         setRiftStability(tag.getFloat("Stability"));
         setCollapsing(tag.getBoolean("Collapse"));
+        pinned = tag.getBoolean("Pinned");
     }
     
     @Override
@@ -539,6 +551,9 @@ public class EntityFluxRift extends Entity {
         tag.putInt("RiftSeed", getRiftSeed());
         tag.putFloat("Stability", getRiftStability());
         tag.putBoolean("Collapse", isCollapsing());
+        if (pinned) {
+            tag.putBoolean("Pinned", true);
+        }
     }
     
     // ==================== Enums ====================
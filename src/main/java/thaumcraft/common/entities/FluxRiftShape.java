@@ -0,0 +1,246 @@
+package thaumcraft.common.entities;
+
+import net.minecraft.util.Mth;
+import net.minecraft.world.phys.AABB;
+
+import java.util.Random;
+
+/**
+ * FluxRiftShape - The spine of a flux rift, in primitive arrays.
+ * 
+ * Points are relative to the rift's position and run from the tip of the left
+ * branch, through the centre, to the tip of the right branch. Each point has a
+ * width that tapers to zero at both tips.
+ * 
+ * The segments between consecutive points are indexed by an AABB tree built with
+ * the shape: a balanced binary tree over runs of segments, stored heap style in a
+ * flat array. Asking which segments a box touches walks only the branches whose
+ * bounds overlap it. The shape only changes when the rift's size or seed does.
+ */
+public class FluxRiftShape {
+    
+    /** Segments per tree leaf */
+    private static final int LEAF_SEGMENTS = 4;
+    
+    private double[] points = new double[0];
+    private float[] widths = new float[0];
+    private int count = 0;
+    
+    /** Node bounds, six values per node (min xyz, max xyz); node 1 is the root */
+    private double[] tree = new double[0];
+    
+    // ==================== Building ====================
+    
+    /**
+     * Grow the spine of a rift of the given size. Two branches start at the centre
+     * in opposite random directions, and bend a little every step.
+     */
+    public void build(Random random, int size) {
+        int steps = Mth.ceil(size / 3.0f);
+        count = steps * 2 + 2;
+        if (points.length < count * 3) {
+            points = new double[count * 3];
+            widths = new float[count];
+        }
+        
+        double[] right = normalize(random.nextGaussian(), random.nextGaussian(), random.nextGaussian());
+        double[] left = {-right[0], -right[1], -right[2]};
+        double[] lr = new double[3];
+        double[] ll = new double[3];
+        
+        float girth = size / 300.0f;
+        double angle = 0.33;
+        float dec = girth / steps;
+        
+        // The left branch fills indices steps..0 backwards, the right one steps+1 onwards
+        for (int a = 0; a < steps; ++a) {
+            girth -= dec;
+            
+            rotate(right, (float) (random.nextGaussian() * angle), (float) (random.nextGaussian() * angle));
+            step(lr, right, 0.2);
+            set(steps + 1 + a, lr, girth);
+            
+            rotate(left, (float) (random.nextGaussian() * angle), (float) (random.nextGaussian() * angle));
+            step(ll, left, 0.2);
+            set(steps - a, ll, girth);
+        }
+        
+        // Tips
+        step(lr, right, 0.1);
+        set(count - 1, lr, 0.0f);
+        step(ll, left, 0.1);
+        set(0, ll, 0.0f);
+        
+        buildTree();
+    }
+    
+    private void set(int i, double[] v, float width) {
+        points[i * 3] = v[0];
+        points[i * 3 + 1] = v[1];
+        points[i * 3 + 2] = v[2];
+        widths[i] = width;
+    }
+    
+    private static void step(double[] pos, double[] dir, double scale) {
+        pos[0] += dir[0] * scale;
+        pos[1] += dir[1] * scale;
+        pos[2] += dir[2] * scale;
+    }
+    
+    private static double[] normalize(double x, double y, double z) {
+        double len = Math.sqrt(x * x + y * y + z * z);
+        return len < 1.0E-4 ? new double[3] : new double[] {x / len, y / len, z / len};
+    }
+    
+    /**
+     * Simple rotation approximation: yaw around Y, then pitch around X.
+     */
+    private static void rotate(double[] v, float pitch, float yaw) {
+        double cosPitch = Math.cos(pitch);
+        double sinPitch = Math.sin(pitch);
+        double cosYaw = Math.cos(yaw);
+        double sinYaw = Math.sin(yaw);
+        
+        double x = v[0] * cosYaw - v[2] * sinYaw;
+        double z = v[0] * sinYaw + v[2] * cosYaw;
+        double y = v[1] * cosPitch - z * sinPitch;
+        z = v[1] * sinPitch + z * cosPitch;
+        
+        v[0] = x;
+        v[1] = y;
+        v[2] = z;
+    }
+    
+    // ==================== Points ====================
+    
+    public int pointCount() {
+        return count;
+    }
+    
+    public int segmentCount() {
+        return Math.max(0, count - 1);
+    }
+    
+    public boolean isEmpty() {
+        return count == 0;
+    }
+    
+    public double x(int i) {
+        return points[i * 3];
+    }
+    
+    public double y(int i) {
+        return points[i * 3 + 1];
+    }
+    
+    public double z(int i) {
+        return points[i * 3 + 2];
+    }
+    
+    public float width(int i) {
+        return widths[i];
+    }
+    
+    /**
+     * Bounds of all points, moved to the rift's position.
+     */
+    public AABB getBounds(double ox, double oy, double oz) {
+        if (count < 2) {
+            return new AABB(ox - 1, oy - 1, oz - 1, ox + 1, oy + 1, oz + 1);
+        }
+        return new AABB(ox + tree[6], oy + tree[7], oz + tree[8], ox + tree[9], oy + tree[10], oz + tree[11]);
+    }
+    
+    // ==================== Segment Tree ====================
+    
+    private void buildTree() {
+        int segments = segmentCount();
+        if (segments == 0) {
+            tree = new double[0];
+            return;
+        }
+        // Halving runs until they fit a leaf gives the depth, and heap indices stay below 2 << depth
+        int depth = 0;
+        while ((segments + (1 << depth) - 1) >> depth > LEAF_SEGMENTS) {
+            depth++;
+        }
+        int nodes = 2 << depth;
+        if (tree.length < nodes * 6) {
+            tree = new double[nodes * 6];
+        }
+        buildNode(1, 0, segments);
+    }
+    
+    /**
+     * Fill node with the bounds of segments [from, to) and build its children.
+     */
+    private void buildNode(int node, int from, int to) {
+        int o = node * 6;
+        if (to - from <= LEAF_SEGMENTS) {
+            tree[o] = tree[o + 1] = tree[o + 2] = Double.MAX_VALUE;
+            tree[o + 3] = tree[o + 4] = tree[o + 5] = -Double.MAX_VALUE;
+            // Segment i runs from point i to point i + 1
+            for (int i = from; i <= to; i++) {
+                for (int axis = 0; axis < 3; axis++) {
+                    double v = points[i * 3 + axis];
+                    tree[o + axis] = Math.min(tree[o + axis], v);
+                    tree[o + 3 + axis] = Math.max(tree[o + 3 + axis], v);
+                }
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        int left = node * 2;
+        int right = left + 1;
+        buildNode(left, from, mid);
+        buildNode(right, mid, to);
+        for (int axis = 0; axis < 3; axis++) {
+            tree[o + axis] = Math.min(tree[left * 6 + axis], tree[right * 6 + axis]);
+            tree[o + 3 + axis] = Math.max(tree[left * 6 + 3 + axis], tree[right * 6 + 3 + axis]);
+        }
+    }
+    
+    /**
+     * Count the segments whose bounds, grown by reach, intersect box.
+     * 
+     * @param box a box in world space
+     * @param ox the rift's position
+     */
+    public int countSegmentsNear(AABB box, double ox, double oy, double oz, double reach) {
+        int segments = segmentCount();
+        if (segments == 0) return 0;
+        // Move the box into rift space and grow it instead of every segment
+        double[] q = {
+                box.minX - ox - reach, box.minY - oy - reach, box.minZ - oz - reach,
+                box.maxX - ox + reach, box.maxY - oy + reach, box.maxZ - oz + reach
+        };
+        return countNode(1, 0, segments, q);
+    }
+    
+    private int countNode(int node, int from, int to, double[] q) {
+        int o = node * 6;
+        if (!overlaps(tree[o], tree[o + 1], tree[o + 2], tree[o + 3], tree[o + 4], tree[o + 5], q)) {
+            return 0;
+        }
+        if (to - from <= LEAF_SEGMENTS) {
+            int hits = 0;
+            for (int i = from; i < to; i++) {
+                int a = i * 3;
+                int b = a + 3;
+                if (overlaps(Math.min(points[a], points[b]), Math.min(points[a + 1], points[b + 1]),
+                        Math.min(points[a + 2], points[b + 2]), Math.max(points[a], points[b]),
+                        Math.max(points[a + 1], points[b + 1]), Math.max(points[a + 2], points[b + 2]), q)) {
+                    hits++;
+                }
+            }
+            return hits;
+        }
+        int mid = (from + to) >>> 1;
+        return countNode(node * 2, from, mid, q) + countNode(node * 2 + 1, mid, to, q);
+    }
+    
+    private static boolean overlaps(double minX, double minY, double minZ,
+                                    double maxX, double maxY, double maxZ, double[] q) {
+        return minX <= q[3] && maxX >= q[0] && minY <= q[4] && maxY >= q[1] && minZ <= q[5] && maxZ >= q[2];
+    }
+}
@@ -0,0 +1,187 @@
+package thaumcraft.common.entities.construct;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * BoreExcavationPlan - The blocks an arcane bore digs, in digging order.
+ * 
+ * The volume is a cylinder along the bore's facing: a disc of the dig radius at
+ * every depth from 1 to the dig depth. Each disc is ordered as a spiral from the
+ * centre outwards, and every other disc runs the spiral backwards, so consecutive
+ * targets are neighbours and the bore barely has to turn between them.
+ * 
+ * Targets are scanned with a cursor. Candidates in chunk sections that hold only
+ * air are skipped without looking at the block, and a pass over the whole plan
+ * restarts if it dug anything (falling blocks, flowing liquids turning to stone).
+ * 
+ * An unbreakable block blocks its column: nothing behind it along the facing is
+ * dug for the rest of the pass, as the bore couldn't reach through it.
+ */
+public class BoreExcavationPlan {
+    
+    private final BlockPos origin;
+    private final Direction facing;
+    private final int radius;
+    private final int depth;
+    private final long[] targets;
+    
+    /** Targets per disc */
+    private final int discSize;
+    
+    /** Disc offsets (columns) behind an unbreakable block this pass */
+    private final BitSet blocked = new BitSet();
+    
+    private int cursor = 0;
+    private boolean dugThisPass = false;
+    private boolean exhausted = false;
+    
+    public BoreExcavationPlan(BlockPos origin, Direction facing, int radius, int depth) {
+        this.origin = origin.immutable();
+        this.facing = facing;
+        this.radius = radius;
+        this.depth = depth;
+        this.targets = buildTargets();
+        this.discSize = depth > 0 ? targets.length / depth : 0;
+    }
+    
+    public boolean matches(BlockPos origin, Direction facing, int radius, int depth) {
+        return this.origin.equals(origin) && this.facing == facing && this.radius == radius && this.depth == depth;
+    }
+    
+    public int size() {
+        return targets.length;
+    }
+    
+    public boolean isExhausted() {
+        return exhausted;
+    }
+    
+    /**
+     * Start a new pass from the nearest disc.
+     */
+    public void restart() {
+        cursor = 0;
+        dugThisPass = false;
+        exhausted = false;
+        blocked.clear();
+    }
+    
+    /**
+     * Record that the last target returned by next() was dug.
+     */
+    public void markDug() {
+        dugThisPass = true;
+    }
+    
+    // ==================== Scanning ====================
+    
+    /**
+     * Find the next block worth digging, looking at no more than maxChecks blocks.
+     * 
+     * @param exclude a position never to dig (the block the bore stands on)
+     * @return the target, or null if none was found within maxChecks or the plan is exhausted
+     */
+    @Nullable
+    public BlockPos next(Level level, int maxChecks, BlockPos exclude) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int checks = 0;
+        
+        while (checks < maxChecks && !exhausted) {
+            if (cursor >= targets.length) {
+                if (!dugThisPass) {
+                    exhausted = true;
+                    return null;
+                }
+                restart();
+            }
+            
+            int column = column(cursor);
+            pos.set(targets[cursor++]);
+            if (blocked.get(column)) {
+                continue;
+            }
+            LevelChunkSection section = getSection(level, pos);
+            if (section == null || section.hasOnlyAir() || pos.equals(exclude)) {
+                continue;
+            }
+            
+            checks++;
+            BlockState state = section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+            // Like the old collider raycast, dig only blocks with a collision shape (no liquids or grass)
+            if (state.isAir() || state.getCollisionShape(level, pos).isEmpty()) {
+                continue;
+            }
+            if (state.getDestroySpeed(level, pos) < 0.0f) {
+                blocked.set(column);
+                continue;
+            }
+            return pos.immutable();
+        }
+        return null;
+    }
+    
+    /**
+     * The disc offset of a target, the same for every depth despite the
+     * alternating spiral direction.
+     */
+    private int column(int index) {
+        int i = index % discSize;
+        return ((index / discSize) & 1) == 0 ? i : discSize - 1 - i;
+    }
+    
+    @Nullable
+    private static LevelChunkSection getSection(Level level, BlockPos pos) {
+        if (level.isOutsideBuildHeight(pos)) return null;
+        int cx = pos.getX() >> 4;
+        int cz = pos.getZ() >> 4;
+        if (!level.hasChunk(cx, cz)) return null;
+        LevelChunk chunk = level.getChunk(cx, cz);
+        return chunk.getSection(chunk.getSectionIndex(pos.getY()));
+    }
+    
+    // ==================== Layout ====================
+    
+    private long[] buildTargets() {
+        // Disc offsets in the plane across the facing, spiralling outwards
+        List<int[]> disc = new ArrayList<>();
+        float limit = (radius + 0.5f) * (radius + 0.5f);
+        for (int a = -radius; a <= radius; a++) {
+            for (int b = -radius; b <= radius; b++) {
+                if (a * a + b * b <= limit) {
+                    disc.add(new int[] {a, b});
+                }
+            }
+        }
+        disc.sort(Comparator
+                .comparingInt((int[] o) -> Math.max(Math.abs(o[0]), Math.abs(o[1])))
+                .thenComparingDouble(o -> Math.atan2(o[1], o[0])));
+        
+        Direction.Axis axis = facing.getAxis();
+        long[] out = new long[disc.size() * depth];
+        int n = 0;
+        for (int d = 1; d <= depth; d++) {
+            BlockPos center = origin.relative(facing, d);
+            boolean reverse = (d & 1) == 0;
+            for (int i = 0; i < disc.size(); i++) {
+                int[] o = disc.get(reverse ? disc.size() - 1 - i : i);
+                out[n++] = switch (axis) {
+                    case X -> center.offset(0, o[0], o[1]).asLong();
+                    case Y -> center.offset(o[0], 0, o[1]).asLong();
+                    case Z -> center.offset(o[0], o[1], 0).asLong();
+                };
+            }
+        }
+        return out;
+    }
+}
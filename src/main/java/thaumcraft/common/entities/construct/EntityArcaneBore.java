@@ -23,28 +23,24 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.PickaxeItem;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.item.enchantment.Enchantments;
-import net.minecraft.world.level.ClipContext;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.phys.AABB;
-import net.minecraft.world.phys.BlockHitResult;
-import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.scores.Team;
-import net.minecraftforge.common.util.FakePlayer;
-import net.minecraftforge.common.util.FakePlayerFactory;
+import thaumcraft.api.ThaumcraftInvHelper;
 import thaumcraft.common.lib.network.PacketHandler;
 import thaumcraft.common.lib.network.fx.PacketFXBoreDig;
 import thaumcraft.common.world.aura.AuraHandler;
 import thaumcraft.init.ModSounds;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
 /**
  * Arcane Bore - Automated mining construct.
- * Mines blocks in a spiral pattern, deposits items into adjacent inventories.
+ * Mines the blocks of a BoreExcavationPlan in front of it, deposits drops into
+ * adjacent inventories.
  * Requires vis from the aura to operate.
  * 
  * Ported to 1.20.1
@@ -59,16 +55,20 @@ public class EntityArcaneBore extends EntityOwnedConstruct {
     
     // Mining state
     private BlockPos digTarget = null;
-    private BlockPos digTargetPrev = null;
     private float digCost = 0.25f;
     private int digDelay = 0;
     private int digDelayMax = 0;
     private int breakCounter = 0;
     
-    // Spiral pattern state
-    public int spiral = 0;
-    public float currentRadius = 0.0f;
-    private float radInc = 1.0f;
+    // Excavation plan, rebuilt when the bore moves, turns or changes pickaxe
+    private BoreExcavationPlan plan = null;
+    private long planIdleUntil = 0L;
+    
+    /** Plan blocks looked at per tick while searching for a target */
+    private static final int PLAN_CHECKS_PER_TICK = 64;
+    
+    /** Ticks to wait before rescanning a plan that had nothing left to dig */
+    private static final int PLAN_IDLE_TICKS = 100;
     
     // Charge (vis storage)
     private float charge = 0.0f;
@@ -79,9 +79,6 @@ public class EntityArcaneBore extends EntityOwnedConstruct {
     // Client-side digging state
     public boolean clientDigging = false;
     
-    // Drop collection for harvest events
-    private static final HashMap<Integer, ArrayList<ItemStack>> drops = new HashMap<>();
-    
     public EntityArcaneBore(EntityType<? extends EntityArcaneBore> type, Level level) {
         super(type, level);
     }
@@ -107,8 +104,6 @@ public class EntityArcaneBore extends EntityOwnedConstruct {
         tag.putFloat("Charge", charge);
         tag.putByte("Facing", (byte) getFacing().ordinal());
         tag.putBoolean("Active", isActive());
-        tag.putInt("Spiral", spiral);
-        tag.putFloat("Radius", currentRadius);
     }
     
     @Override
@@ -117,8 +112,6 @@ public class EntityArcaneBore extends EntityOwnedConstruct {
         charge = tag.getFloat("Charge");
         setFacing(Direction.values()[tag.getByte("Facing") % Direction.values().length]);
         setActive(tag.getBoolean("Active"));
-        spiral = tag.getInt("Spiral");
-        currentRadius = tag.getFloat("Radius");
     }
     
     // ==================== Tick ====================
@@ -233,8 +226,7 @@ public class EntityArcaneBore extends EntityOwnedConstruct {
     }
     
     private boolean dig() {
-        if (digTarget == null || level().isEmptyBlock(digTarget)) {
-            digTarget = null;
+        if (digTarget == null) {
             return false;
         }
         
@@ -244,39 +236,28 @@ public class EntityArcaneBore extends EntityOwnedConstruct {
             return false;
         }
         
-        // Try to break the block
+        // Break the block
         if (level() instanceof ServerLevel serverLevel) {
-            // Create fake player for block breaking
-            FakePlayer fakePlayer = FakePlayerFactory.getMinecraft(serverLevel);
-            fakePlayer.setItemInHand(InteractionHand.MAIN_HAND, getMainHandItem());
-            
-            // Get drops
-            List<ItemStack> blockDrops = new ArrayList<>();
-            if (hasSilkTouch() && state.getBlock().canSustainPlant(state, level(), digTarget, Direction.UP, null)) {
-                // Silk touch - drop block itself
-                blockDrops.add(new ItemStack(state.getBlock()));
-            } else {
-                // Normal drops with fortune
-                // In 1.20.1, we'd use Block.getDrops()
-            }
+            // Roll drops from the loot table with our pickaxe, so fortune and silk
+            // touch apply, and hand them straight to ejectItem
+            ItemStack held = getMainHandItem();
+            BlockEntity blockEntity = state.hasBlockEntity() ? serverLevel.getBlockEntity(digTarget) : null;
+            List<ItemStack> blockDrops = Block.getDrops(state, serverLevel, digTarget, blockEntity, this, held);
             
-            // Break the block
-            boolean broken = level().destroyBlock(digTarget, false);
+            boolean broken = serverLevel.destroyBlock(digTarget, false, this);
             
             if (broken) {
-                // Collect nearby item entities
-                List<ItemEntity> items = level().getEntitiesOfClass(ItemEntity.class,
-                        new AABB(digTarget).inflate(1.5));
-                for (ItemEntity item : items) {
-                    ejectItem(item.getItem().copy());
-                    item.discard();
+                for (ItemStack drop : blockDrops) {
+                    ejectItem(drop);
+                }
+                if (plan != null) {
+                    plan.markDug();
                 }
                 
                 // Damage tool
                 breakCounter++;
                 if (breakCounter >= 50) {
                     breakCounter -= 50;
-                    ItemStack held = getMainHandItem();
                     held.hurtAndBreak(1, this, (e) -> {});
                 }
             }
@@ -287,72 +268,46 @@ public class EntityArcaneBore extends EntityOwnedConstruct {
     }
     
     private void findNextBlockToDig() {
-        if (digTargetPrev == null || distanceToSqr(Vec3.atCenterOf(digTargetPrev)) > (getDigRadius() + 1) * (getDigRadius() + 1)) {
-            digTargetPrev = blockPosition();
-        }
-        
         int digRadius = getDigRadius();
         int digDepth = getDigDepth();
+        BlockPos origin = blockPosition();
         
-        // Calculate target position along facing direction
-        BlockPos end = digTargetPrev.relative(getFacing(), digDepth);
-        
-        // Raycast to find first solid block
-        Vec3 start = Vec3.atCenterOf(digTargetPrev);
-        Vec3 endVec = Vec3.atCenterOf(end);
-        
-        BlockHitResult hit = level().clip(new ClipContext(
-                start, endVec, ClipContext.Block.COLLIDER, ClipContext.Fluid.NONE, this));
+        if (plan == null || !plan.matches(origin, getFacing(), digRadius, digDepth)) {
+            plan = new BoreExcavationPlan(origin, getFacing(), digRadius, digDepth);
+            planIdleUntil = 0L;
+        }
         
-        if (hit.getType() == HitResult.Type.BLOCK) {
-            BlockPos hitPos = hit.getBlockPos();
-            BlockState state = level().getBlockState(hitPos);
-            
-            if (state.getDestroySpeed(level(), hitPos) > -1.0f) {
-                digDelay = Math.max(1, (int)(state.getDestroySpeed(level(), hitPos) * 2.0f) - getDigSpeed(state) * 2);
-                digDelayMax = digDelay;
-                
-                if (!hitPos.equals(blockPosition()) && !hitPos.equals(blockPosition().below())) {
-                    digTarget = hitPos;
-                    return;
-                }
+        // Nothing was left last pass; look again now and then for new blocks
+        if (plan.isExhausted()) {
+            if (level().getGameTime() < planIdleUntil) {
+                return;
             }
+            plan.restart();
         }
         
-        // Spiral pattern for next target
-        updateSpiralTarget(digRadius);
-    }
-    
-    private void updateSpiralTarget(int digRadius) {
-        spiral += (int)(3.0f + Math.max(0.0f, (10.0f - Math.abs(currentRadius)) * 2.0f));
-        if (spiral >= 360) {
-            spiral -= 360;
-            currentRadius += radInc;
-            if (Math.abs(currentRadius) > digRadius) {
-                currentRadius = 0.0f;
+        BlockPos next = plan.next(level(), PLAN_CHECKS_PER_TICK, origin.below());
+        if (next == null) {
+            if (plan.isExhausted()) {
+                planIdleUntil = level().getGameTime() + PLAN_IDLE_TICKS;
             }
+            return;
         }
         
-        // Calculate spiral position
-        double angle = spiral * Math.PI / 180.0;
-        double offsetX = Math.cos(angle) * currentRadius;
-        double offsetY = Math.sin(angle) * currentRadius;
-        
-        // Apply offset based on facing direction
-        int x = (int) (getX() + offsetX * (1 - Math.abs(getFacing().getStepX())));
-        int y = (int) (getY() + offsetY * (getFacing().getAxis() != Direction.Axis.Y ? 1 : 0));
-        int z = (int) (getZ() + offsetX * (1 - Math.abs(getFacing().getStepZ())));
-        
-        digTargetPrev = new BlockPos(x, y, z);
+        BlockState state = level().getBlockState(next);
+        float hardness = state.getDestroySpeed(level(), next);
+        digDelay = Math.max(1, (int)(hardness * 2.0f) - getDigSpeed(state) * 2);
+        digDelayMax = digDelay;
+        digTarget = next;
     }
     
     private void ejectItem(ItemStack stack) {
         if (stack.isEmpty()) return;
         
-        // Try to insert into adjacent inventory
+        // Try to insert into adjacent inventories, except the one we are digging into
         for (Direction dir : Direction.values()) {
-            BlockPos adjPos = blockPosition().relative(dir);
-            // TODO: Check for inventory and insert
+            if (dir == getFacing()) continue;
+            stack = ThaumcraftInvHelper.insertStackAt(level(), blockPosition().relative(dir), dir.getOpposite(), stack, false);
+            if (stack.isEmpty()) return;
         }
         
         // Otherwise drop on ground
@@ -47,7 +47,6 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 import thaumcraft.init.ModItems;
 import thaumcraft.init.ModSounds;
 
-import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.function.Predicate;
@@ -468,35 +467,25 @@ public class EntityTurretCrossbow extends EntityOwnedConstruct implements Ranged
             double range = getFollowDistance();
             AABB searchBox = mob.getBoundingBox().inflate(range, 4.0, range);
             
-            List<LivingEntity> targets = mob.level().getEntitiesOfClass(
-                LivingEntity.class,
+            List<LivingEntity> targets = TurretTargetRegistry.getCandidates(
+                mob,
                 searchBox,
                 entity -> {
                     if (!targetClass.isInstance(entity)) return false;
                     if (targetPredicate != null && !targetPredicate.test(entity)) return false;
-                    if (!entity.isAlive()) return false;
-                    if (entity == mob) return false;
                     
                     // Check team/owner for constructs
                     if (mob instanceof EntityOwnedConstruct construct) {
                         if (construct.isAlliedTo(entity)) return false;
                     }
                     
-                    // Check sight
-                    if (mustSee && !mob.getSensing().hasLineOfSight(entity)) return false;
-                    
                     return true;
                 }
             );
             
-            if (targets.isEmpty()) {
-                return false;
-            }
-            
-            // Sort by distance
-            targets.sort(Comparator.comparingDouble(e -> mob.distanceToSqr(e)));
-            target = targets.get(0);
-            return true;
+            // Nearest first, checking sight until one is visible
+            target = TurretTargetRegistry.nearest(mob, targets, mustSee);
+            return target != null;
         }
         
         @Override
@@ -35,7 +35,6 @@ import net.minecraft.world.phys.Vec3;
 import net.minecraft.world.scores.Team;
 import net.minecraftforge.server.ServerLifecycleHooks;
 
-import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.UUID;
@@ -361,13 +360,11 @@ public class EntityTurretCrossbowAdvanced extends EntityTurretCrossbow {
             
             EntityTurretCrossbowAdvanced turret = (EntityTurretCrossbowAdvanced) mob;
             
-            List<LivingEntity> targets = mob.level().getEntitiesOfClass(
-                LivingEntity.class,
+            List<LivingEntity> targets = TurretTargetRegistry.getCandidates(
+                mob,
                 searchBox,
                 entity -> {
                     if (!targetClass.isInstance(entity)) return false;
-                    if (!entity.isAlive()) return false;
-                    if (entity == mob) return false;
                     
                     // Check targeting options
                     if (!turret.canAttackType(entity)) return false;
@@ -414,23 +411,13 @@ public class EntityTurretCrossbowAdvanced extends EntityTurretCrossbow {
                         }
                     }
                     
-                    // Sight check
-                    if (mustSee && !mob.getSensing().hasLineOfSight(entity)) {
-                        return false;
-                    }
-                    
                     return true;
                 }
             );
             
-            if (targets.isEmpty()) {
-                return false;
-            }
-            
-            // Sort by distance
-            targets.sort(Comparator.comparingDouble(e -> mob.distanceToSqr(e)));
-            target = targets.get(0);
-            return true;
+            // Nearest first, checking sight until one is visible
+            target = TurretTargetRegistry.nearest(mob, targets, mustSee);
+            return target != null;
         }
         
         @Override
@@ -461,7 +448,7 @@ public class EntityTurretCrossbowAdvanced extends EntityTurretCrossbow {
             
             // Sight check with timeout
             if (mustSee) {
-                if (mob.getSensing().hasLineOfSight(currentTarget)) {
+                if (TurretTargetRegistry.canSee(mob, currentTarget)) {
                     targetUnseenTicks = 0;
                 } else if (++targetUnseenTicks > 60) {
                     return false;
@@ -0,0 +1,205 @@
+package thaumcraft.common.entities.construct;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import thaumcraft.Thaumcraft;
+import thaumcraft.common.config.ModConfig;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * TurretTargetRegistry - Target lookups shared by all turrets in a dimension.
+ * 
+ * The world is split into 32 block cubes. The first turret searching a cube in a
+ * tick gathers the living entities in it; every other turret searching that cube
+ * in the same tick reuses the list. Turret walls covering the same ground cost
+ * one entity query per cube instead of one per turret.
+ * 
+ * Line of sight is cached per (turret, target) pair for LOS_TICKS ticks, and at
+ * most ModConfig.turretRaycastBudget new raycasts are made per dimension per tick.
+ * Over budget, a recently expired result is reused, and a candidate never checked
+ * is passed over until a later search, as if it were hidden.
+ * 
+ * Candidates are checked nearest first and the first one in sight wins, so the
+ * chosen target is the same as sorting every visible candidate by distance.
+ */
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID)
+public class TurretTargetRegistry {
+    
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_SIZE = 1 << REGION_SHIFT;
+    
+    /** Ticks a line of sight result is reused */
+    private static final int LOS_TICKS = 5;
+    
+    /** Ticks between sweeps of expired line of sight results */
+    private static final int SWEEP_INTERVAL = 40;
+    
+    private static final Map<ResourceKey<Level>, Area> areas = new ConcurrentHashMap<>();
+    
+    /**
+     * Shared lookups of one dimension
+     */
+    private static final class Area {
+        /** Living entities per region, gathered this tick */
+        private final Long2ObjectOpenHashMap<List<LivingEntity>> regions = new Long2ObjectOpenHashMap<>();
+        /** (turret id, target id) -> expiry tick << 1 | visible */
+        private final Long2LongOpenHashMap sight = new Long2LongOpenHashMap();
+        private int raycasts = 0;
+    }
+    
+    // ==================== Candidates ====================
+    
+    /**
+     * Living entities whose bounding box intersects box and that pass filter, the
+     * same set level.getEntitiesOfClass(LivingEntity.class, box, filter) returns.
+     * The searching mob itself and dead entities are left out.
+     */
+    public static List<LivingEntity> getCandidates(Mob mob, AABB box, Predicate<LivingEntity> filter) {
+        List<LivingEntity> out = new ObjectArrayList<>();
+        if (!(mob.level() instanceof ServerLevel level)) return out;
+        Area area = getArea(level);
+        
+        int x0 = (int) Math.floor(box.minX) >> REGION_SHIFT;
+        int y0 = (int) Math.floor(box.minY) >> REGION_SHIFT;
+        int z0 = (int) Math.floor(box.minZ) >> REGION_SHIFT;
+        int x1 = (int) Math.floor(box.maxX) >> REGION_SHIFT;
+        int y1 = (int) Math.floor(box.maxY) >> REGION_SHIFT;
+        int z1 = (int) Math.floor(box.maxZ) >> REGION_SHIFT;
+        boolean single = x0 == x1 && y0 == y1 && z0 == z1;
+        // Entities overlapping a region border are listed in both regions
+        ReferenceOpenHashSet<LivingEntity> seen = single ? null : new ReferenceOpenHashSet<>();
+        
+        for (int rx = x0; rx <= x1; rx++) {
+            for (int ry = y0; ry <= y1; ry++) {
+                for (int rz = z0; rz <= z1; rz++) {
+                    for (LivingEntity entity : getRegion(level, area, rx, ry, rz)) {
+                        if (entity == mob || !entity.isAlive()) continue;
+                        if (!entity.getBoundingBox().intersects(box)) continue;
+                        if (seen != null && !seen.add(entity)) continue;
+                        if (filter.test(entity)) {
+                            out.add(entity);
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+    
+    /**
+     * The nearest candidate the mob can see, or the nearest one at all if
+     * mustSee is false.
+     */
+    @Nullable
+    public static LivingEntity nearest(Mob mob, List<LivingEntity> candidates, boolean mustSee) {
+        if (candidates.isEmpty()) return null;
+        candidates.sort(Comparator.comparingDouble(mob::distanceToSqr));
+        if (!mustSee) return candidates.get(0);
+        
+        for (LivingEntity entity : candidates) {
+            if (canSee(mob, entity)) {
+                return entity;
+            }
+        }
+        return null;
+    }
+    
+    private static List<LivingEntity> getRegion(ServerLevel level, Area area, int rx, int ry, int rz) {
+        long key = BlockPos.asLong(rx, ry, rz);
+        List<LivingEntity> region = area.regions.get(key);
+        if (region == null) {
+            AABB bounds = new AABB(rx << REGION_SHIFT, ry << REGION_SHIFT, rz << REGION_SHIFT,
+                    (rx << REGION_SHIFT) + REGION_SIZE, (ry << REGION_SHIFT) + REGION_SIZE, (rz << REGION_SHIFT) + REGION_SIZE);
+            region = level.getEntitiesOfClass(LivingEntity.class, bounds);
+            area.regions.put(key, region);
+        }
+        return region;
+    }
+    
+    // ==================== Line of sight ====================
+    
+    /**
+     * Whether the mob can see the target, from the cache if it was checked in the
+     * last LOS_TICKS ticks. When the tick's raycast budget is spent, an expired
+     * result is reused, and a pair never checked counts as hidden.
+     */
+    public static boolean canSee(Mob mob, LivingEntity target) {
+        if (!(mob.level() instanceof ServerLevel level)) {
+            return mob.getSensing().hasLineOfSight(target);
+        }
+        Area area = getArea(level);
+        long key = (long) mob.getId() << 32 | (target.getId() & 0xFFFFFFFFL);
+        long now = level.getGameTime();
+        
+        boolean cached = area.sight.containsKey(key);
+        long entry = cached ? area.sight.get(key) : 0L;
+        if (cached && (entry >> 1) > now) {
+            return (entry & 1L) != 0L;
+        }
+        if (area.raycasts >= ModConfig.turretRaycastBudget) {
+            return cached && (entry & 1L) != 0L;
+        }
+        
+        area.raycasts++;
+        boolean visible = mob.getSensing().hasLineOfSight(target);
+        area.sight.put(key, (now + LOS_TICKS) << 1 | (visible ? 1L : 0L));
+        return visible;
+    }
+    
+    private static Area getArea(ServerLevel level) {
+        return areas.computeIfAbsent(level.dimension(), dim -> new Area());
+    }
+    
+    // ==================== Events ====================
+    
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.side.isClient() || event.phase == TickEvent.Phase.START) return;
+        if (!(event.level instanceof ServerLevel level)) return;
+        
+        Area area = areas.get(level.dimension());
+        if (area == null) return;
+        
+        area.regions.clear();
+        area.raycasts = 0;
+        
+        long now = level.getGameTime();
+        if (now % SWEEP_INTERVAL == 0) {
+            // Results a few ticks past expiry are still used as a fallback when over budget
+            ObjectIterator<Long2LongMap.Entry> it = area.sight.long2LongEntrySet().fastIterator();
+            while (it.hasNext()) {
+                if ((it.next().getLongValue() >> 1) + SWEEP_INTERVAL < now) {
+                    it.remove();
+                }
+            }
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            areas.remove(level.dimension());
+        }
+    }
+}
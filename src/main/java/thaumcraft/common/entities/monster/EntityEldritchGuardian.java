@@ -24,7 +24,6 @@ import net.minecraft.world.entity.ai.goal.RandomLookAroundGoal;
 import net.minecraft.world.entity.ai.goal.RangedAttackGoal;
 import net.minecraft.world.entity.ai.goal.WaterAvoidingRandomStrollGoal;
 import net.minecraft.world.entity.ai.goal.target.HurtByTargetGoal;
-import net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal;
 import net.minecraft.world.entity.ai.navigation.GroundPathNavigation;
 import net.minecraft.world.entity.monster.Monster;
 import net.minecraft.world.entity.monster.RangedAttackMob;
@@ -36,6 +35,8 @@ import net.minecraft.world.phys.Vec3;
 import thaumcraft.api.ThaumcraftApi;
 import thaumcraft.api.capabilities.IPlayerWarp;
 import thaumcraft.api.entities.IEldritchMob;
+import thaumcraft.common.entities.monster.ai.AIScheduled;
+import thaumcraft.common.entities.monster.ai.AIScheduledTarget;
 import thaumcraft.common.entities.monster.cult.EntityCultist;
 import thaumcraft.common.entities.projectile.EntityEldritchOrb;
 import thaumcraft.init.ModEntities;
@@ -76,13 +77,13 @@ public class EntityEldritchGuardian extends Monster implements RangedAttackMob,
         this.goalSelector.addGoal(2, new RangedAttackGoal(this, 1.0, 20, 40, 24.0f));
         this.goalSelector.addGoal(3, new MeleeAttackGoal(this, 1.0, false));
         this.goalSelector.addGoal(5, new MoveTowardsRestrictionGoal(this, 0.8));
-        this.goalSelector.addGoal(7, new WaterAvoidingRandomStrollGoal(this, 1.0));
+        this.goalSelector.addGoal(7, new AIScheduled(this, new WaterAvoidingRandomStrollGoal(this, 1.0), 1));
         this.goalSelector.addGoal(8, new LookAtPlayerGoal(this, Player.class, 8.0f));
         this.goalSelector.addGoal(8, new RandomLookAroundGoal(this));
         
         this.targetSelector.addGoal(1, new HurtByTargetGoal(this));
-        this.targetSelector.addGoal(2, new NearestAttackableTargetGoal<>(this, Player.class, true));
-        this.targetSelector.addGoal(3, new NearestAttackableTargetGoal<>(this, EntityCultist.class, true));
+        this.targetSelector.addGoal(2, new AIScheduledTarget<>(this, Player.class, true));
+        this.targetSelector.addGoal(3, new AIScheduledTarget<>(this, EntityCultist.class, true));
     }
     
     public static AttributeSupplier.Builder createAttributes() {
@@ -32,7 +32,6 @@ import net.minecraft.world.entity.ai.goal.RandomLookAroundGoal;
 import net.minecraft.world.entity.ai.goal.RangedAttackGoal;
 import net.minecraft.world.entity.ai.goal.WaterAvoidingRandomStrollGoal;
 import net.minecraft.world.entity.ai.goal.target.HurtByTargetGoal;
-import net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal;
 import net.minecraft.world.entity.ai.navigation.GroundPathNavigation;
 import net.minecraft.world.entity.monster.Monster;
 import net.minecraft.world.entity.monster.RangedAttackMob;
@@ -46,6 +45,9 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.LightLayer;
 import net.minecraft.world.level.ServerLevelAccessor;
 import net.minecraft.world.phys.AABB;
+import thaumcraft.common.entities.monster.ai.AIScheduled;
+import thaumcraft.common.entities.monster.ai.AIScheduledTarget;
+import thaumcraft.common.entities.monster.ai.MobAIScheduler;
 import thaumcraft.init.ModEntities;
 import thaumcraft.init.ModSounds;
 
@@ -85,6 +87,10 @@ public class EntityPech extends Monster implements RangedAttackMob {
     public float mumble = 0.0f;
     private int chargeCount = 0;
     
+    // Ticks between item pickup scans near a player (see MobAIScheduler)
+    private static final int PICKUP_PERIOD = 4;
+    private boolean inAiStep = false;
+    
     /**
      * Get the mumble animation value for rendering.
      */
@@ -130,13 +136,13 @@ public class EntityPech extends Monster implements RangedAttackMob {
         // AI goal 3 is item pickup (TODO: implement item pickup AI)
         this.goalSelector.addGoal(5, new OpenDoorGoal(this, true));
         this.goalSelector.addGoal(6, new MoveTowardsRestrictionGoal(this, 0.5));
-        this.goalSelector.addGoal(9, new WaterAvoidingRandomStrollGoal(this, 0.6));
+        this.goalSelector.addGoal(9, new AIScheduled(this, new WaterAvoidingRandomStrollGoal(this, 0.6), 1));
         this.goalSelector.addGoal(9, new LookAtPlayerGoal(this, Player.class, 3.0f, 1.0f));
         this.goalSelector.addGoal(10, new LookAtPlayerGoal(this, Mob.class, 8.0f));
         this.goalSelector.addGoal(11, new RandomLookAroundGoal(this));
         
         this.targetSelector.addGoal(1, new HurtByTargetGoal(this));
-        this.targetSelector.addGoal(2, new NearestAttackableTargetGoal<>(this, Player.class, 10, true, false, 
+        this.targetSelector.addGoal(2, new AIScheduledTarget<>(this, Player.class, true, 
                 target -> getAnger() > 0));
     }
     
@@ -325,7 +331,7 @@ public class EntityPech extends Monster implements RangedAttackMob {
         if (attacker instanceof Player) {
             // Alert nearby pechs
             AABB searchBox = getBoundingBox().inflate(32.0, 16.0, 32.0);
-            List<EntityPech> nearbyPechs = level().getEntitiesOfClass(EntityPech.class, searchBox);
+            List<EntityPech> nearbyPechs = MobAIScheduler.getNearby(this, EntityPech.class, searchBox);
             for (EntityPech pech : nearbyPechs) {
                 pech.becomeAngryAt(attacker);
             }
@@ -398,6 +404,28 @@ public class EntityPech extends Monster implements RangedAttackMob {
         }
     }
     
+    @Override
+    public void aiStep() {
+        inAiStep = true;
+        try {
+            super.aiStep();
+        } finally {
+            inAiStep = false;
+        }
+    }
+    
+    /**
+     * Mob.aiStep scans for items to pick up every tick it returns true. During
+     * aiStep the scan is spread out by MobAIScheduler; everywhere else (saving,
+     * other checks) this is the plain flag.
+     */
+    @Override
+    public boolean canPickUpLoot() {
+        if (!super.canPickUpLoot()) return false;
+        if (!inAiStep || level().isClientSide) return true;
+        return MobAIScheduler.isDue(this, tickCount, PICKUP_PERIOD);
+    }
+    
     // ==================== Interaction ====================
     
     @Override
@@ -423,7 +451,7 @@ public class EntityPech extends Monster implements RangedAttackMob {
             // Check for nearby pechs to "chat" with
             if (random.nextInt(3) == 0) {
                 AABB searchBox = getBoundingBox().inflate(4.0, 2.0, 4.0);
-                List<EntityPech> nearbyPechs = level().getEntitiesOfClass(EntityPech.class, searchBox, e -> e != this);
+                List<EntityPech> nearbyPechs = MobAIScheduler.getNearby(this, EntityPech.class, searchBox);
                 if (!nearbyPechs.isEmpty()) {
                     level().broadcastEntityEvent(this, (byte) 17);
                     playSound(ModSounds.PECH_TRADE.get(), getSoundVolume(), getVoicePitch());
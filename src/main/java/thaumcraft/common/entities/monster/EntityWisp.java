@@ -26,6 +26,7 @@ import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import thaumcraft.api.aspects.Aspect;
 import thaumcraft.api.ThaumcraftApiHelper;
+import thaumcraft.common.entities.monster.ai.MobAIScheduler;
 import thaumcraft.init.ModEntities;
 import thaumcraft.init.ModSounds;
 
@@ -45,6 +46,9 @@ public class EntityWisp extends FlyingMob implements Enemy {
     private static final EntityDataAccessor<String> DATA_TYPE = 
             SynchedEntityData.defineId(EntityWisp.class, EntityDataSerializers.STRING);
     
+    // Ticks between checks that the wander target is still open (see MobAIScheduler)
+    private static final int WANDER_CHECK_PERIOD = 4;
+    
     private BlockPos currentFlightTarget;
     private int aggroCooldown = 0;
     public int prevAttackCounter = 0;
@@ -223,9 +227,9 @@ public class EntityWisp extends FlyingMob implements Enemy {
         
         LivingEntity target = getTarget();
         
-        if (target == null || !hasLineOfSight(target)) {
+        if (target == null || !getSensing().hasLineOfSight(target)) {
             // Wander behavior
-            if (currentFlightTarget != null && 
+            if (currentFlightTarget != null && MobAIScheduler.isDue(this, tickCount, WANDER_CHECK_PERIOD) && 
                     (!level().isEmptyBlock(currentFlightTarget) || 
                      currentFlightTarget.getY() < 1 || 
                      currentFlightTarget.getY() > level().getHeightmapPos(
@@ -243,7 +247,7 @@ public class EntityWisp extends FlyingMob implements Enemy {
             }
             
             flyToward(currentFlightTarget.getX() + 0.5, currentFlightTarget.getY() + 0.1, currentFlightTarget.getZ() + 0.5, 0.15f);
-        } else if (distanceToSqr(target) > attackRange * attackRange / 2.0 && hasLineOfSight(target)) {
+        } else if (distanceToSqr(target) > attackRange * attackRange / 2.0 && getSensing().hasLineOfSight(target)) {
             // Chase target
             flyToward(target.getX(), target.getEyeY() * 0.66 + target.getY() * 0.34, target.getZ(), 0.5f);
         }
@@ -280,7 +284,7 @@ public class EntityWisp extends FlyingMob implements Enemy {
             setYRot(targetYaw);
             yBodyRot = targetYaw;
             
-            if (hasLineOfSight(target)) {
+            if (getSensing().hasLineOfSight(target)) {
                 attackCounter++;
                 
                 if (attackCounter == 20) {
@@ -0,0 +1,225 @@
+package thaumcraft.common.entities.monster;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.MobSpawnType;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MinionSpawnPlanner - Picks spawn spots for the minions of a stationary summoner.
+ * 
+ * The planner covers a box around the summoner. It reads the box's blocks
+ * straight from their chunk sections, once, and marks every cell as open (no
+ * collision, no fluid) or as floor (something to stand on). Sections holding only
+ * air are marked open without looking at a block. A spot is a floor cell with
+ * enough open cells above it for the minion to stand in.
+ * 
+ * The snapshot is reused for REFRESH_TICKS ticks, so a portal pulsing every
+ * second reads its surroundings a few times a minute instead of testing spots
+ * one entity at a time. Minions are only built for spots that passed, and a wave
+ * is added to the level together in commit(). Each minion still gets a final
+ * collision check against the live level there; a failure drops that minion and
+ * forces a fresh snapshot for the next wave.
+ * 
+ * Light is not checked: summoned minions appear in any light, as before.
+ */
+public class MinionSpawnPlanner {
+    
+    /** Ticks a snapshot of the surroundings is reused */
+    private static final int REFRESH_TICKS = 100;
+    
+    private static final byte OPEN = 1;
+    private static final byte FLOOR = 2;
+    
+    private final int radius;
+    private final int below;
+    private final int sizeXZ;
+    private final int sizeY;
+    private final byte[] cells;
+    
+    /** Cells minions can stand in, by index, for the current snapshot and height */
+    private final IntArrayList spots = new IntArrayList();
+    private int spotHeight = -1;
+    
+    /** The summoner's block and the lowest corner of the box, for the current snapshot */
+    private BlockPos centre = null;
+    private BlockPos origin = BlockPos.ZERO;
+    private long snapshotTick = Long.MIN_VALUE;
+    
+    /**
+     * @param radius horizontal reach from the summoner
+     * @param below cells below the summoner's block to look at
+     * @param above cells above the summoner's block to look at
+     */
+    public MinionSpawnPlanner(int radius, int below, int above) {
+        this.radius = radius;
+        this.below = below;
+        this.sizeXZ = radius * 2 + 1;
+        this.sizeY = below + above + 1;
+        this.cells = new byte[sizeXZ * sizeXZ * sizeY];
+    }
+    
+    /**
+     * Forget the snapshot, so the next plan reads the level again.
+     */
+    public void invalidate() {
+        snapshotTick = Long.MIN_VALUE;
+    }
+    
+    // ==================== Planning ====================
+    
+    /**
+     * Pick up to count different spots near centre for minions of the given
+     * height. Fewer are returned if fewer spots are open.
+     * 
+     * @return feet positions, centred in their cells
+     */
+    public List<Vec3> plan(Level level, BlockPos centre, RandomSource random, int count, float height) {
+        if (!centre.equals(this.centre) || level.getGameTime() - snapshotTick >= REFRESH_TICKS) {
+            snapshot(level, centre);
+        }
+        int cellsTall = Math.max(1, Mth.ceil(height));
+        if (cellsTall != spotHeight) {
+            findSpots(cellsTall);
+        }
+        
+        List<Vec3> out = new ArrayList<>(Math.min(count, spots.size()));
+        // Partial shuffle: the first picks are a random sample of the spots
+        for (int i = 0; i < spots.size() && out.size() < count; i++) {
+            int j = i + random.nextInt(spots.size() - i);
+            int cell = spots.getInt(j);
+            spots.set(j, spots.getInt(i));
+            spots.set(i, cell);
+            out.add(new Vec3(origin.getX() + cellX(cell) + 0.5, origin.getY() + cellY(cell), origin.getZ() + cellZ(cell) + 0.5));
+        }
+        return out;
+    }
+    
+    /**
+     * Finish spawning a wave of minions, already positioned, and add them to the
+     * level together. Minions whose spot has been blocked since the snapshot are
+     * dropped.
+     * 
+     * @return the minions added
+     */
+    public <T extends Mob> List<T> commit(ServerLevel level, List<T> minions) {
+        return commit(level, minions, false);
+    }
+    
+    /**
+     * @param required add minions whose spot is blocked anyway, for spawns a
+     *                 fight can't go on without
+     */
+    public <T extends Mob> List<T> commit(ServerLevel level, List<T> minions, boolean required) {
+        List<T> ready = new ArrayList<>(minions.size());
+        for (T mob : minions) {
+            if (level.noCollision(mob) && !level.containsAnyLiquid(mob.getBoundingBox())) {
+                ready.add(mob);
+            } else {
+                invalidate();
+                if (required) {
+                    ready.add(mob);
+                }
+            }
+        }
+        for (T mob : ready) {
+            mob.finalizeSpawn(level, level.getCurrentDifficultyAt(mob.blockPosition()), MobSpawnType.SPAWNER, null, null);
+            level.addFreshEntityWithPassengers(mob);
+        }
+        return ready;
+    }
+    
+    // ==================== Snapshot ====================
+    
+    private void snapshot(Level level, BlockPos centre) {
+        this.centre = centre.immutable();
+        origin = centre.offset(-radius, -below, -radius);
+        snapshotTick = level.getGameTime();
+        spotHeight = -1;
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        
+        int minX = origin.getX();
+        int minY = origin.getY();
+        int minZ = origin.getZ();
+        // Walk the box one chunk section at a time
+        for (int sx = minX >> 4; sx <= (minX + sizeXZ - 1) >> 4; sx++) {
+            for (int sz = minZ >> 4; sz <= (minZ + sizeXZ - 1) >> 4; sz++) {
+                LevelChunk chunk = level.hasChunk(sx, sz) ? level.getChunk(sx, sz) : null;
+                for (int sy = minY >> 4; sy <= (minY + sizeY - 1) >> 4; sy++) {
+                    LevelChunkSection section = null;
+                    boolean inWorld = chunk != null && !level.isOutsideBuildHeight(sy << 4);
+                    if (inWorld) {
+                        section = chunk.getSection(chunk.getSectionIndexFromSectionY(sy));
+                    }
+                    int x0 = Math.max(minX, sx << 4), x1 = Math.min(minX + sizeXZ - 1, (sx << 4) + 15);
+                    int y0 = Math.max(minY, sy << 4), y1 = Math.min(minY + sizeY - 1, (sy << 4) + 15);
+                    int z0 = Math.max(minZ, sz << 4), z1 = Math.min(minZ + sizeXZ - 1, (sz << 4) + 15);
+                    for (int x = x0; x <= x1; x++) {
+                        for (int y = y0; y <= y1; y++) {
+                            for (int z = z0; z <= z1; z++) {
+                                cells[index(x - minX, y - minY, z - minZ)] = classify(level, section, inWorld, pos.set(x, y, z));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    private static byte classify(Level level, LevelChunkSection section, boolean inWorld, BlockPos pos) {
+        // Unloaded or outside the world: neither open nor something to stand on
+        if (!inWorld) return 0;
+        if (section == null || section.hasOnlyAir()) return OPEN;
+        BlockState state = section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+        if (!state.getFluidState().isEmpty()) return 0;
+        return state.getCollisionShape(level, pos).isEmpty() ? OPEN : FLOOR;
+    }
+    
+    private void findSpots(int cellsTall) {
+        spots.clear();
+        spotHeight = cellsTall;
+        for (int x = 0; x < sizeXZ; x++) {
+            for (int z = 0; z < sizeXZ; z++) {
+                for (int y = 1; y + cellsTall <= sizeY; y++) {
+                    if (cells[index(x, y - 1, z)] != FLOOR) continue;
+                    boolean clear = true;
+                    for (int h = 0; h < cellsTall && clear; h++) {
+                        clear = cells[index(x, y + h, z)] == OPEN;
+                    }
+                    if (clear) {
+                        spots.add(index(x, y, z));
+                    }
+                }
+            }
+        }
+    }
+    
+    // ==================== Cells ====================
+    
+    private int index(int x, int y, int z) {
+        return (y * sizeXZ + z) * sizeXZ + x;
+    }
+    
+    private int cellX(int index) {
+        return index % sizeXZ;
+    }
+    
+    private int cellZ(int index) {
+        return (index / sizeXZ) % sizeXZ;
+    }
+    
+    private int cellY(int index) {
+        return index / (sizeXZ * sizeXZ);
+    }
+}
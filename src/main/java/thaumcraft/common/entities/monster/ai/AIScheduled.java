@@ -0,0 +1,64 @@
+package thaumcraft.common.entities.monster.ai;
+
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.goal.Goal;
+
+/**
+ * AIScheduled - Runs another goal's start check on a MobAIScheduler period.
+ * 
+ * Used for goals whose start check is expensive, like random strolls that pick
+ * and path to a new position. Once started, the wrapped goal runs every tick as
+ * usual; only how often it may start is limited.
+ */
+public class AIScheduled extends Goal {
+    
+    private final Mob mob;
+    private final Goal goal;
+    private final int period;
+    private int checks = 0;
+    
+    /**
+     * @param period checks between start attempts for a mob near a player
+     */
+    public AIScheduled(Mob mob, Goal goal, int period) {
+        this.mob = mob;
+        this.goal = goal;
+        this.period = period;
+        this.setFlags(goal.getFlags());
+    }
+    
+    @Override
+    public boolean canUse() {
+        return MobAIScheduler.isDue(mob, checks++, period) && goal.canUse();
+    }
+    
+    @Override
+    public boolean canContinueToUse() {
+        return goal.canContinueToUse();
+    }
+    
+    @Override
+    public boolean isInterruptable() {
+        return goal.isInterruptable();
+    }
+    
+    @Override
+    public void start() {
+        goal.start();
+    }
+    
+    @Override
+    public void stop() {
+        goal.stop();
+    }
+    
+    @Override
+    public boolean requiresUpdateEveryTick() {
+        return goal.requiresUpdateEveryTick();
+    }
+    
+    @Override
+    public void tick() {
+        goal.tick();
+    }
+}
@@ -0,0 +1,54 @@
+package thaumcraft.common.entities.monster.ai;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.ai.goal.target.NearestAttackableTargetGoal;
+import net.minecraft.world.entity.player.Player;
+
+import javax.annotation.Nullable;
+import java.util.function.Predicate;
+
+/**
+ * AIScheduledTarget - Nearest attackable target search run by MobAIScheduler.
+ * 
+ * Behaves like NearestAttackableTargetGoal, but instead of rolling a random
+ * chance each check the search runs on a fixed period with the same average
+ * rate, staggered across mobs and stretched for mobs far from players.
+ * Searches for anything other than players use the scheduler's shared section
+ * lists instead of an entity query of their own.
+ */
+public class AIScheduledTarget<T extends LivingEntity> extends NearestAttackableTargetGoal<T> {
+    
+    /** Checks between searches, the vanilla random interval */
+    private static final int SEARCH_PERIOD = 10;
+    
+    private int checks = 0;
+    
+    public AIScheduledTarget(Mob mob, Class<T> targetType, boolean mustSee) {
+        this(mob, targetType, mustSee, null);
+    }
+    
+    public AIScheduledTarget(Mob mob, Class<T> targetType, boolean mustSee, @Nullable Predicate<LivingEntity> selector) {
+        super(mob, targetType, SEARCH_PERIOD, mustSee, false, selector);
+    }
+    
+    @Override
+    public boolean canUse() {
+        if (!MobAIScheduler.isDue(mob, checks++, randomInterval)) {
+            return false;
+        }
+        findTarget();
+        return target != null;
+    }
+    
+    @Override
+    protected void findTarget() {
+        if (targetType == Player.class || Player.class.isAssignableFrom(targetType)) {
+            super.findTarget();
+            return;
+        }
+        target = mob.level().getNearestEntity(
+                MobAIScheduler.getNearby(mob, targetType, getTargetSearchArea(getFollowDistance())),
+                targetConditions, mob, mob.getX(), mob.getEyeY(), mob.getZ());
+    }
+}
@@ -0,0 +1,197 @@
+package thaumcraft.common.entities.monster.ai;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.AABB;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import thaumcraft.Thaumcraft;
+import thaumcraft.common.config.ModConfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * MobAIScheduler - Shared AI scheduling for Thaumcraft monsters.
+ * 
+ * Expensive AI work (target searches, item pickup scans, wander pathing) runs on
+ * a period instead of every time it could. Each mob is offset by its entity id,
+ * so a crowd of wisps or taint crawlers spreads its searches evenly over the
+ * period instead of all searching in the same tick.
+ * 
+ * The period grows with distance to the nearest player (level of detail):
+ * - NEAR, within ModConfig.aiLodNearRadius: the base period
+ * - MID, within twice that: twice the base period
+ * - FAR, further out: four times the base period
+ * Combat itself (attacking, chasing a target already chosen) is never delayed.
+ * 
+ * Small neighbour queries are shared per chunk section. The first mob looking at
+ * a section gathers the living entities in it, and every mob searching that
+ * section in the next SECTION_TICKS ticks reuses the list, so mobs staggered
+ * over a period still share it. Boxes spanning more than MAX_SHARED_SECTIONS
+ * sections are one plain entity query, as cheap as before.
+ */
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID)
+public class MobAIScheduler {
+    
+    /** Ticks a section's entity list is reused, the base period of the searches sharing it */
+    private static final int SECTION_TICKS = 4;
+    
+    /** Largest query split into shared sections; bigger ones are a single query */
+    private static final int MAX_SHARED_SECTIONS = 8;
+    
+    private static final Map<ResourceKey<Level>, Area> areas = new ConcurrentHashMap<>();
+    
+    /**
+     * Distance to the nearest player, in steps that scale AI periods
+     */
+    public enum Lod {
+        NEAR(1),
+        MID(2),
+        FAR(4);
+        
+        public final int scale;
+        
+        Lod(int scale) {
+            this.scale = scale;
+        }
+    }
+    
+    /**
+     * Shared lookups of one dimension
+     */
+    private static final class Area {
+        /** Living entities per chunk section, gathered in the last SECTION_TICKS ticks */
+        private final Long2ObjectOpenHashMap<List<LivingEntity>> sections = new Long2ObjectOpenHashMap<>();
+    }
+    
+    // ==================== Scheduling ====================
+    
+    /**
+     * The mob's level of detail, from the distance to the nearest player that
+     * isn't a spectator.
+     */
+    public static Lod getLod(Mob mob) {
+        double near = ModConfig.aiLodNearRadius;
+        double nearSq = near * near;
+        double midSq = nearSq * 4.0;
+        double best = Double.MAX_VALUE;
+        for (Player player : mob.level().players()) {
+            if (player.isSpectator()) continue;
+            best = Math.min(best, player.distanceToSqr(mob));
+            if (best <= nearSq) return Lod.NEAR;
+        }
+        return best <= midSq ? Lod.MID : Lod.FAR;
+    }
+    
+    /**
+     * Whether work with the given base period is due for the mob. The counter is
+     * anything that advances by one each time the caller asks, such as tickCount
+     * for work checked every tick or a call count for goal checks.
+     */
+    public static boolean isDue(Mob mob, int counter, int basePeriod) {
+        int period = Math.max(1, basePeriod) * getLod(mob).scale;
+        if (period == 1) return true;
+        return Math.floorMod(counter + mob.getId(), period) == 0;
+    }
+    
+    // ==================== Neighbours ====================
+    
+    /**
+     * Entities of the given class whose bounding box intersects box and that
+     * pass filter, the same set level.getEntitiesOfClass(type, box, filter)
+     * returns. The searching mob itself and dead entities are left out. Entities
+     * that crossed into a shared section in the last few ticks may be missed
+     * until its list is gathered again.
+     */
+    public static <T extends LivingEntity> List<T> getNearby(Mob mob, Class<T> type, AABB box, Predicate<? super T> filter) {
+        List<T> out = new ObjectArrayList<>();
+        int x0 = SectionPos.posToSectionCoord(box.minX);
+        int y0 = SectionPos.posToSectionCoord(box.minY);
+        int z0 = SectionPos.posToSectionCoord(box.minZ);
+        int x1 = SectionPos.posToSectionCoord(box.maxX);
+        int y1 = SectionPos.posToSectionCoord(box.maxY);
+        int z1 = SectionPos.posToSectionCoord(box.maxZ);
+        long sections = (long) (x1 - x0 + 1) * (y1 - y0 + 1) * (z1 - z0 + 1);
+        
+        if (!(mob.level() instanceof ServerLevel level) || sections > MAX_SHARED_SECTIONS) {
+            for (T entity : mob.level().getEntitiesOfClass(type, box, filter)) {
+                if (entity != mob && entity.isAlive()) {
+                    out.add(entity);
+                }
+            }
+            return out;
+        }
+        Area area = areas.computeIfAbsent(level.dimension(), dim -> new Area());
+        
+        boolean single = x0 == x1 && y0 == y1 && z0 == z1;
+        // Entities overlapping a section border are listed in both sections
+        ReferenceOpenHashSet<LivingEntity> seen = single ? null : new ReferenceOpenHashSet<>();
+        
+        for (int sx = x0; sx <= x1; sx++) {
+            for (int sy = y0; sy <= y1; sy++) {
+                for (int sz = z0; sz <= z1; sz++) {
+                    for (LivingEntity entity : getSection(level, area, sx, sy, sz)) {
+                        if (entity == mob || !entity.isAlive() || !type.isInstance(entity)) continue;
+                        if (!entity.getBoundingBox().intersects(box)) continue;
+                        if (seen != null && !seen.add(entity)) continue;
+                        T cast = type.cast(entity);
+                        if (filter.test(cast)) {
+                            out.add(cast);
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+    
+    public static <T extends LivingEntity> List<T> getNearby(Mob mob, Class<T> type, AABB box) {
+        return getNearby(mob, type, box, entity -> true);
+    }
+    
+    private static List<LivingEntity> getSection(ServerLevel level, Area area, int sx, int sy, int sz) {
+        long key = SectionPos.asLong(sx, sy, sz);
+        List<LivingEntity> section = area.sections.get(key);
+        if (section == null) {
+            AABB bounds = new AABB(SectionPos.sectionToBlockCoord(sx), SectionPos.sectionToBlockCoord(sy),
+                    SectionPos.sectionToBlockCoord(sz), SectionPos.sectionToBlockCoord(sx + 1),
+                    SectionPos.sectionToBlockCoord(sy + 1), SectionPos.sectionToBlockCoord(sz + 1));
+            section = level.getEntitiesOfClass(LivingEntity.class, bounds);
+            area.sections.put(key, section);
+        }
+        return section;
+    }
+    
+    // ==================== Events ====================
+    
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.side.isClient() || event.phase == TickEvent.Phase.START) return;
+        if (!(event.level instanceof ServerLevel level)) return;
+        
+        Area area = areas.get(level.dimension());
+        if (area != null && level.getGameTime() % SECTION_TICKS == 0) {
+            area.sections.clear();
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            areas.remove(level.dimension());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundEvents;
@@ -23,12 +24,15 @@ import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
+import thaumcraft.common.entities.monster.MinionSpawnPlanner;
+import thaumcraft.common.entities.monster.ai.MobAIScheduler;
 import thaumcraft.common.entities.monster.cult.EntityCultist;
 import thaumcraft.common.entities.monster.cult.EntityCultistCleric;
 import thaumcraft.common.entities.monster.cult.EntityCultistKnight;
 import thaumcraft.init.ModEntities;
 import thaumcraft.init.ModItems;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -45,6 +49,9 @@ public class EntityCultistPortalGreater extends Monster {
     private int stageCounter = 200;
     public int pulse = 0;
     
+    // Spots within 2 blocks of the portal, from 2 below to 3 above
+    private final MinionSpawnPlanner spawnPlanner = new MinionSpawnPlanner(2, 2, 3);
+    
     public EntityCultistPortalGreater(EntityType<? extends EntityCultistPortalGreater> type, Level level) {
         super(type, level);
         this.xpReward = 30;
@@ -180,7 +187,7 @@ public class EntityCultistPortalGreater extends Monster {
                     case 4:
                         // Early stages - spawn minions quickly
                         stageCounter = 15 + random.nextInt(10 - stage) - stage;
-                        spawnMinion();
+                        spawnMinions(1);
                         break;
                     case 12:
                         // Stage 12 - spawn boss
@@ -191,7 +198,7 @@ public class EntityCultistPortalGreater extends Monster {
                         // Later stages - spawn minions with timing based on existing cultists
                         int t = getTiming();
                         stageCounter = t + random.nextInt(5 + t / 3);
-                        spawnMinion();
+                        spawnMinions(1);
                         break;
                 }
                 ++stage;
@@ -239,41 +246,35 @@ public class EntityCultistPortalGreater extends Monster {
      */
     private int getTiming() {
         AABB searchBox = getBoundingBox().inflate(32.0);
-        List<EntityCultist> cultists = level().getEntitiesOfClass(EntityCultist.class, searchBox);
+        List<EntityCultist> cultists = MobAIScheduler.getNearby(this, EntityCultist.class, searchBox);
         return cultists.size() * 20;
     }
     
     /**
-     * Spawns a cultist minion (knight or cleric).
+     * Spawns a wave of cultist minions (knights or clerics). Spots for the whole
+     * wave are planned together and the wave is added in one commit.
      */
-    private void spawnMinion() {
-        EntityCultist cultist;
-        if (random.nextFloat() > 0.33f) {
-            cultist = new EntityCultistKnight(level());
-        } else {
-            cultist = new EntityCultistCleric(level());
+    private void spawnMinions(int count) {
+        List<EntityCultist> wave = new ArrayList<>(count);
+        for (Vec3 spot : planSpawns(ModEntities.CULTIST_KNIGHT.get(), count)) {
+            EntityCultist cultist;
+            if (random.nextFloat() > 0.33f) {
+                cultist = new EntityCultistKnight(level());
+            } else {
+                cultist = new EntityCultistCleric(level());
+            }
+            cultist.moveTo(spot.x, spot.y, spot.z, random.nextFloat() * 360.0f, 0.0f);
+            cultist.setHomePos(blockPosition(), 32);
+            wave.add(cultist);
         }
         
-        cultist.moveTo(
-                getX() + random.nextFloat() - random.nextFloat(),
-                getY() + 0.25,
-                getZ() + random.nextFloat() - random.nextFloat(),
-                random.nextFloat() * 360.0f, 0.0f);
-        
-        cultist.finalizeSpawn(
-                (net.minecraft.world.level.ServerLevelAccessor) level(),
-                level().getCurrentDifficultyAt(new BlockPos((int) cultist.getX(), (int) cultist.getY(), (int) cultist.getZ())),
-                net.minecraft.world.entity.MobSpawnType.SPAWNER,
-                null, null);
-        
-        cultist.setHomePos(blockPosition(), 32);
-        level().addFreshEntity(cultist);
-        cultist.spawnExplosionParticle();
-        cultist.playSound(SoundEvents.EVOKER_CAST_SPELL, 1.0f, 1.0f);
-        
-        // After stage 12, portal takes damage when spawning
-        if (stage > 12) {
-            hurt(damageSources().magic(), 5 + random.nextInt(5));
+        for (EntityCultist added : spawnPlanner.commit((ServerLevel) level(), wave)) {
+            added.spawnExplosionParticle();
+            added.playSound(SoundEvents.EVOKER_CAST_SPELL, 1.0f, 1.0f);
+            // After stage 12, portal takes damage for each minion it actually spawns
+            if (stage > 12) {
+                hurt(damageSources().magic(), 5 + random.nextInt(5));
+            }
         }
     }
     
@@ -281,24 +282,29 @@ public class EntityCultistPortalGreater extends Monster {
      * Spawns the Cultist Leader boss.
      */
     private void spawnBoss() {
+        Vec3 spot = planSpawns(ModEntities.CULTIST_LEADER.get(), 1).get(0);
         EntityCultistLeader leader = new EntityCultistLeader(level());
         
-        leader.moveTo(
-                getX() + random.nextFloat() - random.nextFloat(),
-                getY() + 0.25,
-                getZ() + random.nextFloat() - random.nextFloat(),
-                random.nextFloat() * 360.0f, 0.0f);
-        
-        leader.finalizeSpawn(
-                (net.minecraft.world.level.ServerLevelAccessor) level(),
-                level().getCurrentDifficultyAt(new BlockPos((int) leader.getX(), (int) leader.getY(), (int) leader.getZ())),
-                net.minecraft.world.entity.MobSpawnType.SPAWNER,
-                null, null);
-        
+        leader.moveTo(spot.x, spot.y, spot.z, random.nextFloat() * 360.0f, 0.0f);
         leader.setHomePos(blockPosition(), 32);
-        level().addFreshEntity(leader);
-        leader.spawnExplosionParticle();
-        leader.playSound(SoundEvents.EVOKER_CAST_SPELL, 1.0f, 1.0f);
+        // The last stages wait on the leader, so it spawns even if its spot was blocked meanwhile
+        for (EntityCultistLeader added : spawnPlanner.commit((ServerLevel) level(), List.of(leader), true)) {
+            added.spawnExplosionParticle();
+            added.playSound(SoundEvents.EVOKER_CAST_SPELL, 1.0f, 1.0f);
+        }
+    }
+    
+    /**
+     * Checked spots near the portal for a wave of minions of the given type, one
+     * per minion. Minions left without an open spot get one right at the portal.
+     */
+    private List<Vec3> planSpawns(EntityType<?> type, int count) {
+        List<Vec3> spots = new ArrayList<>(spawnPlanner.plan(level(), blockPosition(), random, count, type.getHeight()));
+        while (spots.size() < count) {
+            spots.add(new Vec3(getX() + random.nextFloat() - random.nextFloat(), getY() + 0.25,
+                    getZ() + random.nextFloat() - random.nextFloat()));
+        }
+        return spots;
     }
     
     // ==================== Interaction ====================
@@ -1,11 +1,11 @@
 package thaumcraft.common.entities.monster.cult;
 
-import net.minecraft.core.BlockPos;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.syncher.EntityDataAccessor;
 import net.minecraft.network.syncher.EntityDataSerializers;
 import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.world.Difficulty;
@@ -21,9 +21,12 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
+import thaumcraft.common.entities.monster.MinionSpawnPlanner;
+import thaumcraft.common.entities.monster.ai.MobAIScheduler;
 import thaumcraft.init.ModEntities;
 import thaumcraft.init.ModSounds;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -41,6 +44,9 @@ public class EntityCultistPortalLesser extends Monster {
     public int activeCounter = 0;
     public int pulse = 0;
     
+    // Spots within 2 blocks of the portal, from 2 below to 3 above
+    private final MinionSpawnPlanner spawnPlanner = new MinionSpawnPlanner(2, 2, 3);
+    
     public EntityCultistPortalLesser(EntityType<? extends EntityCultistPortalLesser> type, Level level) {
         super(type, level);
         this.xpReward = 10;
@@ -160,7 +166,7 @@ public class EntityCultistPortalLesser extends Monster {
                     // Count existing cultists nearby
                     try {
                         AABB searchBox = getBoundingBox().inflate(32.0, 32.0, 32.0);
-                        List<EntityCultist> existingCultists = level().getEntitiesOfClass(EntityCultist.class, searchBox);
+                        List<EntityCultist> existingCultists = MobAIScheduler.getNearby(this, EntityCultist.class, searchBox);
                         if (existingCultists != null) {
                             maxCount -= existingCultists.size();
                         }
@@ -169,7 +175,7 @@ public class EntityCultistPortalLesser extends Monster {
                     if (maxCount > 0) {
                         // Trigger pulse effect on client
                         level().broadcastEntityEvent(this, (byte) 16);
-                        spawnMinion();
+                        spawnMinions(1);
                     }
                 }
                 stageCounter = 50 + random.nextInt(50);
@@ -203,37 +209,41 @@ public class EntityCultistPortalLesser extends Monster {
     }
     
     /**
-     * Spawns a cultist minion at the portal's location.
+     * Spawns a wave of cultist minions around the portal. Spots for the whole
+     * wave are planned together and the wave is added in one commit.
      */
-    private void spawnMinion() {
-        EntityCultist cultist;
-        if (random.nextFloat() > 0.33f) {
-            cultist = new EntityCultistKnight(level());
-        } else {
-            cultist = new EntityCultistCleric(level());
+    private void spawnMinions(int count) {
+        List<EntityCultist> wave = new ArrayList<>(count);
+        for (Vec3 spot : planSpawns(ModEntities.CULTIST_KNIGHT.get(), count)) {
+            EntityCultist cultist;
+            if (random.nextFloat() > 0.33f) {
+                cultist = new EntityCultistKnight(level());
+            } else {
+                cultist = new EntityCultistCleric(level());
+            }
+            cultist.moveTo(spot.x, spot.y, spot.z, random.nextFloat() * 360.0f, 0.0f);
+            wave.add(cultist);
         }
         
-        // Position near the portal
-        cultist.moveTo(
-                getX() + random.nextFloat() - random.nextFloat(),
-                getY() + 0.25,
-                getZ() + random.nextFloat() - random.nextFloat(),
-                random.nextFloat() * 360.0f, 0.0f);
-        
-        // Initialize the cultist
-        cultist.finalizeSpawn(
-                (net.minecraft.world.level.ServerLevelAccessor) level(),
-                level().getCurrentDifficultyAt(new BlockPos((int) cultist.getX(), (int) cultist.getY(), (int) cultist.getZ())),
-                net.minecraft.world.entity.MobSpawnType.SPAWNER,
-                null, null);
-        
-        level().addFreshEntity(cultist);
-        cultist.spawnExplosionParticle();
-        
-        cultist.playSound(ModSounds.WAND_FAIL.get(), 1.0f, 1.0f);
-        
-        // Portal takes damage when spawning
-        hurt(damageSources().magic(), 5 + random.nextInt(5));
+        for (EntityCultist added : spawnPlanner.commit((ServerLevel) level(), wave)) {
+            added.spawnExplosionParticle();
+            added.playSound(ModSounds.WAND_FAIL.get(), 1.0f, 1.0f);
+            // Portal takes damage for each minion it actually spawns
+            hurt(damageSources().magic(), 5 + random.nextInt(5));
+        }
+    }
+    
+    /**
+     * Checked spots near the portal for a wave of minions of the given type, one
+     * per minion. Minions left without an open spot get one right at the portal.
+     */
+    private List<Vec3> planSpawns(EntityType<?> type, int count) {
+        List<Vec3> spots = new ArrayList<>(spawnPlanner.plan(level(), blockPosition(), random, count, type.getHeight()));
+        while (spots.size() < count) {
+            spots.add(new Vec3(getX() + random.nextFloat() - random.nextFloat(), getY() + 0.25,
+                    getZ() + random.nextFloat() - random.nextFloat()));
+        }
+        return spots;
     }
     
     @Override
@@ -26,6 +26,8 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 import thaumcraft.api.entities.ITaintedMob;
+import thaumcraft.common.blocks.world.taint.TaintHelper;
+import thaumcraft.common.world.aura.AuraHandler;
 import thaumcraft.init.ModEffects;
 import thaumcraft.init.ModEntities;
 import thaumcraft.init.ModItems;
@@ -41,7 +43,7 @@ import java.util.List;
 public class EntityTaintSeed extends Monster implements ITaintedMob {
     
     public int boost = 0;
-    private boolean firstRun = false;
+    private BlockPos gridPos = null;
     public float attackAnim = 0.0f;
     
     public EntityTaintSeed(EntityType<? extends EntityTaintSeed> type, Level level) {
@@ -124,10 +126,10 @@ public class EntityTaintSeed extends Monster implements ITaintedMob {
         super.tick();
         
         if (!level().isClientSide) {
-            // Register with taint system
-            if (!firstRun || tickCount % 1200 == 0) {
-                // TODO: TaintHelper.removeTaintSeed/addTaintSeed
-                firstRun = true;
+            // Keep the taint grid in step with our block; it only changes while falling
+            if (isAlive() && !blockPosition().equals(gridPos)) {
+                gridPos = blockPosition();
+                TaintHelper.addTaintSeed(level(), getId(), gridPos);
             }
             
             if (isAlive()) {
@@ -184,8 +186,7 @@ public class EntityTaintSeed extends Monster implements ITaintedMob {
     }
     
     private float getFluxSaturation() {
-        // TODO: Integrate with AuraHandler.getFluxSaturation
-        return 0.5f; // Default moderate saturation
+        return AuraHandler.getFluxSaturation(level(), blockPosition());
     }
     
     private void spreadTaint() {
@@ -195,7 +196,8 @@ public class EntityTaintSeed extends Monster implements ITaintedMob {
                 Mth.randomBetweenInclusive(random, -area, area),
                 Mth.randomBetweenInclusive(random, -area * 3, area * 3));
         
-        // TODO: TaintHelper.spreadFibres when implemented
+        // Seeds push taint out regardless of the spread rate; the frontier takes it from there
+        TaintHelper.spreadFibres(level(), spreadPos, true);
     }
     
     protected void spawnTentacles(Entity target) {
@@ -249,10 +251,22 @@ public class EntityTaintSeed extends Monster implements ITaintedMob {
     
     @Override
     public void die(DamageSource source) {
-        // TODO: TaintHelper.removeTaintSeed
+        if (!level().isClientSide) {
+            TaintHelper.removeTaintSeed(level(), getId());
+        }
         super.die(source);
     }
     
+    @Override
+    public void onRemovedFromWorld() {
+        super.onRemovedFromWorld();
+        // Unloaded or discarded; die() already covers killed seeds
+        if (!level().isClientSide) {
+            TaintHelper.removeTaintSeed(level(), getId());
+        }
+        gridPos = null;
+    }
+    
     // Movement restrictions - taint seeds can't move
     
     @Override
@@ -22,6 +22,7 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.phys.Vec3;
+import thaumcraft.common.entities.monster.ai.MobAIScheduler;
 import thaumcraft.init.ModEntities;
 import thaumcraft.init.ModItems;
 import thaumcraft.init.ModSounds;
@@ -36,6 +37,10 @@ public class EntityTaintSwarm extends Monster {
     private static final EntityDataAccessor<Boolean> DATA_SUMMONED = 
             SynchedEntityData.defineId(EntityTaintSwarm.class, EntityDataSerializers.BOOLEAN);
     
+    // Ticks between wander target checks and target searches (see MobAIScheduler)
+    private static final int WANDER_CHECK_PERIOD = 4;
+    private static final int TARGET_SEARCH_PERIOD = 4;
+    
     private BlockPos currentFlightTarget;
     public int damBonus = 0;
     private int attackTime = 0;
@@ -166,7 +171,7 @@ public class EntityTaintSwarm extends Monster {
             }
             
             // Wander around
-            if (currentFlightTarget != null && 
+            if (currentFlightTarget != null && MobAIScheduler.isDue(this, tickCount, WANDER_CHECK_PERIOD) &&
                     (!level().isEmptyBlock(currentFlightTarget) || 
                      currentFlightTarget.getY() < 1 ||
                      currentFlightTarget.getY() > level().getHeightmapPos(
@@ -187,7 +192,7 @@ public class EntityTaintSwarm extends Monster {
                     currentFlightTarget.getZ() + 0.5, 0.015, 0.1);
             
             // Look for targets
-            if (!isSummoned()) {
+            if (!isSummoned() && MobAIScheduler.isDue(this, tickCount, TARGET_SEARCH_PERIOD)) {
                 Player nearestPlayer = level().getNearestPlayer(this, 8.0);
                 if (nearestPlayer != null && !nearestPlayer.getAbilities().invulnerable) {
                     setTarget(nearestPlayer);
@@ -5,6 +5,7 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.InteractionResultHolder;
@@ -25,6 +26,9 @@ import thaumcraft.api.casters.ICaster;
 import thaumcraft.api.casters.IInteractWithCaster;
 import thaumcraft.api.casters.FocusEngine;
 import thaumcraft.api.items.IVisDiscountGear;
+import thaumcraft.common.lib.network.PacketHandler;
+import thaumcraft.common.lib.network.misc.PacketAuraToClient;
+import thaumcraft.common.world.aura.AuraChunk;
 import thaumcraft.common.world.aura.AuraHandler;
 
 import javax.annotation.Nullable;
@@ -306,7 +310,15 @@ public class ItemCaster extends Item implements ICaster {
     
     @Override
     public void inventoryTick(ItemStack stack, Level level, Entity entity, int slotId, boolean isSelected) {
-        // TODO: Sync aura information to client when holding caster
+        // Sync aura information for the vis gauge while the caster is held
+        if (level.isClientSide() || !(entity instanceof ServerPlayer player) || entity.tickCount % 20 != 0) return;
+        if (!isSelected && player.getOffhandItem() != stack) return;
+        
+        BlockPos pos = player.blockPosition();
+        AuraChunk ac = AuraHandler.getAuraChunk(level.dimension(), pos.getX() >> 4, pos.getZ() >> 4);
+        if (ac != null) {
+            PacketHandler.sendToPlayer(new PacketAuraToClient(ac), player);
+        }
     }
     
     @Override
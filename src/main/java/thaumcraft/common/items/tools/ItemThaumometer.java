@@ -1,6 +1,7 @@
 package thaumcraft.common.items.tools;
 
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResultHolder;
@@ -15,7 +16,12 @@ import net.minecraft.world.phys.EntityHitResult;
 import net.minecraft.world.phys.HitResult;
 import net.minecraft.world.phys.Vec3;
 import thaumcraft.api.research.ScanningManager;
+import thaumcraft.client.fx.FXDispatcher;
 import thaumcraft.common.items.ItemTC;
+import thaumcraft.common.lib.network.PacketHandler;
+import thaumcraft.common.lib.network.misc.PacketAuraToClient;
+import thaumcraft.common.world.aura.AuraChunk;
+import thaumcraft.common.world.aura.AuraHandler;
 import thaumcraft.init.ModSounds;
 
 /**
@@ -97,22 +103,31 @@ public class ItemThaumometer extends ItemTC {
      * Update aura information for the player.
      */
     private void updateAuraInfo(Level level, Player player) {
-        // TODO: Send aura chunk data to player
-        // AuraChunk ac = AuraHandler.getAuraChunk(level, player.blockPosition());
-        // if (ac != null) {
-        //     PacketHandler.sendTo(new PacketAuraToClient(ac), player);
-        // }
+        if (!(player instanceof ServerPlayer serverPlayer)) return;
+        BlockPos pos = player.blockPosition();
+        AuraChunk ac = AuraHandler.getAuraChunk(level.dimension(), pos.getX() >> 4, pos.getZ() >> 4);
+        if (ac != null) {
+            PacketHandler.sendToPlayer(new PacketAuraToClient(ac), serverPlayer);
+        }
     }
 
     /**
      * Highlight scannable things on the client.
      */
     private void highlightScannables(Level level, Player player) {
-        // TODO: Use FXDispatcher to highlight targets
-        // Entity target = getTargetEntity(level, player, 16.0);
-        // if (target != null && ScanningManager.isThingStillScannable(player, target)) {
-        //     FXDispatcher.INSTANCE.scanHighlight(target);
-        // }
+        Entity target = getTargetEntity(level, player, 16.0);
+        if (target != null) {
+            if (ScanningManager.isThingStillScannable(player, target)) {
+                FXDispatcher.INSTANCE.scanHighlight(target);
+            }
+            return;
+        }
+
+        BlockHitResult blockHit = getTargetBlock(level, player, 16.0);
+        if (blockHit.getType() == HitResult.Type.BLOCK
+                && ScanningManager.isThingStillScannable(player, blockHit.getBlockPos())) {
+            FXDispatcher.INSTANCE.scanHighlight(blockHit.getBlockPos());
+        }
     }
 
     /**
@@ -0,0 +1,233 @@
+package thaumcraft.common.lib;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.MobSpawnType;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import thaumcraft.Thaumcraft;
+import thaumcraft.api.aspects.Aspect;
+import thaumcraft.api.golems.seals.ISeal;
+import thaumcraft.common.entities.EntityFluxRift;
+import thaumcraft.common.golems.EntityThaumcraftGolem;
+import thaumcraft.common.golems.seals.SealHandler;
+import thaumcraft.common.tiles.crafting.TileInfusionMatrix;
+import thaumcraft.common.tiles.crafting.TilePedestal;
+import thaumcraft.common.tiles.essentia.TileJar;
+import thaumcraft.init.ModBlocks;
+import thaumcraft.init.ModEntities;
+
+/**
+ * BenchmarkScene - Builds a reproducible render worst case for profiling.
+ * 
+ * Used by "/thaumcraft bench". The scene is laid out in a 32 block wide strip in
+ * front of the player, on a cleared arcane stone floor:
+ * - rows of warded jars filled with random aspects and amounts
+ * - rows of essentia tubes
+ * - active infusion altars (matrix, pillars, pedestals with items)
+ * - golems, each standing on a pickup seal
+ * - flux rifts hovering above the strip, pinned so they neither decay nor
+ *   eat the scene
+ * 
+ * Everything random comes from a fixed seed, so the same arguments always build
+ * the same scene. Record it on the client with "/tcprofile record".
+ */
+public class BenchmarkScene {
+    
+    public static final long SEED = 0x7C3A51L;
+    
+    public static final int MAX_JARS = 1024;
+    public static final int MAX_TUBES = 1024;
+    public static final int MAX_ALTARS = 16;
+    public static final int MAX_GOLEMS = 64;
+    public static final int MAX_RIFTS = 16;
+    
+    private static final int WIDTH = 32;
+    private static final int HEIGHT = 12;
+    private static final int ALTAR_SPACING = 4;
+    private static final int GOLEM_SPACING = 2;
+    private static final int RIFT_SPACING = 8;
+    
+    private final ServerLevel level;
+    private final ServerPlayer player;
+    private final RandomSource random = RandomSource.create(SEED);
+    private final Aspect[] aspects = Aspect.aspects.values().toArray(new Aspect[0]);
+    
+    /** North west corner of the floor */
+    private final BlockPos origin;
+    
+    private BenchmarkScene(ServerPlayer player) {
+        this.player = player;
+        this.level = player.serverLevel();
+        BlockPos feet = player.blockPosition();
+        this.origin = new BlockPos(feet.getX() - WIDTH / 2, feet.getY() - 1, feet.getZ() + 3);
+    }
+    
+    /**
+     * Build the scene in front of the player.
+     * 
+     * @return the number of blocks along Z the scene covers
+     */
+    public static int build(ServerPlayer player, int jars, int tubes, int altars, int golems, int rifts) {
+        BenchmarkScene scene = new BenchmarkScene(player);
+        int depth = rows(jars, WIDTH) + 1
+                + rows(tubes, WIDTH) + 1
+                + rows(altars, WIDTH / ALTAR_SPACING) * ALTAR_SPACING + 1
+                + rows(golems, WIDTH / GOLEM_SPACING) * GOLEM_SPACING;
+        // Rifts sit in their own grid above the rest, which must lie inside the cleared strip too
+        depth = Math.max(depth, rows(rifts, WIDTH / RIFT_SPACING) * RIFT_SPACING);
+        depth = Math.max(depth, RIFT_SPACING);
+        
+        scene.clear(depth);
+        int z = 0;
+        z = scene.placeJars(jars, z) + 1;
+        z = scene.placeTubes(tubes, z) + 1;
+        z = scene.placeAltars(altars, z) + 1;
+        scene.placeGolems(golems, z);
+        scene.placeRifts(rifts, depth);
+        
+        Thaumcraft.LOGGER.info("Built benchmark scene at {}: {} jars, {} tubes, {} altars, {} golems, {} rifts",
+                scene.origin, jars, tubes, altars, golems, rifts);
+        return depth;
+    }
+    
+    private static int rows(int count, int perRow) {
+        return (count + perRow - 1) / perRow;
+    }
+    
+    // ==================== Layout ====================
+    
+    private void clear(int depth) {
+        BlockState floor = ModBlocks.ARCANE_STONE.get().defaultBlockState();
+        BlockState air = Blocks.AIR.defaultBlockState();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int x = 0; x < WIDTH; x++) {
+            for (int z = 0; z < depth; z++) {
+                level.setBlock(pos.set(origin.getX() + x, origin.getY(), origin.getZ() + z), floor, Block.UPDATE_CLIENTS);
+                for (int y = 1; y <= HEIGHT; y++) {
+                    level.setBlock(pos.set(origin.getX() + x, origin.getY() + y, origin.getZ() + z), air, Block.UPDATE_CLIENTS);
+                }
+            }
+        }
+    }
+    
+    private int placeJars(int count, int z) {
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = at(i % WIDTH, 1, z + i / WIDTH);
+            level.setBlock(pos, ModBlocks.JAR_NORMAL.get().defaultBlockState(), Block.UPDATE_ALL);
+            if (level.getBlockEntity(pos) instanceof TileJar jar) {
+                jar.addToContainer(aspects[random.nextInt(aspects.length)], 1 + random.nextInt(TileJar.CAPACITY));
+                jar.syncTile(false);
+            }
+        }
+        return z + rows(count, WIDTH);
+    }
+    
+    private int placeTubes(int count, int z) {
+        BlockState tube = ModBlocks.TUBE_NORMAL.get().defaultBlockState();
+        for (int i = 0; i < count; i++) {
+            level.setBlock(at(i % WIDTH, 1, z + i / WIDTH), tube, Block.UPDATE_ALL);
+        }
+        return z + rows(count, WIDTH);
+    }
+    
+    /**
+     * Each altar takes a 3x3 footprint: the central pedestal with the matrix two
+     * blocks above it, arcane pillars on the corners and item pedestals on the sides.
+     * The matrix is switched on so it renders its spinning, glowing state; starting
+     * an actual craft needs a recipe and essentia, which would drain the jars.
+     */
+    private int placeAltars(int count, int z) {
+        int perRow = WIDTH / ALTAR_SPACING;
+        for (int i = 0; i < count; i++) {
+            BlockPos center = at((i % perRow) * ALTAR_SPACING + 1, 1, z + (i / perRow) * ALTAR_SPACING + 1);
+            
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    BlockPos pos = center.offset(dx, 0, dz);
+                    if (dx != 0 && dz != 0) {
+                        level.setBlock(pos, ModBlocks.ARCANE_PILLAR.get().defaultBlockState(), Block.UPDATE_ALL);
+                    } else {
+                        level.setBlock(pos, ModBlocks.PEDESTAL_ARCANE.get().defaultBlockState(), Block.UPDATE_ALL);
+                        if (level.getBlockEntity(pos) instanceof TilePedestal pedestal) {
+                            pedestal.setItem(0, new ItemStack(dx == 0 && dz == 0 ? Items.DIAMOND : Items.GOLD_INGOT));
+                            pedestal.syncTile(false);
+                        }
+                    }
+                }
+            }
+            
+            BlockPos matrixPos = center.above(2);
+            level.setBlock(matrixPos, ModBlocks.INFUSION_MATRIX.get().defaultBlockState(), Block.UPDATE_ALL);
+            BlockEntity tile = level.getBlockEntity(matrixPos);
+            if (tile instanceof TileInfusionMatrix matrix) {
+                matrix.active = true;
+                matrix.checkSurroundings = true;
+                matrix.syncTile(false);
+            }
+        }
+        return z + rows(count, perRow) * ALTAR_SPACING;
+    }
+    
+    private void placeGolems(int count, int z) {
+        int perRow = WIDTH / GOLEM_SPACING;
+        ISeal template = SealHandler.getSeal("thaumcraft:pickup");
+        
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = at((i % perRow) * GOLEM_SPACING, 1, z + (i / perRow) * GOLEM_SPACING);
+            
+            EntityThaumcraftGolem golem = ModEntities.THAUMCRAFT_GOLEM.get().create(level);
+            if (golem != null) {
+                golem.moveTo(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5, random.nextFloat() * 360.0f, 0.0f);
+                golem.setValidSpawn();
+                golem.setOwned(true);
+                golem.setOwnerUUID(player.getUUID());
+                golem.restrictTo(pos, 8);
+                golem.finalizeSpawn(level, level.getCurrentDifficultyAt(pos), MobSpawnType.COMMAND, null, null);
+                level.addFreshEntity(golem);
+            }
+            
+            if (template != null) {
+                try {
+                    ISeal seal = template.getClass().getDeclaredConstructor().newInstance();
+                    SealHandler.addSealEntity(level, pos.below(), Direction.UP, seal, player);
+                } catch (ReflectiveOperationException e) {
+                    Thaumcraft.LOGGER.error("Failed to create benchmark seal", e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Rifts hover along the middle of the strip, above everything else. Each
+     * one is clamped into the cleared volume.
+     */
+    private void placeRifts(int count, int depth) {
+        int perRow = WIDTH / RIFT_SPACING;
+        for (int i = 0; i < count; i++) {
+            int x = Math.min((i % perRow) * RIFT_SPACING + RIFT_SPACING / 2, WIDTH - 1);
+            int z = Math.min((i / perRow) * RIFT_SPACING + RIFT_SPACING / 2, depth - 1);
+            BlockPos pos = at(x, HEIGHT - 4, z);
+            
+            EntityFluxRift rift = new EntityFluxRift(level);
+            rift.setRiftSeed(random.nextInt());
+            rift.moveTo(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, random.nextFloat() * 360.0f, 0.0f);
+            rift.setRiftSize(100 + random.nextInt(100));
+            // Unstable enough to wobble; pinned, so it stays there for the whole run
+            rift.setRiftStability(random.nextFloat() * 25.0f);
+            rift.setPinned(true);
+            level.addFreshEntity(rift);
+        }
+    }
+    
+    private BlockPos at(int x, int y, int z) {
+        return origin.offset(x, y, z);
+    }
+}
@@ -92,6 +92,32 @@ public class CommandThaumcraft {
                 )
         );
 
+        // Render benchmark scene, and worldgen timing
+        builder.then(Commands.literal("bench")
+                .then(Commands.literal("worldgen")
+                        .then(Commands.argument("chunks", IntegerArgumentType.integer(1, WorldgenBenchmark.MAX_CHUNKS))
+                                .executes(context -> benchmarkWorldgen(context.getSource(),
+                                        IntegerArgumentType.getInteger(context, "chunks")))
+                        )
+                )
+                .then(Commands.argument("jars", IntegerArgumentType.integer(0, BenchmarkScene.MAX_JARS))
+                        .then(Commands.argument("tubes", IntegerArgumentType.integer(0, BenchmarkScene.MAX_TUBES))
+                                .then(Commands.argument("altars", IntegerArgumentType.integer(0, BenchmarkScene.MAX_ALTARS))
+                                        .then(Commands.argument("golems", IntegerArgumentType.integer(0, BenchmarkScene.MAX_GOLEMS))
+                                                .then(Commands.argument("rifts", IntegerArgumentType.integer(0, BenchmarkScene.MAX_RIFTS))
+                                                        .executes(context -> buildBenchmark(context.getSource(),
+                                                                IntegerArgumentType.getInteger(context, "jars"),
+                                                                IntegerArgumentType.getInteger(context, "tubes"),
+                                                                IntegerArgumentType.getInteger(context, "altars"),
+                                                                IntegerArgumentType.getInteger(context, "golems"),
+                                                                IntegerArgumentType.getInteger(context, "rifts")))
+                                                )
+                                        )
+                                )
+                        )
+                )
+        );
+
         dispatcher.register(builder);
     }
 
@@ -116,6 +142,10 @@ public class CommandThaumcraft {
         source.sendSuccess(() -> Component.literal("  not specifying perm or temp will just add normal warp"), false);
         source.sendSuccess(() -> Component.literal("§3Use this to reload json research data"), false);
         source.sendSuccess(() -> Component.literal("  /thaumcraft reload"), false);
+        source.sendSuccess(() -> Component.literal("§3Use this to build a render benchmark scene in front of you"), false);
+        source.sendSuccess(() -> Component.literal("  /thaumcraft bench <jars> <tubes> <altars> <golems> <rifts>"), false);
+        source.sendSuccess(() -> Component.literal("§3Use this to time chunk generation with and without Thaumcraft features"), false);
+        source.sendSuccess(() -> Component.literal("  /thaumcraft bench worldgen <chunks>"), false);
         return 1;
     }
 
@@ -125,6 +155,24 @@ public class CommandThaumcraft {
         return 1;
     }
 
+    private static int buildBenchmark(CommandSourceStack source, int jars, int tubes, int altars, int golems, int rifts) throws CommandSyntaxException {
+        ServerPlayer player = source.getPlayerOrException();
+        int depth = BenchmarkScene.build(player, jars, tubes, altars, golems, rifts);
+        source.sendSuccess(() -> Component.literal("§5Built benchmark scene, " + depth + " blocks deep. Record it with /tcprofile record"), true);
+        return 1;
+    }
+
+    private static int benchmarkWorldgen(CommandSourceStack source, int chunks) {
+        source.sendSuccess(() -> Component.literal("§5Generating " + chunks + " chunks twice, this may take a while..."), true);
+        WorldgenBenchmark.Result result = WorldgenBenchmark.run(source.getLevel(), chunks);
+        source.sendSuccess(() -> Component.literal(String.format(
+                "§5%d chunks: %.1f chunks/s with features, %.1f chunks/s without (%.0f%% feature cost)",
+                result.chunks(), result.withFeatures(), result.withoutFeatures(), result.featureCost() * 100.0)), true);
+        source.sendSuccess(() -> Component.literal("§7The benchmark chunks, past chunk x " + WorldgenBenchmark.START_X
+                + ", stay in the save. Use a copy of the world for benchmarking"), false);
+        return 1;
+    }
+
     private static int listResearch(CommandSourceStack source) {
         for (ResearchCategory cat : ResearchCategories.researchCategories.values()) {
             for (ResearchEntry ri : cat.research.values()) {
@@ -0,0 +1,145 @@
+package thaumcraft.common.lib;
+
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import thaumcraft.Thaumcraft;
+import thaumcraft.common.config.ModConfig;
+
+/**
+ * WorldgenBenchmark - Times chunk generation with and without Thaumcraft features.
+ * 
+ * Used by "/thaumcraft bench worldgen". The chunks are generated twice, each
+ * time in regions that have never been generated: once with magic trees and
+ * structures enabled, and once with ModConfig.generateTrees and
+ * generateStructures turned off. The difference between the two rates is the cost
+ * of Thaumcraft's features. The config flags are restored afterwards.
+ * 
+ * An untimed warm-up region is generated first, so neither pass runs on a cold
+ * JIT. Each pass is then split into two halves run in the order with, without,
+ * without, with, so anything that speeds up or slows down over the run (JIT,
+ * GC, disk caches) weighs on both passes alike.
+ * 
+ * Regions are picked far out along +X from chunk START_X and skipped if their
+ * corner chunks are already saved, so repeated runs keep measuring fresh
+ * terrain. The generated chunks are saved with the world like any others and
+ * are not removed afterwards: run the benchmark on a copy of a world, or
+ * delete the region files past x = START_X * 16 once it is done.
+ */
+public class WorldgenBenchmark {
+    
+    public static final int MAX_CHUNKS = 1024;
+    
+    /** Chunk X of the first region tried, far from any normal play area */
+    public static final int START_X = 100000;
+    
+    /** Chunks between regions, so features never spill from one into the next */
+    private static final int GAP = 4;
+    
+    /** Side of the untimed warm-up region, in chunks */
+    private static final int WARMUP_SIDE = 4;
+    
+    private final ServerLevel level;
+    
+    /** Side of each half pass's region, in chunks */
+    private final int side;
+    private int nextX = START_X;
+    
+    private WorldgenBenchmark(ServerLevel level, int chunks) {
+        this.level = level;
+        this.side = Math.max(1, (int) Math.ceil(Math.sqrt(chunks / 2.0)));
+    }
+    
+    /**
+     * Result of one benchmark: chunks per second with features on and off
+     */
+    public record Result(int chunks, double withFeatures, double withoutFeatures) {
+        
+        public double featureCost() {
+            return withoutFeatures <= 0.0 ? 0.0 : 1.0 - withFeatures / withoutFeatures;
+        }
+    }
+    
+    /**
+     * Generate about the given number of chunks twice, with and without features.
+     * Runs on the server thread and blocks it until both passes are done.
+     */
+    public static Result run(ServerLevel level, int chunks) {
+        WorldgenBenchmark bench = new WorldgenBenchmark(level, chunks);
+        boolean trees = ModConfig.generateTrees;
+        boolean structures = ModConfig.generateStructures;
+        int firstX = bench.nextX;
+        
+        long withNanos = 0L;
+        long withoutNanos = 0L;
+        try {
+            setFeatures(true);
+            bench.generate(bench.freshRegion(WARMUP_SIDE), WARMUP_SIDE);
+            
+            withNanos += bench.generate(bench.freshRegion(bench.side), bench.side);
+            setFeatures(false);
+            withoutNanos += bench.generate(bench.freshRegion(bench.side), bench.side);
+            withoutNanos += bench.generate(bench.freshRegion(bench.side), bench.side);
+            setFeatures(true);
+            withNanos += bench.generate(bench.freshRegion(bench.side), bench.side);
+        } finally {
+            ModConfig.generateTrees = trees;
+            ModConfig.generateStructures = structures;
+        }
+        
+        int perPass = bench.side * bench.side * 2;
+        Result result = new Result(perPass, rate(perPass, withNanos), rate(perPass, withoutNanos));
+        Thaumcraft.LOGGER.info("Worldgen benchmark in {}: {} chunks, {} chunks/s with features, {} chunks/s without",
+                level.dimension().location(), result.chunks(),
+                String.format("%.1f", result.withFeatures()), String.format("%.1f", result.withoutFeatures()));
+        Thaumcraft.LOGGER.info("Worldgen benchmark generated chunks x {} to {}, z 0 to {}; they stay in the save",
+                firstX, bench.nextX - GAP - 1, bench.side - 1);
+        return result;
+    }
+    
+    private static void setFeatures(boolean enabled) {
+        ModConfig.generateTrees = enabled;
+        ModConfig.generateStructures = enabled;
+    }
+    
+    private static double rate(int chunks, long nanos) {
+        return nanos <= 0L ? 0.0 : chunks / (nanos / 1.0E9);
+    }
+    
+    /**
+     * Generate every chunk of the square of the given side starting at corner
+     * to FULL status.
+     * 
+     * @return nanoseconds taken
+     */
+    private long generate(ChunkPos corner, int size) {
+        ServerChunkCache source = level.getChunkSource();
+        long start = System.nanoTime();
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                source.getChunk(corner.x + x, corner.z + z, ChunkStatus.FULL, true);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+    
+    /**
+     * Corner of the next region of the given side whose corner chunks have
+     * never been saved.
+     */
+    private ChunkPos freshRegion(int size) {
+        while (true) {
+            ChunkPos corner = new ChunkPos(nextX, 0);
+            nextX += size + GAP;
+            if (!isSaved(corner) && !isSaved(new ChunkPos(corner.x + size - 1, corner.z + size - 1))) {
+                return corner;
+            }
+        }
+    }
+    
+    private boolean isSaved(ChunkPos pos) {
+        if (level.getChunkSource().hasChunk(pos.x, pos.z)) return true;
+        return level.getChunkSource().chunkMap.read(pos).join().isPresent();
+    }
+}
@@ -1,15 +1,20 @@
 package thaumcraft.common.lib.capabilities;
 
-import java.util.Collections;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
@@ -19,11 +24,16 @@ import net.minecraftforge.common.capabilities.ICapabilitySerializable;
 import net.minecraftforge.common.util.LazyOptional;
 import thaumcraft.Thaumcraft;
 import thaumcraft.api.capabilities.IPlayerKnowledge;
+import thaumcraft.api.research.ResearchCategories;
+import thaumcraft.api.research.ResearchQuery;
 
 /**
  * PlayerKnowledge - Implementation of the IPlayerKnowledge capability.
  * Tracks all research progress and knowledge points for a player.
  * 
+ * Research state is indexed by the dense ids handed out by ResearchCategories,
+ * so a known/complete check is a bit test plus an array read.
+ * 
  * @author Azanor
  * Ported to 1.20.1
  */
@@ -36,17 +46,41 @@ public class PlayerKnowledge {
      */
     public static class DefaultImpl implements IPlayerKnowledge {
         
-        private final HashSet<String> research = new HashSet<>();
-        private final Map<String, Integer> stages = new HashMap<>();
-        private final Map<String, HashSet<EnumResearchFlag>> flags = new HashMap<>();
+        // Indexed by research id
+        private final BitSet research = new BitSet();
+        private int[] stages = new int[0];
+        private byte[] flags = new byte[0];
         private final Map<String, Integer> knowledge = new HashMap<>();
+        private final Set<String> researchView = new ResearchView();
+        private int revision = 0;
+        
+        // Change journal - ids/keys modified since the last sync
+        private final BitSet changedResearch = new BitSet();
+        private final Set<String> changedKnowledge = new HashSet<>();
+        private boolean fullResync = false;
         
         @Override
         public void clear() {
             research.clear();
-            flags.clear();
-            stages.clear();
+            Arrays.fill(stages, 0);
+            Arrays.fill(flags, (byte) 0);
             knowledge.clear();
+            changedResearch.clear();
+            changedKnowledge.clear();
+            fullResync = true;
+            revision++;
+        }
+        
+        private void ensureCapacity(int id) {
+            if (id >= stages.length) {
+                int size = Math.max(id + 1, Math.max(64, stages.length * 2));
+                stages = Arrays.copyOf(stages, size);
+                flags = Arrays.copyOf(flags, size);
+            }
+        }
+        
+        private static int flagBit(EnumResearchFlag flag) {
+            return 1 << flag.ordinal();
         }
         
         @Override
@@ -68,51 +102,63 @@ public class PlayerKnowledge {
         
         @Override
         public boolean isResearchKnown(String res) {
-            if (res == null) {
-                return false;
-            }
-            if (res.isEmpty()) {
-                return true;
-            }
-            String[] ss = res.split("@");
-            return (ss.length <= 1 || getResearchStage(ss[0]) >= parseInt(ss[1], 0)) && research.contains(ss[0]);
+            return res != null && ResearchQuery.of(res).isKnown(this);
         }
         
-        private int parseInt(String s, int defaultValue) {
-            try {
-                return Integer.parseInt(s);
-            } catch (NumberFormatException e) {
-                return defaultValue;
-            }
+        @Override
+        public boolean isResearchKnown(int id) {
+            return id >= 0 && research.get(id);
         }
         
         @Override
         public boolean isResearchComplete(String res) {
-            return getResearchStatus(res) == EnumResearchStatus.COMPLETE;
+            return res != null && isResearchComplete(ResearchCategories.getResearchId(res));
+        }
+        
+        @Override
+        public boolean isResearchComplete(int id) {
+            return isResearchKnown(id) && id < stages.length && stages[id] > 0;
         }
         
         @Override
         public int getResearchStage(String res) {
-            if (res == null || !research.contains(res)) {
+            if (res == null) {
+                return -1;
+            }
+            return getResearchStage(ResearchCategories.getResearchId(res));
+        }
+        
+        @Override
+        public int getResearchStage(int id) {
+            if (!isResearchKnown(id)) {
                 return -1;
             }
-            Integer stage = stages.get(res);
-            return (stage == null) ? 0 : stage;
+            return id < stages.length ? stages[id] : 0;
         }
         
         @Override
         public boolean setResearchStage(String res, int stage) {
-            if (res == null || !research.contains(res) || stage <= 0) {
+            if (res == null || stage <= 0) {
                 return false;
             }
-            stages.put(res, stage);
+            int id = ResearchCategories.getResearchId(res);
+            if (!isResearchKnown(id)) {
+                return false;
+            }
+            ensureCapacity(id);
+            stages[id] = stage;
+            changedResearch.set(id);
+            revision++;
             return true;
         }
         
         @Override
         public boolean addResearch(@Nonnull String res) {
             if (!isResearchKnown(res)) {
-                research.add(res);
+                int id = ResearchCategories.internResearchKey(res);
+                research.set(id);
+                changedResearch.set(id);
+                revision++;
                 return true;
             }
             return false;
@@ -121,46 +167,59 @@ public class PlayerKnowledge {
         @Override
         public boolean removeResearch(@Nonnull String res) {
             if (isResearchKnown(res)) {
-                research.remove(res);
-                stages.remove(res);
-                flags.remove(res);
+                int id = ResearchCategories.getResearchId(res);
+                if (id >= 0) {
+                    research.clear(id);
+                    if (id < stages.length) {
+                        stages[id] = 0;
+                        flags[id] = 0;
+                    }
+                    changedResearch.set(id);
+                    revision++;
+                }
                 return true;
             }
             return false;
         }
         
+        @Override
+        public int getResearchRevision() {
+            return revision;
+        }
+        
         @Nonnull
         @Override
         public Set<String> getResearchList() {
-            return Collections.unmodifiableSet(research);
+            return researchView;
         }
         
         @Override
         public boolean setResearchFlag(@Nonnull String res, @Nonnull EnumResearchFlag flag) {
-            HashSet<EnumResearchFlag> list = flags.computeIfAbsent(res, k -> new HashSet<>());
-            if (list.contains(flag)) {
+            int id = ResearchCategories.internResearchKey(res);
+            ensureCapacity(id);
+            if ((flags[id] & flagBit(flag)) != 0) {
                 return false;
             }
-            list.add(flag);
+            flags[id] |= (byte) flagBit(flag);
+            changedResearch.set(id);
             return true;
         }
         
         @Override
         public boolean clearResearchFlag(@Nonnull String res, @Nonnull EnumResearchFlag flag) {
-            HashSet<EnumResearchFlag> list = flags.get(res);
-            if (list != null) {
-                boolean b = list.remove(flag);
-                if (list.isEmpty()) {
-                    flags.remove(res);
-                }
-                return b;
+            int id = ResearchCategories.getResearchId(res);
+            if (id < 0 || id >= flags.length || (flags[id] & flagBit(flag)) == 0) {
+                return false;
             }
-            return false;
+            flags[id] &= (byte) ~flagBit(flag);
+            changedResearch.set(id);
+            return true;
         }
         
         @Override
         public boolean hasResearchFlag(@Nonnull String res, @Nonnull EnumResearchFlag flag) {
-            return flags.get(res) != null && flags.get(res).contains(flag);
+            int id = ResearchCategories.getResearchId(res);
+            return id >= 0 && id < flags.length && (flags[id] & flagBit(flag)) != 0;
         }
         
         private String getKey(EnumKnowledgeType type, String category) {
@@ -176,6 +235,7 @@ public class PlayerKnowledge {
             }
             c += amount;
             knowledge.put(key, c);
+            changedKnowledge.add(key);
             return true;
         }
         
@@ -201,32 +261,175 @@ public class PlayerKnowledge {
         }
         
         @Override
-        public CompoundTag serializeNBT() {
+        public void syncChanges(@Nonnull ServerPlayer player) {
+            if (hasChanges()) {
+                thaumcraft.common.lib.network.PacketHandler.sendToPlayer(
+                    new thaumcraft.common.lib.network.playerdata.PacketSyncKnowledgeDelta(player), 
+                    player
+                );
+            }
+        }
+        
+        @Override
+        public boolean hasChanges() {
+            return fullResync || !changedResearch.isEmpty() || !changedKnowledge.isEmpty();
+        }
+        
+        @Override
+        public void clearChanges() {
+            changedResearch.clear();
+            changedKnowledge.clear();
+            fullResync = false;
+        }
+        
+        @Nonnull
+        @Override
+        public CompoundTag serializeChanges() {
+            if (fullResync) {
+                CompoundTag rootTag = serializeNBT();
+                rootTag.putBoolean("full", true);
+                return rootTag;
+            }
+            
             CompoundTag rootTag = new CompoundTag();
+            BitSet present = (BitSet) changedResearch.clone();
+            present.and(research);
+            writeResearch(rootTag, present);
             
-            ListTag researchList = new ListTag();
-            for (String resKey : research) {
+            ListTag removedList = new ListTag();
+            for (int id = changedResearch.nextSetBit(0); id >= 0; id = changedResearch.nextSetBit(id + 1)) {
+                if (!research.get(id)) {
+                    removedList.add(StringTag.valueOf(ResearchCategories.getResearchKey(id)));
+                }
+            }
+            rootTag.put("removed", removedList);
+            
+            ListTag knowledgeList = new ListTag();
+            for (String key : changedKnowledge) {
                 CompoundTag tag = new CompoundTag();
-                tag.putString("key", resKey);
-                if (stages.containsKey(resKey)) {
-                    tag.putInt("stage", stages.get(resKey));
+                tag.putString("key", key);
+                tag.putInt("amount", knowledge.getOrDefault(key, 0));
+                knowledgeList.add(tag);
+            }
+            rootTag.put("knowledge", knowledgeList);
+            
+            return rootTag;
+        }
+        
+        @Override
+        public void deserializeChanges(@Nonnull CompoundTag changes) {
+            if (changes.getBoolean("full")) {
+                deserializeNBT(changes);
+                return;
+            }
+            
+            revision++;
+            ListTag removedList = changes.getList("removed", Tag.TAG_STRING);
+            for (int i = 0; i < removedList.size(); i++) {
+                int id = ResearchCategories.getResearchId(removedList.getString(i));
+                if (id >= 0) {
+                    research.clear(id);
+                    if (id < stages.length) {
+                        stages[id] = 0;
+                        flags[id] = 0;
+                    }
+                }
+            }
+            
+            readResearch(changes);
+            
+            ListTag knowledgeList = changes.getList("knowledge", Tag.TAG_COMPOUND);
+            for (int j = 0; j < knowledgeList.size(); j++) {
+                CompoundTag tag = knowledgeList.getCompound(j);
+                String key = tag.getString("key");
+                int amount = tag.getInt("amount");
+                if (key.isEmpty()) {
+                    continue;
+                }
+                if (amount > 0) {
+                    knowledge.put(key, amount);
+                } else {
+                    knowledge.remove(key);
+                }
+            }
+        }
+        
+        /**
+         * Writes the given research ids as three parallel tags: keys, stages and flag bitmasks.
+         * Much smaller than one compound per entry.
+         */
+        private void writeResearch(CompoundTag rootTag, BitSet ids) {
+            int count = ids.cardinality();
+            ListTag keys = new ListTag();
+            int[] stageArray = new int[count];
+            byte[] flagArray = new byte[count];
+            int i = 0;
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                keys.add(StringTag.valueOf(ResearchCategories.getResearchKey(id)));
+                if (id < stages.length) {
+                    stageArray[i] = stages[id];
+                    flagArray[i] = flags[id];
+                }
+                i++;
+            }
+            rootTag.put("research_keys", keys);
+            rootTag.putIntArray("research_stages", stageArray);
+            rootTag.putByteArray("research_flags", flagArray);
+        }
+        
+        /**
+         * Reads research written by writeResearch, or the older one-compound-per-entry list.
+         * Entries present in the tag replace any existing stage and flags.
+         */
+        private void readResearch(CompoundTag rootTag) {
+            if (rootTag.contains("research_keys", Tag.TAG_LIST)) {
+                ListTag keys = rootTag.getList("research_keys", Tag.TAG_STRING);
+                int[] stageArray = rootTag.getIntArray("research_stages");
+                byte[] flagArray = rootTag.getByteArray("research_flags");
+                for (int i = 0; i < keys.size(); i++) {
+                    String key = keys.getString(i);
+                    if (!key.isEmpty()) {
+                        setResearchState(key, i < stageArray.length ? stageArray[i] : 0,
+                                i < flagArray.length ? flagArray[i] : 0);
+                    }
+                }
+                return;
+            }
+            
+            ListTag researchList = rootTag.getList("research", Tag.TAG_COMPOUND);
+            for (int i = 0; i < researchList.size(); i++) {
+                CompoundTag tag = researchList.getCompound(i);
+                String key = tag.getString("key");
+                if (key.isEmpty()) {
+                    continue;
                 }
-                if (flags.containsKey(resKey)) {
-                    HashSet<EnumResearchFlag> list = flags.get(resKey);
-                    if (list != null && !list.isEmpty()) {
-                        StringBuilder fs = new StringBuilder();
-                        for (EnumResearchFlag flag : list) {
-                            if (fs.length() > 0) {
-                                fs.append(",");
-                            }
-                            fs.append(flag.name());
+                byte mask = 0;
+                String fs = tag.getString("flags");
+                if (!fs.isEmpty()) {
+                    for (String s : fs.split(",")) {
+                        try {
+                            mask |= (byte) flagBit(EnumResearchFlag.valueOf(s));
+                        } catch (IllegalArgumentException ignored) {
                         }
-                        tag.putString("flags", fs.toString());
                     }
                 }
-                researchList.add(tag);
+                setResearchState(key, tag.getInt("stage"), mask);
             }
-            rootTag.put("research", researchList);
+        }
+        
+        private void setResearchState(String key, int stage, byte mask) {
+            int id = ResearchCategories.internResearchKey(key);
+            ensureCapacity(id);
+            research.set(id);
+            stages[id] = Math.max(stage, 0);
+            flags[id] = mask;
+        }
+        
+        @Override
+        public CompoundTag serializeNBT() {
+            CompoundTag rootTag = new CompoundTag();
+            
+            writeResearch(rootTag, research);
             
             ListTag knowledgeList = new ListTag();
             for (Map.Entry<String, Integer> entry : knowledge.entrySet()) {
@@ -251,29 +454,7 @@ public class PlayerKnowledge {
             }
             clear();
             
-            ListTag researchList = rootTag.getList("research", Tag.TAG_COMPOUND);
-            for (int i = 0; i < researchList.size(); i++) {
-                CompoundTag tag = researchList.getCompound(i);
-                String know = tag.getString("key");
-                if (know != null && !know.isEmpty() && !isResearchKnown(know)) {
-                    research.add(know);
-                    int stage = tag.getInt("stage");
-                    if (stage > 0) {
-                        stages.put(know, stage);
-                    }
-                    String fs = tag.getString("flags");
-                    if (!fs.isEmpty()) {
-                        String[] ss = fs.split(",");
-                        for (String s : ss) {
-                            try {
-                                EnumResearchFlag flag = EnumResearchFlag.valueOf(s);
-                                setResearchFlag(know, flag);
-                            } catch (IllegalArgumentException ignored) {
-                            }
-                        }
-                    }
-                }
-            }
+            readResearch(rootTag);
             
             ListTag knowledgeList = rootTag.getList("knowledge", Tag.TAG_COMPOUND);
             for (int j = 0; j < knowledgeList.size(); j++) {
@@ -288,6 +469,44 @@ public class PlayerKnowledge {
             // TODO: Add auto-unlock research when ResearchCategories is implemented
             // addAutoUnlockResearch();
         }
+        
+        /**
+         * Unmodifiable live view of the known research keys, backed by the research bitset.
+         */
+        private class ResearchView extends AbstractSet<String> {
+            
+            @Override
+            public Iterator<String> iterator() {
+                return new Iterator<>() {
+                    private int next = research.nextSetBit(0);
+                    
+                    @Override
+                    public boolean hasNext() {
+                        return next >= 0;
+                    }
+                    
+                    @Override
+                    public String next() {
+                        if (next < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        String key = ResearchCategories.getResearchKey(next);
+                        next = research.nextSetBit(next + 1);
+                        return key;
+                    }
+                };
+            }
+            
+            @Override
+            public int size() {
+                return research.cardinality();
+            }
+            
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof String s && isResearchKnown(ResearchCategories.getResearchId(s));
+            }
+        }
     }
     
     /**
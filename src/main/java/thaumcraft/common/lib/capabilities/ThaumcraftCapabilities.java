@@ -15,6 +15,7 @@ import net.minecraftforge.fml.common.Mod;
 import thaumcraft.Thaumcraft;
 import thaumcraft.api.capabilities.IPlayerKnowledge;
 import thaumcraft.api.capabilities.IPlayerWarp;
+import thaumcraft.api.research.ResearchEntry;
 import thaumcraft.common.golems.seals.SealHandler;
 
 /**
@@ -72,6 +73,26 @@ public class ThaumcraftCapabilities {
                 .orElse(false);
     }
     
+    /**
+     * Check if a research entry is known by a player, by its id
+     */
+    public static boolean isResearchKnown(Player player, ResearchEntry entry) {
+        int id = entry.getId();
+        return getKnowledge(player)
+                .map(k -> id >= 0 ? k.isResearchKnown(id) : k.isResearchKnown(entry.getKey()))
+                .orElse(false);
+    }
+    
+    /**
+     * Check if a research entry is complete for a player, by its id
+     */
+    public static boolean isResearchComplete(Player player, ResearchEntry entry) {
+        int id = entry.getId();
+        return getKnowledge(player)
+                .map(k -> id >= 0 ? k.isResearchComplete(id) : k.isResearchComplete(entry.getKey()))
+                .orElse(false);
+    }
+    
     // ==================== Event Handlers ====================
     
     /**
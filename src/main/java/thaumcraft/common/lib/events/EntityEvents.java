@@ -20,7 +20,6 @@ import net.minecraftforge.event.entity.EntityEvent;
 import net.minecraftforge.event.entity.EntityJoinLevelEvent;
 import net.minecraftforge.event.entity.item.ItemExpireEvent;
 import net.minecraftforge.event.entity.living.LivingDropsEvent;
-import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.event.entity.living.LivingHurtEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -80,15 +79,8 @@ public class EntityEvents {
         }
     }
 
-    /**
-     * Handle living entity tick - champion mob effects.
-     * TODO: Full champion mod system needs to be ported
-     */
-    @SubscribeEvent
-    public static void onLivingTick(LivingEvent.LivingTickEvent event) {
-        // Champion mob tick effects would go here
-        // For now, this is a placeholder for future implementation
-    }
+    // TODO: Champion mob tick effects - subscribe to LivingTickEvent only once the champion
+    // system is ported, so mobs don't pay per-entity event dispatch for an empty handler
 
     /**
      * Handle entity hurt events.
@@ -126,9 +118,7 @@ public class EntityEvents {
                 IPlayerKnowledge knowledge = ThaumcraftCapabilities.getKnowledge(player);
                 if (knowledge != null) {
                     knowledge.addResearch("f_onfire");
-                    if (player instanceof ServerPlayer serverPlayer) {
-                        knowledge.sync(serverPlayer);
-                    }
+                    PlayerEvents.markForSync(player);
                     // TODO: Send status message about research discovery
                 }
             }
@@ -142,12 +132,12 @@ public class EntityEvents {
                 if (directSource instanceof AbstractArrow && 
                     !ThaumcraftCapabilities.knowsResearch(player, "f_arrow")) {
                     knowledge.addResearch("f_arrow");
-                    if (player instanceof ServerPlayer sp) knowledge.sync(sp);
+                    PlayerEvents.markForSync(player);
                 }
                 if (directSource instanceof Fireball && 
                     !ThaumcraftCapabilities.knowsResearch(player, "f_fireball")) {
                     knowledge.addResearch("f_fireball");
-                    if (player instanceof ServerPlayer sp) knowledge.sync(sp);
+                    PlayerEvents.markForSync(player);
                 }
             }
         }
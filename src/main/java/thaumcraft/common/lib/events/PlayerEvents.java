@@ -9,7 +9,6 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.event.entity.EntityJoinLevelEvent;
 import net.minecraftforge.event.entity.item.ItemTossEvent;
-import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerWakeUpEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
@@ -19,15 +18,15 @@ import thaumcraft.api.ThaumcraftApi;
 import thaumcraft.api.capabilities.IPlayerKnowledge;
 import thaumcraft.api.capabilities.IPlayerWarp;
 import thaumcraft.api.capabilities.ThaumcraftCapabilities;
+import thaumcraft.api.research.ScanningManager;
 import thaumcraft.common.blocks.world.ore.BlockCrystalTC;
 import thaumcraft.common.items.resources.ItemVisCrystal;
 import thaumcraft.init.ModBlocks;
 import thaumcraft.init.ModItems;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * PlayerEvents - Handles all player-related events for Thaumcraft.
@@ -36,6 +35,7 @@ import java.util.Set;
  * - Attach capabilities to players
  * - Sync knowledge/warp when player joins
  * - Clone capabilities on death/dimension change
+ * - Queue knowledge syncs (sent by PlayerTickScheduler)
  * - Track research progress triggers (crystal pickup, thaumonomicon, etc.)
  * 
  * Key API changes:
@@ -49,8 +49,8 @@ import java.util.Set;
 @Mod.EventBusSubscriber(modid = Thaumcraft.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
 public class PlayerEvents {
     
-    // Players that need their knowledge synced
-    public static final Set<String> syncList = new HashSet<>();
+    // Players that need their knowledge changes synced, keyed by UUID (thread-safe)
+    public static final Set<UUID> syncList = ConcurrentHashMap.newKeySet();
     
     // ==================== Capability Events ====================
     
@@ -106,42 +106,13 @@ public class PlayerEvents {
         }
     }
     
-    // ==================== Tick Events ====================
-    
     /**
-     * Player tick event - handles periodic sync and warp effects
+     * Drop per-player caches when a player leaves
      */
     @SubscribeEvent
-    public static void livingTick(LivingEvent.LivingTickEvent event) {
-        if (event.getEntity() instanceof Player player) {
-            if (!player.level().isClientSide) {
-                // Periodic knowledge sync (every 20 ticks)
-                if (player.tickCount % 20 == 0 && player instanceof ServerPlayer serverPlayer) {
-                    String playerName = player.getName().getString();
-                    if (syncList.remove(playerName)) {
-                        IPlayerKnowledge knowledge = ThaumcraftCapabilities.getKnowledge(player);
-                        if (knowledge != null) {
-                            knowledge.sync(serverPlayer);
-                        }
-                    }
-                }
-                
-                // TODO: Periodic research checks (every 200 ticks)
-                // if (player.tickCount % 200 == 0) {
-                //     ConfigResearch.checkPeriodicStuff(player);
-                // }
-                
-                // Warp effects (every 2000 ticks = ~100 seconds)
-                if (player.tickCount % 2000 == 0) {
-                    WarpEvents.checkWarpEvent(player);
-                }
-                
-                // Death Gaze effect check (every 20 ticks)
-                if (player.tickCount % 20 == 5) {
-                    WarpEvents.checkDeathGaze(player);
-                }
-            }
-        }
+    public static void playerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        syncList.remove(event.getEntity().getUUID());
+        ScanningManager.forgetPlayer(event.getEntity());
     }
     
     // ==================== Sleep Events ====================
@@ -254,10 +225,11 @@ public class PlayerEvents {
     // ==================== Utility Methods ====================
     
     /**
-     * Mark a player for knowledge sync on next tick
+     * Mark a player for knowledge sync on their next scheduled sync tick.
+     * Only the changes recorded in the player's knowledge journal are sent.
      */
     public static void markForSync(Player player) {
-        syncList.add(player.getName().getString());
+        syncList.add(player.getUUID());
     }
     
     /**
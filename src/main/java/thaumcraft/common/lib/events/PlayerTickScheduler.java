@@ -0,0 +1,194 @@
+package thaumcraft.common.lib.events;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.server.ServerLifecycleHooks;
+import thaumcraft.Thaumcraft;
+import thaumcraft.api.capabilities.IPlayerKnowledge;
+import thaumcraft.api.capabilities.ThaumcraftCapabilities;
+import thaumcraft.common.config.ConfigResearch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PlayerTickScheduler - Runs periodic per-player work on a timer wheel.
+ * 
+ * Replaces modulo checks on every LivingTickEvent. Each logged-in player has one
+ * entry per task in the wheel; a server tick only touches the slot that is due,
+ * so cost scales with the work that actually runs instead of with entity count.
+ * 
+ * Tasks:
+ * - Knowledge delta sync (every 20 ticks, only for players queued with markForSync)
+ * - Death gaze (every 20 ticks)
+ * - Periodic research checks (every 200 ticks)
+ * - Warp events (every 2000 ticks)
+ */
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID, bus = Mod.EventBusSubscriber.Bus.FORGE)
+public class PlayerTickScheduler {
+    
+    /**
+     * Periodic player tasks and their intervals in ticks
+     */
+    public enum Task {
+        KNOWLEDGE_SYNC(20),
+        DEATH_GAZE(20),
+        RESEARCH_CHECK(200),
+        WARP_CHECK(2000);
+        
+        private final int interval;
+        
+        Task(int interval) {
+            this.interval = interval;
+        }
+        
+        public int getInterval() {
+            return interval;
+        }
+    }
+    
+    // Wheel size must be a power of two; tasks further out than this wait extra rotations
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    
+    @SuppressWarnings("unchecked")
+    private static final List<Entry>[] wheel = new List[WHEEL_SIZE];
+    static {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+    
+    private static long currentTick = 0;
+    
+    // ==================== Scheduling ====================
+    
+    /**
+     * Schedule every task for a player. Start times are spread by UUID so that
+     * players who joined together do not all run their warp checks on the same tick.
+     */
+    public static void schedulePlayer(ServerPlayer player) {
+        UUID id = player.getUUID();
+        unschedulePlayer(id);
+        for (Task task : Task.values()) {
+            int offset = Math.floorMod(id.hashCode() + task.ordinal(), task.getInterval());
+            schedule(new Entry(id, task, currentTick + 1 + offset));
+        }
+    }
+    
+    /**
+     * Remove every task for a player.
+     */
+    public static void unschedulePlayer(UUID id) {
+        for (List<Entry> slot : wheel) {
+            slot.removeIf(e -> e.player.equals(id));
+        }
+    }
+    
+    private static void schedule(Entry entry) {
+        wheel[(int) (entry.due & WHEEL_MASK)].add(entry);
+    }
+    
+    // ==================== Events ====================
+    
+    @SubscribeEvent
+    public static void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            schedulePlayer(player);
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        unschedulePlayer(event.getEntity().getUUID());
+    }
+    
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        for (List<Entry> slot : wheel) {
+            slot.clear();
+        }
+    }
+    
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return;
+        }
+        
+        currentTick++;
+        List<Entry> slot = wheel[(int) (currentTick & WHEEL_MASK)];
+        if (slot.isEmpty()) {
+            return;
+        }
+        
+        // Pull out the due entries first - running them may schedule into this same slot
+        List<Entry> due = new ArrayList<>();
+        slot.removeIf(e -> {
+            if (e.due <= currentTick) {
+                due.add(e);
+                return true;
+            }
+            return false;
+        });
+        
+        for (Entry entry : due) {
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.player);
+            if (player == null) {
+                // Player left without a logout event (e.g. server shutdown) - drop the entry
+                continue;
+            }
+            entry.due = currentTick + entry.task.getInterval();
+            schedule(entry);
+            if (player.isAlive()) {
+                try {
+                    run(entry.task, player);
+                } catch (Exception e) {
+                    Thaumcraft.LOGGER.error("Error running {} for player {}", entry.task,
+                            player.getName().getString(), e);
+                }
+            }
+        }
+    }
+    
+    private static void run(Task task, ServerPlayer player) {
+        switch (task) {
+            case KNOWLEDGE_SYNC -> {
+                if (PlayerEvents.syncList.remove(player.getUUID())) {
+                    IPlayerKnowledge knowledge = ThaumcraftCapabilities.getKnowledge(player);
+                    if (knowledge != null) {
+                        knowledge.syncChanges(player);
+                    }
+                }
+            }
+            case DEATH_GAZE -> WarpEvents.checkDeathGaze(player);
+            case RESEARCH_CHECK -> ConfigResearch.checkPeriodicResearch(player);
+            case WARP_CHECK -> WarpEvents.checkWarpEvent(player);
+        }
+    }
+    
+    /**
+     * A task instance for one player
+     */
+    private static class Entry {
+        final UUID player;
+        final Task task;
+        long due;
+        
+        Entry(UUID player, Task task, long due) {
+            this.player = player;
+            this.task = task;
+            this.due = due;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import thaumcraft.common.lib.network.playerdata.PacketFocusNameToServer;
 import thaumcraft.common.lib.network.playerdata.PacketFocusNodesToServer;
 import thaumcraft.common.lib.network.playerdata.PacketPlayerFlagToServer;
 import thaumcraft.common.lib.network.playerdata.PacketSyncKnowledge;
+import thaumcraft.common.lib.network.playerdata.PacketSyncKnowledgeDelta;
 import thaumcraft.common.lib.network.playerdata.PacketSyncProgressToServer;
 import thaumcraft.common.lib.network.playerdata.PacketSyncResearchFlagsToServer;
 import thaumcraft.common.lib.network.playerdata.PacketSyncWarp;
@@ -93,6 +94,12 @@ public class PacketHandler {
                 .consumerMainThread(PacketSyncKnowledge::handle)
                 .add();
         
+        INSTANCE.messageBuilder(PacketSyncKnowledgeDelta.class, nextId(), NetworkDirection.PLAY_TO_CLIENT)
+                .encoder(PacketSyncKnowledgeDelta::encode)
+                .decoder(PacketSyncKnowledgeDelta::decode)
+                .consumerMainThread(PacketSyncKnowledgeDelta::handle)
+                .add();
+        
         INSTANCE.messageBuilder(PacketSyncWarp.class, nextId(), NetworkDirection.PLAY_TO_CLIENT)
                 .encoder(PacketSyncWarp::encode)
                 .decoder(PacketSyncWarp::decode)
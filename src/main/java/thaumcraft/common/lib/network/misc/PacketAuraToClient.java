@@ -4,6 +4,7 @@ import net.minecraft.network.FriendlyByteBuf;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 import net.minecraftforge.network.NetworkEvent;
+import thaumcraft.client.lib.events.HudHandler;
 import thaumcraft.common.world.aura.AuraChunk;
 
 import java.util.function.Supplier;
@@ -67,5 +68,6 @@ public class PacketAuraToClient {
     private static void handleOnClient(PacketAuraToClient msg) {
         // Store the current aura for HUD display
         currentAura = new AuraChunk(null, msg.base, msg.vis, msg.flux);
+        HudHandler.updateAura(msg.base, msg.vis, msg.flux);
     }
 }
@@ -7,6 +7,7 @@ import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.world.item.ItemStack;
 import net.minecraftforge.network.NetworkEvent;
 import thaumcraft.Thaumcraft;
+import thaumcraft.client.lib.ClientSealCache;
 import thaumcraft.api.golems.seals.ISeal;
 import thaumcraft.api.golems.seals.ISealConfigArea;
 import thaumcraft.api.golems.seals.ISealConfigFilter;
@@ -206,6 +207,7 @@ public class PacketSealToClient {
                     new SealPos(msg.pos, msg.face), 
                     true
                 );
+                ClientSealCache.remove(new SealPos(msg.pos, msg.face));
             } else {
                 // Create or update seal on client
                 ISeal template = SealHandler.getSeal(msg.type);
@@ -252,6 +254,7 @@ public class PacketSealToClient {
                 
                 // Add to handler (replaces existing if present)
                 SealHandler.addSealEntity(Thaumcraft.getClientWorld(), sealEntity);
+                ClientSealCache.put(sealEntity);
             }
         } catch (Exception e) {
             Thaumcraft.LOGGER.error("Error handling seal packet at {}", msg.pos, e);
@@ -20,8 +20,10 @@ import java.util.function.Supplier;
  * 
  * Sent when:
  * - Player logs in
- * - Research is completed
- * - Knowledge is gained
+ * - Player respawns or changes dimension
+ * - A command rewrites the player's research
+ * 
+ * Routine progress is sent as a PacketSyncKnowledgeDelta instead.
  * 
  * Ported from 1.12.2
  */
@@ -41,6 +43,8 @@ public class PacketSyncKnowledge {
             for (String key : knowledge.getResearchList()) {
                 knowledge.clearResearchFlag(key, IPlayerKnowledge.EnumResearchFlag.POPUP);
             }
+            // Everything journaled so far is covered by this packet
+            knowledge.clearChanges();
         } else {
             this.data = new CompoundTag();
         }
@@ -82,6 +86,7 @@ public class PacketSyncKnowledge {
                     knowledge.clearResearchFlag(key, IPlayerKnowledge.EnumResearchFlag.POPUP);
                 }
             }
+            knowledge.clearChanges();
         }
     }
 }
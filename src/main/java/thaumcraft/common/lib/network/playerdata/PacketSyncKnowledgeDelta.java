@@ -0,0 +1,90 @@
+package thaumcraft.common.lib.network.playerdata;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.network.NetworkEvent;
+import thaumcraft.api.capabilities.IPlayerKnowledge;
+import thaumcraft.api.capabilities.ThaumcraftCapabilities;
+import thaumcraft.api.research.ResearchCategories;
+import thaumcraft.api.research.ResearchEntry;
+import thaumcraft.client.gui.ResearchToast;
+
+import java.util.function.Supplier;
+
+/**
+ * PacketSyncKnowledgeDelta - Syncs only the research/knowledge keys that changed
+ * since the last sync from server to client.
+ * 
+ * Sent from the periodic sync in PlayerEvents for players queued with markForSync.
+ * Full resyncs (login, dimension change) still use PacketSyncKnowledge.
+ */
+public class PacketSyncKnowledgeDelta {
+    
+    private CompoundTag data;
+    
+    public PacketSyncKnowledgeDelta() {
+        this.data = new CompoundTag();
+    }
+    
+    public PacketSyncKnowledgeDelta(Player player) {
+        IPlayerKnowledge knowledge = ThaumcraftCapabilities.getKnowledge(player);
+        if (knowledge != null) {
+            this.data = knowledge.serializeChanges();
+            // Clear popup flags after sending
+            ListTag keys = data.getList("research_keys", Tag.TAG_STRING);
+            for (int i = 0; i < keys.size(); i++) {
+                knowledge.clearResearchFlag(keys.getString(i), IPlayerKnowledge.EnumResearchFlag.POPUP);
+            }
+            knowledge.clearChanges();
+        } else {
+            this.data = new CompoundTag();
+        }
+    }
+    
+    public static void encode(PacketSyncKnowledgeDelta msg, FriendlyByteBuf buf) {
+        buf.writeNbt(msg.data);
+    }
+    
+    public static PacketSyncKnowledgeDelta decode(FriendlyByteBuf buf) {
+        PacketSyncKnowledgeDelta msg = new PacketSyncKnowledgeDelta();
+        msg.data = buf.readNbt();
+        return msg;
+    }
+    
+    public static void handle(PacketSyncKnowledgeDelta msg, Supplier<NetworkEvent.Context> ctxSupplier) {
+        NetworkEvent.Context ctx = ctxSupplier.get();
+        ctx.enqueueWork(() -> handleOnClient(msg));
+        ctx.setPacketHandled(true);
+    }
+    
+    @OnlyIn(Dist.CLIENT)
+    private static void handleOnClient(PacketSyncKnowledgeDelta msg) {
+        Player player = Minecraft.getInstance().player;
+        if (player == null) return;
+        
+        IPlayerKnowledge knowledge = ThaumcraftCapabilities.getKnowledge(player);
+        if (knowledge != null && msg.data != null) {
+            knowledge.deserializeChanges(msg.data);
+            
+            // Show popup toasts for newly unlocked research - only changed keys can carry the flag
+            ListTag keys = msg.data.getList("research_keys", Tag.TAG_STRING);
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.getString(i);
+                if (knowledge.hasResearchFlag(key, IPlayerKnowledge.EnumResearchFlag.POPUP)) {
+                    ResearchEntry entry = ResearchCategories.getResearch(key);
+                    if (entry != null) {
+                        Minecraft.getInstance().getToasts().addToast(new ResearchToast(entry));
+                    }
+                    knowledge.clearResearchFlag(key, IPlayerKnowledge.EnumResearchFlag.POPUP);
+                }
+            }
+            knowledge.clearChanges();
+        }
+    }
+}
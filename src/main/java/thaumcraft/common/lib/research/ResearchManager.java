@@ -4,6 +4,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import net.minecraft.Util;
 import net.minecraft.nbt.TagParser;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
@@ -24,7 +25,8 @@ import thaumcraft.common.lib.events.PlayerEvents;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * ResearchManager - Manages all research-related operations.
@@ -39,9 +41,6 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ResearchManager {
     
-    // Players that need their knowledge synced (thread-safe)
-    public static ConcurrentHashMap<String, Boolean> syncList = new ConcurrentHashMap<>();
-    
     // Flag to suppress popups during certain operations
     public static boolean noFlags = false;
     
@@ -84,7 +83,7 @@ public class ResearchManager {
         //     }
         // }
         
-        syncList.put(player.getName().getString(), true);
+        PlayerEvents.markForSync(player);
         return true;
     }
     
@@ -248,7 +247,7 @@ public class ResearchManager {
         }
         
         if (sync) {
-            syncList.put(player.getName().getString(), true);
+            PlayerEvents.markForSync(player);
             if (entry != null) {
                 player.giveExperiencePoints(5);
             }
@@ -331,51 +330,192 @@ public class ResearchManager {
     
     /**
      * Parse all research JSON files from registered locations.
+     * 
+     * Runs as a pipeline: files are read and parsed concurrently, every item reference
+     * is resolved against the registry in one pass, and entries are built and merged into
+     * ResearchCategories on the calling thread in sorted location order, so duplicate and
+     * overlap handling is the same on every start. Building stays on the calling thread
+     * because creating ItemStacks fires capability attachment into other mods' handlers.
      */
     public static void parseAllResearch() {
+        long start = System.nanoTime();
+        
+        List<ResourceLocation> locs = new ArrayList<>(CommonInternals.jsonLocs.values());
+        locs.sort(Comparator.comparing(ResourceLocation::toString));
+        
+        // Read and parse every file concurrently - plain IO and JSON, no registry access
+        List<CompletableFuture<ResearchFile>> reads = new ArrayList<>();
+        for (ResourceLocation loc : locs) {
+            reads.add(CompletableFuture.supplyAsync(() -> readResearchFile(loc), Util.backgroundExecutor()));
+        }
+        List<ResearchFile> files = new ArrayList<>();
+        for (CompletableFuture<ResearchFile> read : reads) {
+            files.add(read.join());
+        }
+        
+        // Resolve every item reference once, up front
+        Set<String> itemNames = new HashSet<>();
+        for (ResearchFile file : files) {
+            if (file.entries != null) {
+                collectItemNames(file.entries, itemNames);
+            }
+        }
+        Map<String, Item> items = resolveItems(itemNames);
+        
+        // Build and merge on the calling thread in location order
         int totalEntries = 0;
+        for (ResearchFile file : files) {
+            if (file.entries == null) {
+                continue;
+            }
+            file.build(items);
+            for (ResearchEntry entry : file.parsed) {
+                addResearchToCategory(entry);
+            }
+            craftingReferences.addAll(file.craftRefs);
+            Thaumcraft.LOGGER.info("Loaded {} research entries from {} (read {} ms, build {} ms)", 
+                    file.parsed.size(), file.loc, file.readNanos / 1000000, file.buildNanos / 1000000);
+            totalEntries += file.parsed.size();
+        }
         
-        for (ResourceLocation loc : CommonInternals.jsonLocs.values()) {
-            String path = "/assets/" + loc.getNamespace() + "/" + loc.getPath();
-            if (!path.endsWith(".json")) {
-                path += ".json";
+        ResearchCategories.assignResearchIds();
+        Thaumcraft.LOGGER.info("Total research entries loaded: {} from {} files in {} ms", 
+                totalEntries, files.size(), (System.nanoTime() - start) / 1000000);
+    }
+    
+    /**
+     * Read and parse one research file. Safe to call off-thread.
+     */
+    private static ResearchFile readResearchFile(ResourceLocation loc) {
+        long start = System.nanoTime();
+        ResearchFile file = new ResearchFile(loc);
+        String path = "/assets/" + loc.getNamespace() + "/" + loc.getPath();
+        if (!path.endsWith(".json")) {
+            path += ".json";
+        }
+        
+        try (InputStream stream = ResearchManager.class.getResourceAsStream(path)) {
+            if (stream != null) {
+                InputStreamReader reader = new InputStreamReader(stream);
+                JsonObject obj = JsonParser.parseReader(reader).getAsJsonObject();
+                file.entries = obj.getAsJsonArray("entries");
+            } else {
+                Thaumcraft.LOGGER.warn("Research file not found: {}", path);
             }
-            
-            try (InputStream stream = ResearchManager.class.getResourceAsStream(path)) {
-                if (stream != null) {
-                    InputStreamReader reader = new InputStreamReader(stream);
-                    JsonObject obj = JsonParser.parseReader(reader).getAsJsonObject();
-                    JsonArray entries = obj.getAsJsonArray("entries");
-                    
-                    int count = 0;
-                    for (JsonElement element : entries) {
-                        try {
-                            JsonObject entryObj = element.getAsJsonObject();
-                            ResearchEntry entry = parseResearchJson(entryObj);
-                            addResearchToCategory(entry);
-                            count++;
-                        } catch (Exception e) {
-                            Thaumcraft.LOGGER.warn("Invalid research entry in {}: {}", loc, e.getMessage());
-                        }
+        } catch (Exception e) {
+            Thaumcraft.LOGGER.warn("Failed to parse research file {}: {}", loc, e.getMessage());
+        }
+        file.readNanos = System.nanoTime() - start;
+        return file;
+    }
+    
+    /**
+     * Collect the item names referenced by icons, rewards and stage requirements.
+     */
+    private static void collectItemNames(JsonArray entries, Set<String> names) {
+        for (JsonElement element : entries) {
+            if (!element.isJsonObject()) {
+                continue;
+            }
+            JsonObject obj = element.getAsJsonObject();
+            collectItemNames(obj, "icons", names);
+            collectItemNames(obj, "reward_item", names);
+            if (obj.has("stages") && obj.get("stages").isJsonArray()) {
+                for (JsonElement stage : obj.getAsJsonArray("stages")) {
+                    if (stage.isJsonObject()) {
+                        collectItemNames(stage.getAsJsonObject(), "required_item", names);
+                        collectItemNames(stage.getAsJsonObject(), "required_craft", names);
                     }
-                    
-                    Thaumcraft.LOGGER.info("Loaded {} research entries from {}", count, loc);
-                    totalEntries += count;
-                } else {
-                    Thaumcraft.LOGGER.warn("Research file not found: {}", path);
                 }
+            }
+        }
+    }
+    
+    private static void collectItemNames(JsonObject obj, String field, Set<String> names) {
+        if (!obj.has(field) || !obj.get(field).isJsonArray()) {
+            return;
+        }
+        for (JsonElement e : obj.getAsJsonArray(field)) {
+            if (e.isJsonPrimitive()) {
+                String s = e.getAsString();
+                if (!s.startsWith("tag:") && !s.startsWith("oredict:")) {
+                    names.add(getItemName(s));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Resolve item names against the registry in one pass.
+     * Names that do not resolve map to AIR.
+     */
+    private static Map<String, Item> resolveItems(Set<String> names) {
+        Map<String, Item> resolved = new HashMap<>(names.size() * 2);
+        for (String name : names) {
+            Item item;
+            try {
+                item = lookupItem(name);
             } catch (Exception e) {
-                Thaumcraft.LOGGER.warn("Failed to parse research file {}: {}", loc, e.getMessage());
+                item = null;
+            }
+            resolved.put(name, item == null ? net.minecraft.world.item.Items.AIR : item);
+        }
+        return resolved;
+    }
+    
+    /**
+     * One research file moving through the loading pipeline.
+     */
+    private static class ResearchFile {
+        final ResourceLocation loc;
+        JsonArray entries;
+        final List<ResearchEntry> parsed = new ArrayList<>();
+        final List<Integer> craftRefs = new ArrayList<>();
+        long readNanos;
+        long buildNanos;
+        
+        ResearchFile(ResourceLocation loc) {
+            this.loc = loc;
+        }
+        
+        void build(Map<String, Item> items) {
+            long start = System.nanoTime();
+            ParseContext ctx = new ParseContext(items, craftRefs);
+            for (JsonElement element : entries) {
+                try {
+                    parsed.add(parseResearchJson(element.getAsJsonObject(), ctx));
+                } catch (Exception e) {
+                    Thaumcraft.LOGGER.warn("Invalid research entry in {}: {}", loc, e.getMessage());
+                }
             }
+            buildNanos = System.nanoTime() - start;
         }
+    }
+    
+    /**
+     * Per-file parse state: pre-resolved items and the crafting references found so far.
+     */
+    private static class ParseContext {
+        final Map<String, Item> items;
+        final List<Integer> craftRefs;
         
-        Thaumcraft.LOGGER.info("Total research entries loaded: {}", totalEntries);
+        ParseContext(Map<String, Item> items, List<Integer> craftRefs) {
+            this.items = items;
+            this.craftRefs = craftRefs;
+        }
+        
+        ItemStack parseItemStack(String entry) {
+            return parseJSONtoItemStack(entry, name -> {
+                Item item = items.get(name);
+                return item != null ? item : lookupItem(name);
+            });
+        }
     }
     
     /**
      * Parse a single research entry from JSON.
      */
-    private static ResearchEntry parseResearchJson(JsonObject obj) throws Exception {
+    private static ResearchEntry parseResearchJson(JsonObject obj, ParseContext ctx) throws Exception {
         ResearchEntry entry = new ResearchEntry();
         
         // Required fields
@@ -389,7 +529,7 @@ public class ResearchManager {
             if (iconStrings != null && iconStrings.length > 0) {
                 Object[] icons = new Object[iconStrings.length];
                 for (int i = 0; i < iconStrings.length; i++) {
-                    ItemStack stack = parseJSONtoItemStack(iconStrings[i]);
+                    ItemStack stack = ctx.parseItemStack(iconStrings[i]);
                     if (!stack.isEmpty()) {
                         icons[i] = stack;
                     } else if (iconStrings[i].startsWith("focus")) {
@@ -437,7 +577,7 @@ public class ResearchManager {
         
         // Rewards
         if (obj.has("reward_item")) {
-            entry.setRewardItem(parseJsonItemList(arrayJsonToString(obj.getAsJsonArray("reward_item"))));
+            entry.setRewardItem(parseJsonItemList(arrayJsonToString(obj.getAsJsonArray("reward_item")), ctx));
         }
         if (obj.has("reward_knowledge")) {
             String[] knowledgeStrings = arrayJsonToString(obj.getAsJsonArray("reward_knowledge"));
@@ -458,7 +598,7 @@ public class ResearchManager {
             JsonArray stagesJson = obj.getAsJsonArray("stages");
             List<ResearchStage> stages = new ArrayList<>();
             for (JsonElement stageElement : stagesJson) {
-                stages.add(parseStageJson(stageElement.getAsJsonObject(), entry.getKey()));
+                stages.add(parseStageJson(stageElement.getAsJsonObject(), entry.getKey(), ctx));
             }
             if (!stages.isEmpty()) {
                 entry.setStages(stages.toArray(new ResearchStage[0]));
@@ -483,7 +623,7 @@ public class ResearchManager {
     /**
      * Parse a research stage from JSON.
      */
-    private static ResearchStage parseStageJson(JsonObject obj, String entryKey) {
+    private static ResearchStage parseStageJson(JsonObject obj, String entryKey, ParseContext ctx) {
         ResearchStage stage = new ResearchStage();
         
         stage.setText(obj.get("text").getAsString());
@@ -493,12 +633,12 @@ public class ResearchManager {
         }
         
         if (obj.has("required_item")) {
-            stage.setObtain(parseJsonOreList(arrayJsonToString(obj.getAsJsonArray("required_item"))));
+            stage.setObtain(parseJsonOreList(arrayJsonToString(obj.getAsJsonArray("required_item")), ctx));
         }
         
         if (obj.has("required_craft")) {
             String[] craftStrings = arrayJsonToString(obj.getAsJsonArray("required_craft"));
-            Object[] craftItems = parseJsonOreList(craftStrings);
+            Object[] craftItems = parseJsonOreList(craftStrings, ctx);
             stage.setCraft(craftItems);
             
             // Create crafting references for tracking
@@ -511,7 +651,7 @@ public class ResearchManager {
                     } else {
                         code = ("tag:" + craftItems[i]).hashCode();
                     }
-                    craftingReferences.add(code);
+                    ctx.craftRefs.add(code);
                     refs[i] = code;
                 }
                 stage.setCraftReference(refs);
@@ -646,11 +786,11 @@ public class ResearchManager {
         return list.toArray(new ResourceLocation[0]);
     }
     
-    private static ItemStack[] parseJsonItemList(String[] strings) {
+    private static ItemStack[] parseJsonItemList(String[] strings, ParseContext ctx) {
         if (strings == null || strings.length == 0) return null;
         List<ItemStack> items = new ArrayList<>();
         for (String s : strings) {
-            ItemStack stack = parseJSONtoItemStack(s.replace("'", "\""));
+            ItemStack stack = ctx.parseItemStack(s.replace("'", "\""));
             if (!stack.isEmpty()) {
                 items.add(stack);
             }
@@ -658,7 +798,7 @@ public class ResearchManager {
         return items.isEmpty() ? null : items.toArray(new ItemStack[0]);
     }
     
-    private static Object[] parseJsonOreList(String[] strings) {
+    private static Object[] parseJsonOreList(String[] strings, ParseContext ctx) {
         if (strings == null || strings.length == 0) return null;
         List<Object> items = new ArrayList<>();
         for (String s : strings) {
@@ -668,7 +808,7 @@ public class ResearchManager {
                 String tagName = s.contains(":") ? s.substring(s.indexOf(":") + 1) : s;
                 items.add(tagName);
             } else {
-                ItemStack stack = parseJSONtoItemStack(s);
+                ItemStack stack = ctx.parseItemStack(s);
                 if (!stack.isEmpty()) {
                     items.add(stack);
                 }
@@ -687,6 +827,10 @@ public class ResearchManager {
      * - "modid:itemname;count;{nbt}"
      */
     public static ItemStack parseJSONtoItemStack(String entry) {
+        return parseJSONtoItemStack(entry, ResearchManager::lookupItem);
+    }
+    
+    private static ItemStack parseJSONtoItemStack(String entry, Function<String, Item> itemLookup) {
         if (entry == null || entry.isEmpty()) return ItemStack.EMPTY;
         
         // Handle single quotes in NBT
@@ -724,17 +868,7 @@ public class ResearchManager {
         name = name.toLowerCase();
         
         try {
-            ResourceLocation itemId = new ResourceLocation(name);
-            Item item = ForgeRegistries.ITEMS.getValue(itemId);
-            
-            if (item == null || item == net.minecraft.world.item.Items.AIR) {
-                // Item not found - try fallback mappings for common old names
-                String mappedName = LEGACY_ITEM_MAPPINGS.get(name);
-                if (mappedName != null) {
-                    itemId = new ResourceLocation(mappedName);
-                    item = ForgeRegistries.ITEMS.getValue(itemId);
-                }
-            }
+            Item item = itemLookup.apply(name);
             
             if (item != null && item != net.minecraft.world.item.Items.AIR) {
                 ItemStack stack = new ItemStack(item, count);
@@ -748,8 +882,7 @@ public class ResearchManager {
                 return stack;
             } else {
                 // Only warn once per unknown item to avoid log spam
-                if (!warnedItems.contains(name)) {
-                    warnedItems.add(name);
+                if (warnedItems.add(name)) {
                     Thaumcraft.LOGGER.debug("Unknown item in research: {}", name);
                 }
             }
@@ -760,6 +893,28 @@ public class ResearchManager {
         return ItemStack.EMPTY;
     }
     
+    /**
+     * The registry name part of an item string, normalized as parseJSONtoItemStack does.
+     */
+    private static String getItemName(String entry) {
+        return entry.replace("'", "\"").split(";")[0].trim().toLowerCase();
+    }
+    
+    /**
+     * Look up an item by registry name, falling back to LEGACY_ITEM_MAPPINGS.
+     */
+    private static Item lookupItem(String name) {
+        Item item = ForgeRegistries.ITEMS.getValue(new ResourceLocation(name));
+        if (item == null || item == net.minecraft.world.item.Items.AIR) {
+            // Item not found - try fallback mappings for common old names
+            String mappedName = LEGACY_ITEM_MAPPINGS.get(name);
+            if (mappedName != null) {
+                item = ForgeRegistries.ITEMS.getValue(new ResourceLocation(mappedName));
+            }
+        }
+        return item;
+    }
+    
     // Track items we've already warned about to avoid log spam
     private static final Set<String> warnedItems = new HashSet<>();
     
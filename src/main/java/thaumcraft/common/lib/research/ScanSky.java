@@ -9,6 +9,7 @@ import net.minecraft.world.level.Level;
 import thaumcraft.api.ThaumcraftApi;
 import thaumcraft.api.capabilities.ThaumcraftCapabilities;
 import thaumcraft.api.research.IScanThing;
+import thaumcraft.common.lib.events.PlayerEvents;
 import thaumcraft.init.ModItems;
 
 /**
@@ -129,7 +130,7 @@ public class ScanSky implements IScanThing {
             knowledge.removeResearch(key);
         }
         
-        ResearchManager.syncList.put(player.getName().getString(), true);
+        PlayerEvents.markForSync(player);
     }
     
     @Override
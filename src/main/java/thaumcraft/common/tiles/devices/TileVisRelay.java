@@ -23,6 +23,10 @@ import java.util.List;
  * - Can be used to extend vis access from high-aura areas
  * - Shows vis beam connections between linked relays
  * 
+ * Links and balancing are handled by VisRelayNetwork, which keeps every loaded
+ * relay of a dimension in a graph. Clients are only synced when a relay's links
+ * or stored vis change, at most once per tick.
+ * 
  * Ported from 1.12.2
  */
 public class TileVisRelay extends TileThaumcraft {
@@ -40,6 +44,9 @@ public class TileVisRelay extends TileThaumcraft {
     // Tick counter
     private int tickCount = 0;
 
+    // Links or stored vis changed since the last sync
+    private boolean syncPending = false;
+
     // Animation (client-side)
     public float rotation = 0;
     public float rotationPrev = 0;
@@ -89,29 +96,37 @@ public class TileVisRelay extends TileThaumcraft {
         }
     }
 
+    // ==================== Network ====================
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        VisRelayNetwork.add(this);
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        VisRelayNetwork.remove(this);
+    }
+
     // ==================== Tick ====================
 
     public static void serverTick(Level level, BlockPos pos, BlockState state, TileVisRelay tile) {
         tile.tickCount++;
 
-        // Auto-link to nearby relays periodically
-        if (tile.tickCount % 100 == 0) {
-            tile.autoLink();
-        }
-
         // Pull vis from aura if not full
         if (tile.tickCount % 5 == 0 && tile.storedVis < MAX_VIS) {
             float toDrain = Math.min(1.0f, MAX_VIS - tile.storedVis);
             float drained = AuraHelper.drainVis(level, pos, toDrain, false);
             if (drained > 0) {
-                tile.storedVis += drained;
-                tile.markDirtyAndSync();
+                tile.setStoredVis(tile.storedVis + drained);
             }
         }
 
-        // Transfer vis to linked relays with less vis
-        if (tile.tickCount % 10 == 0 && tile.storedVis > 1.0f) {
-            tile.balanceVis();
+        if (tile.syncPending) {
+            tile.syncPending = false;
+            tile.markDirtyAndSync();
         }
     }
 
@@ -129,67 +144,28 @@ public class TileVisRelay extends TileThaumcraft {
     }
 
     /**
-     * Auto-link to nearby relays within range.
+     * Replace the links set by the network, syncing only if they differ.
      */
-    private void autoLink() {
-        if (level == null) return;
-
-        // Find nearby relays
-        List<BlockPos> nearby = new ArrayList<>();
-        for (int x = -LINK_RANGE; x <= LINK_RANGE; x++) {
-            for (int y = -LINK_RANGE; y <= LINK_RANGE; y++) {
-                for (int z = -LINK_RANGE; z <= LINK_RANGE; z++) {
-                    if (x == 0 && y == 0 && z == 0) continue;
-                    
-                    BlockPos checkPos = worldPosition.offset(x, y, z);
-                    double dist = Math.sqrt(x * x + y * y + z * z);
-                    if (dist > LINK_RANGE) continue;
-
-                    BlockEntity te = level.getBlockEntity(checkPos);
-                    if (te instanceof TileVisRelay) {
-                        nearby.add(checkPos);
-                    }
-                }
-            }
-        }
-
-        // Update links (keep up to MAX_LINKS closest)
-        nearby.sort((a, b) -> {
-            double distA = worldPosition.distSqr(a);
-            double distB = worldPosition.distSqr(b);
-            return Double.compare(distA, distB);
-        });
-
-        linkedRelays.clear();
-        for (int i = 0; i < Math.min(nearby.size(), MAX_LINKS); i++) {
-            linkedRelays.add(nearby.get(i));
+    void setLinks(List<BlockPos> links) {
+        if (!linkedRelays.equals(links)) {
+            linkedRelays.clear();
+            linkedRelays.addAll(links);
+            syncPending = true;
         }
-
-        markDirtyAndSync();
     }
 
     /**
-     * Balance vis with linked relays.
+     * Set stored vis, syncing on the next tick if it changed.
      */
-    private void balanceVis() {
-        if (level == null || linkedRelays.isEmpty()) return;
-
-        for (BlockPos linkPos : linkedRelays) {
-            if (storedVis <= 1.0f) break;
-
-            BlockEntity te = level.getBlockEntity(linkPos);
-            if (te instanceof TileVisRelay other) {
-                // Transfer if we have more vis
-                if (storedVis > other.storedVis + 1.0f) {
-                    float toTransfer = Math.min(1.0f, (storedVis - other.storedVis) / 2);
-                    storedVis -= toTransfer;
-                    other.storedVis += toTransfer;
-                    other.markDirtyAndSync();
-                }
-            }
+    void setStoredVis(float vis) {
+        if (vis != storedVis) {
+            storedVis = vis;
+            syncPending = true;
         }
+    }
 
-        markDirtyAndSync();
+    List<BlockPos> links() {
+        return linkedRelays;
     }
 
     /**
@@ -210,6 +186,7 @@ public class TileVisRelay extends TileThaumcraft {
         BlockEntity te = level.getBlockEntity(targetPos);
         if (te instanceof TileVisRelay) {
             linkedRelays.add(targetPos);
+            VisRelayNetwork.linksChanged(level);
             markDirtyAndSync();
             return true;
         }
@@ -223,6 +200,7 @@ public class TileVisRelay extends TileThaumcraft {
      */
     public void unlink(BlockPos targetPos) {
         if (linkedRelays.remove(targetPos)) {
+            VisRelayNetwork.linksChanged(level);
             markDirtyAndSync();
         }
     }
@@ -236,8 +214,7 @@ public class TileVisRelay extends TileThaumcraft {
     public float drainVis(float amount) {
         float drained = Math.min(amount, storedVis);
         if (drained > 0) {
-            storedVis -= drained;
-            markDirtyAndSync();
+            setStoredVis(storedVis - drained);
         }
         return drained;
     }
@@ -0,0 +1,311 @@
+package thaumcraft.common.tiles.devices;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import thaumcraft.Thaumcraft;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * VisRelayNetwork - The vis relays of each dimension, kept as a graph.
+ * 
+ * Relays join the graph when they are loaded and leave it when they are broken
+ * or their chunk unloads. Joining or leaving relinks only the relays within
+ * LINK_RANGE of that spot, found through a grid of LINK_RANGE sized cells, so no
+ * relay scans the blocks around it. Each relay still links to its MAX_LINKS
+ * nearest neighbours in range.
+ * 
+ * Every BALANCE_INTERVAL ticks vis is balanced in one pass per network (the
+ * relays joined by links, in either direction). Relays above the network's
+ * average give and relays below it take, each at most TRANSFER_RATE, and the
+ * total given always equals the total taken. A network already balanced to
+ * within BALANCE_MARGIN is left alone, so it causes no syncs. Networks are only
+ * worked out again after links change.
+ */
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID)
+public class VisRelayNetwork {
+
+    private static final int CELL_SIZE = TileVisRelay.LINK_RANGE;
+
+    /** Ticks between balancing passes */
+    private static final int BALANCE_INTERVAL = 10;
+
+    /** Most vis a relay gives or takes in one pass */
+    private static final float TRANSFER_RATE = 1.0f;
+
+    /** Spread between the fullest and emptiest relay below which a network is balanced */
+    private static final float BALANCE_MARGIN = 1.0f;
+
+    private static final Map<ResourceKey<Level>, Area> areas = new ConcurrentHashMap<>();
+
+    /**
+     * The relay graph of one dimension
+     */
+    private static final class Area {
+        /** Loaded relays by packed position */
+        private final Long2ObjectOpenHashMap<TileVisRelay> relays = new Long2ObjectOpenHashMap<>();
+        /** Packed relay positions per grid cell */
+        private final Long2ObjectOpenHashMap<LongArrayList> cells = new Long2ObjectOpenHashMap<>();
+        /** Connected relays, two or more per network */
+        private List<List<TileVisRelay>> networks = new ObjectArrayList<>();
+        private boolean networksDirty = false;
+    }
+
+    // ==================== Membership ====================
+
+    /**
+     * Add a loaded relay to its dimension's graph and relink the relays around it.
+     */
+    public static void add(TileVisRelay relay) {
+        if (!(relay.getLevel() instanceof ServerLevel level)) return;
+        Area area = areas.computeIfAbsent(level.dimension(), dim -> new Area());
+        BlockPos pos = relay.getBlockPos();
+
+        if (area.relays.put(pos.asLong(), relay) == null) {
+            long cell = cellKey(pos.getX(), pos.getY(), pos.getZ());
+            LongArrayList list = area.cells.get(cell);
+            if (list == null) {
+                list = new LongArrayList();
+                area.cells.put(cell, list);
+            }
+            list.add(pos.asLong());
+        }
+        relinkAround(area, pos);
+    }
+
+    /**
+     * Take a broken or unloaded relay out of the graph and relink the relays
+     * that were around it.
+     */
+    public static void remove(TileVisRelay relay) {
+        if (!(relay.getLevel() instanceof ServerLevel level)) return;
+        Area area = areas.get(level.dimension());
+        if (area == null) return;
+        BlockPos pos = relay.getBlockPos();
+
+        // A replacement relay may already hold the spot
+        if (area.relays.get(pos.asLong()) != relay) return;
+        area.relays.remove(pos.asLong());
+        long cell = cellKey(pos.getX(), pos.getY(), pos.getZ());
+        LongArrayList list = area.cells.get(cell);
+        if (list != null) {
+            list.rem(pos.asLong());
+            if (list.isEmpty()) {
+                area.cells.remove(cell);
+            }
+        }
+        relinkAround(area, pos);
+    }
+
+    /**
+     * The loaded relay at pos, or null. Server side only.
+     */
+    @Nullable
+    public static TileVisRelay get(Level level, BlockPos pos) {
+        if (!(level instanceof ServerLevel)) return null;
+        Area area = areas.get(level.dimension());
+        return area == null ? null : area.relays.get(pos.asLong());
+    }
+
+    /**
+     * Note that a relay's links were changed by hand, so networks are worked
+     * out again before the next balancing pass.
+     */
+    public static void linksChanged(Level level) {
+        if (!(level instanceof ServerLevel)) return;
+        Area area = areas.get(level.dimension());
+        if (area != null) {
+            area.networksDirty = true;
+        }
+    }
+
+    // ==================== Linking ====================
+
+    /**
+     * Relink every relay within LINK_RANGE of pos, and the relay at pos itself.
+     */
+    private static void relinkAround(Area area, BlockPos pos) {
+        TileVisRelay self = area.relays.get(pos.asLong());
+        if (self != null) {
+            relink(area, self);
+        }
+        for (TileVisRelay relay : inRange(area, pos)) {
+            relink(area, relay);
+        }
+        area.networksDirty = true;
+    }
+
+    /**
+     * Link the relay to its MAX_LINKS nearest neighbours.
+     */
+    private static void relink(Area area, TileVisRelay relay) {
+        BlockPos pos = relay.getBlockPos();
+        List<TileVisRelay> nearby = inRange(area, pos);
+        nearby.sort(Comparator.comparingDouble(other -> pos.distSqr(other.getBlockPos())));
+
+        List<BlockPos> links = new ArrayList<>(Math.min(nearby.size(), TileVisRelay.MAX_LINKS));
+        for (int i = 0; i < Math.min(nearby.size(), TileVisRelay.MAX_LINKS); i++) {
+            links.add(nearby.get(i).getBlockPos());
+        }
+        relay.setLinks(links);
+    }
+
+    /**
+     * Relays within LINK_RANGE of pos, not counting one at pos.
+     */
+    private static List<TileVisRelay> inRange(Area area, BlockPos pos) {
+        List<TileVisRelay> out = new ObjectArrayList<>();
+        long self = pos.asLong();
+        int range = TileVisRelay.LINK_RANGE;
+        int cx = Math.floorDiv(pos.getX(), CELL_SIZE);
+        int cy = Math.floorDiv(pos.getY(), CELL_SIZE);
+        int cz = Math.floorDiv(pos.getZ(), CELL_SIZE);
+
+        // Cells are as wide as the link range, so the neighbouring cells cover it
+        for (int x = cx - 1; x <= cx + 1; x++) {
+            for (int y = cy - 1; y <= cy + 1; y++) {
+                for (int z = cz - 1; z <= cz + 1; z++) {
+                    LongArrayList list = area.cells.get(BlockPos.asLong(x, y, z));
+                    if (list == null) continue;
+                    for (int i = 0; i < list.size(); i++) {
+                        long other = list.getLong(i);
+                        if (other == self) continue;
+                        long dx = BlockPos.getX(other) - pos.getX();
+                        long dy = BlockPos.getY(other) - pos.getY();
+                        long dz = BlockPos.getZ(other) - pos.getZ();
+                        if (dx * dx + dy * dy + dz * dz <= (long) range * range) {
+                            out.add(area.relays.get(other));
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private static long cellKey(int x, int y, int z) {
+        return BlockPos.asLong(Math.floorDiv(x, CELL_SIZE), Math.floorDiv(y, CELL_SIZE), Math.floorDiv(z, CELL_SIZE));
+    }
+
+    // ==================== Balancing ====================
+
+    /**
+     * Split the graph into networks, treating links as two way.
+     */
+    private static void findNetworks(Area area) {
+        Long2ObjectOpenHashMap<LongArrayList> edges = new Long2ObjectOpenHashMap<>();
+        for (TileVisRelay relay : area.relays.values()) {
+            long from = relay.getBlockPos().asLong();
+            for (BlockPos link : relay.links()) {
+                long to = link.asLong();
+                if (!area.relays.containsKey(to)) continue;
+                edges.computeIfAbsent(from, key -> new LongArrayList()).add(to);
+                edges.computeIfAbsent(to, key -> new LongArrayList()).add(from);
+            }
+        }
+
+        List<List<TileVisRelay>> networks = new ObjectArrayList<>();
+        LongOpenHashSet seen = new LongOpenHashSet();
+        LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+        for (long start : edges.keySet()) {
+            if (!seen.add(start)) continue;
+            List<TileVisRelay> network = new ObjectArrayList<>();
+            queue.enqueue(start);
+            while (!queue.isEmpty()) {
+                long at = queue.dequeueLong();
+                network.add(area.relays.get(at));
+                LongArrayList next = edges.get(at);
+                for (int i = 0; i < next.size(); i++) {
+                    if (seen.add(next.getLong(i))) {
+                        queue.enqueue(next.getLong(i));
+                    }
+                }
+            }
+            networks.add(network);
+        }
+        area.networks = networks;
+        area.networksDirty = false;
+    }
+
+    /**
+     * Move every relay of the network toward the network's average, keeping the
+     * network's total vis.
+     */
+    private static void balance(List<TileVisRelay> network) {
+        float total = 0.0f;
+        float min = Float.MAX_VALUE;
+        float max = -Float.MAX_VALUE;
+        for (TileVisRelay relay : network) {
+            total += relay.storedVis;
+            min = Math.min(min, relay.storedVis);
+            max = Math.max(max, relay.storedVis);
+        }
+        if (max - min <= BALANCE_MARGIN) return;
+
+        float average = total / network.size();
+        float give = 0.0f;
+        float take = 0.0f;
+        for (TileVisRelay relay : network) {
+            float surplus = relay.storedVis - average;
+            if (surplus > 0) {
+                give += Math.min(surplus, TRANSFER_RATE);
+            } else {
+                take += Math.min(-surplus, TRANSFER_RATE);
+            }
+        }
+        float flow = Math.min(give, take);
+        if (flow <= 0.0f) return;
+
+        // Givers and takers are scaled so both sides move the same amount
+        for (TileVisRelay relay : network) {
+            float surplus = relay.storedVis - average;
+            if (surplus > 0) {
+                relay.setStoredVis(relay.storedVis - Math.min(surplus, TRANSFER_RATE) * flow / give);
+            } else if (surplus < 0) {
+                relay.setStoredVis(relay.storedVis + Math.min(-surplus, TRANSFER_RATE) * flow / take);
+            }
+        }
+    }
+
+    // ==================== Events ====================
+
+    @SubscribeEvent
+    public static void onLevelTick(TickEvent.LevelTickEvent event) {
+        if (event.side.isClient() || event.phase == TickEvent.Phase.START) return;
+        if (!(event.level instanceof ServerLevel level)) return;
+        if (level.getGameTime() % BALANCE_INTERVAL != 0) return;
+
+        Area area = areas.get(level.dimension());
+        if (area == null) return;
+
+        if (area.networksDirty) {
+            findNetworks(area);
+        }
+        for (List<TileVisRelay> network : area.networks) {
+            balance(network);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            areas.remove(level.dimension());
+        }
+    }
+}
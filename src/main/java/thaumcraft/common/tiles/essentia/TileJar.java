@@ -4,8 +4,11 @@ import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.client.model.data.ModelData;
+import net.minecraftforge.client.model.data.ModelProperty;
 import thaumcraft.api.aspects.Aspect;
 import thaumcraft.api.aspects.AspectList;
 import thaumcraft.api.aspects.IAspectSource;
@@ -13,6 +16,8 @@ import thaumcraft.api.aspects.IEssentiaTransport;
 import thaumcraft.common.tiles.TileThaumcraft;
 import thaumcraft.init.ModBlockEntities;
 
+import java.util.Objects;
+
 /**
  * Tile entity for warded jars - stores essentia.
  * Implements IAspectSource for container access and IEssentiaTransport for tube connections.
@@ -21,6 +26,12 @@ public class TileJar extends TileThaumcraft implements IAspectSource, IEssentiaT
 
     public static final int CAPACITY = 250;
 
+    /** Number of fill levels the baked jar model can show */
+    public static final int FILL_STEPS = 16;
+
+    /** What the baked jar model draws: contents, fill step, label and facing */
+    public static final ModelProperty<ModelState> MODEL_STATE = new ModelProperty<>();
+
     protected Aspect aspect = null;
     protected Aspect aspectFilter = null;
     protected int amount = 0;
@@ -28,6 +39,7 @@ public class TileJar extends TileThaumcraft implements IAspectSource, IEssentiaT
     protected boolean blocked = false; // If jar brace is applied
 
     private int tickCount = 0;
+    private ModelState bakedState = null;
 
     public TileJar(BlockEntityType<?> type, BlockPos pos, BlockState state) {
         super(type, pos, state);
@@ -61,6 +73,43 @@ public class TileJar extends TileThaumcraft implements IAspectSource, IEssentiaT
         amount = tag.getShort("Amount");
         facing = tag.getByte("Facing");
         blocked = tag.getBoolean("Blocked");
+        if (level != null && level.isClientSide) {
+            refreshModel();
+        }
+    }
+
+    // ==================== Baked Model ====================
+
+    public ModelState getModelState() {
+        int fill = amount <= 0 ? 0 : Math.max(1, Math.round(amount * (float) FILL_STEPS / CAPACITY));
+        return new ModelState(fill > 0 ? aspect : null, fill, aspectFilter, facing);
+    }
+
+    @Override
+    public ModelData getModelData() {
+        return ModelData.builder().with(MODEL_STATE, getModelState()).build();
+    }
+
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        // The section is about to be built with the current model data anyway
+        bakedState = getModelState();
+    }
+
+    /**
+     * Client only: when what the baked model shows has changed, hand it new model data
+     * and mark the chunk section for a rebuild. Changes within one fill step cost nothing.
+     */
+    private void refreshModel() {
+        ModelState state = getModelState();
+        if (state.equals(bakedState)) {
+            return;
+        }
+        bakedState = state;
+        requestModelDataUpdate();
+        BlockState blockState = getBlockState();
+        level.sendBlockUpdated(worldPosition, blockState, blockState, Block.UPDATE_ALL);
     }
 
     // ==================== Tick ====================
@@ -282,4 +331,34 @@ public class TileJar extends TileThaumcraft implements IAspectSource, IEssentiaT
         this.facing = facing;
         markDirtyAndSync();
     }
+
+    /**
+     * Immutable snapshot of the jar contents as drawn by the baked model
+     */
+    public static final class ModelState {
+        public final Aspect aspect;
+        public final int fill;
+        public final Aspect filter;
+        public final int facing;
+
+        public ModelState(Aspect aspect, int fill, Aspect filter, int facing) {
+            this.aspect = aspect;
+            this.fill = fill;
+            this.filter = filter;
+            this.facing = facing;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ModelState other)) return false;
+            return fill == other.fill && facing == other.facing
+                    && aspect == other.aspect && filter == other.filter;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(aspect, fill, filter, facing);
+        }
+    }
 }
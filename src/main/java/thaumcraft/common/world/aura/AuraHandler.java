@@ -1,15 +1,13 @@
 package thaumcraft.common.world.aura;
 
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
-import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.chunk.LevelChunk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -238,16 +236,17 @@ public class AuraHandler {
      */
     public static void generateAura(LevelChunk chunk, RandomSource rand) {
         Level level = chunk.getLevel();
-        BlockPos center = new BlockPos(chunk.getPos().x * 16 + 8, 50, chunk.getPos().z * 16 + 8);
         
-        // Get biome aura modifier (TODO: implement BiomeHandler)
-        float life = getBiomeAuraModifier(level, center);
-        
-        // Average with neighboring chunks
-        for (Direction dir : Direction.Plane.HORIZONTAL) {
-            BlockPos neighborPos = center.relative(dir, 16);
-            life += getBiomeAuraModifier(level, neighborPos);
-        }
+        // Average the chunk centre with four points towards its edges, read from the
+        // chunk's own biome container at y=50
+        int qx = QuartPos.fromBlock(chunk.getPos().getMinBlockX());
+        int qy = QuartPos.fromBlock(50);
+        int qz = QuartPos.fromBlock(chunk.getPos().getMinBlockZ());
+        float life = BiomeHandler.getAuraModifier(chunk.getNoiseBiome(qx + 2, qy, qz + 2))
+                + BiomeHandler.getAuraModifier(chunk.getNoiseBiome(qx, qy, qz + 2))
+                + BiomeHandler.getAuraModifier(chunk.getNoiseBiome(qx + 3, qy, qz + 2))
+                + BiomeHandler.getAuraModifier(chunk.getNoiseBiome(qx + 2, qy, qz))
+                + BiomeHandler.getAuraModifier(chunk.getNoiseBiome(qx + 2, qy, qz + 3));
         life /= 5.0f;
         
         // Add some random variation
@@ -257,13 +256,4 @@ public class AuraHandler {
         
         addAuraChunk(level.dimension(), chunk, base, base, 0.0f);
     }
-
-    /**
-     * Gets the aura modifier for the biome at the given position.
-     * Uses BiomeHandler to look up biome-specific aura values.
-     */
-    private static float getBiomeAuraModifier(Level level, BlockPos pos) {
-        Holder<Biome> biome = level.getBiome(pos);
-        return BiomeHandler.getAuraModifier(biome);
-    }
 }
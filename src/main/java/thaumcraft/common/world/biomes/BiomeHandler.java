@@ -9,6 +9,9 @@ import net.minecraft.tags.BiomeTags;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.biome.Biomes;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.registries.DeferredRegister;
 import net.minecraftforge.registries.ForgeRegistries;
 import org.slf4j.Logger;
@@ -19,6 +22,7 @@ import thaumcraft.api.aspects.Aspect;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * BiomeHandler - Manages Thaumcraft biome registration and aura modifiers.
@@ -30,8 +34,12 @@ import java.util.Optional;
  * - Aspect associations for biomes
  * - Greatwood spawn chance per biome type
  * 
+ * Lookups go through a per biome table resolved when tags load, so chunk
+ * generation doesn't test every registered tag for every query.
+ * 
  * Ported from Thaumcraft 1.12.2 with 1.20.1 biome tag system.
  */
+@Mod.EventBusSubscriber(modid = Thaumcraft.MODID)
 public class BiomeHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BiomeHandler.class);
@@ -139,6 +147,7 @@ public class BiomeHandler {
     public static void registerTagInfo(TagKey<Biome> tag, float auraModifier, Aspect aspect, 
             boolean supportsGreatwood, float greatwoodChance) {
         BIOME_TAG_INFO.put(tag, new BiomeInfo(auraModifier, aspect, supportsGreatwood, greatwoodChance));
+        RESOLVED.clear();
     }
 
     /**
@@ -147,39 +156,90 @@ public class BiomeHandler {
     public static void registerBiomeInfo(ResourceKey<Biome> biome, float auraModifier, Aspect aspect,
             boolean supportsGreatwood, float greatwoodChance) {
         BIOME_SPECIFIC_INFO.put(biome, new BiomeInfo(auraModifier, aspect, supportsGreatwood, greatwoodChance));
+        RESOLVED.clear();
     }
 
-    // ==================== Biome Queries ====================
-
+    // ==================== Resolved Cache ====================
+    
     /**
-     * Get the aura modifier for a biome.
-     * Higher values mean more vis generation.
-     * 
-     * @param biome The biome holder
-     * @return Aura modifier (0.0 - 2.0, default 0.5)
+     * Everything the queries below return for one biome, resolved once from the
+     * specific and tag based info.
      */
-    public static float getAuraModifier(Holder<Biome> biome) {
-        // Check specific biome first
-        Optional<ResourceKey<Biome>> key = biome.unwrapKey();
-        if (key.isPresent()) {
-            BiomeInfo specificInfo = BIOME_SPECIFIC_INFO.get(key.get());
-            if (specificInfo != null) {
-                return specificInfo.auraModifier();
+    private record ResolvedBiome(float auraModifier, Aspect aspect, float greatwoodChance) {}
+    
+    /**
+     * Resolved info per biome. Keyed by the Biome instance, so the server and a
+     * client with its own synced registry each get their own entries. Filled for
+     * every biome when tags load and lazily for anything missed; cleared on tag
+     * reload. Chunk generation reads it from worker threads.
+     */
+    private static final Map<Biome, ResolvedBiome> RESOLVED = new ConcurrentHashMap<>();
+    
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        RESOLVED.clear();
+        event.getRegistryAccess().registry(Registries.BIOME).ifPresent(registry -> {
+            for (Holder<Biome> biome : registry.holders().toList()) {
+                resolved(biome);
             }
+            LOGGER.debug("Resolved Thaumcraft info for {} biomes", registry.size());
+        });
+    }
+    
+    private static ResolvedBiome resolved(Holder<Biome> biome) {
+        ResolvedBiome info = RESOLVED.get(biome.value());
+        if (info == null) {
+            info = resolve(biome);
+            RESOLVED.put(biome.value(), info);
         }
+        return info;
+    }
+    
+    /**
+     * Specific biome info wins. Otherwise the aura modifier is the average over all
+     * matching tags (0.5 if none), and the aspect and greatwood chance come from the
+     * first matching tag.
+     */
+    private static ResolvedBiome resolve(Holder<Biome> biome) {
+        Optional<ResourceKey<Biome>> key = biome.unwrapKey();
+        BiomeInfo specific = key.map(BIOME_SPECIFIC_INFO::get).orElse(null);
         
-        // Fall back to tag-based lookup
         float total = 0.0f;
         int count = 0;
-        
+        Aspect aspect = null;
+        float greatwood = -1.0f;
         for (Map.Entry<TagKey<Biome>, BiomeInfo> entry : BIOME_TAG_INFO.entrySet()) {
             if (biome.is(entry.getKey())) {
-                total += entry.getValue().auraModifier();
+                BiomeInfo info = entry.getValue();
+                total += info.auraModifier();
                 count++;
+                if (aspect == null) {
+                    aspect = info.aspect();
+                }
+                if (greatwood < 0.0f && info.supportsGreatwood()) {
+                    greatwood = info.greatwoodChance();
+                }
             }
         }
         
-        return count > 0 ? total / count : 0.5f;
+        if (specific != null) {
+            return new ResolvedBiome(specific.auraModifier(), specific.aspect(),
+                    specific.supportsGreatwood() ? specific.greatwoodChance() : Math.max(greatwood, 0.0f));
+        }
+        return new ResolvedBiome(count > 0 ? total / count : 0.5f, aspect, Math.max(greatwood, 0.0f));
+    }
+
+    // ==================== Biome Queries ====================
+
+    /**
+     * Get the aura modifier for a biome.
+     * Higher values mean more vis generation.
+     * 
+     * @param biome The biome holder
+     * @return Aura modifier (0.0 - 2.0, default 0.5)
+     */
+    public static float getAuraModifier(Holder<Biome> biome) {
+        return resolved(biome).auraModifier();
     }
 
     /**
@@ -189,23 +249,7 @@ public class BiomeHandler {
      * @return An aspect, or null if none found
      */
     public static Aspect getBiomeAspect(Holder<Biome> biome) {
-        // Check specific biome first
-        Optional<ResourceKey<Biome>> key = biome.unwrapKey();
-        if (key.isPresent()) {
-            BiomeInfo specificInfo = BIOME_SPECIFIC_INFO.get(key.get());
-            if (specificInfo != null) {
-                return specificInfo.aspect();
-            }
-        }
-        
-        // Fall back to tag-based lookup (return first match)
-        for (Map.Entry<TagKey<Biome>, BiomeInfo> entry : BIOME_TAG_INFO.entrySet()) {
-            if (biome.is(entry.getKey())) {
-                return entry.getValue().aspect();
-            }
-        }
-        
-        return null;
+        return resolved(biome).aspect();
     }
 
     /**
@@ -215,23 +259,7 @@ public class BiomeHandler {
      * @return Greatwood spawn chance (0.0 = none, 1.0 = always when conditions met)
      */
     public static float getGreatwoodChance(Holder<Biome> biome) {
-        // Check specific biome first
-        Optional<ResourceKey<Biome>> key = biome.unwrapKey();
-        if (key.isPresent()) {
-            BiomeInfo specificInfo = BIOME_SPECIFIC_INFO.get(key.get());
-            if (specificInfo != null && specificInfo.supportsGreatwood()) {
-                return specificInfo.greatwoodChance();
-            }
-        }
-        
-        // Fall back to tag-based lookup
-        for (Map.Entry<TagKey<Biome>, BiomeInfo> entry : BIOME_TAG_INFO.entrySet()) {
-            if (biome.is(entry.getKey()) && entry.getValue().supportsGreatwood()) {
-                return entry.getValue().greatwoodChance();
-            }
-        }
-        
-        return 0.0f;
+        return resolved(biome).greatwoodChance();
     }
 
     /**
@@ -4,10 +4,10 @@ import com.google.common.collect.Lists;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.WorldGenRegion;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
-import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
@@ -15,6 +15,7 @@ import net.minecraft.world.level.block.state.properties.BlockStateProperties;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
+import thaumcraft.common.config.ModConfig;
 import thaumcraft.init.ModBlocks;
 
 import java.util.List;
@@ -45,7 +46,7 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
     
     // Tree generation parameters
     private RandomSource rand;
-    private WorldGenLevel level;
+    private FeaturePlacementBuffer blocks;
     private BlockPos basePos;
     private int heightLimit;
     private int height;
@@ -78,11 +79,14 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
         BlockPos pos = context.origin();
         RandomSource random = context.random();
         
+        if (!ModConfig.generateTrees && level instanceof WorldGenRegion) {
+            return false;
+        }
         return generate(level, random, pos);
     }
     
     public boolean generate(WorldGenLevel worldIn, RandomSource randomIn, BlockPos position) {
-        this.level = worldIn;
+        this.blocks = new FeaturePlacementBuffer(worldIn);
         this.basePos = position;
         this.rand = randomIn;
         this.heightLimit = 0;
@@ -92,7 +96,7 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
         }
         
         if (!validTreeLocation()) {
-            level = null;
+            blocks = null;
             return false;
         }
         
@@ -101,7 +105,8 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
         generateTrunk();
         generateLeafNodeBases();
         
-        level = null;
+        blocks.apply();
+        blocks = null;
         return true;
     }
     
@@ -171,10 +176,10 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
                 
                 if (dist <= radius * radius) {
                     BlockPos leafPos = center.offset(dx, 0, dz);
-                    BlockState state = level.getBlockState(leafPos);
+                    BlockState state = blocks.getBlockState(leafPos);
                     
                     if (state.isAir() || state.is(BlockTags.LEAVES)) {
-                        level.setBlock(leafPos, getLeafBlock(), 2);
+                        blocks.setBlock(leafPos, getLeafBlock());
                     }
                 }
             }
@@ -244,8 +249,8 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
             Direction.Axis axis = getLogAxis(from, logPos);
             BlockState logState = getLogBlock(axis);
             
-            if (isReplaceable(level, logPos)) {
-                level.setBlock(logPos, logState, 2);
+            if (isReplaceable(logPos)) {
+                blocks.setBlock(logPos, logState);
             }
         }
     }
@@ -349,7 +354,7 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
                     Mth.floor(0.5f + i * stepZ)
             );
             
-            if (!isReplaceable(level, checkPos)) {
+            if (!isReplaceable(checkPos)) {
                 return i;
             }
         }
@@ -362,7 +367,7 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
      */
     private boolean validTreeLocation() {
         BlockPos groundPos = basePos.below();
-        BlockState groundState = level.getBlockState(groundPos);
+        BlockState groundState = blocks.getBlockState(groundPos);
         
         // Check if ground can sustain plant
         if (!groundState.is(BlockTags.DIRT) && !groundState.is(Blocks.GRASS_BLOCK)) {
@@ -388,8 +393,8 @@ public class BigMagicTreeFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Check if a block can be replaced during tree generation.
      */
-    private boolean isReplaceable(LevelAccessor level, BlockPos pos) {
-        BlockState state = level.getBlockState(pos);
+    private boolean isReplaceable(BlockPos pos) {
+        BlockState state = blocks.getBlockState(pos);
         return state.isAir() || state.is(BlockTags.LEAVES) || state.canBeReplaced() ||
                state.is(BlockTags.LOGS) || state.is(BlockTags.SAPLINGS);
     }
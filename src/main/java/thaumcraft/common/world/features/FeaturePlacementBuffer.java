@@ -0,0 +1,230 @@
+package thaumcraft.common.world.features;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.WorldGenRegion;
+import net.minecraft.world.level.WorldGenLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkStatus;
+import net.minecraft.world.level.chunk.ImposterProtoChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.ProtoChunk;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.lighting.LightEngine;
+
+import javax.annotation.Nullable;
+import java.util.EnumSet;
+
+/**
+ * FeaturePlacementBuffer - Collects the block writes of one feature and applies
+ * them in a single pass.
+ * 
+ * Trees and ruins write hundreds of blocks one at a time, and every
+ * WorldGenRegion.setBlock looks the chunk up again, updates its heightmaps and
+ * queues a light check. The buffer holds the writes instead (the last write to a
+ * position wins) and reads see them, so a feature can still check what it placed.
+ * 
+ * apply() groups the writes by chunk section and stores them straight into each
+ * section's palette. Heightmaps, light checks and post-processing marks are done
+ * afterwards, once the blocks are final. Blocks with a block entity are written
+ * through at once, so features can fill chests and spawners right after placing
+ * them. Outside world generation (saplings, commands) every write goes through
+ * level.setBlock as before.
+ */
+public class FeaturePlacementBuffer {
+    
+    private final WorldGenLevel level;
+    private final Long2ObjectLinkedOpenHashMap<BlockState> writes = new Long2ObjectLinkedOpenHashMap<>();
+    
+    public FeaturePlacementBuffer(WorldGenLevel level) {
+        this.level = level;
+    }
+    
+    public WorldGenLevel getLevel() {
+        return level;
+    }
+    
+    public int size() {
+        return writes.size();
+    }
+    
+    // ==================== Access ====================
+    
+    /**
+     * The block at pos, including writes not applied yet.
+     */
+    public BlockState getBlockState(BlockPos pos) {
+        BlockState pending = writes.get(pos.asLong());
+        return pending != null ? pending : level.getBlockState(pos);
+    }
+    
+    public boolean isEmptyBlock(BlockPos pos) {
+        return getBlockState(pos).isAir();
+    }
+    
+    @Nullable
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return level.getBlockEntity(pos);
+    }
+    
+    /**
+     * Queue a block write, like level.setBlock(pos, state, 2).
+     */
+    public void setBlock(BlockPos pos, BlockState state) {
+        if (state.hasBlockEntity()) {
+            writes.remove(pos.asLong());
+            level.setBlock(pos, state, Block.UPDATE_CLIENTS);
+            return;
+        }
+        writes.put(pos.asLong(), state);
+    }
+    
+    // ==================== Applying ====================
+    
+    /**
+     * Write every queued block to the level and clear the buffer.
+     */
+    public void apply() {
+        if (writes.isEmpty()) return;
+        
+        if (!(level instanceof WorldGenRegion)) {
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (Long2ObjectMap.Entry<BlockState> entry : writes.long2ObjectEntrySet()) {
+                level.setBlock(pos.set(entry.getLongKey()), entry.getValue(), Block.UPDATE_CLIENTS);
+            }
+            writes.clear();
+            return;
+        }
+        
+        // Group by section, keeping write order within each
+        Long2ObjectOpenHashMap<LongArrayList> sections = new Long2ObjectOpenHashMap<>();
+        for (long packed : writes.keySet()) {
+            long section = SectionPos.asLong(BlockPos.getX(packed) >> 4, BlockPos.getY(packed) >> 4, BlockPos.getZ(packed) >> 4);
+            LongArrayList list = sections.get(section);
+            if (list == null) {
+                list = new LongArrayList();
+                sections.put(section, list);
+            }
+            list.add(packed);
+        }
+        
+        Applied applied = new Applied(writes.size());
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        ObjectIterator<Long2ObjectMap.Entry<LongArrayList>> it = sections.long2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Long2ObjectMap.Entry<LongArrayList> entry = it.next();
+            long section = entry.getLongKey();
+            LongArrayList list = entry.getValue();
+            ChunkAccess chunk = level.getChunk(SectionPos.x(section), SectionPos.z(section));
+            
+            if (!isProtoChunk(chunk) || level.isOutsideBuildHeight(SectionPos.sectionToBlockCoord(SectionPos.y(section)))) {
+                for (int i = 0; i < list.size(); i++) {
+                    long packed = list.getLong(i);
+                    level.setBlock(pos.set(packed), writes.get(packed), Block.UPDATE_CLIENTS);
+                }
+                continue;
+            }
+            
+            LevelChunkSection blocks = chunk.getSection(chunk.getSectionIndexFromSectionY(SectionPos.y(section)));
+            for (int i = 0; i < list.size(); i++) {
+                long packed = list.getLong(i);
+                pos.set(packed);
+                BlockState state = writes.get(packed);
+                if (!level.ensureCanWrite(pos)) continue;
+                
+                int x = pos.getX() & 15;
+                int y = pos.getY() & 15;
+                int z = pos.getZ() & 15;
+                BlockState old = blocks.getBlockState(x, y, z);
+                if (old == state) continue;
+                if (old.hasBlockEntity()) {
+                    // Removing a block entity is left to the region
+                    level.setBlock(pos, state, Block.UPDATE_CLIENTS);
+                    continue;
+                }
+                blocks.setBlockState(x, y, z, state);
+                applied.positions.add(packed);
+                applied.before.add(old);
+                applied.after.add(state);
+            }
+        }
+        
+        finish(applied);
+        writes.clear();
+    }
+    
+    /**
+     * Blocks written straight into their sections, with the states they replaced
+     */
+    private static final class Applied {
+        private final LongArrayList positions;
+        private final ObjectArrayList<BlockState> before;
+        private final ObjectArrayList<BlockState> after;
+        
+        Applied(int capacity) {
+            this.positions = new LongArrayList(capacity);
+            this.before = new ObjectArrayList<>(capacity);
+            this.after = new ObjectArrayList<>(capacity);
+        }
+    }
+    
+    /**
+     * Heightmaps, light and post-processing for blocks written straight into their
+     * sections, done once all of them are in place. Light is only checked in
+     * chunks that have reached INITIALIZE_LIGHT, as ProtoChunk does; features
+     * normally run before that, and the light pass covers their blocks then.
+     */
+    private void finish(Applied applied) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        ChunkAccess chunk = null;
+        EnumSet<Heightmap.Types> types = null;
+        boolean light = false;
+        
+        for (int i = 0; i < applied.positions.size(); i++) {
+            pos.set(applied.positions.getLong(i));
+            BlockState old = applied.before.get(i);
+            BlockState state = applied.after.get(i);
+            
+            int cx = pos.getX() >> 4;
+            int cz = pos.getZ() >> 4;
+            if (chunk == null || chunk.getPos().x != cx || chunk.getPos().z != cz) {
+                chunk = level.getChunk(cx, cz);
+                chunk.setUnsaved(true);
+                types = chunk.getStatus().heightmapsAfter();
+                light = chunk.getStatus().isOrAfter(ChunkStatus.INITIALIZE_LIGHT);
+                EnumSet<Heightmap.Types> missing = EnumSet.noneOf(Heightmap.Types.class);
+                for (Heightmap.Types type : types) {
+                    if (!chunk.hasPrimedHeightmap(type)) {
+                        missing.add(type);
+                    }
+                }
+                if (!missing.isEmpty()) {
+                    Heightmap.primeHeightmaps(chunk, missing);
+                }
+            }
+            
+            for (Heightmap.Types type : types) {
+                chunk.getOrCreateHeightmapUnprimed(type).update(pos.getX() & 15, pos.getY(), pos.getZ() & 15, state);
+            }
+            if (light && LightEngine.hasDifferentLightProperties(chunk, pos, old, state)) {
+                level.getLightEngine().checkBlock(pos);
+            }
+            if (state.hasPostProcess(level, pos)) {
+                chunk.markPosForPostprocessing(pos);
+            }
+        }
+    }
+    
+    private static boolean isProtoChunk(ChunkAccess chunk) {
+        return chunk instanceof ProtoChunk && !(chunk instanceof ImposterProtoChunk);
+    }
+}
@@ -3,10 +3,10 @@ package thaumcraft.common.world.features;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.WorldGenRegion;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
-import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
@@ -18,6 +18,7 @@ import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.entity.SpawnerBlockEntity;
 import net.minecraft.world.level.block.entity.RandomizableContainerBlockEntity;
+import thaumcraft.common.config.ModConfig;
 import thaumcraft.init.ModBlocks;
 
 /**
@@ -59,13 +60,20 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         BlockPos pos = context.origin();
         RandomSource random = context.random();
         
+        if (!ModConfig.generateTrees && level instanceof WorldGenRegion) {
+            return false;
+        }
+        
         // 1 in 8 chance for spider variant
         boolean spiders = random.nextInt(8) == 0;
         
-        return generateTree(level, random, pos, spiders);
+        FeaturePlacementBuffer blocks = new FeaturePlacementBuffer(level);
+        boolean placed = generateTree(blocks, random, pos, spiders);
+        blocks.apply();
+        return placed;
     }
     
-    private boolean generateTree(WorldGenLevel level, RandomSource random, BlockPos pos, boolean spiders) {
+    private boolean generateTree(FeaturePlacementBuffer blocks, RandomSource random, BlockPos pos, boolean spiders) {
         basePos[0] = pos.getX();
         basePos[1] = pos.getY();
         basePos[2] = pos.getZ();
@@ -75,20 +83,20 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         // Check all trunk positions are valid
         for (int x = 0; x < trunkSize; x++) {
             for (int z = 0; z < trunkSize; z++) {
-                if (!isValidTreeLocation(level, x, z)) {
+                if (!isValidTreeLocation(blocks, x, z)) {
                     return false;
                 }
             }
         }
         
         // Clear the base position
-        level.setBlock(pos, Blocks.AIR.defaultBlockState(), 2);
+        blocks.setBlock(pos, Blocks.AIR.defaultBlockState());
         
         // Generate the tree structure
         generateLeafNodeList(random);
-        generateLeaves(level, random);
-        generateLeafNodeBases(level);
-        generateTrunk(level);
+        generateLeaves(blocks, random);
+        generateLeafNodeBases(blocks);
+        generateTrunk(blocks);
         
         // Generate upper canopy
         scaleWidth = 1.66;
@@ -97,13 +105,13 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         basePos[2] = pos.getZ();
         
         generateLeafNodeList(random);
-        generateLeaves(level, random);
-        generateLeafNodeBases(level);
-        generateTrunk(level);
+        generateLeaves(blocks, random);
+        generateLeafNodeBases(blocks);
+        generateTrunk(blocks);
         
         // Spider variant
         if (spiders) {
-            generateSpiderNest(level, random, pos);
+            generateSpiderNest(blocks, random, pos);
         }
         
         return true;
@@ -205,20 +213,20 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         return -1.0f;
     }
     
-    private void generateLeaves(WorldGenLevel level, RandomSource random) {
+    private void generateLeaves(FeaturePlacementBuffer blocks, RandomSource random) {
         for (int[] node : leafNodes) {
-            generateLeafNode(level, node[0], node[1], node[2]);
+            generateLeafNode(blocks, node[0], node[1], node[2]);
         }
     }
     
-    private void generateLeafNode(WorldGenLevel level, int x, int y, int z) {
+    private void generateLeafNode(FeaturePlacementBuffer blocks, int x, int y, int z) {
         for (int ly = y; ly < y + leafDistanceLimit; ly++) {
             float size = leafSize(ly - y);
-            generateLeafLayer(level, x, ly, z, size, (byte) 1);
+            generateLeafLayer(blocks, x, ly, z, size, (byte) 1);
         }
     }
     
-    private void generateLeafLayer(WorldGenLevel level, int x, int y, int z, float radius, byte axis) {
+    private void generateLeafLayer(FeaturePlacementBuffer blocks, int x, int y, int z, float radius, byte axis) {
         int intRadius = (int) (radius + 0.618);
         byte coord1 = OTHER_COORD_PAIRS[axis];
         byte coord2 = OTHER_COORD_PAIRS[axis + 3];
@@ -234,11 +242,11 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
                 if (dist <= radius * radius) {
                     pos[coord2] = center[coord2] + j;
                     BlockPos blockPos = new BlockPos(pos[0], pos[1], pos[2]);
-                    BlockState state = level.getBlockState(blockPos);
+                    BlockState state = blocks.getBlockState(blockPos);
                     
                     if (state.isAir() || state.is(ModBlocks.GREATWOOD_LEAVES.get())) {
                         if (state.canBeReplaced()) {
-                            level.setBlock(blockPos, ModBlocks.GREATWOOD_LEAVES.get().defaultBlockState(), 2);
+                            blocks.setBlock(blockPos, ModBlocks.GREATWOOD_LEAVES.get().defaultBlockState());
                         }
                     }
                 }
@@ -246,29 +254,29 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         }
     }
     
-    private void generateTrunk(WorldGenLevel level) {
+    private void generateTrunk(FeaturePlacementBuffer blocks) {
         int[] start = {basePos[0], basePos[1], basePos[2]};
         int[] end = {basePos[0], basePos[1] + height, basePos[2]};
         
-        placeBlockLine(level, start, end);
+        placeBlockLine(blocks, start, end);
         
         if (trunkSize == 2) {
             // 2x2 trunk
             start[0]++;
             end[0]++;
-            placeBlockLine(level, start, end);
+            placeBlockLine(blocks, start, end);
             
             start[2]++;
             end[2]++;
-            placeBlockLine(level, start, end);
+            placeBlockLine(blocks, start, end);
             
             start[0]--;
             end[0]--;
-            placeBlockLine(level, start, end);
+            placeBlockLine(blocks, start, end);
         }
     }
     
-    private void generateLeafNodeBases(WorldGenLevel level) {
+    private void generateLeafNodeBases(FeaturePlacementBuffer blocks) {
         int[] branchBase = {basePos[0], basePos[1], basePos[2]};
         
         for (int[] node : leafNodes) {
@@ -277,7 +285,7 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
             int distFromBase = branchBase[1] - basePos[1];
             
             if (leafNodeNeedsBase(distFromBase)) {
-                placeBlockLine(level, branchBase, leafPos);
+                placeBlockLine(blocks, branchBase, leafPos);
             }
         }
     }
@@ -286,7 +294,7 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         return distFromBase >= heightLimit * 0.2;
     }
     
-    private void placeBlockLine(WorldGenLevel level, int[] from, int[] to) {
+    private void placeBlockLine(FeaturePlacementBuffer blocks, int[] from, int[] to) {
         int[] delta = new int[3];
         byte mainAxis = 0;
         
@@ -315,8 +323,8 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
             pos[coord2] = Mth.floor(from[coord2] + i * slope2 + 0.5);
             
             BlockPos blockPos = new BlockPos(pos[0], pos[1], pos[2]);
-            if (isReplaceable(level, blockPos)) {
-                level.setBlock(blockPos, ModBlocks.GREATWOOD_LOG.get().defaultBlockState(), 2);
+            if (isReplaceable(blocks, blockPos)) {
+                blocks.setBlock(blockPos, ModBlocks.GREATWOOD_LOG.get().defaultBlockState());
             }
         }
     }
@@ -326,9 +334,9 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         return -1;
     }
     
-    private boolean isValidTreeLocation(WorldGenLevel level, int offsetX, int offsetZ) {
+    private boolean isValidTreeLocation(FeaturePlacementBuffer blocks, int offsetX, int offsetZ) {
         BlockPos groundPos = new BlockPos(basePos[0] + offsetX, basePos[1] - 1, basePos[2] + offsetZ);
-        BlockState groundState = level.getBlockState(groundPos);
+        BlockState groundState = blocks.getBlockState(groundPos);
         
         // Check if ground can sustain plant
         if (!groundState.is(BlockTags.DIRT) && !groundState.is(Blocks.GRASS_BLOCK)) {
@@ -338,7 +346,7 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         // Check vertical clearance
         for (int y = basePos[1]; y < basePos[1] + heightLimit; y++) {
             BlockPos checkPos = new BlockPos(basePos[0] + offsetX, y, basePos[2] + offsetZ);
-            BlockState state = level.getBlockState(checkPos);
+            BlockState state = blocks.getBlockState(checkPos);
             if (!state.isAir() && !state.is(BlockTags.LEAVES) && !state.canBeReplaced()) {
                 if (y - basePos[1] < 6) {
                     return false;
@@ -351,17 +359,17 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         return true;
     }
     
-    private boolean isReplaceable(LevelAccessor level, BlockPos pos) {
-        BlockState state = level.getBlockState(pos);
+    private boolean isReplaceable(FeaturePlacementBuffer blocks, BlockPos pos) {
+        BlockState state = blocks.getBlockState(pos);
         return state.isAir() || state.is(BlockTags.LEAVES) || state.canBeReplaced();
     }
     
-    private void generateSpiderNest(WorldGenLevel level, RandomSource random, BlockPos treeBase) {
+    private void generateSpiderNest(FeaturePlacementBuffer blocks, RandomSource random, BlockPos treeBase) {
         // Place spawner below tree
         BlockPos spawnerPos = treeBase.below();
-        level.setBlock(spawnerPos, Blocks.SPAWNER.defaultBlockState(), 2);
+        blocks.setBlock(spawnerPos, Blocks.SPAWNER.defaultBlockState());
         
-        if (level.getBlockEntity(spawnerPos) instanceof SpawnerBlockEntity spawner) {
+        if (blocks.getBlockEntity(spawnerPos) instanceof SpawnerBlockEntity spawner) {
             spawner.setEntityId(EntityType.CAVE_SPIDER, random);
         }
         
@@ -372,23 +380,23 @@ public class GreatwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
             int wz = treeBase.getZ() - 7 + random.nextInt(14);
             BlockPos webPos = new BlockPos(wx, wy, wz);
             
-            if (level.getBlockState(webPos).isAir() && isTouchingTreeBlock(level, webPos)) {
-                level.setBlock(webPos, Blocks.COBWEB.defaultBlockState(), 2);
+            if (blocks.getBlockState(webPos).isAir() && isTouchingTreeBlock(blocks, webPos)) {
+                blocks.setBlock(webPos, Blocks.COBWEB.defaultBlockState());
             }
         }
         
         // Place loot chest
         BlockPos chestPos = treeBase.below(2);
-        level.setBlock(chestPos, Blocks.CHEST.defaultBlockState(), 2);
+        blocks.setBlock(chestPos, Blocks.CHEST.defaultBlockState());
         
-        if (level.getBlockEntity(chestPos) instanceof RandomizableContainerBlockEntity chest) {
+        if (blocks.getBlockEntity(chestPos) instanceof RandomizableContainerBlockEntity chest) {
             chest.setLootTable(BuiltInLootTables.SIMPLE_DUNGEON, random.nextLong());
         }
     }
     
-    private boolean isTouchingTreeBlock(WorldGenLevel level, BlockPos pos) {
+    private boolean isTouchingTreeBlock(FeaturePlacementBuffer blocks, BlockPos pos) {
         for (Direction dir : Direction.values()) {
-            BlockState state = level.getBlockState(pos.relative(dir));
+            BlockState state = blocks.getBlockState(pos.relative(dir));
             if (state.is(ModBlocks.GREATWOOD_LOG.get()) || state.is(ModBlocks.GREATWOOD_LEAVES.get())) {
                 return true;
             }
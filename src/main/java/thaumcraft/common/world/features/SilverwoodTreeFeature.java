@@ -2,16 +2,17 @@ package thaumcraft.common.world.features;
 
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.WorldGenRegion;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.util.Mth;
 import net.minecraft.util.RandomSource;
-import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
+import thaumcraft.common.config.ModConfig;
 import thaumcraft.init.ModBlocks;
 
 /**
@@ -39,6 +40,9 @@ public class SilverwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         BlockPos pos = context.origin();
         RandomSource random = context.random();
         
+        if (!ModConfig.generateTrees && level instanceof WorldGenRegion) {
+            return false;
+        }
         return generateTree(level, random, pos, true);
     }
     
@@ -69,14 +73,16 @@ public class SilverwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         }
         
         // Generate tree
-        generateLeafCanopy(level, random, x, y, z, height);
-        generateTrunk(level, random, x, y, z, height);
+        FeaturePlacementBuffer blocks = new FeaturePlacementBuffer(level);
+        generateLeafCanopy(blocks, random, x, y, z, height);
+        generateTrunk(blocks, random, x, y, z, height);
         
         // Generate shimmerleaf around the tree during worldgen
         if (worldGen) {
-            generateShimmerleaf(level, random, pos);
+            generateShimmerleaf(blocks, random, pos);
         }
         
+        blocks.apply();
         return true;
     }
     
@@ -114,7 +120,7 @@ public class SilverwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
         return state.is(BlockTags.DIRT) || state.is(Blocks.GRASS_BLOCK);
     }
     
-    private void generateLeafCanopy(WorldGenLevel level, RandomSource random, int x, int y, int z, int height) {
+    private void generateLeafCanopy(FeaturePlacementBuffer blocks, RandomSource random, int x, int y, int z, int height) {
         int leafStart = y + height - 5;
         int leafEnd = y + height + 3 + random.nextInt(3);
         
@@ -129,97 +135,97 @@ public class SilverwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
                     double dist = dx * dx + dy * dy + dz * dz;
                     
                     BlockPos leafPos = new BlockPos(lx, ly, lz);
-                    BlockState state = level.getBlockState(leafPos);
+                    BlockState state = blocks.getBlockState(leafPos);
                     
-                    if (dist < 10 + random.nextInt(8) && canPlaceLeaf(level, state, leafPos)) {
-                        setBlockSafe(level, leafPos, ModBlocks.SILVERWOOD_LEAVES.get().defaultBlockState());
+                    if (dist < 10 + random.nextInt(8) && canPlaceLeaf(blocks, state, leafPos)) {
+                        setBlockSafe(blocks, leafPos, ModBlocks.SILVERWOOD_LEAVES.get().defaultBlockState());
                     }
                 }
             }
         }
     }
     
-    private void generateTrunk(WorldGenLevel level, RandomSource random, int x, int y, int z, int height) {
+    private void generateTrunk(FeaturePlacementBuffer blocks, RandomSource random, int x, int y, int z, int height) {
         // Main trunk
         for (int ty = 0; ty < height; ty++) {
             BlockPos pos = new BlockPos(x, y + ty, z);
-            BlockState state = level.getBlockState(pos);
+            BlockState state = blocks.getBlockState(pos);
             
-            if (isReplaceable(level, state, pos)) {
+            if (isReplaceable(blocks, state, pos)) {
                 // Center column and plus-shape
-                setBlockSafe(level, pos, ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-                setBlockSafe(level, new BlockPos(x - 1, y + ty, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-                setBlockSafe(level, new BlockPos(x + 1, y + ty, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-                setBlockSafe(level, new BlockPos(x, y + ty, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-                setBlockSafe(level, new BlockPos(x, y + ty, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+                setBlockSafe(blocks, pos, ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+                setBlockSafe(blocks, new BlockPos(x - 1, y + ty, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+                setBlockSafe(blocks, new BlockPos(x + 1, y + ty, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+                setBlockSafe(blocks, new BlockPos(x, y + ty, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+                setBlockSafe(blocks, new BlockPos(x, y + ty, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
             }
         }
         
         // Top of trunk
-        setBlockSafe(level, new BlockPos(x, y + height, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x, y + height, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         
         // Base corner extensions
-        setBlockSafe(level, new BlockPos(x - 1, y, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x + 1, y, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x - 1, y, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x + 1, y, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x - 1, y, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x + 1, y, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x - 1, y, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x + 1, y, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         
         // Random corner extensions at y+1
         if (random.nextInt(3) != 0) {
-            setBlockSafe(level, new BlockPos(x - 1, y + 1, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+            setBlockSafe(blocks, new BlockPos(x - 1, y + 1, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         }
         if (random.nextInt(3) != 0) {
-            setBlockSafe(level, new BlockPos(x + 1, y + 1, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+            setBlockSafe(blocks, new BlockPos(x + 1, y + 1, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         }
         if (random.nextInt(3) != 0) {
-            setBlockSafe(level, new BlockPos(x - 1, y + 1, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+            setBlockSafe(blocks, new BlockPos(x - 1, y + 1, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         }
         if (random.nextInt(3) != 0) {
-            setBlockSafe(level, new BlockPos(x + 1, y + 1, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+            setBlockSafe(blocks, new BlockPos(x + 1, y + 1, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         }
         
         // Root extensions (horizontal)
-        setBlockSafe(level, new BlockPos(x - 2, y, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x + 2, y, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x, y, z - 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x, y, z + 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x - 2, y, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x + 2, y, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x, y, z - 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x, y, z + 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         
         // Root extensions (underground)
-        setBlockSafe(level, new BlockPos(x - 2, y - 1, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x + 2, y - 1, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x, y - 1, z - 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x, y - 1, z + 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x - 2, y - 1, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x + 2, y - 1, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x, y - 1, z - 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x, y - 1, z + 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         
         // Upper branch flares
         int flareY = y + (height - 4);
-        setBlockSafe(level, new BlockPos(x - 1, flareY, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x + 1, flareY, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x - 1, flareY, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x + 1, flareY, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x - 1, flareY, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x + 1, flareY, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x - 1, flareY, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x + 1, flareY, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         
         // Random branch flares at height-5
         int lowerFlareY = y + (height - 5);
         if (random.nextInt(3) == 0) {
-            setBlockSafe(level, new BlockPos(x - 1, lowerFlareY, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+            setBlockSafe(blocks, new BlockPos(x - 1, lowerFlareY, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         }
         if (random.nextInt(3) == 0) {
-            setBlockSafe(level, new BlockPos(x + 1, lowerFlareY, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+            setBlockSafe(blocks, new BlockPos(x + 1, lowerFlareY, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         }
         if (random.nextInt(3) == 0) {
-            setBlockSafe(level, new BlockPos(x - 1, lowerFlareY, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+            setBlockSafe(blocks, new BlockPos(x - 1, lowerFlareY, z + 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         }
         if (random.nextInt(3) == 0) {
-            setBlockSafe(level, new BlockPos(x + 1, lowerFlareY, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+            setBlockSafe(blocks, new BlockPos(x + 1, lowerFlareY, z - 1), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
         }
         
         // Horizontal branch extensions at top
-        setBlockSafe(level, new BlockPos(x - 2, flareY, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x + 2, flareY, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x, flareY, z - 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
-        setBlockSafe(level, new BlockPos(x, flareY, z + 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x - 2, flareY, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x + 2, flareY, z), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x, flareY, z - 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
+        setBlockSafe(blocks, new BlockPos(x, flareY, z + 2), ModBlocks.SILVERWOOD_LOG.get().defaultBlockState());
     }
     
-    private void generateShimmerleaf(WorldGenLevel level, RandomSource random, BlockPos treePos) {
+    private void generateShimmerleaf(FeaturePlacementBuffer blocks, RandomSource random, BlockPos treePos) {
         // Scatter shimmerleaf plants around the tree
         for (int i = 0; i < 18; i++) {
             int fx = treePos.getX() + random.nextInt(8) - random.nextInt(8);
@@ -229,27 +235,27 @@ public class SilverwoodTreeFeature extends Feature<NoneFeatureConfiguration> {
             BlockPos flowerPos = new BlockPos(fx, fy, fz);
             BlockPos groundPos = flowerPos.below();
             
-            if (level.getBlockState(flowerPos).isAir()) {
-                BlockState ground = level.getBlockState(groundPos);
+            if (blocks.getBlockState(flowerPos).isAir()) {
+                BlockState ground = blocks.getBlockState(groundPos);
                 if (ground.is(Blocks.GRASS_BLOCK) || ground.is(BlockTags.DIRT)) {
-                    level.setBlock(flowerPos, ModBlocks.SHIMMERLEAF.get().defaultBlockState(), 2);
+                    blocks.setBlock(flowerPos, ModBlocks.SHIMMERLEAF.get().defaultBlockState());
                 }
             }
         }
     }
     
-    private boolean canPlaceLeaf(LevelAccessor level, BlockState state, BlockPos pos) {
+    private boolean canPlaceLeaf(FeaturePlacementBuffer blocks, BlockState state, BlockPos pos) {
         return state.isAir() || state.is(BlockTags.LEAVES) || state.canBeReplaced();
     }
     
-    private boolean isReplaceable(LevelAccessor level, BlockState state, BlockPos pos) {
+    private boolean isReplaceable(FeaturePlacementBuffer blocks, BlockState state, BlockPos pos) {
         return state.isAir() || state.is(BlockTags.LEAVES) || state.canBeReplaced();
     }
     
-    private void setBlockSafe(WorldGenLevel level, BlockPos pos, BlockState state) {
-        BlockState existing = level.getBlockState(pos);
+    private void setBlockSafe(FeaturePlacementBuffer blocks, BlockPos pos, BlockState state) {
+        BlockState existing = blocks.getBlockState(pos);
         if (existing.isAir() || existing.is(BlockTags.LEAVES) || existing.canBeReplaced()) {
-            level.setBlock(pos, state, 2);
+            blocks.setBlock(pos, state);
         }
     }
 }
@@ -4,6 +4,7 @@ import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.WorldGenRegion;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
@@ -17,6 +18,8 @@ import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
 import net.minecraft.world.level.storage.loot.BuiltInLootTables;
+import thaumcraft.common.config.ModConfig;
+import thaumcraft.common.world.features.FeaturePlacementBuffer;
 import thaumcraft.init.ModBlocks;
 
 /**
@@ -43,13 +46,19 @@ public class BarrowFeature extends Feature<NoneFeatureConfiguration> {
         BlockPos origin = context.origin();
         RandomSource random = context.random();
         
+        if (!ModConfig.generateStructures && level instanceof WorldGenRegion) {
+            return false;
+        }
+        
         // Check if location is valid for barrow placement
         if (!isValidLocation(level, origin)) {
             return false;
         }
         
         // Generate the barrow structure
-        generateBarrow(level, origin, random);
+        FeaturePlacementBuffer blocks = new FeaturePlacementBuffer(level);
+        generateBarrow(blocks, origin, random);
+        blocks.apply();
         return true;
     }
     
@@ -101,32 +110,32 @@ public class BarrowFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Generates the complete barrow structure.
      */
-    private void generateBarrow(WorldGenLevel level, BlockPos origin, RandomSource random) {
+    private void generateBarrow(FeaturePlacementBuffer blocks, BlockPos origin, RandomSource random) {
         int x = origin.getX();
         int y = origin.getY();
         int z = origin.getZ();
         
         // Generate the mound exterior (grass/dirt covering)
-        generateMoundExterior(level, x, y, z);
+        generateMoundExterior(blocks, x, y, z);
         
         // Generate the stone interior
-        generateStoneInterior(level, x, y, z, random);
+        generateStoneInterior(blocks, x, y, z, random);
         
         // Generate the burial chamber
-        generateBurialChamber(level, x, y, z, random);
+        generateBurialChamber(blocks, x, y, z, random);
         
         // Generate entrance corridor
-        generateEntrance(level, x, y, z);
+        generateEntrance(blocks, x, y, z);
         
         // Place loot and spawners
-        placeLoot(level, x, y, z, random);
-        placeSpawners(level, x, y, z, random);
+        placeLoot(blocks, x, y, z, random);
+        placeSpawners(blocks, x, y, z, random);
     }
     
     /**
      * Generates the grass-covered mound exterior.
      */
-    private void generateMoundExterior(WorldGenLevel level, int x, int y, int z) {
+    private void generateMoundExterior(FeaturePlacementBuffer blocks, int x, int y, int z) {
         // The mound is roughly 19x19 blocks and rises about 5 blocks above ground
         // Generate a dome-like shape with grass on top
         
@@ -141,9 +150,9 @@ public class BarrowFeature extends Feature<NoneFeatureConfiguration> {
                     for (int dy = 0; dy < maxHeight; dy++) {
                         BlockPos pos = new BlockPos(x + dx, y + 8 + dy, z + dz);
                         if (dy == maxHeight - 1) {
-                            setBlock(level, pos, Blocks.GRASS_BLOCK.defaultBlockState());
+                            blocks.setBlock(pos, Blocks.GRASS_BLOCK.defaultBlockState());
                         } else {
-                            setBlock(level, pos, Blocks.DIRT.defaultBlockState());
+                            blocks.setBlock(pos, Blocks.DIRT.defaultBlockState());
                         }
                     }
                 }
@@ -154,12 +163,12 @@ public class BarrowFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Generates the cobblestone interior structure.
      */
-    private void generateStoneInterior(WorldGenLevel level, int x, int y, int z, RandomSource random) {
+    private void generateStoneInterior(FeaturePlacementBuffer blocks, int x, int y, int z, RandomSource random) {
         // Main chamber walls (roughly 13x13 area from 3,3 to 15,15)
         for (int dx = 3; dx <= 15; dx++) {
             for (int dz = 3; dz <= 15; dz++) {
                 // Floor
-                setBlock(level, new BlockPos(x + dx, y + 4, z + dz), Blocks.COBBLESTONE.defaultBlockState());
+                blocks.setBlock(new BlockPos(x + dx, y + 4, z + dz), Blocks.COBBLESTONE.defaultBlockState());
                 
                 // Walls (only on edges)
                 if (dx == 3 || dx == 15 || dz == 3 || dz == 15) {
@@ -167,13 +176,13 @@ public class BarrowFeature extends Feature<NoneFeatureConfiguration> {
                         BlockState state = random.nextFloat() < 0.2f ? 
                                 Blocks.MOSSY_COBBLESTONE.defaultBlockState() : 
                                 Blocks.COBBLESTONE.defaultBlockState();
-                        setBlock(level, new BlockPos(x + dx, y + dy, z + dz), state);
+                        blocks.setBlock(new BlockPos(x + dx, y + dy, z + dz), state);
                     }
                 }
                 
                 // Ceiling (at y+8)
                 if (dx >= 4 && dx <= 14 && dz >= 4 && dz <= 14) {
-                    setBlock(level, new BlockPos(x + dx, y + 8, z + dz), Blocks.COBBLESTONE.defaultBlockState());
+                    blocks.setBlock(new BlockPos(x + dx, y + 8, z + dz), Blocks.COBBLESTONE.defaultBlockState());
                 }
             }
         }
@@ -182,7 +191,7 @@ public class BarrowFeature extends Feature<NoneFeatureConfiguration> {
         for (int dx = 4; dx <= 14; dx++) {
             for (int dz = 4; dz <= 14; dz++) {
                 for (int dy = 5; dy <= 7; dy++) {
-                    setBlock(level, new BlockPos(x + dx, y + dy, z + dz), Blocks.AIR.defaultBlockState());
+                    blocks.setBlock(new BlockPos(x + dx, y + dy, z + dz), Blocks.AIR.defaultBlockState());
                 }
             }
         }
@@ -191,101 +200,101 @@ public class BarrowFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Generates the central burial chamber with pillar and alcoves.
      */
-    private void generateBurialChamber(WorldGenLevel level, int x, int y, int z, RandomSource random) {
+    private void generateBurialChamber(FeaturePlacementBuffer blocks, int x, int y, int z, RandomSource random) {
         // Central pillar area (around 9,9)
         for (int dy = 0; dy <= 4; dy++) {
             for (int dx = 6; dx <= 12; dx++) {
                 for (int dz = 6; dz <= 12; dz++) {
                     // Burial chamber floor
                     if (dy == 0) {
-                        setBlock(level, new BlockPos(x + dx, y + dy, z + dz), Blocks.COBBLESTONE.defaultBlockState());
+                        blocks.setBlock(new BlockPos(x + dx, y + dy, z + dz), Blocks.COBBLESTONE.defaultBlockState());
                     }
                     // Chamber walls
                     else if (dx == 6 || dx == 12 || dz == 6 || dz == 12) {
                         BlockState state = random.nextFloat() < 0.15f ? 
                                 Blocks.MOSSY_COBBLESTONE.defaultBlockState() : 
                                 Blocks.COBBLESTONE.defaultBlockState();
-                        setBlock(level, new BlockPos(x + dx, y + dy, z + dz), state);
+                        blocks.setBlock(new BlockPos(x + dx, y + dy, z + dz), state);
                     }
                     // Interior air
                     else {
-                        setBlock(level, new BlockPos(x + dx, y + dy, z + dz), Blocks.AIR.defaultBlockState());
+                        blocks.setBlock(new BlockPos(x + dx, y + dy, z + dz), Blocks.AIR.defaultBlockState());
                     }
                 }
             }
         }
         
         // Stairs leading down into chamber
-        setBlock(level, new BlockPos(x + 6, y + 4, z + 7), 
+        blocks.setBlock(new BlockPos(x + 6, y + 4, z + 7), 
                 Blocks.STONE_STAIRS.defaultBlockState().setValue(StairBlock.FACING, Direction.EAST));
-        setBlock(level, new BlockPos(x + 6, y + 4, z + 8), Blocks.AIR.defaultBlockState());
-        setBlock(level, new BlockPos(x + 6, y + 4, z + 9), Blocks.AIR.defaultBlockState());
-        setBlock(level, new BlockPos(x + 6, y + 4, z + 10), Blocks.AIR.defaultBlockState());
-        setBlock(level, new BlockPos(x + 6, y + 4, z + 11), 
+        blocks.setBlock(new BlockPos(x + 6, y + 4, z + 8), Blocks.AIR.defaultBlockState());
+        blocks.setBlock(new BlockPos(x + 6, y + 4, z + 9), Blocks.AIR.defaultBlockState());
+        blocks.setBlock(new BlockPos(x + 6, y + 4, z + 10), Blocks.AIR.defaultBlockState());
+        blocks.setBlock(new BlockPos(x + 6, y + 4, z + 11), 
                 Blocks.STONE_STAIRS.defaultBlockState().setValue(StairBlock.FACING, Direction.EAST));
     }
     
     /**
      * Generates the entrance corridor with iron bars.
      */
-    private void generateEntrance(WorldGenLevel level, int x, int y, int z) {
+    private void generateEntrance(FeaturePlacementBuffer blocks, int x, int y, int z) {
         // Entrance corridor at the west side (x = 0 to 3)
         for (int dx = 0; dx <= 3; dx++) {
             // Floor
-            setBlock(level, new BlockPos(x + dx, y + 8, z + 8), Blocks.COBBLESTONE.defaultBlockState());
-            setBlock(level, new BlockPos(x + dx, y + 8, z + 9), Blocks.COBBLESTONE.defaultBlockState());
-            setBlock(level, new BlockPos(x + dx, y + 8, z + 10), Blocks.COBBLESTONE.defaultBlockState());
+            blocks.setBlock(new BlockPos(x + dx, y + 8, z + 8), Blocks.COBBLESTONE.defaultBlockState());
+            blocks.setBlock(new BlockPos(x + dx, y + 8, z + 9), Blocks.COBBLESTONE.defaultBlockState());
+            blocks.setBlock(new BlockPos(x + dx, y + 8, z + 10), Blocks.COBBLESTONE.defaultBlockState());
             
             // Air passage
-            setBlock(level, new BlockPos(x + dx, y + 9, z + 9), Blocks.AIR.defaultBlockState());
-            setBlock(level, new BlockPos(x + dx, y + 10, z + 9), Blocks.AIR.defaultBlockState());
+            blocks.setBlock(new BlockPos(x + dx, y + 9, z + 9), Blocks.AIR.defaultBlockState());
+            blocks.setBlock(new BlockPos(x + dx, y + 10, z + 9), Blocks.AIR.defaultBlockState());
             
             // Stairs at entrance
             if (dx == 0) {
-                setBlock(level, new BlockPos(x + dx, y + 9, z + 8), 
+                blocks.setBlock(new BlockPos(x + dx, y + 9, z + 8), 
                         Blocks.STONE_STAIRS.defaultBlockState().setValue(StairBlock.FACING, Direction.WEST));
-                setBlock(level, new BlockPos(x + dx, y + 9, z + 10), 
+                blocks.setBlock(new BlockPos(x + dx, y + 9, z + 10), 
                         Blocks.STONE_STAIRS.defaultBlockState().setValue(StairBlock.FACING, Direction.WEST));
             }
         }
         
         // Iron bars at entrance
-        setBlock(level, new BlockPos(x + 3, y + 9, z + 9), Blocks.IRON_BARS.defaultBlockState());
-        setBlock(level, new BlockPos(x + 3, y + 10, z + 9), Blocks.IRON_BARS.defaultBlockState());
+        blocks.setBlock(new BlockPos(x + 3, y + 9, z + 9), Blocks.IRON_BARS.defaultBlockState());
+        blocks.setBlock(new BlockPos(x + 3, y + 10, z + 9), Blocks.IRON_BARS.defaultBlockState());
     }
     
     /**
      * Places loot chests and Thaumcraft loot containers.
      */
-    private void placeLoot(WorldGenLevel level, int x, int y, int z, RandomSource random) {
+    private void placeLoot(FeaturePlacementBuffer blocks, int x, int y, int z, RandomSource random) {
         // Place main chest in burial chamber
         boolean isTrapped = random.nextInt(3) == 0;
         BlockState chestState = (isTrapped ? Blocks.TRAPPED_CHEST : Blocks.CHEST).defaultBlockState()
                 .setValue(ChestBlock.FACING, Direction.WEST);
         
         BlockPos chestPos = new BlockPos(x + 10, y + 1, z + 9);
-        setBlock(level, chestPos, chestState);
+        blocks.setBlock(chestPos, chestState);
         
         // Set chest loot table
-        BlockEntity be = level.getBlockEntity(chestPos);
+        BlockEntity be = blocks.getBlockEntity(chestPos);
         if (be instanceof ChestBlockEntity chest) {
             chest.setLootTable(BuiltInLootTables.SIMPLE_DUNGEON, random.nextLong());
         }
         
         // Place TNT under trapped chest
         if (isTrapped) {
-            setBlock(level, chestPos.below().below(), Blocks.TNT.defaultBlockState());
+            blocks.setBlock(chestPos.below().below(), Blocks.TNT.defaultBlockState());
         }
         
         // Place Thaumcraft loot crates/urns
-        placeLootContainer(level, new BlockPos(x + 9, y + 1, z + 7), random);
-        placeLootContainer(level, new BlockPos(x + 9, y + 1, z + 11), random);
+        placeLootContainer(blocks, new BlockPos(x + 9, y + 1, z + 7), random);
+        placeLootContainer(blocks, new BlockPos(x + 9, y + 1, z + 11), random);
     }
     
     /**
      * Places a random Thaumcraft loot container (crate or urn).
      */
-    private void placeLootContainer(WorldGenLevel level, BlockPos pos, RandomSource random) {
+    private void placeLootContainer(FeaturePlacementBuffer blocks, BlockPos pos, RandomSource random) {
         float rarity = random.nextFloat();
         int tier = rarity < 0.1f ? 2 : (rarity < 0.33f ? 1 : 0); // rare, uncommon, common
         boolean isCrate = random.nextFloat() < 0.3f;
@@ -300,29 +309,29 @@ public class BarrowFeature extends Feature<NoneFeatureConfiguration> {
                 default -> isCrate ? ModBlocks.LOOT_CRATE_COMMON.get().defaultBlockState() : 
                                     ModBlocks.LOOT_URN_COMMON.get().defaultBlockState();
             };
-            setBlock(level, pos, lootBlock);
+            blocks.setBlock(pos, lootBlock);
         } catch (Exception e) {
             // Fallback if loot blocks aren't registered yet
-            setBlock(level, pos, Blocks.BARREL.defaultBlockState());
+            blocks.setBlock(pos, Blocks.BARREL.defaultBlockState());
         }
     }
     
     /**
      * Places mob spawners in the side chambers.
      */
-    private void placeSpawners(WorldGenLevel level, int x, int y, int z, RandomSource random) {
+    private void placeSpawners(FeaturePlacementBuffer blocks, int x, int y, int z, RandomSource random) {
         // Skeleton spawner in one corner
         BlockPos spawner1Pos = new BlockPos(x + 4, y + 5, z + 4);
-        setBlock(level, spawner1Pos, Blocks.SPAWNER.defaultBlockState());
-        BlockEntity be1 = level.getBlockEntity(spawner1Pos);
+        blocks.setBlock(spawner1Pos, Blocks.SPAWNER.defaultBlockState());
+        BlockEntity be1 = blocks.getBlockEntity(spawner1Pos);
         if (be1 instanceof SpawnerBlockEntity spawner) {
             spawner.setEntityId(net.minecraft.world.entity.EntityType.SKELETON, random);
         }
         
         // Zombie spawner in opposite corner
         BlockPos spawner2Pos = new BlockPos(x + 4, y + 5, z + 14);
-        setBlock(level, spawner2Pos, Blocks.SPAWNER.defaultBlockState());
-        BlockEntity be2 = level.getBlockEntity(spawner2Pos);
+        blocks.setBlock(spawner2Pos, Blocks.SPAWNER.defaultBlockState());
+        BlockEntity be2 = blocks.getBlockEntity(spawner2Pos);
         if (be2 instanceof SpawnerBlockEntity spawner) {
             spawner.setEntityId(net.minecraft.world.entity.EntityType.ZOMBIE, random);
         }
@@ -2,6 +2,7 @@ package thaumcraft.common.world.structures;
 
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.WorldGenRegion;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
@@ -9,6 +10,8 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
+import thaumcraft.common.config.ModConfig;
+import thaumcraft.common.world.features.FeaturePlacementBuffer;
 import thaumcraft.init.ModBlocks;
 
 /**
@@ -35,6 +38,10 @@ public class EldritchObeliskFeature extends Feature<NoneFeatureConfiguration> {
         RandomSource random = context.random();
         BlockPos origin = context.origin();
         
+        if (!ModConfig.generateStructures && level instanceof WorldGenRegion) {
+            return false;
+        }
+        
         // Find solid ground
         BlockPos groundPos = findGround(level, origin);
         if (groundPos == null) {
@@ -57,10 +64,12 @@ public class EldritchObeliskFeature extends Feature<NoneFeatureConfiguration> {
         int height = 10 + random.nextInt(6); // 10-15 blocks tall
         
         // Build the obelisk
-        buildBase(level, groundPos, random);
-        buildPillar(level, groundPos, height, random);
-        buildTop(level, groundPos.above(height), random);
-        scatterDebris(level, groundPos, random);
+        FeaturePlacementBuffer blocks = new FeaturePlacementBuffer(level);
+        buildBase(blocks, groundPos, random);
+        buildPillar(blocks, groundPos, height, random);
+        buildTop(blocks, groundPos.above(height), random);
+        scatterDebris(blocks, groundPos, random);
+        blocks.apply();
         
         return true;
     }
@@ -82,7 +91,7 @@ public class EldritchObeliskFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Build the obsidian-lined base platform.
      */
-    private void buildBase(WorldGenLevel level, BlockPos center, RandomSource random) {
+    private void buildBase(FeaturePlacementBuffer blocks, BlockPos center, RandomSource random) {
         BlockState obsidian = Blocks.OBSIDIAN.defaultBlockState();
         BlockState eldritchStone = ModBlocks.ELDRITCH_STONE_TILE.get().defaultBlockState();
         
@@ -93,16 +102,16 @@ public class EldritchObeliskFeature extends Feature<NoneFeatureConfiguration> {
                 
                 // Corner pillars
                 if (Math.abs(x) == 2 && Math.abs(z) == 2) {
-                    level.setBlock(pos, eldritchStone, 2);
-                    level.setBlock(pos.above(), eldritchStone, 2);
+                    blocks.setBlock(pos, eldritchStone);
+                    blocks.setBlock(pos.above(), eldritchStone);
                 }
                 // Edge obsidian
                 else if (Math.abs(x) == 2 || Math.abs(z) == 2) {
-                    level.setBlock(pos, obsidian, 2);
+                    blocks.setBlock(pos, obsidian);
                 }
                 // Inner floor
                 else {
-                    level.setBlock(pos, eldritchStone, 2);
+                    blocks.setBlock(pos, eldritchStone);
                 }
             }
         }
@@ -111,7 +120,7 @@ public class EldritchObeliskFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Build the main obelisk pillar.
      */
-    private void buildPillar(WorldGenLevel level, BlockPos base, int height, RandomSource random) {
+    private void buildPillar(FeaturePlacementBuffer blocks, BlockPos base, int height, RandomSource random) {
         BlockState eldritchStone = ModBlocks.ELDRITCH_STONE_TILE.get().defaultBlockState();
         BlockState pillar = ModBlocks.ELDRITCH_PILLAR.get().defaultBlockState();
         BlockState ancientStone = ModBlocks.ANCIENT_STONE.get().defaultBlockState();
@@ -123,29 +132,29 @@ public class EldritchObeliskFeature extends Feature<NoneFeatureConfiguration> {
             // Use pillars for the shaft
             if (y % 3 == 0) {
                 // Decorative ring every 3 blocks
-                level.setBlock(pos.north(), ancientStone, 2);
-                level.setBlock(pos.south(), ancientStone, 2);
-                level.setBlock(pos.east(), ancientStone, 2);
-                level.setBlock(pos.west(), ancientStone, 2);
+                blocks.setBlock(pos.north(), ancientStone);
+                blocks.setBlock(pos.south(), ancientStone);
+                blocks.setBlock(pos.east(), ancientStone);
+                blocks.setBlock(pos.west(), ancientStone);
             }
             
-            level.setBlock(pos, pillar, 2);
+            blocks.setBlock(pos, pillar);
         }
         
         // Widen the base of the pillar
         for (int y = 1; y <= 3; y++) {
             float widen = (4 - y) * 0.3f;
             if (random.nextFloat() < widen) {
-                level.setBlock(base.above(y).north(), eldritchStone, 2);
+                blocks.setBlock(base.above(y).north(), eldritchStone);
             }
             if (random.nextFloat() < widen) {
-                level.setBlock(base.above(y).south(), eldritchStone, 2);
+                blocks.setBlock(base.above(y).south(), eldritchStone);
             }
             if (random.nextFloat() < widen) {
-                level.setBlock(base.above(y).east(), eldritchStone, 2);
+                blocks.setBlock(base.above(y).east(), eldritchStone);
             }
             if (random.nextFloat() < widen) {
-                level.setBlock(base.above(y).west(), eldritchStone, 2);
+                blocks.setBlock(base.above(y).west(), eldritchStone);
             }
         }
     }
@@ -153,27 +162,27 @@ public class EldritchObeliskFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Build the pointed top of the obelisk.
      */
-    private void buildTop(WorldGenLevel level, BlockPos top, RandomSource random) {
+    private void buildTop(FeaturePlacementBuffer blocks, BlockPos top, RandomSource random) {
         BlockState pillar = ModBlocks.ELDRITCH_PILLAR.get().defaultBlockState();
         BlockState ancientStone = ModBlocks.ANCIENT_STONE.get().defaultBlockState();
         
         // Stepped pyramid top
-        level.setBlock(top.north(), ancientStone, 2);
-        level.setBlock(top.south(), ancientStone, 2);
-        level.setBlock(top.east(), ancientStone, 2);
-        level.setBlock(top.west(), ancientStone, 2);
+        blocks.setBlock(top.north(), ancientStone);
+        blocks.setBlock(top.south(), ancientStone);
+        blocks.setBlock(top.east(), ancientStone);
+        blocks.setBlock(top.west(), ancientStone);
         
-        level.setBlock(top.above(), pillar, 2);
-        level.setBlock(top.above(2), pillar, 2);
+        blocks.setBlock(top.above(), pillar);
+        blocks.setBlock(top.above(2), pillar);
         
         // Capstone
-        level.setBlock(top.above(3), ancientStone, 2);
+        blocks.setBlock(top.above(3), ancientStone);
     }
     
     /**
      * Scatter debris and smaller stones around the base.
      */
-    private void scatterDebris(WorldGenLevel level, BlockPos center, RandomSource random) {
+    private void scatterDebris(FeaturePlacementBuffer blocks, BlockPos center, RandomSource random) {
         BlockState arcaneStone = ModBlocks.ARCANE_STONE.get().defaultBlockState();
         BlockState eldritchStone = ModBlocks.ELDRITCH_STONE_TILE.get().defaultBlockState();
         
@@ -193,16 +202,16 @@ public class EldritchObeliskFeature extends Feature<NoneFeatureConfiguration> {
             // Find ground at this position
             for (int y = 3; y >= -3; y--) {
                 BlockPos checkPos = debrisPos.above(y);
-                if (level.getBlockState(checkPos.below()).isSolid() && 
-                    level.getBlockState(checkPos).isAir()) {
+                if (blocks.getBlockState(checkPos.below()).isSolid() && 
+                    blocks.getBlockState(checkPos).isAir()) {
                     
                     // Place a small stone or pillar fragment
                     if (random.nextBoolean()) {
-                        level.setBlock(checkPos, arcaneStone, 2);
+                        blocks.setBlock(checkPos, arcaneStone);
                     } else {
-                        level.setBlock(checkPos, eldritchStone, 2);
+                        blocks.setBlock(checkPos, eldritchStone);
                         if (random.nextInt(3) == 0) {
-                            level.setBlock(checkPos.above(), eldritchStone, 2);
+                            blocks.setBlock(checkPos.above(), eldritchStone);
                         }
                     }
                     break;
@@ -3,6 +3,7 @@ package thaumcraft.common.world.structures;
 import com.mojang.serialization.Codec;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.WorldGenRegion;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.WorldGenLevel;
 import net.minecraft.world.level.block.Blocks;
@@ -10,6 +11,8 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.levelgen.feature.Feature;
 import net.minecraft.world.level.levelgen.feature.FeaturePlaceContext;
 import net.minecraft.world.level.levelgen.feature.configurations.NoneFeatureConfiguration;
+import thaumcraft.common.config.ModConfig;
+import thaumcraft.common.world.features.FeaturePlacementBuffer;
 import thaumcraft.init.ModBlocks;
 
 /**
@@ -37,6 +40,10 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
         RandomSource random = context.random();
         BlockPos origin = context.origin();
         
+        if (!ModConfig.generateStructures && level instanceof WorldGenRegion) {
+            return false;
+        }
+        
         // Find solid ground
         BlockPos groundPos = findGround(level, origin);
         if (groundPos == null) {
@@ -60,11 +67,13 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
         }
         
         // Build the tower
-        buildFoundation(level, groundPos, radius, random);
-        buildWalls(level, groundPos, radius, height, collapseDirection, collapseAmount, random);
-        buildFloors(level, groundPos, radius, height, collapseDirection, collapseAmount, random);
-        addDecorations(level, groundPos, radius, height, random);
-        addVegetation(level, groundPos, radius, height, random);
+        FeaturePlacementBuffer blocks = new FeaturePlacementBuffer(level);
+        buildFoundation(blocks, groundPos, radius, random);
+        buildWalls(blocks, groundPos, radius, height, collapseDirection, collapseAmount, random);
+        buildFloors(blocks, groundPos, radius, height, collapseDirection, collapseAmount, random);
+        addDecorations(blocks, groundPos, radius, height, random);
+        addVegetation(blocks, groundPos, radius, height, random);
+        blocks.apply();
         
         return true;
     }
@@ -106,7 +115,7 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Build the stone foundation.
      */
-    private void buildFoundation(WorldGenLevel level, BlockPos center, int radius, RandomSource random) {
+    private void buildFoundation(FeaturePlacementBuffer blocks, BlockPos center, int radius, RandomSource random) {
         BlockState arcaneStone = ModBlocks.ARCANE_STONE.get().defaultBlockState();
         BlockState stoneBrick = ModBlocks.ARCANE_STONE_BRICK.get().defaultBlockState();
         
@@ -120,12 +129,12 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
                     // Fill under foundation too
                     for (int y = 0; y >= -2; y--) {
                         BlockPos fillPos = pos.above(y);
-                        if (!level.getBlockState(fillPos).isSolid()) {
-                            level.setBlock(fillPos, random.nextBoolean() ? arcaneStone : stoneBrick, 2);
+                        if (!blocks.getBlockState(fillPos).isSolid()) {
+                            blocks.setBlock(fillPos, random.nextBoolean() ? arcaneStone : stoneBrick);
                         }
                     }
                     
-                    level.setBlock(pos, stoneBrick, 2);
+                    blocks.setBlock(pos, stoneBrick);
                 }
             }
         }
@@ -134,7 +143,7 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Build the circular walls with partial collapse.
      */
-    private void buildWalls(WorldGenLevel level, BlockPos center, int radius, int height, 
+    private void buildWalls(FeaturePlacementBuffer blocks, BlockPos center, int radius, int height, 
                            int collapseDir, float collapseAmount, RandomSource random) {
         BlockState arcaneStone = ModBlocks.ARCANE_STONE.get().defaultBlockState();
         BlockState stoneBrick = ModBlocks.ARCANE_STONE_BRICK.get().defaultBlockState();
@@ -161,7 +170,7 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
                     // Partially collapsed - random gaps
                     if (random.nextFloat() > currentCollapse * 1.5f) {
                         // Damaged blocks lower in the wall
-                        level.setBlock(wallPos, random.nextInt(3) == 0 ? cobblestone : stoneBrick, 2);
+                        blocks.setBlock(wallPos, random.nextInt(3) == 0 ? cobblestone : stoneBrick);
                     }
                 } else {
                     // Normal wall section
@@ -171,7 +180,7 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
                     } else {
                         wallBlock = random.nextInt(10) == 0 ? cobblestone : stoneBrick;
                     }
-                    level.setBlock(wallPos, wallBlock, 2);
+                    blocks.setBlock(wallPos, wallBlock);
                 }
             }
         }
@@ -192,7 +201,7 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Build internal floors.
      */
-    private void buildFloors(WorldGenLevel level, BlockPos center, int radius, int height,
+    private void buildFloors(FeaturePlacementBuffer blocks, BlockPos center, int radius, int height,
                             int collapseDir, float collapseAmount, RandomSource random) {
         BlockState planks = Blocks.SPRUCE_PLANKS.defaultBlockState();
         
@@ -212,10 +221,10 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
                         // Skip collapsed sections
                         if (isInCollapseZone(x, z, collapse, floorRadius, currentCollapse * 1.2f)) {
                             if (random.nextFloat() > 0.7f) {
-                                level.setBlock(floorPos, planks, 2);
+                                blocks.setBlock(floorPos, planks);
                             }
                         } else {
-                            level.setBlock(floorPos, planks, 2);
+                            blocks.setBlock(floorPos, planks);
                         }
                     }
                 }
@@ -226,17 +235,17 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Add decorations like bookshelves, tables, and loot.
      */
-    private void addDecorations(WorldGenLevel level, BlockPos center, int radius, int height, RandomSource random) {
+    private void addDecorations(FeaturePlacementBuffer blocks, BlockPos center, int radius, int height, RandomSource random) {
         // Ground floor decorations
-        addGroundFloorDecorations(level, center, radius, random);
+        addGroundFloorDecorations(blocks, center, radius, random);
         
         // Upper floor decorations (if floors exist)
         for (int floorY = 4; floorY < height - 2; floorY += 4) {
-            addFloorDecorations(level, center.above(floorY + 1), radius - 1, random);
+            addFloorDecorations(blocks, center.above(floorY + 1), radius - 1, random);
         }
     }
     
-    private void addGroundFloorDecorations(WorldGenLevel level, BlockPos center, int radius, RandomSource random) {
+    private void addGroundFloorDecorations(FeaturePlacementBuffer blocks, BlockPos center, int radius, RandomSource random) {
         // Add a few bookshelves against the walls
         int numBookshelves = 2 + random.nextInt(3);
         for (int i = 0; i < numBookshelves; i++) {
@@ -245,10 +254,10 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
             int z = (int) Math.round(Math.sin(angle) * (radius - 1));
             
             BlockPos pos = center.offset(x, 1, z);
-            if (level.getBlockState(pos).isAir()) {
-                level.setBlock(pos, Blocks.BOOKSHELF.defaultBlockState(), 2);
-                if (random.nextBoolean() && level.getBlockState(pos.above()).isAir()) {
-                    level.setBlock(pos.above(), Blocks.BOOKSHELF.defaultBlockState(), 2);
+            if (blocks.getBlockState(pos).isAir()) {
+                blocks.setBlock(pos, Blocks.BOOKSHELF.defaultBlockState());
+                if (random.nextBoolean() && blocks.getBlockState(pos.above()).isAir()) {
+                    blocks.setBlock(pos.above(), Blocks.BOOKSHELF.defaultBlockState());
                 }
             }
         }
@@ -259,25 +268,25 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
                     random.nextInt(radius) - radius/2,
                     1,
                     random.nextInt(radius) - radius/2);
-            if (level.getBlockState(cratePos).isAir()) {
-                level.setBlock(cratePos, ModBlocks.LOOT_CRATE_COMMON.get().defaultBlockState(), 2);
+            if (blocks.getBlockState(cratePos).isAir()) {
+                blocks.setBlock(cratePos, ModBlocks.LOOT_CRATE_COMMON.get().defaultBlockState());
             }
         }
     }
     
-    private void addFloorDecorations(WorldGenLevel level, BlockPos floorCenter, int radius, RandomSource random) {
+    private void addFloorDecorations(FeaturePlacementBuffer blocks, BlockPos floorCenter, int radius, RandomSource random) {
         // Smaller decorations on upper floors
         if (random.nextInt(2) == 0) {
             BlockPos pos = floorCenter.offset(
                     random.nextInt(radius) - radius/2,
                     0,
                     random.nextInt(radius) - radius/2);
-            if (level.getBlockState(pos).isAir() && level.getBlockState(pos.below()).isSolid()) {
+            if (blocks.getBlockState(pos).isAir() && blocks.getBlockState(pos.below()).isSolid()) {
                 // Random urn or crate
                 if (random.nextBoolean()) {
-                    level.setBlock(pos, ModBlocks.LOOT_URN_COMMON.get().defaultBlockState(), 2);
+                    blocks.setBlock(pos, ModBlocks.LOOT_URN_COMMON.get().defaultBlockState());
                 } else {
-                    level.setBlock(pos, Blocks.BOOKSHELF.defaultBlockState(), 2);
+                    blocks.setBlock(pos, Blocks.BOOKSHELF.defaultBlockState());
                 }
             }
         }
@@ -286,7 +295,7 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
     /**
      * Add vegetation growing through the ruins.
      */
-    private void addVegetation(WorldGenLevel level, BlockPos center, int radius, int height, RandomSource random) {
+    private void addVegetation(FeaturePlacementBuffer blocks, BlockPos center, int radius, int height, RandomSource random) {
         // Vines on the outside
         int vineCount = 3 + random.nextInt(5);
         for (int i = 0; i < vineCount; i++) {
@@ -300,12 +309,12 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
             // Hang vines down
             for (int y = 0; y < 2 + random.nextInt(4); y++) {
                 BlockPos vinePos = vineStart.below(y);
-                if (level.getBlockState(vinePos).isAir()) {
+                if (blocks.getBlockState(vinePos).isAir()) {
                     // Determine vine facing
                     Direction facing = Direction.fromDelta(-x, 0, -z);
                     if (facing != null && facing.getAxis().isHorizontal()) {
-                        level.setBlock(vinePos, Blocks.VINE.defaultBlockState()
-                                .setValue(net.minecraft.world.level.block.VineBlock.getPropertyForFace(facing), true), 2);
+                        blocks.setBlock(vinePos, Blocks.VINE.defaultBlockState()
+                                .setValue(net.minecraft.world.blocks.block.VineBlock.getPropertyForFace(facing), true));
                     }
                 } else {
                     break;
@@ -318,8 +327,8 @@ public class RuinedTowerFeature extends Feature<NoneFeatureConfiguration> {
             for (int z = -radius; z <= radius; z++) {
                 if (random.nextInt(8) == 0 && x * x + z * z <= radius * radius) {
                     BlockPos pos = center.offset(x, 1, z);
-                    if (level.getBlockState(pos).isAir() && level.getBlockState(pos.below()).isSolid()) {
-                        level.setBlock(pos, Blocks.FERN.defaultBlockState(), 2);
+                    if (blocks.getBlockState(pos).isAir() && blocks.getBlockState(pos.below()).isSolid()) {
+                        blocks.setBlock(pos, Blocks.FERN.defaultBlockState());
                     }
                 }
             }